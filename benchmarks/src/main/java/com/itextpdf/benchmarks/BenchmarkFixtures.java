@@ -0,0 +1,200 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.benchmarks;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.Security;
+import java.security.cert.Certificate;
+import java.util.Date;
+import java.util.Random;
+
+/**
+ * Generates the inputs of the benchmarks. All the fixtures are created in memory from a fixed seed,
+ * so the benchmarks don't need any external files and measure the same work on every run.
+ */
+final class BenchmarkFixtures {
+
+    static final String FONT = "fonts/NotoSerif-Regular.ttf";
+
+    private static final long SEED = 42;
+    private static final String[] WORDS = {"lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing",
+            "elit", "sed", "do", "eiusmod", "tempor", "incididunt", "ut", "labore", "et", "dolore", "magna", "aliqua"};
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Creates a document where every page contains lines of text and a few paths.
+     *
+     * @param numberOfPages the number of pages
+     * @param fullCompression whether to write the objects into object streams and the cross-reference stream
+     * @return the document bytes
+     */
+    static byte[] createTextDocument(int numberOfPages, boolean fullCompression) throws IOException {
+        Random random = new Random(SEED);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos, new WriterProperties().setFullCompressionMode(fullCompression)));
+        PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+        for (int i = 0; i < numberOfPages; i++) {
+            PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage());
+            canvas.beginText().setFontAndSize(font, 10).setLeading(12).moveText(36, 800);
+            for (int line = 0; line < 60; line++) {
+                canvas.newlineShowText(createText(random, 12));
+            }
+            canvas.endText();
+            for (int path = 0; path < 20; path++) {
+                canvas.rectangle(random.nextInt(500), random.nextInt(800), 20, 20)
+                        .moveTo(random.nextInt(500), random.nextInt(800))
+                        .curveTo(random.nextInt(500), random.nextInt(800), random.nextInt(500),
+                                random.nextInt(800), random.nextInt(500), random.nextInt(800))
+                        .stroke();
+            }
+        }
+        pdfDocument.close();
+        return baos.toByteArray();
+    }
+
+    /**
+     * Creates text of random words.
+     *
+     * @param random the source of the randomness
+     * @param numberOfWords the number of words
+     * @return the text
+     */
+    static String createText(Random random, int numberOfWords) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < numberOfWords; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    static Random createRandom() {
+        return new Random(SEED);
+    }
+
+    /**
+     * Creates data which is compressed similarly to the page content: text and numbers with repetitions.
+     *
+     * @param size the size of the data in bytes
+     * @return the data
+     */
+    static byte[] createCompressibleData(int size) {
+        Random random = new Random(SEED);
+        StringBuilder data = new StringBuilder(size + 100);
+        while (data.length() < size) {
+            data.append(random.nextInt(600)).append(' ').append(random.nextInt(800)).append(" Td (")
+                    .append(createText(random, 5)).append(") Tj\n");
+        }
+        return data.substring(0, size).getBytes();
+    }
+
+    static byte[] loadFont() throws IOException {
+        InputStream stream = BenchmarkFixtures.class.getResourceAsStream(FONT);
+        try {
+            return StreamUtil.inputStreamToArray(stream);
+        } finally {
+            stream.close();
+        }
+    }
+
+    /**
+     * Creates a self-signed certificate with a new RSA key.
+     *
+     * @return the key pair and the certificate chain
+     */
+    static SigningMaterial createSigningMaterial() throws GeneralSecurityException {
+        BouncyCastleProvider provider = new BouncyCastleProvider();
+        Security.addProvider(provider);
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        SecureRandom random = SecureRandom.getInstance("SHA1PRNG");
+        random.setSeed(SEED);
+        generator.initialize(2048, random);
+        KeyPair keyPair = generator.generateKeyPair();
+        X500Name name = new X500Name("CN=iText benchmark");
+        Date notBefore = new Date(System.currentTimeMillis() - 24L * 60 * 60 * 1000);
+        Date notAfter = new Date(System.currentTimeMillis() + 365L * 24 * 60 * 60 * 1000);
+        try {
+            Certificate certificate = new JcaX509CertificateConverter().setProvider(provider).getCertificate(
+                    new JcaX509v3CertificateBuilder(name, BigInteger.ONE, notBefore, notAfter, name, keyPair.getPublic())
+                            .build(new JcaContentSignerBuilder("SHA256withRSA").setProvider(provider).build(keyPair.getPrivate())));
+            return new SigningMaterial(keyPair, new Certificate[] {certificate});
+        } catch (org.bouncycastle.operator.OperatorCreationException e) {
+            throw new GeneralSecurityException(e);
+        }
+    }
+
+    static final class SigningMaterial {
+        final KeyPair keyPair;
+        final Certificate[] chain;
+
+        SigningMaterial(KeyPair keyPair, Certificate[] chain) {
+            this.keyPair = keyPair;
+            this.chain = chain;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.benchmarks;
+
+import com.itextpdf.kernel.pdf.filters.FastFlateCodecProvider;
+import com.itextpdf.kernel.pdf.filters.FlateDecodeFilter;
+import com.itextpdf.kernel.pdf.filters.IFlateCodecProvider;
+import com.itextpdf.kernel.pdf.filters.JdkFlateCodecProvider;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flate encoding and decoding of stream data with the available {@link IFlateCodecProvider}s. Besides the time,
+ * {@link #encode(OutputSize)} reports the compressed size, so that the compression levels can be compared
+ * by both throughput and output size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FlateBenchmark {
+
+    @Param({"4096", "1048576"})
+    public int size;
+
+    @Param({"1", "-1", "9"})
+    public int compressionLevel;
+
+    @Param({"jdk", "fast"})
+    public String provider;
+
+    private IFlateCodecProvider codecProvider;
+    private byte[] data;
+    private byte[] compressedData;
+
+    @Setup
+    public void setup() throws IOException {
+        codecProvider = "fast".equals(provider) ? new FastFlateCodecProvider() : JdkFlateCodecProvider.getInstance();
+        data = BenchmarkFixtures.createCompressibleData(size);
+        compressedData = deflate();
+    }
+
+    @Benchmark
+    public byte[] encode(OutputSize outputSize) throws IOException {
+        byte[] compressed = deflate();
+        outputSize.compressedBytes = compressed.length;
+        return compressed;
+    }
+
+    @Benchmark
+    public byte[] decode() {
+        return FlateDecodeFilter.flateDecode(compressedData, true, codecProvider);
+    }
+
+    private byte[] deflate() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(data.length / 2);
+        DeflaterOutputStream deflater = codecProvider.createDeflaterStream(baos, compressionLevel, 512);
+        deflater.write(data);
+        deflater.close();
+        return baos.toByteArray();
+    }
+
+    /**
+     * Reports the size of the compressed data along with the time of {@link #encode(OutputSize)}.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class OutputSize {
+        public long compressedBytes;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.benchmarks;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Table;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing of a large table with a header and a footer, which is flushed each {@code chunk} rows.
+ * The time per row shall not depend on the number of rows, nor on the size of the chunk.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class LargeTableBenchmark {
+
+    private static final int NUMBER_OF_COLUMNS = 5;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"100", "1000"})
+    public int chunk;
+
+    private File result;
+
+    @Setup
+    public void setup() throws IOException {
+        result = File.createTempFile("large-table", ".pdf");
+    }
+
+    @TearDown
+    public void tearDown() {
+        result.delete();
+    }
+
+    @Benchmark
+    public int largeTable() throws IOException {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(result.getPath()));
+        Document document = new Document(pdfDocument);
+        Table table = new Table(NUMBER_OF_COLUMNS, true);
+        for (int col = 0; col < NUMBER_OF_COLUMNS; col++) {
+            table.addHeaderCell("Header " + col);
+            table.addFooterCell("Footer " + col);
+        }
+        document.add(table);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < NUMBER_OF_COLUMNS; col++) {
+                table.addCell("Row " + row + ", column " + col);
+            }
+            if ((row + 1) % chunk == 0) {
+                table.flush();
+            }
+        }
+        table.complete();
+        int numberOfPages = pdfDocument.getNumberOfPages();
+        document.close();
+        return numberOfPages;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.benchmarks;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.utils.PdfMerger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merging of several documents with {@link PdfMerger}. The encoded content streams of the pages are copied
+ * to the resultant document as they are stored in the sources. If both the sources and the result are files,
+ * the content is transferred between the file channels, otherwise it is copied through the heap. Every source is
+ * closed right after its pages are merged, the copied streams are flushed before that unless they shall be
+ * read into memory on closing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MergeBenchmark {
+
+    private static final int NUMBER_OF_DOCUMENTS = 10;
+
+    @Param({"memory", "file"})
+    public String storage;
+
+    @Param({"true", "false"})
+    public boolean flushCopiedStreams;
+
+    private byte[] document;
+    private File[] sources;
+    private File result;
+
+    @Setup
+    public void setup() throws IOException {
+        document = BenchmarkFixtures.createTextDocument(100, false);
+        sources = new File[NUMBER_OF_DOCUMENTS];
+        for (int i = 0; i < NUMBER_OF_DOCUMENTS; i++) {
+            sources[i] = File.createTempFile("merge-source", ".pdf");
+            FileOutputStream fos = new FileOutputStream(sources[i]);
+            try {
+                fos.write(document);
+            } finally {
+                fos.close();
+            }
+        }
+        result = File.createTempFile("merge-result", ".pdf");
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (File source : sources) {
+            source.delete();
+        }
+        result.delete();
+    }
+
+    @Benchmark
+    public int merge() throws IOException {
+        boolean files = "file".equals(storage);
+        PdfDocument pdfDocument = new PdfDocument(files ? new PdfWriter(result.getPath()) : new PdfWriter(new ByteArrayOutputStream()));
+        PdfMerger merger = new PdfMerger(pdfDocument).setCloseSourceDocuments(true).setFlushCopiedStreams(flushCopiedStreams);
+        for (int i = 0; i < NUMBER_OF_DOCUMENTS; i++) {
+            PdfReader reader = files ? new PdfReader(sources[i].getPath()) : new PdfReader(new ByteArrayInputStream(document));
+            PdfDocument source = new PdfDocument(reader);
+            merger.merge(source, 1, source.getNumberOfPages());
+        }
+        int numberOfPages = pdfDocument.getNumberOfPages();
+        pdfDocument.close();
+        return numberOfPages;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.benchmarks;
+
+import com.itextpdf.layout.property.Property;
+import com.itextpdf.layout.property.PropertyMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups of layout properties the way renderers resolve them: the own properties of the renderer, then
+ * the properties of its model element, then the properties of the parent renderer. Compares the
+ * {@link PropertyMap} used by the layout module with the {@link HashMap} it replaced. See
+ * {@link LayoutBenchmark} for the effect on the whole layout.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PropertyLookupBenchmark {
+
+    private static final int[] RENDERER_PROPERTIES = {Property.FLOAT, Property.POSITION, Property.MARGIN_TOP,
+            Property.MARGIN_BOTTOM};
+    private static final int[] ELEMENT_PROPERTIES = {Property.FONT_SIZE, Property.BORDER, Property.PADDING_LEFT,
+            Property.PADDING_RIGHT, Property.WIDTH, Property.TEXT_ALIGNMENT};
+    private static final int[] PARENT_PROPERTIES = {Property.FONT, Property.FONT_COLOR, Property.FONT_PROVIDER,
+            Property.LEADING, Property.BACKGROUND, Property.MARGIN_LEFT, Property.MARGIN_RIGHT, Property.KEEP_TOGETHER};
+
+    @Param({"hash", "bitset"})
+    public String storage;
+
+    private Map<Integer, Object> rendererProperties;
+    private Map<Integer, Object> elementProperties;
+    private Map<Integer, Object> parentProperties;
+    private int[] keys;
+
+    @Setup
+    public void setup() {
+        rendererProperties = createProperties(RENDERER_PROPERTIES);
+        elementProperties = createProperties(ELEMENT_PROPERTIES);
+        parentProperties = createProperties(PARENT_PROPERTIES);
+        keys = new int[RENDERER_PROPERTIES.length + ELEMENT_PROPERTIES.length + PARENT_PROPERTIES.length + 10];
+        int i = 0;
+        for (int[] properties : new int[][] {RENDERER_PROPERTIES, ELEMENT_PROPERTIES, PARENT_PROPERTIES}) {
+            for (int property : properties) {
+                keys[i++] = property;
+            }
+        }
+        // properties which are set nowhere, so that the whole chain is searched
+        for (int property = 1; i < keys.length; property++) {
+            if (!rendererProperties.containsKey(property) && !elementProperties.containsKey(property)
+                    && !parentProperties.containsKey(property)) {
+                keys[i++] = property;
+            }
+        }
+    }
+
+    @Benchmark
+    public int lookup() {
+        int found = 0;
+        for (int key : keys) {
+            if (getProperty(key) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public Map<Integer, Object> copy() {
+        Map<Integer, Object> copy = createMap();
+        copy.putAll(elementProperties);
+        copy.put(Property.FLOAT, Boolean.TRUE);
+        return copy;
+    }
+
+    private Object getProperty(int key) {
+        Object property;
+        if ((property = rendererProperties.get(key)) != null || rendererProperties.containsKey(key)) {
+            return property;
+        }
+        if ((property = elementProperties.get(key)) != null || elementProperties.containsKey(key)) {
+            return property;
+        }
+        return parentProperties.get(key);
+    }
+
+    private Map<Integer, Object> createProperties(int[] properties) {
+        Map<Integer, Object> map = createMap();
+        for (int property : properties) {
+            map.put(property, Integer.toString(property));
+        }
+        return map;
+    }
+
+    private Map<Integer, Object> createMap() {
+        return "bitset".equals(storage) ? new PropertyMap() : new HashMap<Integer, Object>();
+    }
+}
@@ -48,6 +48,7 @@ import com.itextpdf.io.util.IntHashtable;
 import com.itextpdf.io.util.ResourceUtil;
 
 import java.io.InputStream;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -57,16 +58,20 @@ import java.util.StringTokenizer;
 
 public class CidFontProperties {
 
-    private static final Map<String, Map<String, Object>> allFonts = new HashMap<>();
-    private static final Map<String, Set<String>> registryNames = new HashMap<>();
+    private static final Map<String, Map<String, Object>> allFonts;
+    private static final Map<String, Set<String>> registryNames;
 
     static {
+        Map<String, Map<String, Object>> fonts = new HashMap<>();
+        Map<String, Set<String>> registry = new HashMap<>();
         try {
-            loadRegistry();
-            for (String font : registryNames.get("fonts")) {
-                allFonts.put(font, readFontProperties(font));
+            loadRegistry(registry);
+            for (String font : registry.get("fonts")) {
+                fonts.put(font, Collections.unmodifiableMap(readFontProperties(font)));
             }
         } catch (Exception ignored) { }
+        allFonts = Collections.unmodifiableMap(fonts);
+        registryNames = Collections.unmodifiableMap(registry);
     }
 
     /** Checks if its a valid CJKFont font.
@@ -107,7 +112,7 @@ public class CidFontProperties {
         return registryNames;
     }
 
-    private static void loadRegistry() throws java.io.IOException {
+    private static void loadRegistry(Map<String, Set<String>> registryNames) throws java.io.IOException {
         InputStream resource = ResourceUtil.getResourceStream(FontResources.CMAPS + "cjk_registry.properties");
         Properties p = new Properties();
         p.load(resource);
@@ -120,7 +125,7 @@ public class CidFontProperties {
                 if (s.length() > 0)
                     hs.add(s);
             }
-            registryNames.put((String)key, hs);
+            registryNames.put((String)key, Collections.unmodifiableSet(hs));
         }
     }
 
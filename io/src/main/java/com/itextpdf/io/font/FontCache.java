@@ -56,6 +56,7 @@ import com.itextpdf.io.util.IntHashtable;
 import com.itextpdf.io.util.ResourceUtil;
 
 import java.io.InputStream;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -63,11 +64,12 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class FontCache {
 
-    private static final Map<String, Map<String, Object>> allCidFonts = new HashMap<>();
-    private static final Map<String, Set<String>> registryNames = new HashMap<>();
+    private static final Map<String, Map<String, Object>> allCidFonts;
+    private static final Map<String, Set<String>> registryNames;
 
     private static final String CJK_REGISTRY_FILENAME = "cjk_registry.properties";
     private static final String FONTS_PROP = "fonts";
@@ -75,16 +77,21 @@ public class FontCache {
     private static final String W_PROP = "W";
     private static final String W2_PROP = "W2";
 
-    private static Map<FontCacheKey, FontProgram> fontCache = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<FontCacheKey, FontProgram> fontCache = new ConcurrentHashMap<>();
 
     static {
+        // The registry is filled once and is read-only afterwards, so it can be safely shared between threads.
+        Map<String, Map<String, Object>> cidFonts = new HashMap<>();
+        Map<String, Set<String>> registry = new HashMap<>();
         try {
-            loadRegistry();
-            for (String font : registryNames.get(FONTS_PROP)) {
-                allCidFonts.put(font, readFontProperties(font));
+            loadRegistry(registry);
+            for (String font : registry.get(FONTS_PROP)) {
+                cidFonts.put(font, Collections.unmodifiableMap(readFontProperties(font)));
             }
         } catch (Exception ignored) {
         }
+        allCidFonts = Collections.unmodifiableMap(cidFonts);
+        registryNames = Collections.unmodifiableMap(registry);
     }
 
     /**
@@ -160,16 +167,29 @@ public class FontCache {
         return saveFont(font, FontCacheKey.create(fontName));
     }
 
+    /**
+     * Saves the font program in the cache, unless a font program with the same key has already been saved.
+     * The check and the insertion are performed atomically, so when several threads parse the same font
+     * concurrently, all of them get the same shared instance back.
+     *
+     * @param font the font program to save
+     * @param key the cache key of the font program
+     * @return the font program stored in the cache for the given key
+     */
     static FontProgram saveFont(FontProgram font, FontCacheKey key) {
-        FontProgram fontFound = fontCache.get(key);
-        if (fontFound != null) {
-            return fontFound;
-        }
-        fontCache.put(key, font);
-        return font;
+        FontProgram fontFound = fontCache.putIfAbsent(key, font);
+        return fontFound != null ? fontFound : font;
+    }
+
+    /**
+     * Clears the cache of the parsed font programs. The font programs which are already in use are not affected,
+     * but every font created afterwards is parsed again.
+     */
+    static void clearSavedFonts() {
+        fontCache.clear();
     }
 
-    private static void loadRegistry() throws java.io.IOException {
+    private static void loadRegistry(Map<String, Set<String>> registryNames) throws java.io.IOException {
         InputStream resource = ResourceUtil.getResourceStream(FontResources.CMAPS + CJK_REGISTRY_FILENAME);
         try {
             Properties p = new Properties();
@@ -186,7 +206,7 @@ public class FontCache {
                     }
                 }
 
-                registryNames.put((String) entry.getKey(), set);
+                registryNames.put((String) entry.getKey(), Collections.unmodifiableSet(set));
             }
         } finally {
             if (resource != null) {
@@ -152,7 +152,7 @@ public class TrueTypeFont extends FontProgram {
         }
     }
 
-    public byte[] getFontStreamBytes() {
+    public synchronized byte[] getFontStreamBytes() {
         if (fontStreamBytes != null)
             return fontStreamBytes;
         try {
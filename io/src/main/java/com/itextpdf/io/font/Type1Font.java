@@ -181,7 +181,7 @@ public class Type1Font extends FontProgram {
         }
     }
 
-    public byte[] getFontStreamBytes() {
+    public synchronized byte[] getFontStreamBytes() {
         if (fontParser.isBuiltInFont())
             return null;
         if (fontStreamBytes != null)
@@ -235,7 +235,7 @@ public class Type1Font extends FontProgram {
         }
     }
 
-    public int[] getFontStreamLengths() {
+    public synchronized int[] getFontStreamLengths() {
         return fontStreamLengths;
     }
 
@@ -48,7 +48,7 @@ import java.io.Serializable;
 /**
  * A RandomAccessSource that is based on an underlying byte array
  */
-class ArrayRandomAccessSource implements IRandomAccessSource, Serializable {
+class ArrayRandomAccessSource implements IRandomAccessSource, IByteBufferSource, Serializable {
 
     private static final long serialVersionUID = 8497059230517630513L;
 
@@ -85,4 +85,14 @@ class ArrayRandomAccessSource implements IRandomAccessSource, Serializable {
     public void close() throws java.io.IOException {
         array = null;
     }
+
+    public java.nio.ByteBuffer createByteBufferView() {
+        if (array == null) throw new IllegalStateException("Already closed");
+        return java.nio.ByteBuffer.wrap(array);
+    }
+
+    public java.nio.ByteBuffer createByteBufferView(long position, int length) {
+        if (array == null) throw new IllegalStateException("Already closed");
+        return java.nio.ByteBuffer.wrap(array, (int) position, length).slice();
+    }
 }
@@ -0,0 +1,96 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.source;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.nio.channels.FileChannel;
+
+/**
+ * A {@link BufferedOutputStream} writing to a file, which also gives access to the channel of the file,
+ * see {@link OutputStream#transferFrom(RandomAccessFileOrArray)}.
+ */
+public class BufferedFileOutputStream extends BufferedOutputStream {
+
+    private final FileChannel channel;
+
+    /**
+     * Creates a stream writing to the file with the specified name.
+     *
+     * @param filename the name of the file
+     * @throws FileNotFoundException if the file can't be opened for writing
+     */
+    public BufferedFileOutputStream(String filename) throws FileNotFoundException {
+        this(new FileOutputStream(filename));
+    }
+
+    /**
+     * Creates a stream writing to the specified file.
+     *
+     * @param file the file
+     * @throws FileNotFoundException if the file can't be opened for writing
+     */
+    public BufferedFileOutputStream(File file) throws FileNotFoundException {
+        this(new FileOutputStream(file));
+    }
+
+    private BufferedFileOutputStream(FileOutputStream out) {
+        super(out);
+        this.channel = out.getChannel();
+    }
+
+    /**
+     * Flushes the buffered bytes and gets the channel of the file. The bytes written to the channel directly
+     * are placed after all the bytes written to this stream before.
+     *
+     * @return the channel of the file
+     * @throws java.io.IOException if the buffered bytes can't be flushed
+     */
+    public FileChannel getChannel() throws java.io.IOException {
+        flush();
+        return channel;
+    }
+}
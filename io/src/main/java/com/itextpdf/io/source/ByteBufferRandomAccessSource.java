@@ -71,7 +71,7 @@ import static java.lang.invoke.MethodType.methodType;
  * A RandomAccessSource that is based on an underlying {@link java.nio.ByteBuffer}.  This class takes steps to ensure that the byte buffer
  * is completely freed from memory during {@link ByteBufferRandomAccessSource#close()}
  */
-class ByteBufferRandomAccessSource implements IRandomAccessSource, Serializable {
+class ByteBufferRandomAccessSource implements IRandomAccessSource, IByteBufferSource, Serializable {
 
     private static final long serialVersionUID = -1477190062876186034L;
     /**
@@ -148,6 +148,25 @@ class ByteBufferRandomAccessSource implements IRandomAccessSource, Serializable
         clean(byteBuffer);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public java.nio.ByteBuffer createByteBufferView() {
+        java.nio.ByteBuffer view = byteBuffer.duplicate();
+        ((Buffer) view).position(0);
+        return view;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public java.nio.ByteBuffer createByteBufferView(long position, int length) {
+        java.nio.ByteBuffer view = byteBuffer.duplicate();
+        ((Buffer) view).limit((int) position + length);
+        ((Buffer) view).position((int) position);
+        return view.slice();
+    }
+
 
     /**
      * <code>true</code>, if this platform supports unmapping mmapped files.
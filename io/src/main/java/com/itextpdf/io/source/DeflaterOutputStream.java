@@ -45,12 +45,25 @@ package com.itextpdf.io.source;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.zip.Deflater;
 
+/**
+ * Compresses the data in zlib format with a {@link java.util.zip.Deflater} taken from {@link FlateCodecPool}.
+ * The deflater and the buffer are returned to the pool on {@link #finish()}, no data can be written after that.
+ */
 public class DeflaterOutputStream extends java.util.zip.DeflaterOutputStream {
 
+    private final int level;
+    private final boolean pooledBuffer;
+    private boolean released;
+
     public DeflaterOutputStream(OutputStream out, int level, int size) {
-        super(out, new Deflater(level), size);
+        // buffers up to the scratch buffer size are taken from the pool, the size doesn't affect the output
+        super(out, FlateCodecPool.acquireDeflater(level), size <= FlateCodecPool.SCRATCH_BUFFER_SIZE ? 1 : size);
+        this.level = level;
+        this.pooledBuffer = size <= FlateCodecPool.SCRATCH_BUFFER_SIZE;
+        if (pooledBuffer) {
+            buf = FlateCodecPool.acquireScratchBuffer();
+        }
     }
 
     public DeflaterOutputStream(OutputStream out, int level) {
@@ -61,6 +74,18 @@ public class DeflaterOutputStream extends java.util.zip.DeflaterOutputStream {
         this(out, -1);
     }
 
+    @Override
+    public void write(int b) throws IOException {
+        ensureNotReleased();
+        super.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureNotReleased();
+        super.write(b, off, len);
+    }
+
     @Override
     public void close() throws IOException {
         finish();
@@ -69,7 +94,26 @@ public class DeflaterOutputStream extends java.util.zip.DeflaterOutputStream {
 
     @Override
     public void finish() throws IOException {
-        super.finish();
-        def.end();
+        if (released) {
+            return;
+        }
+        try {
+            super.finish();
+        } finally {
+            released = true;
+            FlateCodecPool.releaseDeflater(def, level);
+            if (pooledBuffer) {
+                FlateCodecPool.releaseScratchBuffer(buf);
+            }
+            // the deflater may already be used by another stream
+            def = null;
+            buf = null;
+        }
+    }
+
+    private void ensureNotReleased() throws IOException {
+        if (released) {
+            throw new IOException("write beyond end of stream");
+        }
     }
 }
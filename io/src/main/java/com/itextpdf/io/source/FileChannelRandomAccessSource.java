@@ -43,6 +43,8 @@
  */
 package com.itextpdf.io.source;
 
+import com.itextpdf.io.util.StreamUtil;
+
 import com.itextpdf.io.LogMessageConstant;
 
 import java.nio.channels.FileChannel;
@@ -53,7 +55,7 @@ import org.slf4j.LoggerFactory;
  * A RandomAccessSource that is based on an underlying {@link java.nio.channels.FileChannel}.
  * The entire channel will be mapped into memory for efficient reads.
  */
-public class FileChannelRandomAccessSource implements IRandomAccessSource {
+public class FileChannelRandomAccessSource implements IRandomAccessSource, IByteBufferSource, IFileChannelSource {
 
     /**
      * The channel this source is based on
@@ -116,4 +118,26 @@ public class FileChannelRandomAccessSource implements IRandomAccessSource {
     public long length() {
         return source.length();
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    public java.nio.ByteBuffer createByteBufferView() throws java.io.IOException {
+        return source.createByteBufferView();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public java.nio.ByteBuffer createByteBufferView(long position, int length) throws java.io.IOException {
+        return source.createByteBufferView(position, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean transferTo(long position, long count, java.nio.channels.WritableByteChannel target) throws java.io.IOException {
+        StreamUtil.transferBytes(channel, position, count, target);
+        return true;
+    }
 }
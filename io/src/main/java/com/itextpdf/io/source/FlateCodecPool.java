@@ -0,0 +1,284 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.source;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A bounded pool of {@link Deflater}, {@link Inflater} instances and scratch buffers shared by all the documents.
+ * Every codec holds a native zlib context which is only freed by {@code end()} or by the finalizer, so reusing
+ * them instead of creating new ones for every stream keeps both the native memory and the GC pressure low.
+ * At most {@link #getMaxIdleCount()} idle instances of each kind are kept, the rest are released immediately.
+ * Deflaters are pooled per compression level, the limit applies to the idle deflaters of all the levels together.
+ * <br>
+ * This class is for internal usage only. Be aware that its API and functionality may be changed in future.
+ */
+public final class FlateCodecPool {
+
+    /**
+     * The size of the scratch buffers.
+     */
+    public static final int SCRATCH_BUFFER_SIZE = 0x8000;
+
+    private static final int maxIdleCount = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    // deflaters are kept per compression level, from Deflater.DEFAULT_COMPRESSION to Deflater.BEST_COMPRESSION,
+    // the pools of all the levels share one limit
+    private static final List<Pool<Deflater>> deflaters = createDeflaterPools(new AtomicInteger());
+
+    private static final Pool<Inflater> inflaters = new Pool<Inflater>(new AtomicInteger()) {
+        @Override
+        Inflater create() {
+            return new Inflater();
+        }
+
+        @Override
+        void reset(Inflater codec) {
+            codec.reset();
+        }
+
+        @Override
+        void end(Inflater codec) {
+            codec.end();
+        }
+    };
+
+    private static final Pool<byte[]> scratchBuffers = new Pool<byte[]>(new AtomicInteger()) {
+        @Override
+        byte[] create() {
+            return new byte[SCRATCH_BUFFER_SIZE];
+        }
+
+        @Override
+        void reset(byte[] buffer) {
+        }
+
+        @Override
+        void end(byte[] buffer) {
+        }
+    };
+
+    private FlateCodecPool() {
+    }
+
+    /**
+     * Gets the maximum number of idle instances of each kind which are kept for reuse.
+     *
+     * @return the maximum number of pooled instances
+     */
+    public static int getMaxIdleCount() {
+        return maxIdleCount;
+    }
+
+    /**
+     * Takes a deflater with the given compression level from the pool or creates a new one.
+     *
+     * @param level the compression level, from -1 to 9
+     * @return the deflater which shall be returned with {@link #releaseDeflater(Deflater, int)}
+     */
+    public static Deflater acquireDeflater(int level) {
+        if (!isPooledLevel(level)) {
+            return new Deflater(level);
+        }
+        return deflaters.get(level + 1).acquire();
+    }
+
+    /**
+     * Returns the deflater to the pool. The deflater must not be used after that.
+     *
+     * @param deflater the deflater taken with {@link #acquireDeflater(int)}
+     * @param level    the compression level passed to {@link #acquireDeflater(int)}
+     */
+    public static void releaseDeflater(Deflater deflater, int level) {
+        if (!isPooledLevel(level)) {
+            deflater.end();
+        } else {
+            deflaters.get(level + 1).release(deflater);
+        }
+    }
+
+    /**
+     * Takes an inflater from the pool or creates a new one.
+     *
+     * @return the inflater which shall be returned with {@link #releaseInflater(Inflater)}
+     */
+    public static Inflater acquireInflater() {
+        return inflaters.acquire();
+    }
+
+    /**
+     * Returns the inflater to the pool. The inflater must not be used after that.
+     *
+     * @param inflater the inflater taken with {@link #acquireInflater()}
+     */
+    public static void releaseInflater(Inflater inflater) {
+        inflaters.release(inflater);
+    }
+
+    /**
+     * Takes a buffer of {@link #SCRATCH_BUFFER_SIZE} bytes from the pool or creates a new one.
+     * The content of the buffer is undefined.
+     *
+     * @return the buffer which shall be returned with {@link #releaseScratchBuffer(byte[])}
+     */
+    public static byte[] acquireScratchBuffer() {
+        return scratchBuffers.acquire();
+    }
+
+    /**
+     * Returns the buffer to the pool. The buffer must not be used after that.
+     *
+     * @param buffer the buffer taken with {@link #acquireScratchBuffer()}
+     */
+    public static void releaseScratchBuffer(byte[] buffer) {
+        scratchBuffers.release(buffer);
+    }
+
+    static int getIdleDeflaterCount(int level) {
+        return deflaters.get(level + 1).size();
+    }
+
+    static int getIdleInflaterCount() {
+        return inflaters.size();
+    }
+
+    static int getIdleScratchBufferCount() {
+        return scratchBuffers.size();
+    }
+
+    /**
+     * Releases all the idle instances.
+     */
+    static void clear() {
+        for (Pool<Deflater> pool : deflaters) {
+            pool.clear();
+        }
+        inflaters.clear();
+        scratchBuffers.clear();
+    }
+
+    private static boolean isPooledLevel(int level) {
+        return level >= Deflater.DEFAULT_COMPRESSION && level <= Deflater.BEST_COMPRESSION;
+    }
+
+    private static List<Pool<Deflater>> createDeflaterPools(AtomicInteger totalIdleCount) {
+        List<Pool<Deflater>> pools = new ArrayList<>(Deflater.BEST_COMPRESSION + 2);
+        for (int level = Deflater.DEFAULT_COMPRESSION; level <= Deflater.BEST_COMPRESSION; level++) {
+            final int poolLevel = level;
+            pools.add(new Pool<Deflater>(totalIdleCount) {
+                @Override
+                Deflater create() {
+                    return new Deflater(poolLevel);
+                }
+
+                @Override
+                void reset(Deflater codec) {
+                    codec.reset();
+                }
+
+                @Override
+                void end(Deflater codec) {
+                    codec.end();
+                }
+            });
+        }
+        return pools;
+    }
+
+    private static abstract class Pool<T> {
+        private final Queue<T> idle = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger idleCount = new AtomicInteger();
+        // the number of idle items of all the pools sharing the limit
+        private final AtomicInteger totalIdleCount;
+
+        Pool(AtomicInteger totalIdleCount) {
+            this.totalIdleCount = totalIdleCount;
+        }
+
+        T acquire() {
+            T item = idle.poll();
+            if (item == null) {
+                return create();
+            }
+            idleCount.decrementAndGet();
+            totalIdleCount.decrementAndGet();
+            return item;
+        }
+
+        void release(T item) {
+            if (totalIdleCount.incrementAndGet() <= maxIdleCount) {
+                reset(item);
+                idleCount.incrementAndGet();
+                idle.offer(item);
+            } else {
+                totalIdleCount.decrementAndGet();
+                end(item);
+            }
+        }
+
+        void clear() {
+            for (T item = idle.poll(); item != null; item = idle.poll()) {
+                idleCount.decrementAndGet();
+                totalIdleCount.decrementAndGet();
+                end(item);
+            }
+        }
+
+        int size() {
+            return idleCount.get();
+        }
+
+        abstract T create();
+
+        abstract void reset(T item);
+
+        abstract void end(T item);
+    }
+}
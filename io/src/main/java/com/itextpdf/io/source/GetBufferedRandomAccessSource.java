@@ -45,7 +45,7 @@ package com.itextpdf.io.source;
 
 import java.io.Serializable;
 
-public class GetBufferedRandomAccessSource implements IRandomAccessSource, Serializable {
+public class GetBufferedRandomAccessSource implements IRandomAccessSource, IByteBufferSource, IFileChannelSource, Serializable {
 
     private static final long serialVersionUID = -8922625738755763494L;
     private final IRandomAccessSource source;
@@ -102,4 +102,25 @@ public class GetBufferedRandomAccessSource implements IRandomAccessSource, Seria
         getBufferStart = -1;
         getBufferEnd = -1;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    public java.nio.ByteBuffer createByteBufferView() throws java.io.IOException {
+        return source instanceof IByteBufferSource ? ((IByteBufferSource) source).createByteBufferView() : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public java.nio.ByteBuffer createByteBufferView(long position, int length) throws java.io.IOException {
+        return source instanceof IByteBufferSource ? ((IByteBufferSource) source).createByteBufferView(position, length) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean transferTo(long position, long count, java.nio.channels.WritableByteChannel target) throws java.io.IOException {
+        return source instanceof IFileChannelSource && ((IFileChannelSource) source).transferTo(position, count, target);
+    }
 }
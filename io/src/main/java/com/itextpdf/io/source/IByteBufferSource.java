@@ -0,0 +1,74 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.source;
+
+/**
+ * Represents a source which whole content can be accessed as a single {@link java.nio.ByteBuffer}
+ * without copying, e.g. a memory mapped file or a byte array.
+ * This interface is an internal implementation detail used by {@link PdfTokenizer} to scan
+ * the content directly and shouldn't be used by general iText users.
+ */
+interface IByteBufferSource {
+    /**
+     * Creates a new buffer sharing the content of this source. Position 0 of the buffer corresponds to
+     * position 0 of the source and the limit of the buffer is equal to the length of the source.
+     * The returned buffer becomes invalid once the source is closed.
+     *
+     * @return the buffer view of the source, or null if the content can not be accessed as a single buffer
+     * @throws java.io.IOException in case of any I/O error.
+     */
+    java.nio.ByteBuffer createByteBufferView() throws java.io.IOException;
+
+    /**
+     * Creates a new buffer sharing the part of the content of this source. Position 0 of the buffer corresponds to
+     * the specified position of the source and the limit of the buffer is equal to the specified length.
+     * The returned buffer becomes invalid once the source is closed.
+     *
+     * @param position the position in the source of the first byte of the view
+     * @param length   the length of the view, the part shall not exceed the length of the source
+     * @return the buffer view of the part of the source, or null if the content can not be accessed as a buffer
+     * @throws java.io.IOException in case of any I/O error.
+     */
+    java.nio.ByteBuffer createByteBufferView(long position, int length) throws java.io.IOException;
+}
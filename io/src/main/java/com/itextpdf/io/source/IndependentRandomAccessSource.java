@@ -47,7 +47,7 @@ package com.itextpdf.io.source;
  * A RandomAccessSource that is wraps another RandomAccessSource but does not propagate close().  This is useful when
  * passing a RandomAccessSource to a method that would normally close the source.
  */
-public class IndependentRandomAccessSource implements IRandomAccessSource {
+public class IndependentRandomAccessSource implements IRandomAccessSource, IByteBufferSource, IFileChannelSource {
     /**
      * The source
      */
@@ -89,4 +89,25 @@ public class IndependentRandomAccessSource implements IRandomAccessSource {
     public void close() throws java.io.IOException {
         // do not close the source
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    public java.nio.ByteBuffer createByteBufferView() throws java.io.IOException {
+        return source instanceof IByteBufferSource ? ((IByteBufferSource) source).createByteBufferView() : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public java.nio.ByteBuffer createByteBufferView(long position, int length) throws java.io.IOException {
+        return source instanceof IByteBufferSource ? ((IByteBufferSource) source).createByteBufferView(position, length) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean transferTo(long position, long count, java.nio.channels.WritableByteChannel target) throws java.io.IOException {
+        return source instanceof IFileChannelSource && ((IFileChannelSource) source).transferTo(position, count, target);
+    }
 }
@@ -57,6 +57,7 @@ public class OutputStream<T extends java.io.OutputStream> extends java.io.Output
     protected java.io.OutputStream outputStream = null;
     protected long currentPos = 0;
     protected boolean closeStream = true;
+    private int contentVersion = 0;
 
     public static boolean getHighPrecision() {
         return ByteUtils.HighPrecision;
@@ -96,6 +97,50 @@ public class OutputStream<T extends java.io.OutputStream> extends java.io.Output
         currentPos += len;
     }
 
+    /**
+     * Writes all the bytes of the source, regardless of its current position. If the source is stored in a file
+     * and this stream writes to a {@link BufferedFileOutputStream}, the bytes are transferred between
+     * the file channels by the operating system, without being copied into the Java heap.
+     *
+     * @param source the source to write
+     * @return the number of written bytes
+     * @throws java.io.IOException in case of any I/O error
+     */
+    public long transferFrom(RandomAccessFileOrArray source) throws java.io.IOException {
+        return transferFrom(source, 0, source.length());
+    }
+
+    /**
+     * Writes the specified range of the bytes of the source, regardless of its current position. If the source
+     * is stored in a file and this stream writes to a {@link BufferedFileOutputStream}, the bytes are transferred
+     * between the file channels by the operating system, without being copied into the Java heap.
+     *
+     * @param source   the source to write
+     * @param position the position of the first byte to write
+     * @param length   the number of bytes to write
+     * @return the number of written bytes
+     * @throws java.io.IOException in case of any I/O error
+     */
+    public long transferFrom(RandomAccessFileOrArray source, long position, long length) throws java.io.IOException {
+        if (outputStream instanceof BufferedFileOutputStream
+                && source.transferTo(position, length, ((BufferedFileOutputStream) outputStream).getChannel())) {
+            currentPos += length;
+            return length;
+        }
+        source.seek(position);
+        byte[] buffer = new byte[8192];
+        long remaining = length;
+        while (remaining > 0) {
+            int n = source.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (n <= 0) {
+                throw new java.io.EOFException();
+            }
+            write(buffer, 0, n);
+            remaining -= n;
+        }
+        return length;
+    }
+
     public void writeByte(byte value) {
         try {
             write(value);
@@ -209,6 +254,17 @@ public class OutputStream<T extends java.io.OutputStream> extends java.io.Output
         return currentPos;
     }
 
+    /**
+     * Gets the number of times the already written bytes were discarded or replaced,
+     * see {@link #reset()} and {@link #assignBytes(byte[], int)}. Together with {@link #getCurrentPos()} it identifies
+     * the content written through this stream: writing only ever increases the position.
+     *
+     * @return the number of resets and reassignments of the written bytes
+     */
+    public int getContentVersion() {
+        return contentVersion;
+    }
+
     public java.io.OutputStream getOutputStream() {
         return outputStream;
     }
@@ -225,6 +281,7 @@ public class OutputStream<T extends java.io.OutputStream> extends java.io.Output
         if (outputStream instanceof ByteArrayOutputStream) {
             ((ByteArrayOutputStream) outputStream).assignBytes(bytes, count);
             currentPos = count;
+            contentVersion++;
         } else
             throw new IOException(IOException.BytesCanBeAssignedToByteArrayOutputStreamOnly);
     }
@@ -233,6 +290,7 @@ public class OutputStream<T extends java.io.OutputStream> extends java.io.Output
         if (outputStream instanceof ByteArrayOutputStream) {
             ((ByteArrayOutputStream) outputStream).reset();
             currentPos = 0;
+            contentVersion++;
         } else
             throw new IOException(IOException.BytesCanBeResetInByteArrayOutputStreamOnly);
     }
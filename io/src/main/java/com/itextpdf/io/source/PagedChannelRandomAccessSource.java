@@ -43,6 +43,8 @@
  */
 package com.itextpdf.io.source;
 
+import com.itextpdf.io.util.StreamUtil;
+
 import com.itextpdf.io.LogMessageConstant;
 
 import java.io.IOException;
@@ -60,7 +62,7 @@ import org.slf4j.LoggerFactory;
  * As an implementation detail, we use {@link GroupedRandomAccessSource} functionality, but override to make determination of the underlying
  * mapped page more efficient - and to close each page as another is opened
  */
-class PagedChannelRandomAccessSource extends GroupedRandomAccessSource implements IRandomAccessSource {
+class PagedChannelRandomAccessSource extends GroupedRandomAccessSource implements IRandomAccessSource, IByteBufferSource, IFileChannelSource {
     // these values were selected based on parametric testing with extracting text content from a 2.3GB file.  These settings resulted in the best improvement over
     // the single size MRU case (24% speed improvement)
     public static final int DEFAULT_TOTAL_BUFSIZE = 1 << 26;
@@ -229,5 +231,29 @@ class PagedChannelRandomAccessSource extends GroupedRandomAccessSource implement
             return null;
         }
     }
-}
 
+    /**
+     * {@inheritDoc}
+     * The channel is too large to be mapped at once, so the whole content is never available as a single buffer.
+     */
+    public java.nio.ByteBuffer createByteBufferView() {
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The part is mapped separately from the pages of this source, so it stays valid when the pages are closed
+     * and is unmapped once the buffer is garbage collected.
+     */
+    public java.nio.ByteBuffer createByteBufferView(long position, int length) throws java.io.IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean transferTo(long position, long count, java.nio.channels.WritableByteChannel target) throws java.io.IOException {
+        StreamUtil.transferBytes(channel, position, count, target);
+        return true;
+    }
+}
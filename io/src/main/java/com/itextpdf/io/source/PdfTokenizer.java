@@ -51,12 +51,19 @@ import org.slf4j.LoggerFactory;
 
 import java.io.Closeable;
 import java.io.Serializable;
+import java.nio.Buffer;
 import java.util.Arrays;
 
 public class PdfTokenizer implements Closeable, Serializable {
 
     private static final long serialVersionUID = -2949864233416670521L;
 
+    /**
+     * The size of the window of the source mapped at once in direct buffer reading mode,
+     * if the source is too large to be viewed as a single buffer.
+     */
+    private static final int DIRECT_BUFFER_WINDOW_SIZE = 1 << 22;
+
     public enum TokenType {
         Number,
         String,
@@ -126,6 +133,36 @@ public class PdfTokenizer implements Closeable, Serializable {
      */
     private boolean closeStream = true;
 
+    /**
+     * Whether tokens shall be scanned directly over a {@link java.nio.ByteBuffer} view of the source.
+     */
+    private boolean directBufferReading = false;
+    private transient java.nio.ByteBuffer directBuffer;
+    private transient boolean directBufferRequested = false;
+
+    /**
+     * Whether the source is too large to be viewed as a single buffer and {@link #directBuffer} is a window
+     * of the source which is re-mapped when a token crosses its end.
+     */
+    private transient boolean directBufferWindowed = false;
+
+    /**
+     * Position in the source of the first byte of {@link #directBuffer}.
+     */
+    private transient long directBufferOffset;
+
+    /**
+     * Whether {@link #directBuffer} ends at the end of the source.
+     */
+    private transient boolean directBufferAtEnd;
+
+    /**
+     * Start and length of the current token content in {@link #directBuffer}.
+     * If the start is negative, the content is stored in {@link #outBuf}.
+     */
+    private int contentStart = -1;
+    private int contentLength;
+
     /**
      * Creates a PdfTokenizer for the specified {@link RandomAccessFileOrArray}.
      * The beginning of the file is read to determine the location of the header, and the data source is adjusted
@@ -151,6 +188,10 @@ public class PdfTokenizer implements Closeable, Serializable {
     }
 
     public void close() throws java.io.IOException {
+        directBuffer = null;
+        directBufferRequested = false;
+        directBufferWindowed = false;
+        contentStart = -1;
         if (closeStream)
             file.close();
     }
@@ -180,14 +221,26 @@ public class PdfTokenizer implements Closeable, Serializable {
     }
 
     public byte[] getByteContent() {
+        if (contentStart >= 0) {
+            byte[] content = new byte[contentLength];
+            ((Buffer) directBuffer).position(contentStart);
+            directBuffer.get(content);
+            return content;
+        }
         return outBuf.toByteArray();
     }
 
     public String getStringValue() {
+        if (contentStart >= 0) {
+            return new String(getByteContent());
+        }
         return new String(outBuf.getInternalBuffer(), 0, outBuf.size());
     }
 
     public byte[] getDecodedStringContent() {
+        if (contentStart >= 0) {
+            return decodeStringContent(getByteContent(), 0, contentLength - 1, isHexString());
+        }
         return decodeStringContent(outBuf.getInternalBuffer(), 0, outBuf.size() - 1, isHexString());
     }
 
@@ -196,6 +249,14 @@ public class PdfTokenizer implements Closeable, Serializable {
             return false;
 
         int size = cmp.length;
+        if (contentStart >= 0) {
+            if (contentLength != size)
+                return false;
+            for (int i = 0; i < size; i++)
+                if (cmp[i] != directBuffer.get(contentStart + i))
+                    return false;
+            return true;
+        }
         if (outBuf.size() != size)
             return false;
 
@@ -205,6 +266,27 @@ public class PdfTokenizer implements Closeable, Serializable {
         return true;
     }
 
+    /**
+     * Calculates the hash code of the current token content without copying it,
+     * the result is the same as of {@link java.util.Arrays#hashCode(byte[])} for {@link #getByteContent()}.
+     *
+     * @return hash code of the token content
+     */
+    public int getByteContentHashCode() {
+        int hash = 1;
+        if (contentStart >= 0) {
+            for (int i = contentStart, end = contentStart + contentLength; i < end; i++) {
+                hash = 31 * hash + directBuffer.get(i);
+            }
+        } else {
+            byte[] buf = outBuf.getInternalBuffer();
+            for (int i = 0, size = outBuf.size(); i < size; i++) {
+                hash = 31 * hash + buf[i];
+            }
+        }
+        return hash;
+    }
+
     public int getObjNr() {
         return reference;
     }
@@ -283,7 +365,7 @@ public class PdfTokenizer implements Closeable, Serializable {
                     if (type != TokenType.Number) {
                         file.seek(ptr);
                         type = TokenType.Number;
-                        outBuf.reset().append(n1);
+                        setContent(n1);
                         return;
                     }
                     n2 = getByteContent();
@@ -317,7 +399,7 @@ public class PdfTokenizer implements Closeable, Serializable {
                     }
                     file.seek(ptr);
                     type = TokenType.Number;
-                    outBuf.reset().append(n1);
+                    setContent(n1);
                     return;
                 }
             }
@@ -325,7 +407,7 @@ public class PdfTokenizer implements Closeable, Serializable {
 
         if (level == 1) { // if the level 1 check returns EOF, then we are still looking at a number - set the type back to Number
             type = TokenType.Number;
-            outBuf.reset().append(n1);
+            setContent(n1);
         }
         // if we hit here, the file is either corrupt (stream ended unexpectedly),
         // or the last token ended exactly at the end of a stream.  This last
@@ -333,8 +415,34 @@ public class PdfTokenizer implements Closeable, Serializable {
     }
 
     public boolean nextToken() throws java.io.IOException {
-        int ch;
         outBuf.reset();
+        contentStart = -1;
+        long position = file.getPosition();
+        for (int attempt = 0; attempt < 2; attempt++) {
+            java.nio.ByteBuffer buffer = getDirectBuffer(position, attempt > 0);
+            if (buffer == null) {
+                break;
+            }
+            try {
+                boolean hasNext = nextTokenFromBuffer(buffer);
+                if (!isDirectBufferExceeded()) {
+                    return hasNext;
+                }
+            } catch (IOException e) {
+                if (!isDirectBufferExceeded()) {
+                    throw e;
+                }
+            }
+            // the token crosses the end of the window, scan it once again from a window starting at the token
+            file.seek(position);
+            outBuf.reset();
+            contentStart = -1;
+        }
+        return nextTokenFromFile();
+    }
+
+    private boolean nextTokenFromFile() throws java.io.IOException {
+        int ch;
         do {
             ch = file.read();
         } while (ch != -1 && isWhitespace(ch));
@@ -481,6 +589,244 @@ public class PdfTokenizer implements Closeable, Serializable {
         return true;
     }
 
+    /**
+     * Reads the next token scanning the buffer view of the source. The file position is synchronized
+     * with the buffer position once the token is read, so that the result is the same as of {@link #nextTokenFromFile()}.
+     */
+    private boolean nextTokenFromBuffer(java.nio.ByteBuffer buffer) throws java.io.IOException {
+        int limit = buffer.limit();
+        int pos = (int) (file.getPosition() - directBufferOffset);
+        int ch;
+        do {
+            ch = getByte(buffer, pos++);
+        } while (ch != -1 && isWhitespace(ch));
+        if (ch == -1) {
+            file.seek(directBufferOffset + pos);
+            type = TokenType.EndOfFile;
+            return false;
+        }
+        int tokenStart = pos - 1;
+        switch (ch) {
+            case '[': {
+                type = TokenType.StartArray;
+                break;
+            }
+            case ']': {
+                type = TokenType.EndArray;
+                break;
+            }
+            case '/': {
+                type = TokenType.Name;
+                int start = pos;
+                while (pos < limit && !delims[(buffer.get(pos) & 0xff) + 1]) {
+                    ++pos;
+                }
+                setContentSlice(start, pos - start);
+                if (pos == limit) {
+                    // end of file was read, it is not pushed back
+                    ++pos;
+                }
+                break;
+            }
+            case '>': {
+                ch = getByte(buffer, pos++);
+                if (ch != '>') {
+                    file.seek(directBufferOffset + pos);
+                    throwError(IOException.GtNotExpected);
+                }
+                type = TokenType.EndDic;
+                break;
+            }
+            case '<': {
+                int v1 = getByte(buffer, pos++);
+                if (v1 == '<') {
+                    type = TokenType.StartDic;
+                    break;
+                }
+                type = TokenType.String;
+                hexString = true;
+                int v2 = 0;
+                while (true) {
+                    while (isWhitespace(v1))
+                        v1 = getByte(buffer, pos++);
+                    if (v1 == '>')
+                        break;
+                    outBuf.append(v1);
+                    v1 = ByteBuffer.getHex(v1);
+                    if (v1 < 0)
+                        break;
+                    v2 = getByte(buffer, pos++);
+                    while (isWhitespace(v2))
+                        v2 = getByte(buffer, pos++);
+                    if (v2 == '>') {
+                        break;
+                    }
+                    outBuf.append(v2);
+                    v2 = ByteBuffer.getHex(v2);
+                    if (v2 < 0)
+                        break;
+                    v1 = getByte(buffer, pos++);
+                }
+                if (v1 < 0 || v2 < 0) {
+                    file.seek(directBufferOffset + pos);
+                    throwError(IOException.ErrorReadingString);
+                }
+                break;
+            }
+            case '%': {
+                type = TokenType.Comment;
+                do {
+                    ch = getByte(buffer, pos++);
+                } while (ch != -1 && ch != '\r' && ch != '\n');
+                break;
+            }
+            case '(': {
+                type = TokenType.String;
+                hexString = false;
+                int start = pos;
+                int nesting = 0;
+                while (true) {
+                    ch = getByte(buffer, pos++);
+                    if (ch == -1)
+                        break;
+                    if (ch == '(') {
+                        ++nesting;
+                    } else if (ch == ')') {
+                        --nesting;
+                        if (nesting == -1)
+                            break;
+                    } else if (ch == '\\') {
+                        ch = getByte(buffer, pos++);
+                        if (ch < 0)
+                            break;
+                    }
+                }
+                if (ch == -1) {
+                    file.seek(directBufferOffset + pos);
+                    throwError(IOException.ErrorReadingString);
+                }
+                setContentSlice(start, pos - 1 - start);
+                break;
+            }
+            default: {
+                if (ch == '-' || ch == '+' || ch == '.' || (ch >= '0' && ch <= '9')) {
+                    type = TokenType.Number;
+                    boolean isReal = false;
+                    int numberOfMinuses = 0;
+                    if (ch == '-') {
+                        // Take care of number like "--234". If Acrobat can read them so must we.
+                        do {
+                            ++numberOfMinuses;
+                            ch = getByte(buffer, pos++);
+                        } while (ch == '-');
+                    } else {
+                        ch = getByte(buffer, pos++);
+                    }
+                    int digitsStart = pos - 1;
+                    while (ch != -1 && ((ch >= '0' && ch <= '9') || ch == '.')) {
+                        if (ch == '.')
+                            isReal = true;
+                        ch = getByte(buffer, pos++);
+                    }
+                    int end = pos - 1;
+                    if (numberOfMinuses <= 1) {
+                        setContentSlice(tokenStart, end - tokenStart);
+                    } else if (!isReal) {
+                        // Numbers of integer type and with more than one minus before them
+                        // are interpreted by Acrobat as zero.
+                        outBuf.append('0');
+                    } else {
+                        outBuf.append('-');
+                        for (int i = digitsStart; i < end; i++) {
+                            outBuf.append(buffer.get(i));
+                        }
+                    }
+                } else {
+                    type = TokenType.Other;
+                    do {
+                        ch = getByte(buffer, pos++);
+                    } while (!delims[ch + 1]);
+                    setContentSlice(tokenStart, pos - 1 - tokenStart);
+                }
+                if (ch != -1) {
+                    // push back the delimiter
+                    --pos;
+                }
+                break;
+            }
+        }
+        file.seek(directBufferOffset + pos);
+        return true;
+    }
+
+    private static int getByte(java.nio.ByteBuffer buffer, int pos) {
+        return pos < buffer.limit() ? buffer.get(pos) & 0xff : -1;
+    }
+
+    private void setContentSlice(int start, int length) {
+        contentStart = start;
+        contentLength = length;
+    }
+
+    private void setContent(byte[] content) {
+        contentStart = -1;
+        outBuf.reset().append(content);
+    }
+
+    /**
+     * Gets the buffer to scan the token at the specified position from.
+     *
+     * @param position the position of the token in the source
+     * @param remap    true if the current window doesn't contain the whole token and a window starting
+     *                 at the position is needed
+     * @return the buffer containing the position, or null if the source shall be read byte by byte
+     */
+    private java.nio.ByteBuffer getDirectBuffer(long position, boolean remap) throws java.io.IOException {
+        if (!directBufferReading) {
+            return null;
+        }
+        if (!directBufferRequested) {
+            directBufferRequested = true;
+            java.nio.ByteBuffer buffer = file.createByteBufferView();
+            if (buffer != null && buffer.limit() < Integer.MAX_VALUE) {
+                directBuffer = buffer;
+                directBufferOffset = 0;
+                directBufferAtEnd = true;
+            } else {
+                directBufferWindowed = true;
+            }
+        }
+        if (directBuffer != null && !remap && position >= directBufferOffset
+                && position - directBufferOffset < directBuffer.limit()) {
+            return directBuffer;
+        }
+        long length = file.length();
+        if (!directBufferWindowed || position >= length || remap && directBuffer != null && position == directBufferOffset) {
+            return null;
+        }
+        int windowLength = (int) Math.min(DIRECT_BUFFER_WINDOW_SIZE, length - position);
+        java.nio.ByteBuffer window = file.createByteBufferView(position, windowLength);
+        if (window == null) {
+            directBufferWindowed = false;
+            directBuffer = null;
+            Logger logger = LoggerFactory.getLogger(PdfTokenizer.class);
+            logger.warn(LogMessageConstant.DIRECT_BUFFER_READING_NOT_SUPPORTED);
+            return null;
+        }
+        directBuffer = window;
+        directBufferOffset = position;
+        directBufferAtEnd = position + windowLength == length;
+        return window;
+    }
+
+    /**
+     * Checks whether the last token scanned from {@link #directBuffer} was cut by the end of the buffer
+     * while the source continues after it.
+     */
+    private boolean isDirectBufferExceeded() throws java.io.IOException {
+        return !directBufferAtEnd && file.getPosition() - directBufferOffset > directBuffer.limit();
+    }
+
     public long getLongValue() {
         return Long.parseLong(getStringValue());
     }
@@ -501,6 +847,37 @@ public class PdfTokenizer implements Closeable, Serializable {
         this.closeStream = closeStream;
     }
 
+    /**
+     * Checks whether tokens are scanned directly over a {@link java.nio.ByteBuffer} view of the source.
+     *
+     * @return true if the direct buffer reading mode is enabled, false otherwise.
+     */
+    public boolean isDirectBufferReading() {
+        return directBufferReading;
+    }
+
+    /**
+     * Sets whether tokens shall be scanned directly over a {@link java.nio.ByteBuffer} view of the source
+     * instead of reading the source byte by byte. The mode takes effect only for the sources which content
+     * is available as a buffer, i.e. memory mapped files and byte arrays. Files which are too large to be mapped at once
+     * are scanned through a window, which is re-mapped when a token crosses its end.
+     * Other sources are read as usual and a warning is logged.
+     * <br>
+     * In this mode the content of names, numbers, literal strings and other plain tokens is not copied to
+     * {@link #outBuf}, instead the tokenizer refers to it as to a slice of the buffer. Use {@link #getByteContent()},
+     * {@link #getStringValue()}, {@link #tokenValueEqualsTo(byte[])} and other accessors to get the token content.
+     *
+     * @param directBufferReading true to scan the buffer view of the source, false to read the source byte by byte.
+     */
+    public void setDirectBufferReading(boolean directBufferReading) {
+        this.directBufferReading = directBufferReading;
+        if (!directBufferReading) {
+            directBuffer = null;
+            directBufferRequested = false;
+            directBufferWindowed = false;
+        }
+    }
+
     public RandomAccessFileOrArray getSafeFile() {
         return file.createView();
     }
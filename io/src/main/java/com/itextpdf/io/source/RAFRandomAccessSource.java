@@ -43,13 +43,15 @@
  */
 package com.itextpdf.io.source;
 
+import com.itextpdf.io.util.StreamUtil;
+
 import java.io.RandomAccessFile;
 
 /**
  * A RandomAccessSource that uses a {@link java.io.RandomAccessFile} as it's source
  * Note: Unlike most of the RandomAccessSource implementations, this class is not thread safe
  */
-class RAFRandomAccessSource implements IRandomAccessSource {
+class RAFRandomAccessSource implements IRandomAccessSource, IFileChannelSource {
     /**
      * The source
      */
@@ -117,4 +119,12 @@ class RAFRandomAccessSource implements IRandomAccessSource {
     public void close() throws java.io.IOException {
         raf.close();
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean transferTo(long position, long count, java.nio.channels.WritableByteChannel target) throws java.io.IOException {
+        StreamUtil.transferBytes(raf.getChannel(), position, count, target);
+        return true;
+    }
 }
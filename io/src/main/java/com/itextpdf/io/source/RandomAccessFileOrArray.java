@@ -113,6 +113,44 @@ public class RandomAccessFileOrArray implements DataInput, Serializable {
         return new IndependentRandomAccessSource(byteSource);
     }
 
+    /**
+     * Creates a {@link java.nio.ByteBuffer} view of the whole byte source of this object, if the source supports it.
+     * The view doesn't track the position of this object and becomes invalid once this object is closed.
+     *
+     * @return the buffer view of the byte source, or null if the byte source can not be accessed as a single buffer.
+     * @throws java.io.IOException in case of any I/O error.
+     */
+    java.nio.ByteBuffer createByteBufferView() throws java.io.IOException {
+        return byteSource instanceof IByteBufferSource ? ((IByteBufferSource) byteSource).createByteBufferView() : null;
+    }
+
+    /**
+     * Creates a {@link java.nio.ByteBuffer} view of the part of the byte source of this object, if the source supports it.
+     * The view doesn't track the position of this object and becomes invalid once this object is closed.
+     *
+     * @param position the position in the byte source of the first byte of the view
+     * @param length   the length of the view
+     * @return the buffer view of the part of the byte source, or null if the byte source can not be accessed as a buffer.
+     * @throws java.io.IOException in case of any I/O error.
+     */
+    java.nio.ByteBuffer createByteBufferView(long position, int length) throws java.io.IOException {
+        return byteSource instanceof IByteBufferSource ? ((IByteBufferSource) byteSource).createByteBufferView(position, length) : null;
+    }
+
+    /**
+     * Transfers the bytes of the byte source to the target channel without copying them into the Java heap,
+     * if the byte source is stored in a file channel. The position of this object is not changed.
+     *
+     * @param position the position in the byte source of the first byte to transfer
+     * @param count    the number of bytes to transfer
+     * @param target   the target channel
+     * @return true if the bytes were transferred, false if the byte source is not stored in a file channel.
+     * @throws java.io.IOException in case of any I/O error.
+     */
+    boolean transferTo(long position, long count, java.nio.channels.WritableByteChannel target) throws java.io.IOException {
+        return byteSource instanceof IFileChannelSource && ((IFileChannelSource) byteSource).transferTo(position, count, target);
+    }
+
     /**
      * Pushes a byte back.  The next get() will return this byte instead of the value from the underlying data source
      *
@@ -603,7 +641,7 @@ public class RandomAccessFileOrArray implements DataInput, Serializable {
         return new String(buf, encoding);
     }
 
-    private void ensureByteSourceIsThreadSafe() {
+    private synchronized void ensureByteSourceIsThreadSafe() {
         if (!(byteSource instanceof ThreadSafeRandomAccessSource)) {
             byteSource = new ThreadSafeRandomAccessSource(byteSource);
         }
@@ -44,7 +44,7 @@ package com.itextpdf.io.source;
 
 import java.io.IOException;
 
-public class ThreadSafeRandomAccessSource implements IRandomAccessSource {
+public class ThreadSafeRandomAccessSource implements IRandomAccessSource, IByteBufferSource, IFileChannelSource {
     private final IRandomAccessSource source;
     private final Object lockObj = new Object();
     
@@ -79,4 +79,27 @@ public class ThreadSafeRandomAccessSource implements IRandomAccessSource {
             source.close();
         }
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    public java.nio.ByteBuffer createByteBufferView() throws java.io.IOException {
+        return source instanceof IByteBufferSource ? ((IByteBufferSource) source).createByteBufferView() : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public java.nio.ByteBuffer createByteBufferView(long position, int length) throws java.io.IOException {
+        return source instanceof IByteBufferSource ? ((IByteBufferSource) source).createByteBufferView(position, length) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean transferTo(long position, long count, java.nio.channels.WritableByteChannel target) throws java.io.IOException {
+        synchronized (lockObj) {
+            return source instanceof IFileChannelSource && ((IFileChannelSource) source).transferTo(position, count, target);
+        }
+    }
 }
@@ -49,7 +49,7 @@ import java.io.Serializable;
  * A RandomAccessSource that wraps another RandomAccessSource and provides a window of it at a specific offset and over
  * a specific length.  Position 0 becomes the offset position in the underlying source.
  */
-public class WindowRandomAccessSource implements IRandomAccessSource, Serializable {
+public class WindowRandomAccessSource implements IRandomAccessSource, IByteBufferSource, IFileChannelSource, Serializable {
     private static final long serialVersionUID = -8539987600466289182L;
     /**
      * The source
@@ -122,4 +122,40 @@ public class WindowRandomAccessSource implements IRandomAccessSource, Serializab
     public void close() throws java.io.IOException {
         source.close();
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    public java.nio.ByteBuffer createByteBufferView() throws java.io.IOException {
+        if (!(source instanceof IByteBufferSource)) {
+            return null;
+        }
+        java.nio.ByteBuffer view = ((IByteBufferSource) source).createByteBufferView();
+        if (view == null || offset + length > view.limit()) {
+            return null;
+        }
+        ((java.nio.Buffer) view).position((int) offset);
+        ((java.nio.Buffer) view).limit((int) (offset + length));
+        return view.slice();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public java.nio.ByteBuffer createByteBufferView(long position, int length) throws java.io.IOException {
+        if (!(source instanceof IByteBufferSource) || position + length > this.length) {
+            return null;
+        }
+        return ((IByteBufferSource) source).createByteBufferView(offset + position, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean transferTo(long position, long count, java.nio.channels.WritableByteChannel target) throws java.io.IOException {
+        if (position + count > length) {
+            return false;
+        }
+        return source instanceof IFileChannelSource && ((IFileChannelSource) source).transferTo(offset + position, count, target);
+    }
 }
@@ -43,6 +43,8 @@
  */
 package com.itextpdf.io.util;
 
+import com.itextpdf.io.source.BufferedFileOutputStream;
+
 import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -147,7 +149,7 @@ public final class FileUtil {
     }
 
     public static java.io.OutputStream getBufferedOutputStream(String filename) throws FileNotFoundException {
-        return new BufferedOutputStream(new FileOutputStream(filename));
+        return new BufferedFileOutputStream(filename);
     }
 
     public static java.io.OutputStream wrapWithBufferedOutputStream(OutputStream outputStream) {
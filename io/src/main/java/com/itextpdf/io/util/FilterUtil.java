@@ -44,6 +44,7 @@
 package com.itextpdf.io.util;
 
 import com.itextpdf.io.IOException;
+import com.itextpdf.io.source.FlateCodecPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -76,9 +77,9 @@ public final class FilterUtil {
      */
     public static byte[] flateDecode(byte[] input, boolean strict) {
         ByteArrayInputStream stream = new ByteArrayInputStream(input);
-        InflaterInputStream zip = new InflaterInputStream(stream);
+        InflaterInputStream zip = new com.itextpdf.io.source.InflaterInputStream(stream);
         ByteArrayOutputStream output = new ByteArrayOutputStream();
-        byte[] b = new byte[strict ? 4092 : 1];
+        byte[] b = strict ? FlateCodecPool.acquireScratchBuffer() : new byte[1];
         try {
             int n;
             while ((n = zip.read(b)) >= 0) {
@@ -90,6 +91,9 @@ public final class FilterUtil {
         } catch (Exception e) {
             return strict ? null : output.toByteArray();
         }finally {
+            if (strict) {
+                FlateCodecPool.releaseScratchBuffer(b);
+            }
             try {
                 zip.close();
                 output.close();
@@ -120,12 +124,14 @@ public final class FilterUtil {
      * @param inflated the buffer for the uncompressed data
      */
     public static void inflateData(byte[] deflated, byte[] inflated) {
-        Inflater inflater = new Inflater();
+        Inflater inflater = FlateCodecPool.acquireInflater();
         inflater.setInput(deflated);
         try {
             inflater.inflate(inflated);
         } catch (DataFormatException dfe) {
             throw new IOException(IOException.CannotInflateTiffImage);
+        } finally {
+            FlateCodecPool.releaseInflater(inflater);
         }
     }
 
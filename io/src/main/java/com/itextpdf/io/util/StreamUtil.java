@@ -53,6 +53,8 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 
 
 /**
@@ -187,6 +189,27 @@ public final class StreamUtil {
         }
     }
 
+    /**
+     * Transfers the bytes of the file channel to the output channel. The bytes are copied by the operating system
+     * whenever it supports that, without being copied into the Java heap.
+     *
+     * @param input    the channel to transfer the bytes from
+     * @param position the position in the input channel of the first byte to transfer
+     * @param count    the number of bytes to transfer
+     * @param output   the channel to transfer the bytes to, starting at its current position
+     * @throws java.io.IOException in case of any I/O error, or if the input channel ends before all the bytes are transferred
+     */
+    public static void transferBytes(FileChannel input, long position, long count, WritableByteChannel output) throws java.io.IOException {
+        long end = position + count;
+        while (position < end) {
+            long transferred = input.transferTo(position, end - position, output);
+            if (transferred <= 0) {
+                throw new EOFException();
+            }
+            position += transferred;
+        }
+    }
+
     public static void transferBytes(RandomAccessFileOrArray input, java.io.OutputStream output) throws java.io.IOException {
         byte[] buffer = new byte[TRANSFER_SIZE];
         for (; ; ) {
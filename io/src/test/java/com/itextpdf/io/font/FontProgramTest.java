@@ -88,7 +88,7 @@ public class FontProgramTest {
             Field f = FontCache.class.getDeclaredField("fontCache");
             f.setAccessible(true);
             Map<FontCacheKey, FontProgram> cachedFonts = ((Map<FontCacheKey, FontProgram>) f.get(null));
-            cachedFonts.clear();
+            FontCache.clearSavedFonts();
             FontProgramFactory.registerFontDirectory("./src/test/resources/com/itextpdf/io/font/otf/");
             cacheSize = cachedFonts.size();
         } catch (Exception e) { }
@@ -0,0 +1,146 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+@Category(UnitTest.class)
+public class DirectBufferWindowTest extends ExtendedITextTest {
+
+    private static final String destinationFolder = "./target/test/com/itextpdf/io/source/DirectBufferWindowTest/";
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void pagedSourceTokensTest() throws IOException {
+        String filename = destinationFolder + "paged.bin";
+        createTokensFile(filename, 10000000);
+        PdfTokenizer expected = new PdfTokenizer(new RandomAccessFileOrArray(
+                new RandomAccessSourceFactory().setUsePlainRandomAccess(true).createBestSource(filename)));
+        PdfTokenizer actual = new PdfTokenizer(new RandomAccessFileOrArray(new GetBufferedRandomAccessSource(
+                new PagedChannelRandomAccessSource(new RandomAccessFile(filename, "r").getChannel()))));
+        actual.setDirectBufferReading(true);
+        try {
+            checkSameTokens(expected, actual);
+
+            // seeking back re-maps the window as well
+            expected.seek(4500000);
+            actual.seek(4500000);
+            checkSameTokens(expected, actual);
+        } finally {
+            expected.close();
+            actual.close();
+        }
+    }
+
+    private static void createTokensFile(String filename, int length) throws IOException {
+        Random random = new Random(length);
+        StringBuilder longString = new StringBuilder("(");
+        for (int i = 0; i < 5000000; i++) {
+            longString.append((char) ('a' + i % 26));
+        }
+        longString.append(')');
+        BufferedOutputStream bos = new BufferedOutputStream(new FileOutputStream(filename));
+        int written = 0;
+        int token = 0;
+        while (written < length) {
+            String value;
+            switch (token++ % 8) {
+                case 0:
+                    value = "/Name" + random.nextInt(100000);
+                    break;
+                case 1:
+                    value = "-" + random.nextInt(1000) + "." + random.nextInt(100) + " --" + random.nextInt(50);
+                    break;
+                case 2:
+                    value = "(some \\) string " + random.nextInt() + ")";
+                    break;
+                case 3:
+                    value = "<4142" + Integer.toHexString(random.nextInt()) + ">";
+                    break;
+                case 4:
+                    value = "%comment " + random.nextInt() + "\n";
+                    break;
+                case 5:
+                    value = "<</Kids[1 0 R]>>obj";
+                    break;
+                case 6:
+                    value = token == 7 ? longString.toString() : "endobj";
+                    break;
+                default:
+                    value = String.valueOf(random.nextInt());
+            }
+            byte[] bytes = (value + (random.nextBoolean() ? " " : "\n")).getBytes(StandardCharsets.ISO_8859_1);
+            bos.write(bytes);
+            written += bytes.length;
+        }
+        bos.write("/Last".getBytes(StandardCharsets.ISO_8859_1));
+        bos.close();
+    }
+
+    private static void checkSameTokens(PdfTokenizer expected, PdfTokenizer actual) throws IOException {
+        boolean hasNext;
+        do {
+            hasNext = expected.nextToken();
+            Assert.assertEquals(hasNext, actual.nextToken());
+            Assert.assertEquals(expected.getTokenType(), actual.getTokenType());
+            Assert.assertEquals(expected.getPosition(), actual.getPosition());
+            Assert.assertTrue(actual.tokenValueEqualsTo(expected.getByteContent()));
+        } while (hasNext);
+    }
+}
@@ -0,0 +1,219 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.io.util.FilterUtil;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.IOException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class FlateCodecPoolTest {
+
+    // the pool is shared by the whole process, so every test starts and ends with the empty one
+    @Before
+    public void clearPool() {
+        FlateCodecPool.clear();
+    }
+
+    @After
+    public void releasePool() {
+        FlateCodecPool.clear();
+    }
+
+    @Test
+    public void deflaterReuseTest() throws IOException {
+        byte[] data = createData(100000);
+        for (int i = 0; i < 5; i++) {
+            for (int level = -1; level <= 9; level++) {
+                Assert.assertArrayEquals(deflateWithNewDeflater(data, level), deflate(data, level));
+            }
+        }
+        FlateCodecPool.clear();
+        Deflater deflater = FlateCodecPool.acquireDeflater(Deflater.BEST_SPEED);
+        FlateCodecPool.releaseDeflater(deflater, Deflater.BEST_SPEED);
+        Assert.assertSame(deflater, FlateCodecPool.acquireDeflater(Deflater.BEST_SPEED));
+        FlateCodecPool.releaseDeflater(deflater, Deflater.BEST_SPEED);
+    }
+
+    @Test
+    public void releaseOnceTest() throws IOException {
+        DeflaterOutputStream zip = new DeflaterOutputStream(new ByteArrayOutputStream(), Deflater.BEST_COMPRESSION);
+        Assert.assertEquals(0, FlateCodecPool.getIdleDeflaterCount(Deflater.BEST_COMPRESSION));
+        zip.write(createData(100));
+        zip.finish();
+        zip.close();
+        Assert.assertEquals(1, FlateCodecPool.getIdleDeflaterCount(Deflater.BEST_COMPRESSION));
+
+        InflaterInputStream inflater = new InflaterInputStream(new java.io.ByteArrayInputStream(new byte[0]));
+        inflater.close();
+        inflater.close();
+        Assert.assertEquals(1, FlateCodecPool.getIdleInflaterCount());
+    }
+
+    @Test
+    public void writeAfterFinishTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DeflaterOutputStream zip = new DeflaterOutputStream(baos, Deflater.NO_COMPRESSION);
+        zip.write(createData(100));
+        zip.finish();
+        int compressedLength = baos.toByteArray().length;
+
+        // the released deflater is among the idle ones now
+        Deflater[] idle = new Deflater[FlateCodecPool.getIdleDeflaterCount(Deflater.NO_COMPRESSION)];
+        for (int i = 0; i < idle.length; i++) {
+            idle[i] = FlateCodecPool.acquireDeflater(Deflater.NO_COMPRESSION);
+        }
+        try {
+            try {
+                zip.write(createData(100));
+                Assert.fail("IOException expected");
+            } catch (IOException expected) {
+                Assert.assertEquals("write beyond end of stream", expected.getMessage());
+            }
+            try {
+                zip.write(0);
+                Assert.fail("IOException expected");
+            } catch (IOException expected) {
+                Assert.assertEquals("write beyond end of stream", expected.getMessage());
+            }
+            for (Deflater deflater : idle) {
+                Assert.assertEquals(0, deflater.getBytesRead());
+                Assert.assertTrue(deflater.needsInput());
+            }
+        } finally {
+            for (Deflater deflater : idle) {
+                FlateCodecPool.releaseDeflater(deflater, Deflater.NO_COMPRESSION);
+            }
+        }
+        zip.close();
+        Assert.assertEquals(compressedLength, baos.toByteArray().length);
+    }
+
+    @Test
+    public void inflaterReuseAfterCorruptedDataTest() throws IOException {
+        byte[] data = createData(100000);
+        byte[] compressed = deflate(data, Deflater.DEFAULT_COMPRESSION);
+        byte[] corrupted = new byte[compressed.length / 2];
+        System.arraycopy(compressed, 0, corrupted, 0, corrupted.length);
+        for (int i = 0; i < 5; i++) {
+            Assert.assertNull(FilterUtil.flateDecode(corrupted, true));
+            Assert.assertArrayEquals(data, FilterUtil.flateDecode(compressed, true));
+        }
+        byte[] inflated = new byte[data.length];
+        FilterUtil.inflateData(compressed, inflated);
+        Assert.assertArrayEquals(data, inflated);
+    }
+
+    @Test
+    public void poolIsBoundedTest() {
+        int maxIdleCount = FlateCodecPool.getMaxIdleCount();
+        Inflater[] inflaters = new Inflater[maxIdleCount * 2];
+        byte[][] buffers = new byte[maxIdleCount * 2][];
+        for (int i = 0; i < inflaters.length; i++) {
+            inflaters[i] = FlateCodecPool.acquireInflater();
+            buffers[i] = FlateCodecPool.acquireScratchBuffer();
+            Assert.assertEquals(FlateCodecPool.SCRATCH_BUFFER_SIZE, buffers[i].length);
+        }
+        for (int i = 0; i < inflaters.length; i++) {
+            FlateCodecPool.releaseInflater(inflaters[i]);
+            FlateCodecPool.releaseScratchBuffer(buffers[i]);
+        }
+        Assert.assertEquals(maxIdleCount, FlateCodecPool.getIdleInflaterCount());
+        Assert.assertEquals(maxIdleCount, FlateCodecPool.getIdleScratchBufferCount());
+    }
+
+    @Test
+    public void deflatersOfAllLevelsShareBoundTest() {
+        int maxIdleCount = FlateCodecPool.getMaxIdleCount();
+        Deflater[][] deflaters = new Deflater[Deflater.BEST_COMPRESSION + 2][maxIdleCount];
+        for (int level = Deflater.DEFAULT_COMPRESSION; level <= Deflater.BEST_COMPRESSION; level++) {
+            for (int i = 0; i < maxIdleCount; i++) {
+                deflaters[level + 1][i] = FlateCodecPool.acquireDeflater(level);
+            }
+        }
+        int idleDeflaters = 0;
+        for (int level = Deflater.DEFAULT_COMPRESSION; level <= Deflater.BEST_COMPRESSION; level++) {
+            for (Deflater deflater : deflaters[level + 1]) {
+                FlateCodecPool.releaseDeflater(deflater, level);
+            }
+            idleDeflaters += FlateCodecPool.getIdleDeflaterCount(level);
+        }
+        Assert.assertEquals(maxIdleCount, idleDeflaters);
+        Assert.assertEquals(maxIdleCount, FlateCodecPool.getIdleDeflaterCount(Deflater.DEFAULT_COMPRESSION));
+    }
+
+    private static byte[] deflate(byte[] data, int level) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DeflaterOutputStream zip = new DeflaterOutputStream(baos, level);
+        zip.write(data);
+        zip.close();
+        return baos.toByteArray();
+    }
+
+    private static byte[] deflateWithNewDeflater(byte[] data, int level) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(level);
+        java.util.zip.DeflaterOutputStream zip = new java.util.zip.DeflaterOutputStream(baos, deflater);
+        zip.write(data);
+        zip.close();
+        deflater.end();
+        return baos.toByteArray();
+    }
+
+    private static byte[] createData(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) ("0 0 m 100 100 l S ".charAt(i % 18) + i / 1000 % 3);
+        }
+        return data;
+    }
+}
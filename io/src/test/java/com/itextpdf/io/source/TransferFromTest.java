@@ -0,0 +1,158 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.io.util.FileUtil;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+
+@Category(UnitTest.class)
+public class TransferFromTest extends ExtendedITextTest {
+
+    private static final String destinationFolder = "./target/test/com/itextpdf/io/source/TransferFromTest/";
+
+    private static final byte[] PREFIX = new byte[] {'%', 'P', 'D', 'F'};
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void mappedSourceToFileTest() throws IOException {
+        byte[] content = createSourceFile("mapped.bin", 300000);
+        RandomAccessFileOrArray source = new RandomAccessFileOrArray(
+                new RandomAccessSourceFactory().createBestSource(destinationFolder + "mapped.bin"));
+        assertTransferred(content, source, "mappedOut.bin");
+    }
+
+    @Test
+    public void plainFileSourceToFileTest() throws IOException {
+        byte[] content = createSourceFile("plain.bin", 100000);
+        RandomAccessFileOrArray source = new RandomAccessFileOrArray(
+                new RandomAccessSourceFactory().setUsePlainRandomAccess(true).createBestSource(destinationFolder + "plain.bin"));
+        assertTransferred(content, source, "plainOut.bin");
+    }
+
+    @Test
+    public void sourceViewTransferredFromStartTest() throws IOException {
+        byte[] content = createSourceFile("view.bin", 50000);
+        RandomAccessFileOrArray file = new RandomAccessFileOrArray(
+                new RandomAccessSourceFactory().createBestSource(destinationFolder + "view.bin"));
+        file.seek(1000);
+        RandomAccessFileOrArray source = new RandomAccessFileOrArray(file.createSourceView());
+        source.seek(20000);
+        assertTransferred(content, source, "viewOut.bin");
+        file.close();
+    }
+
+    @Test
+    public void arraySourceToFileTest() throws IOException {
+        byte[] content = new byte[70000];
+        new Random(1).nextBytes(content);
+        RandomAccessFileOrArray source = new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(content));
+        assertTransferred(content, source, "arrayOut.bin");
+    }
+
+    @Test
+    public void fileSourceToMemoryTest() throws IOException {
+        byte[] content = createSourceFile("memory.bin", 70000);
+        RandomAccessFileOrArray source = new RandomAccessFileOrArray(
+                new RandomAccessSourceFactory().createBestSource(destinationFolder + "memory.bin"));
+        java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
+        OutputStream<OutputStream> output = new OutputStream<>(baos);
+        output.write(PREFIX);
+        Assert.assertEquals(content.length, output.transferFrom(source));
+        output.close();
+        source.close();
+
+        Assert.assertEquals(PREFIX.length + content.length, output.getCurrentPos());
+        Assert.assertArrayEquals(concat(PREFIX, content), baos.toByteArray());
+    }
+
+    @Test
+    public void bufferedFileOutputStreamIsUsedForFilesTest() throws IOException {
+        java.io.OutputStream stream = FileUtil.getBufferedOutputStream(destinationFolder + "buffered.bin");
+        Assert.assertTrue(stream instanceof BufferedFileOutputStream);
+        stream.close();
+    }
+
+    private static void assertTransferred(byte[] content, RandomAccessFileOrArray source, String outName) throws IOException {
+        OutputStream<OutputStream> output = new OutputStream<>(new BufferedFileOutputStream(destinationFolder + outName));
+        output.write(PREFIX);
+        Assert.assertEquals(content.length, output.transferFrom(source));
+        output.write('\n');
+        output.close();
+        source.close();
+
+        Assert.assertEquals(PREFIX.length + content.length + 1, output.getCurrentPos());
+        byte[] expected = concat(concat(PREFIX, content), new byte[] {'\n'});
+        Assert.assertArrayEquals(expected, Files.readAllBytes(Paths.get(destinationFolder + outName)));
+    }
+
+    private static byte[] createSourceFile(String name, int length) throws IOException {
+        byte[] content = new byte[length];
+        new Random(length).nextBytes(content);
+        FileOutputStream fos = new FileOutputStream(destinationFolder + name);
+        fos.write(content);
+        fos.close();
+        return content;
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
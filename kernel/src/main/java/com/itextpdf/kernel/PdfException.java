@@ -225,6 +225,7 @@ public class PdfException extends RuntimeException {
     public static final String PageIsNotSetForThePdfTagStructure = "Page is not set for the pdf tag structure.";
     public static final String PageAlreadyFlushed = "The page has been already flushed.";
     public static final String PageAlreadyFlushedUseAddFieldAppearanceToPageMethodBeforePageFlushing = "The page has been already flushed. Use PdfAcroForm#addFieldAppearanceToPage() method before page flushing.";
+    public static final String PageWasReleasedInStreamingMode = "Page {0} has been already flushed and released in streaming mode.";
     public static final String PdfEncodings = "PdfEncodings exception.";
     public static final String PdfEncryption = "PdfEncryption exception.";
     public static final String PdfDecryption = "Exception occurred with PDF document decryption. One of the possible reasons is wrong password or wrong public key certificate and private key.";
@@ -162,8 +162,8 @@ public class Path implements Serializable {
         Point thirdPoint = new Point(x2, y2);
         Point fourthPoint = new Point(x3, y3);
 
-        List<Point> controlPoints = new ArrayList<>(Arrays.asList(currentPoint, secondPoint, thirdPoint, fourthPoint));
-        getLastSubpath().addSegment(new BezierCurve(controlPoints));
+        // BezierCurve copies the control points, so there is no need in an intermediate copy
+        getLastSubpath().addSegment(new BezierCurve(Arrays.asList(currentPoint, secondPoint, thirdPoint, fourthPoint)));
 
         currentPoint = fourthPoint;
     }
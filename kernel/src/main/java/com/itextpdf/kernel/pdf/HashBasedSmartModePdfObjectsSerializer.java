@@ -0,0 +1,237 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.source.ByteUtils;
+import com.itextpdf.kernel.PdfException;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Smart mode serializer which keeps only 128-bit digests of the objects structure instead of their complete
+ * serialized content. The digest of an object is calculated incrementally while traversing its graph,
+ * indirect objects contribute to the digests of the objects referring to them with their own digests,
+ * which are cached in the source document. Both caches are bounded and forget the least recently used entries.
+ */
+class HashBasedSmartModePdfObjectsSerializer extends SmartModePdfObjectsSerializer {
+
+    private static final long serialVersionUID = -2386525283469316312L;
+
+    private static final byte[] NULL_MARKER = ByteUtils.getIsoBytes("$Lnull");
+    private static final byte[] REFERENCE_MARKER = ByteUtils.getIsoBytes("$R");
+    private static final byte[] STREAM_MARKER = ByteUtils.getIsoBytes("$B");
+    private static final byte[] DICTIONARY_START_MARKER = ByteUtils.getIsoBytes("$D");
+    private static final byte[] DICTIONARY_END_MARKER = ByteUtils.getIsoBytes("$\\D");
+    private static final byte[] ARRAY_START_MARKER = ByteUtils.getIsoBytes("$A");
+    private static final byte[] ARRAY_END_MARKER = ByteUtils.getIsoBytes("$\\A");
+    private static final byte[] STRING_MARKER = ByteUtils.getIsoBytes("$S");
+    private static final byte[] NAME_MARKER = ByteUtils.getIsoBytes("$N");
+    private static final byte[] LITERAL_MARKER = ByteUtils.getIsoBytes("$L");
+
+    private final int cacheSize;
+
+    /**
+     * Digests which are being calculated, one per nesting level of indirect objects.
+     */
+    private transient List<MessageDigest> digests;
+
+    HashBasedSmartModePdfObjectsSerializer(int cacheSize) {
+        super(new BoundedCache<SerializedObjectContent, PdfIndirectReference>(cacheSize));
+        this.cacheSize = cacheSize;
+    }
+
+    @Override
+    public SerializedObjectContent serializeObject(PdfObject obj) {
+        if (!obj.isStream() && !obj.isDictionary()) {
+            return null;
+        }
+        PdfIndirectReference indRef = obj.getIndirectReference();
+        assert indRef != null;
+        PdfDocument document = indRef.getDocument();
+        if (document.serializedObjectsDigestCache == null) {
+            document.serializedObjectsDigestCache = new BoundedCache<>(cacheSize);
+        }
+        Map<PdfIndirectReference, byte[]> digestCache = document.serializedObjectsDigestCache;
+
+        byte[] digest = digestCache.get(indRef);
+        if (digest == null) {
+            Set<PdfIndirectReference> inProgress = new HashSet<>();
+            inProgress.add(indRef);
+            resetDigests();
+            MessageDigest md = getDigest(0);
+            try {
+                digestObject(obj, md, 100, 0, digestCache, inProgress);
+            } catch (SelfReferenceException e) {
+                return null;
+            }
+            digest = md.digest();
+            digestCache.put(indRef, digest);
+        }
+        return new SerializedObjectContent(digest);
+    }
+
+    private void digestObject(PdfObject obj, MessageDigest md, int level, int depth,
+                              Map<PdfIndirectReference, byte[]> digestCache, Set<PdfIndirectReference> inProgress) throws SelfReferenceException {
+        if (level <= 0) {
+            return;
+        }
+        if (obj == null) {
+            md.update(NULL_MARKER);
+            return;
+        }
+
+        if (obj.isIndirectReference()) {
+            PdfIndirectReference reference = (PdfIndirectReference) obj;
+            byte[] digest = digestCache.get(reference);
+            if (digest == null) {
+                if (!inProgress.add(reference)) {
+                    //referencing itself
+                    throw new SelfReferenceException();
+                }
+                MessageDigest referenceMd = getDigest(depth + 1);
+                digestObject(reference.getRefersTo(), referenceMd, level, depth + 1, digestCache, inProgress);
+                digest = referenceMd.digest();
+                digestCache.put(reference, digest);
+                inProgress.remove(reference);
+            }
+            md.update(REFERENCE_MARKER);
+            md.update(digest);
+            return;
+        }
+
+        if (obj.isStream()) {
+            digestDic((PdfDictionary) obj, md, level - 1, depth, digestCache, inProgress);
+            md.update(STREAM_MARKER);
+            MessageDigest bytesMd = getDigest(depth + 1);
+            md.update(bytesMd.digest(((PdfStream) obj).getBytes(false)));
+        } else if (obj.isDictionary()) {
+            digestDic((PdfDictionary) obj, md, level - 1, depth, digestCache, inProgress);
+        } else if (obj.isArray()) {
+            digestArray((PdfArray) obj, md, level - 1, depth, digestCache, inProgress);
+        } else if (obj.isString()) {
+            md.update(STRING_MARKER);
+            md.update(ByteUtils.getIsoBytes(obj.toString()));
+        } else if (obj.isName()) {
+            md.update(NAME_MARKER);
+            md.update(ByteUtils.getIsoBytes(obj.toString()));
+        } else {
+            // PdfNull case is also here
+            md.update(LITERAL_MARKER);
+            md.update(ByteUtils.getIsoBytes(obj.toString()));
+        }
+    }
+
+    private void digestDic(PdfDictionary dic, MessageDigest md, int level, int depth,
+                           Map<PdfIndirectReference, byte[]> digestCache, Set<PdfIndirectReference> inProgress) throws SelfReferenceException {
+        md.update(DICTIONARY_START_MARKER);
+        if (level <= 0)
+            return;
+        for (PdfName key : dic.keySet()) {
+            if (isKeyRefersBack(dic, key)) {
+                continue;
+            }
+            digestObject(key, md, level, depth, digestCache, inProgress);
+            digestObject(dic.get(key, false), md, level, depth, digestCache, inProgress);
+        }
+        md.update(DICTIONARY_END_MARKER);
+    }
+
+    private void digestArray(PdfArray array, MessageDigest md, int level, int depth,
+                             Map<PdfIndirectReference, byte[]> digestCache, Set<PdfIndirectReference> inProgress) throws SelfReferenceException {
+        md.update(ARRAY_START_MARKER);
+        if (level <= 0)
+            return;
+        for (int k = 0; k < array.size(); ++k) {
+            digestObject(array.get(k, false), md, level, depth, digestCache, inProgress);
+        }
+        md.update(ARRAY_END_MARKER);
+    }
+
+    private void resetDigests() {
+        if (digests != null) {
+            // digests may be left in the middle of calculation by a failed traversal
+            for (MessageDigest digest : digests) {
+                digest.reset();
+            }
+        }
+    }
+
+    private MessageDigest getDigest(int depth) {
+        if (digests == null) {
+            digests = new ArrayList<>();
+        }
+        while (digests.size() <= depth) {
+            try {
+                digests.add(MessageDigest.getInstance("MD5"));
+            } catch (Exception e) {
+                throw new PdfException(e);
+            }
+        }
+        return digests.get(depth);
+    }
+
+    /**
+     * Map which keeps at most the specified number of entries, removing the least recently accessed ones.
+     */
+    static class BoundedCache<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 5296513829302137544L;
+
+        private final int maxSize;
+
+        BoundedCache(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
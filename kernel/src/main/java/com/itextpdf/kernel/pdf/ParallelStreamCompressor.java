@@ -0,0 +1,225 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.pdf.filters.IFlateCodecProvider;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Compresses the content of {@link PdfStream} objects on a bounded pool of worker threads ahead of the moment
+ * the streams are actually written. The writer still writes every object itself and in the original order,
+ * it only picks up the already deflated bytes instead of deflating them on the writing thread, so the
+ * resulting document is byte-to-byte identical to the one produced with serial compression.
+ */
+class ParallelStreamCompressor {
+
+    /**
+     * Streams shorter than this are deflated on the writing thread, handing them over costs more than it gains.
+     */
+    static final int MIN_CONTENT_LENGTH = 1024;
+
+    private static final AtomicInteger poolNumber = new AtomicInteger();
+
+    private final ExecutorService executor;
+    private final IFlateCodecProvider codecProvider;
+    private final int maxPendingCount;
+    private final Map<PdfStream, Future<CompressedContent>> pending = new IdentityHashMap<>();
+
+    ParallelStreamCompressor(int workerCount, IFlateCodecProvider codecProvider) {
+        this.executor = Executors.newFixedThreadPool(workerCount, new WorkerThreadFactory());
+        this.codecProvider = codecProvider;
+        this.maxPendingCount = workerCount * 4;
+    }
+
+    boolean hasFreeSlot() {
+        return pending.size() < maxPendingCount;
+    }
+
+    /**
+     * Schedules compression of the current content of the stream.
+     *
+     * @param pdfStream        the stream which content shall be compressed
+     * @param compressionLevel the compression level which will be used on writing the stream
+     */
+    void submit(PdfStream pdfStream, int compressionLevel) {
+        if (!hasFreeSlot() || pending.containsKey(pdfStream)) {
+            return;
+        }
+        PdfOutputStream outputStream = pdfStream.getOutputStream();
+        final java.io.ByteArrayOutputStream content = (java.io.ByteArrayOutputStream) outputStream.getOutputStream();
+        final ContentStamp stamp = new ContentStamp(outputStream, content.size(), compressionLevel);
+        pending.put(pdfStream, executor.submit(new Callable<CompressedContent>() {
+            @Override
+            public CompressedContent call() throws IOException {
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+                DeflaterOutputStream zip = codecProvider.createDeflaterStream(compressed, stamp.compressionLevel, 512);
+                // writeTo is synchronized with writes to the content, the stamp tells later if the content changed
+                content.writeTo(zip);
+                zip.finish();
+                return new CompressedContent(stamp, compressed);
+            }
+        }));
+    }
+
+    /**
+     * Gets the compressed content of the stream if it was scheduled before and the content of the stream
+     * has not changed since that moment.
+     *
+     * @param pdfStream        the stream which is being written
+     * @param compressionLevel the compression level with which the stream is being written
+     * @return compressed content or {@code null} if the stream shall be compressed in a regular way
+     */
+    ByteArrayOutputStream take(PdfStream pdfStream, int compressionLevel) {
+        Future<CompressedContent> future = pending.remove(pdfStream);
+        if (future == null) {
+            return null;
+        }
+        CompressedContent result;
+        try {
+            result = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        }
+        if (!result.stamp.matches(pdfStream.getOutputStream(), compressionLevel)) {
+            return null;
+        }
+        return result.compressed;
+    }
+
+    /**
+     * Drops the scheduled result for the stream, e.g. if the stream was not written together with its page.
+     *
+     * @param pdfStream the stream which result is not needed anymore
+     */
+    void discard(PdfStream pdfStream) {
+        Future<CompressedContent> future = pending.remove(pdfStream);
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Drops all the scheduled results, e.g. for the streams which eventually were not written.
+     */
+    void clear() {
+        for (Future<CompressedContent> future : pending.values()) {
+            future.cancel(false);
+        }
+        pending.clear();
+    }
+
+    void shutdown() {
+        clear();
+        executor.shutdown();
+    }
+
+    /**
+     * Identifies the content of a stream at the moment it was scheduled for compression without copying it.
+     */
+    private static class ContentStamp {
+        final PdfOutputStream outputStream;
+        final java.io.OutputStream content;
+        final long position;
+        final int version;
+        final int size;
+        final int compressionLevel;
+
+        ContentStamp(PdfOutputStream outputStream, int size, int compressionLevel) {
+            this.outputStream = outputStream;
+            this.content = outputStream.getOutputStream();
+            this.position = outputStream.getCurrentPos();
+            this.version = outputStream.getContentVersion();
+            this.size = size;
+            this.compressionLevel = compressionLevel;
+        }
+
+        boolean matches(PdfOutputStream outputStream, int compressionLevel) {
+            return this.outputStream == outputStream && this.compressionLevel == compressionLevel
+                    && content == outputStream.getOutputStream() && position == outputStream.getCurrentPos()
+                    && version == outputStream.getContentVersion()
+                    && size == ((java.io.ByteArrayOutputStream) content).size();
+        }
+    }
+
+    private static class CompressedContent {
+        final ContentStamp stamp;
+        final ByteArrayOutputStream compressed;
+
+        CompressedContent(ContentStamp stamp, ByteArrayOutputStream compressed) {
+            this.stamp = stamp;
+            this.compressed = compressed;
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final String namePrefix = "itext-stream-compressor-" + poolNumber.incrementAndGet() + "-";
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -212,6 +212,12 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
      */
     Map<PdfIndirectReference, byte[]> serializedObjectsCache = new HashMap<>();
 
+    /**
+     * Cache of structural digests of objects from this document for hash-based smart mode.
+     * Is created by the first writer which copies objects from this document in this mode.
+     */
+    Map<PdfIndirectReference, byte[]> serializedObjectsDigestCache;
+
     /**
      * Open PDF document in reading mode.
      *
@@ -844,12 +850,13 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
                     }
 
                     writer.flushModifiedWaitingObjects(forbiddenToFlush);
-                    for (int i = 0; i < xref.size(); i++) {
-                        PdfIndirectReference indirectReference = xref.get(i);
-                        if (indirectReference != null && !indirectReference.isFree()
-                                && indirectReference.checkState(PdfObject.MODIFIED) && !indirectReference.checkState(PdfObject.FLUSHED)
-                                && !forbiddenToFlush.contains(indirectReference)) {
-                            indirectReference.setFree();
+                    if (xref.isTrackingModifiedReferences()) {
+                        for (PdfIndirectReference indirectReference : xref.getModifiedReferences()) {
+                            freeNotFlushedModifiedReference(indirectReference, forbiddenToFlush);
+                        }
+                    } else {
+                        for (int i = 0; i < xref.size(); i++) {
+                            freeNotFlushedModifiedReference(xref.get(i), forbiddenToFlush);
                         }
                     }
                 } else {
@@ -870,7 +877,14 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
                         }
                     }
 
-                    for (int pageNum = 1; pageNum <= getNumberOfPages(); pageNum++) {
+                    // Page streams can be compressed ahead only if nobody is going to change them on page flushing
+                    boolean precompressPages = writer.isParallelCompression() && !hasEventHandler(PdfDocumentEvent.END_PAGE);
+                    int precompressedPageNum = 1;
+                    // the pages released in streaming mode are flushed already
+                    for (int pageNum = catalog.getPageTree().getReleasedPagesCount() + 1; pageNum <= getNumberOfPages(); pageNum++) {
+                        if (precompressPages) {
+                            precompressedPageNum = writer.precompressPages(Math.max(pageNum, precompressedPageNum));
+                        }
                         getPage(pageNum).flush();
                     }
                     if (structTreeRoot != null) {
@@ -926,6 +940,10 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
         } catch (IOException e) {
             throw new PdfException(PdfException.CannotCloseDocument, e, this);
         } finally {
+            if (writer != null) {
+                // the content of the streams which have not been written, e.g. on failure, is not needed any more
+                writer.releaseSpilledStreams();
+            }
             if (writer != null && isCloseWriter()) {
                 try {
                     writer.close();
@@ -948,6 +966,14 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
         closed = true;
     }
 
+    private static void freeNotFlushedModifiedReference(PdfIndirectReference indirectReference, Set<PdfIndirectReference> forbiddenToFlush) {
+        if (indirectReference != null && !indirectReference.isFree()
+                && indirectReference.checkState(PdfObject.MODIFIED) && !indirectReference.checkState(PdfObject.FLUSHED)
+                && !forbiddenToFlush.contains(indirectReference)) {
+            indirectReference.setFree();
+        }
+    }
+
     private PdfObject getFileId() {
         boolean documentIsModified = false;
         byte[] originalFileId = null;
@@ -1004,6 +1030,16 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
         return structTreeRoot != null;
     }
 
+    /**
+     * Checks whether flushed pages and objects are released, see {@link WriterProperties#useStreamingMode()}.
+     * The mode applies only to the untagged documents which are created from scratch.
+     *
+     * @return true if the document is written in streaming mode, false otherwise.
+     */
+    boolean isStreamingMode() {
+        return writer != null && writer.isStreamingMode() && reader == null && !isTagged();
+    }
+
     /**
      * Specifies that document shall contain tag structure.
      * See ISO 32000-1, section 14.8 "Tagged PDF"
@@ -1793,6 +1829,9 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
      */
     protected void open(PdfVersion newPdfVersion) {
         this.fingerPrint = new FingerPrint();
+        if (writer != null && properties.appendMode && properties.changeTracking) {
+            xref.trackModifiedReferences();
+        }
 
         try {
             EventCounterHandler.getInstance().onEvent(CoreEvent.PROCESS, properties.metaInfo, getClass());
@@ -1871,11 +1910,7 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
             if (properties.appendMode) {       // Due to constructor reader and writer not null.
                 assert reader != null;
                 RandomAccessFileOrArray file = reader.tokens.getSafeFile();
-                int n;
-                byte[] buffer = new byte[8192];
-                while ((n = file.read(buffer)) > 0) {
-                    writer.write(buffer, 0, n);
-                }
+                writer.transferFrom(file);
                 file.close();
                 writer.write((byte) '\n');
                 //TODO log if full compression differs
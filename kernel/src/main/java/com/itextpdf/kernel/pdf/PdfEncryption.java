@@ -46,6 +46,7 @@ package com.itextpdf.kernel.pdf;
 import com.itextpdf.io.util.SystemUtil;
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.kernel.crypto.IDecryptor;
+import com.itextpdf.kernel.crypto.InputStreamDecryption;
 import com.itextpdf.kernel.crypto.OutputStreamEncryption;
 import com.itextpdf.kernel.crypto.securityhandler.PubKeySecurityHandler;
 import com.itextpdf.kernel.crypto.securityhandler.PubSecHandlerUsingAes128;
@@ -61,6 +62,7 @@ import com.itextpdf.kernel.crypto.securityhandler.StandardSecurityHandler;
 import com.itextpdf.kernel.security.IExternalDecryptionProcess;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
@@ -369,6 +371,17 @@ public class PdfEncryption extends PdfObjectWrapper<PdfDictionary> {
         return ba.toByteArray();
     }
 
+    /**
+     * Creates a stream which decrypts the data of the object which has been set with
+     * {@link #setHashKeyForNextObject(int, int)} on the fly.
+     *
+     * @param is the stream with encrypted data
+     * @return the stream with decrypted data
+     */
+    public InputStream getDecryptionStream(InputStream is) {
+        return new InputStreamDecryption(is, securityHandler.getDecryptor());
+    }
+
     public byte[] decryptByteArray(byte[] b) {
         try {
             ByteArrayOutputStream ba = new ByteArrayOutputStream();
@@ -297,6 +297,9 @@ public class PdfIndirectReference extends PdfObject implements Comparable<PdfInd
      * @param state special flag of current object
      */
     protected PdfObject setState(short state) {
+        if ((state & MODIFIED) != 0 && !checkState(MODIFIED) && pdfDocument != null) {
+            pdfDocument.getXref().markModified(this);
+        }
         return super.setState(state);
     }
 
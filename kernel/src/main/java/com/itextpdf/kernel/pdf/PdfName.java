@@ -956,6 +956,18 @@ public class PdfName extends PdfPrimitiveObject implements Comparable<PdfName> {
         super(content);
     }
 
+    /**
+     * Creates a PdfName from the passed bytes, which may be shared between containers if it is direct-only.
+     *
+     * @param content    byte content, shall not be null.
+     * @param directOnly true if the name shall never become an indirect object
+     */
+    PdfName(byte[] content, boolean directOnly) {
+        super(directOnly);
+        assert content != null;
+        this.content = content;
+    }
+
     private PdfName() {
         super();
     }
@@ -0,0 +1,220 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.source.PdfTokenizer;
+
+import java.util.Arrays;
+
+/**
+ * Resolves name tokens to shared {@link PdfName} instances by their raw bytes, so that the name token content
+ * is neither decoded to a {@link String} nor copied in case the name has been met before.
+ * <br>
+ * The well-known names declared as constants in {@link PdfName} are always resolved to these constants.
+ * Other names are remembered by the interner instance, so the same name met in the same document (or content stream)
+ * again is resolved to the same instance. Such names are direct-only objects, because they are shared between
+ * all the containers they are met in. The number of remembered names is limited, names which do not fit
+ * are created anew each time they are met.
+ * <br>
+ * The instances of this class are not thread-safe.
+ */
+public class PdfNameInterner {
+
+    /**
+     * Default maximum number of the names remembered by an interner in addition to the well-known names.
+     */
+    public static final int DEFAULT_MAX_SIZE = 4096;
+
+    private static final NameTable wellKnownNames;
+
+    static {
+        wellKnownNames = new NameTable(PdfName.staticNames.size() * 2);
+        for (PdfName name : PdfName.staticNames.values()) {
+            byte[] content = name.getInternalContent();
+            if (wellKnownNames.get(content) == null) {
+                wellKnownNames.put(Arrays.hashCode(content), content, name);
+            }
+        }
+    }
+
+    private final int maxSize;
+    private NameTable names;
+
+    /**
+     * Creates an interner which remembers up to {@link #DEFAULT_MAX_SIZE} names.
+     */
+    public PdfNameInterner() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates an interner.
+     *
+     * @param maxSize maximum number of the names remembered in addition to the well-known names,
+     *                if not positive, only the well-known names are shared
+     */
+    public PdfNameInterner(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the {@link PdfName} for the current token of the tokenizer, which shall be a name token.
+     *
+     * @param tokenizer the tokenizer positioned at a name token
+     * @return shared instance of the name
+     */
+    public PdfName intern(PdfTokenizer tokenizer) {
+        int hash = tokenizer.getByteContentHashCode();
+        PdfName name = wellKnownNames.get(hash, tokenizer);
+        if (name != null) {
+            return name;
+        }
+        if (names != null) {
+            name = names.get(hash, tokenizer);
+            if (name != null) {
+                return name;
+            }
+        }
+        byte[] content = tokenizer.getByteContent();
+        if (maxSize <= 0) {
+            return new PdfName(content);
+        }
+        if (names == null) {
+            names = new NameTable(64);
+        } else if (names.size() >= maxSize) {
+            return new PdfName(content);
+        }
+        name = new PdfName(content, true);
+        names.put(hash, content, name);
+        return name;
+    }
+
+    /**
+     * Gets the number of the remembered names, not counting the well-known ones.
+     *
+     * @return number of the names remembered by this interner
+     */
+    public int size() {
+        return names != null ? names.size() : 0;
+    }
+
+    /**
+     * Open addressing hash table keyed by the raw name bytes.
+     */
+    private static class NameTable {
+        private int[] hashes;
+        private byte[][] keys;
+        private PdfName[] values;
+        private int size;
+
+        NameTable(int expectedSize) {
+            int capacity = 16;
+            while (capacity < expectedSize * 2) {
+                capacity <<= 1;
+            }
+            hashes = new int[capacity];
+            keys = new byte[capacity][];
+            values = new PdfName[capacity];
+        }
+
+        int size() {
+            return size;
+        }
+
+        PdfName get(int hash, PdfTokenizer tokenizer) {
+            int mask = keys.length - 1;
+            for (int i = mix(hash) & mask; keys[i] != null; i = (i + 1) & mask) {
+                if (hashes[i] == hash && tokenizer.tokenValueEqualsTo(keys[i])) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        PdfName get(byte[] key) {
+            int hash = Arrays.hashCode(key);
+            int mask = keys.length - 1;
+            for (int i = mix(hash) & mask; keys[i] != null; i = (i + 1) & mask) {
+                if (hashes[i] == hash && Arrays.equals(keys[i], key)) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        void put(int hash, byte[] key, PdfName value) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            int i = mix(hash) & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            hashes[i] = hash;
+            keys[i] = key;
+            values[i] = value;
+            size++;
+        }
+
+        private void grow() {
+            int[] oldHashes = hashes;
+            byte[][] oldKeys = keys;
+            PdfName[] oldValues = values;
+            hashes = new int[oldKeys.length * 2];
+            keys = new byte[oldKeys.length * 2][];
+            values = new PdfName[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    put(oldHashes[i], oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int mix(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
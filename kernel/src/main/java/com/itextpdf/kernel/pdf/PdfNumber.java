@@ -52,6 +52,10 @@ public class PdfNumber extends PdfPrimitiveObject {
 
     private static final long serialVersionUID = -250799718574024246L;
 
+    private static final int MAX_PLAIN_DECIMAL_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+            1e13, 1e14, 1e15};
+
     private double value;
     private boolean isDouble;
     private boolean changed = false;
@@ -172,14 +176,60 @@ public class PdfNumber extends PdfPrimitiveObject {
     }
 
     protected void generateValue() {
-        try {
-            value = java.lang.Double.parseDouble(new String(content));
-        } catch (NumberFormatException e) {
-            value = java.lang.Double.NaN;
+        value = parsePlainDecimal(content);
+        if (java.lang.Double.isNaN(value)) {
+            try {
+                value = java.lang.Double.parseDouble(new String(content));
+            } catch (NumberFormatException e) {
+                value = java.lang.Double.NaN;
+            }
         }
         isDouble = true;
     }
 
+    /**
+     * Parses the number in the plain PDF notation, i.e. an optional sign followed by digits with an optional
+     * decimal point, without creating an intermediate string. Only the numbers which fit into 15 significant
+     * digits are parsed: both the digits and the power of ten are exactly representable as doubles in this case,
+     * so the single division gives the same correctly rounded result as {@link Double#parseDouble(String)}.
+     *
+     * @param content the bytes of the number
+     * @return the parsed value, or {@link Double#NaN} if the number must be parsed by {@link Double#parseDouble(String)}
+     */
+    private static double parsePlainDecimal(byte[] content) {
+        int length = content.length;
+        int pos = 0;
+        boolean negative = false;
+        if (length > 0 && (content[0] == '-' || content[0] == '+')) {
+            negative = content[0] == '-';
+            pos++;
+        }
+        long digits = 0;
+        int digitsCount = 0;
+        int fractionDigitsCount = -1;
+        for (; pos < length; pos++) {
+            int ch = content[pos];
+            if (ch >= '0' && ch <= '9') {
+                if (++digitsCount > MAX_PLAIN_DECIMAL_DIGITS) {
+                    return java.lang.Double.NaN;
+                }
+                digits = digits * 10 + (ch - '0');
+                if (fractionDigitsCount >= 0) {
+                    fractionDigitsCount++;
+                }
+            } else if (ch == '.' && fractionDigitsCount < 0) {
+                fractionDigitsCount = 0;
+            } else {
+                return java.lang.Double.NaN;
+            }
+        }
+        if (digitsCount == 0) {
+            return java.lang.Double.NaN;
+        }
+        double result = fractionDigitsCount > 0 ? digits / POWERS_OF_TEN[fractionDigitsCount] : (double) digits;
+        return negative ? -result : result;
+    }
+
     @Override
     protected void copyContent(PdfObject from, PdfDocument document) {
         super.copyContent(from, document);
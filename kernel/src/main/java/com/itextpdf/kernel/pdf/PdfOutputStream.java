@@ -46,15 +46,18 @@ package com.itextpdf.kernel.pdf;
 import com.itextpdf.io.LogMessageConstant;
 import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.io.source.ByteUtils;
-import com.itextpdf.io.source.DeflaterOutputStream;
+import com.itextpdf.io.source.FlateCodecPool;
 import com.itextpdf.io.source.OutputStream;
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.kernel.crypto.OutputStreamEncryption;
 import com.itextpdf.kernel.pdf.filters.FlateDecodeFilter;
+import com.itextpdf.kernel.pdf.filters.IFlateCodecProvider;
+import com.itextpdf.kernel.pdf.filters.JdkFlateCodecProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.zip.DeflaterOutputStream;
 import com.itextpdf.io.util.MessageFormatUtil;
 
 public class PdfOutputStream extends OutputStream<PdfOutputStream> {
@@ -271,7 +274,7 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
         }
     }
 
-    private boolean isNotMetadataPdfStream(PdfStream pdfStream) {
+    boolean isNotMetadataPdfStream(PdfStream pdfStream) {
         return pdfStream.getAsName(PdfName.Type) == null ||
                 (pdfStream.getAsName(PdfName.Type) != null && !pdfStream.getAsName(PdfName.Type).equals(PdfName.Metadata));
     }
@@ -301,17 +304,21 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                 }
                 if (toCompress && (allowCompression || userDefinedCompression)) {
                     updateCompressionFilter(pdfStream);
-                    fout = def = new DeflaterOutputStream(fout, pdfStream.getCompressionLevel(), 0x8000);
+                    fout = def = getFlateCodecProvider().createDeflaterStream(fout, pdfStream.getCompressionLevel(), 0x8000);
                 }
                 this.write((PdfDictionary) pdfStream);
                 writeBytes(PdfOutputStream.stream);
                 long beginStreamContent = getCurrentPos();
-                byte[] buf = new byte[4192];
-                while (true) {
-                    int n = pdfStream.getInputStream().read(buf);
-                    if (n <= 0)
-                        break;
-                    fout.write(buf, 0, n);
+                byte[] buf = FlateCodecPool.acquireScratchBuffer();
+                try {
+                    while (true) {
+                        int n = pdfStream.getInputStream().read(buf);
+                        if (n <= 0)
+                            break;
+                        fout.write(buf, 0, n);
+                    }
+                } finally {
+                    FlateCodecPool.releaseScratchBuffer(buf);
                 }
                 if (def != null) {
                     def.finish();
@@ -323,6 +330,14 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                 length.setValue((int) (getCurrentPos() - beginStreamContent));
                 pdfStream.updateLength(length.intValue());
                 writeBytes(PdfOutputStream.endstream);
+            } else if (pdfStream.hasRawContent() && !userDefinedCompression && !checkEncryption(pdfStream)) {
+                // The encoded content of the copied stream is transferred from the source document as it is.
+                // Streams which were copied with filters are not compressed, unless specific compression is set.
+                pdfStream.put(PdfName.Length, new PdfNumber(pdfStream.getRawContentLength()));
+                this.write((PdfDictionary) pdfStream);
+                writeBytes(PdfOutputStream.stream);
+                pdfStream.updateLength(pdfStream.writeRawContent(this));
+                writeBytes(PdfOutputStream.endstream);
             } else {
                 //When document is opened in stamping mode the output stream can be uninitialized.
                 //We have to initialize it and write all data from streams input to streams output.
@@ -341,17 +356,22 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                 try {
                     if (toCompress && !containsFlateFilter(pdfStream) && (allowCompression || userDefinedCompression)) { // compress
                         updateCompressionFilter(pdfStream);
-                        byteArrayStream = new ByteArrayOutputStream();
-                        DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, pdfStream.getCompressionLevel());
-                        if (pdfStream instanceof PdfObjectStream) {
-                            PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
-                            ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(zip);
-                            ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(zip);
+                        ByteArrayOutputStream precompressed = takePrecompressedContent(pdfStream);
+                        if (precompressed != null) {
+                            byteArrayStream = precompressed;
                         } else {
-                            assert pdfStream.getOutputStream() != null : "Error in outputStream";
-                            ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).writeTo(zip);
+                            byteArrayStream = createContentBuffer(pdfStream);
+                            DeflaterOutputStream zip = getFlateCodecProvider().createDeflaterStream(byteArrayStream, pdfStream.getCompressionLevel(), 512);
+                            if (pdfStream instanceof PdfObjectStream) {
+                                PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
+                                ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(zip);
+                                ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(zip);
+                            } else {
+                                assert pdfStream.getOutputStream() != null : "Error in outputStream";
+                                ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).writeTo(zip);
+                            }
+                            zip.finish();
                         }
-                        zip.finish();
                     } else {
                         if (pdfStream instanceof PdfObjectStream) {
                             PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
@@ -364,10 +384,13 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                         }
                     }
                     if (checkEncryption(pdfStream)) {
-                        ByteArrayOutputStream encodedStream = new ByteArrayOutputStream();
+                        ByteArrayOutputStream encodedStream = createContentBuffer(pdfStream);
                         OutputStreamEncryption ose = crypto.getEncryptionStream(encodedStream);
                         byteArrayStream.writeTo(ose);
                         ose.finish();
+                        if (byteArrayStream != pdfStream.getOutputStream().getOutputStream()) {
+                            byteArrayStream.close();
+                        }
                         byteArrayStream = encodedStream;
                     }
                 } catch (IOException ioe) {
@@ -378,7 +401,9 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                 this.write((PdfDictionary) pdfStream);
                 writeBytes(PdfOutputStream.stream);
                 byteArrayStream.writeTo(this);
-                byteArrayStream.close();
+                if (byteArrayStream != pdfStream.getOutputStream().getOutputStream()) {
+                    byteArrayStream.close();
+                }
                 writeBytes(PdfOutputStream.endstream);
             }
         } catch (IOException e) {
@@ -386,6 +411,40 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
         }
     }
 
+    /**
+     * Creates a buffer for the encoded content of the stream. If the content of the stream has been moved
+     * to a temporary file, the encoded content is allowed to be moved there as well.
+     *
+     * @param pdfStream the stream which is being written
+     * @return an empty buffer
+     */
+    private static ByteArrayOutputStream createContentBuffer(PdfStream pdfStream) {
+        java.io.OutputStream content = pdfStream.getOutputStream().getOutputStream();
+        if (content instanceof SpillingByteArrayOutputStream && ((SpillingByteArrayOutputStream) content).isSpilled()) {
+            return ((SpillingByteArrayOutputStream) content).createBuffer();
+        }
+        return new ByteArrayOutputStream();
+    }
+
+    /**
+     * Gets the content of the stream which was compressed in advance, see {@link WriterProperties#useParallelCompression(int)}.
+     *
+     * @param pdfStream the stream which is being written
+     * @return compressed content or {@code null} if the content shall be compressed on the spot
+     */
+    ByteArrayOutputStream takePrecompressedContent(PdfStream pdfStream) {
+        return null;
+    }
+
+    /**
+     * Gets the provider of the deflaters which compress stream content, see {@link WriterProperties#setFlateCodecProvider(IFlateCodecProvider)}.
+     *
+     * @return the {@link IFlateCodecProvider} to use
+     */
+    IFlateCodecProvider getFlateCodecProvider() {
+        return JdkFlateCodecProvider.getInstance();
+    }
+
     protected boolean checkEncryption(PdfStream pdfStream) {
         if (crypto == null || crypto.isEmbeddedFilesOnly()) {
             return false;
@@ -491,9 +550,9 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
         }
 
         // decode
-        byte[] res = FlateDecodeFilter.flateDecode(bytes, true);
+        byte[] res = FlateDecodeFilter.flateDecode(bytes, true, getFlateCodecProvider());
         if (res == null)
-            res = FlateDecodeFilter.flateDecode(bytes, false);
+            res = FlateDecodeFilter.flateDecode(bytes, false, getFlateCodecProvider());
         bytes = FlateDecodeFilter.decodePredictor(res, decodeParams);
 
 
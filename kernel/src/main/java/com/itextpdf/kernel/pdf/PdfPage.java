@@ -499,6 +499,9 @@ public class PdfPage extends PdfObjectWrapper<PdfDictionary> {
         if (resources != null && resources.isModified() && !resources.isReadOnly()) {
             getPdfObject().put(PdfName.Resources, resources.getPdfObject());
         }
+        if (getDocument().getWriter() != null) {
+            getDocument().getWriter().precompressPageStreams(this, flushResourcesContentStreams);
+        }
         if (flushResourcesContentStreams) {
             getDocument().checkIsoConformance(this, IsoKey.PAGE);
             flushResourcesContentStreams();
@@ -510,10 +513,14 @@ public class PdfPage extends PdfObjectWrapper<PdfDictionary> {
                 contentStream.flush(false);
             }
         }
+        if (getDocument().getWriter() != null) {
+            getDocument().getWriter().discardUnflushedPageStreams(this);
+        }
 
         resources = null;
 
         super.flush();
+        getDocument().catalog.getPageTree().releaseFlushedPages();
     }
 
     /**
@@ -51,7 +51,9 @@ import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Algorithm for construction {@link PdfPages} tree
@@ -65,6 +67,24 @@ class PdfPagesTree implements Serializable {
     private List<PdfDictionary> pageRefs;
     private List<PdfPages> parents;
     private List<PdfPage> pages;
+    /**
+     * Reverse index from the loaded page dictionaries to their zero-based positions in {@link #pageRefs}.
+     * Entries may become stale when pages are inserted or removed, so every hit is verified against
+     * {@link #pageRefs}. Positions below {@link #indexedPageRefsCount} are guaranteed to be indexed.
+     */
+    private Map<PdfDictionary, Integer> pageRefsIndex;
+    private int indexedPageRefsCount;
+    /**
+     * Number of the leading pages which have been flushed and released in streaming mode,
+     * see {@link WriterProperties#useStreamingMode()}. {@link #pageRefs} and {@link #pages} do not contain them,
+     * while page numbers, {@link #pageRefsIndex} values and {@link PdfPages#getFrom()} still count them.
+     */
+    private int releasedPagesCount;
+    /**
+     * The rightmost, not yet complete nodes of the upper levels of the tree which is built in streaming mode.
+     * The first node is the parent of the released leaves, the last one becomes the root.
+     */
+    private List<PdfPages> streamingAncestors;
     private PdfDocument document;
     private boolean generated = false;
     private PdfPages root;
@@ -79,6 +99,7 @@ class PdfPagesTree implements Serializable {
         this.pageRefs = new ArrayList<>();
         this.parents = new ArrayList<>();
         this.pages = new ArrayList<>();
+        this.pageRefsIndex = new IdentityHashMap<>();
         if (pdfCatalog.getPdfObject().containsKey(PdfName.Pages)) {
             PdfDictionary pages = pdfCatalog.getPdfObject().getAsDictionary(PdfName.Pages);
             if (pages == null)
@@ -108,17 +129,20 @@ class PdfPagesTree implements Serializable {
             throw new IndexOutOfBoundsException(MessageFormatUtil.format(PdfException.RequestedPageNumberIsOutOfBounds, pageNum));
         }
         --pageNum;
-        PdfPage pdfPage = pages.get(pageNum);
+        if (pageNum < releasedPagesCount) {
+            throw new PdfException(PdfException.PageWasReleasedInStreamingMode).setMessageParams(pageNum + 1);
+        }
+        PdfPage pdfPage = pages.get(pageNum - releasedPagesCount);
         if (pdfPage == null) {
             loadPage(pageNum);
-            if (pageRefs.get(pageNum) != null) {
+            if (getPageRef(pageNum) != null) {
                 int parentIndex = findPageParent(pageNum);
-                pdfPage = new PdfPage(pageRefs.get(pageNum));
+                pdfPage = new PdfPage(getPageRef(pageNum));
                 pdfPage.parentPages = parents.get(parentIndex);
             } else {
                 LoggerFactory.getLogger(getClass()).error(MessageFormatUtil.format(LogMessageConstant.PAGE_TREE_IS_BROKEN_FAILED_TO_RETRIEVE_PAGE, pageNum + 1));
             }
-            pages.set(pageNum, pdfPage);
+            pages.set(pageNum - releasedPagesCount, pdfPage);
         }
         return pdfPage;
     }
@@ -144,7 +168,16 @@ class PdfPagesTree implements Serializable {
      * @return total number of pages
      */
     public int getNumberOfPages() {
-        return pageRefs.size();
+        return releasedPagesCount + pageRefs.size();
+    }
+
+    /**
+     * Gets the number of the leading pages which have been flushed and released in streaming mode.
+     *
+     * @return number of the pages which can no longer be accessed
+     */
+    int getReleasedPagesCount() {
+        return releasedPagesCount;
     }
 
     /**
@@ -152,7 +185,11 @@ class PdfPagesTree implements Serializable {
      * in this tree, or 0 if this tree does not contain the page.
      */
     public int getPageNumber(PdfPage page) {
-        return pages.indexOf(page) + 1;
+        if (page == null) {
+            return 0;
+        }
+        int pageNum = findIndexedPageRef(page.getPdfObject());
+        return pageNum >= 0 && pages.get(pageNum - releasedPagesCount) == page ? pageNum + 1 : 0;
     }
 
     /**
@@ -160,16 +197,20 @@ class PdfPagesTree implements Serializable {
      * specified by it's PdfDictionary, or 0 if this tree does not contain the page.
      */
     public int getPageNumber(PdfDictionary pageDictionary) {
-        int pageNum = pageRefs.indexOf(pageDictionary);
+        int pageNum = findIndexedPageRef(pageDictionary);
         if (pageNum >= 0) {
             return pageNum + 1;
         }
-        for (int i = 0; i < pageRefs.size(); i++) {
-            if (pageRefs.get(i) == null) {
+        // the page is not loaded yet, loaded page references are added to the index
+        for (int i = releasedPagesCount; i < getNumberOfPages(); i++) {
+            if (getPageRef(i) == null) {
                 loadPage(i);
-            }
-            if (pageRefs.get(i).equals(pageDictionary)) {
-                return i + 1;
+                if (pageRefsIndex.containsKey(pageDictionary)) {
+                    pageNum = findIndexedPageRef(pageDictionary);
+                    if (pageNum >= 0) {
+                        return pageNum + 1;
+                    }
+                }
             }
         }
 
@@ -192,7 +233,7 @@ class PdfPagesTree implements Serializable {
             }
         } else {
             pdfPages = parents.get(parents.size() - 1);
-            if (pdfPages.getCount() % leafSize == 0 && pageRefs.size() > 0) {
+            if (pdfPages.getCount() % leafSize == 0 && getNumberOfPages() > 0) {
                 pdfPages = new PdfPages(pdfPages.getFrom() + pdfPages.getCount(), document);
                 parents.add(pdfPages);
             }
@@ -204,6 +245,10 @@ class PdfPagesTree implements Serializable {
         pdfPage.parentPages = pdfPages;
         pageRefs.add(pdfPage.getPdfObject());
         pages.add(pdfPage);
+        indexPageRef(pdfPage.getPdfObject(), getNumberOfPages() - 1);
+        if (indexedPageRefsCount == getNumberOfPages() - 1) {
+            indexedPageRefsCount++;
+        }
     }
 
     /**
@@ -214,12 +259,15 @@ class PdfPagesTree implements Serializable {
      */
     public void addPage(int index, PdfPage pdfPage) {
         --index;
-        if (index > pageRefs.size())
+        if (index > getNumberOfPages())
             throw new IndexOutOfBoundsException("index");
-        if (index == pageRefs.size()) {
+        if (index == getNumberOfPages()) {
             addPage(pdfPage);
             return;
         }
+        if (index < releasedPagesCount) {
+            throw new PdfException(PdfException.PageWasReleasedInStreamingMode).setMessageParams(index + 1);
+        }
         loadPage(index);
         pdfPage.makeIndirect(document);
         int parentIndex = findPageParent(index);
@@ -227,8 +275,9 @@ class PdfPagesTree implements Serializable {
         parentPages.addPage(index, pdfPage);
         pdfPage.parentPages = parentPages;
         correctPdfPagesFromProperty(parentIndex + 1, +1);
-        pageRefs.add(index, pdfPage.getPdfObject());
-        pages.add(index, pdfPage);
+        pageRefs.add(index - releasedPagesCount, pdfPage.getPdfObject());
+        pages.add(index - releasedPagesCount, pdfPage);
+        invalidatePageRefsIndex(index);
     }
 
     /**
@@ -264,7 +313,9 @@ class PdfPagesTree implements Serializable {
         if (generated)
             throw new PdfException(PdfException.PdfPagesTreeCouldBeGeneratedOnlyOnce);
 
-        if (root == null) {
+        if (root == null && streamingAncestors != null) {
+            root = completeStreamingTree();
+        } else if (root == null) {
             while (parents.size() != 1) {
                 List<PdfPages> nextParents = new ArrayList<>();
                 //dynamicLeafSize helps to avoid PdfPages leaf with only one page
@@ -293,9 +344,43 @@ class PdfPagesTree implements Serializable {
         return root.getPdfObject();
     }
 
+    /**
+     * Releases the leading pages of the document which have been flushed, if streaming mode is enabled,
+     * see {@link WriterProperties#useStreamingMode()}. The pages are released by whole leaves of the pages tree:
+     * the leaf is written as soon as all its pages are flushed and it is not the last one, after that its pages
+     * can no longer be accessed.
+     */
+    void releaseFlushedPages() {
+        if (!isStreamingMode()) {
+            return;
+        }
+        while (parents.size() > 1) {
+            PdfPages leaf = parents.get(0);
+            int count = leaf.getCount();
+            for (int i = 0; i < count; i++) {
+                if (pages.get(i) == null || !pages.get(i).isFlushed()) {
+                    return;
+                }
+            }
+            if (streamingAncestors == null) {
+                streamingAncestors = new ArrayList<>();
+            }
+            appendToStreamingParent(0, leaf);
+            leaf.getPdfObject().flush();
+            for (int i = 0; i < count; i++) {
+                pageRefsIndex.remove(pageRefs.get(i));
+            }
+            pageRefs.subList(0, count).clear();
+            pages.subList(0, count).clear();
+            parents.remove(0);
+            releasedPagesCount += count;
+        }
+    }
+
     protected void clearPageRefs() {
         pageRefs = null;
         pages = null;
+        pageRefsIndex = null;
     }
 
     protected List<PdfPages> getParents() {
@@ -313,7 +398,7 @@ class PdfPagesTree implements Serializable {
     }
 
     private void loadPage(int pageNum) {
-        PdfDictionary targetPage = pageRefs.get(pageNum);
+        PdfDictionary targetPage = getPageRef(pageNum);
         if (targetPage != null)
             return;
         //if we go here, we have to split PdfPages that contains pageNum
@@ -385,7 +470,11 @@ class PdfPagesTree implements Serializable {
             // In any case parent.getCount() has higher priority.
             // NOTE optimization? when we already found needed index
             for (int i = 0; i < parent.getCount(); i++) {
-                pageRefs.set(from + i, kids.getAsDictionary(i));
+                PdfDictionary pageRef = kids.getAsDictionary(i);
+                pageRefs.set(from + i - releasedPagesCount, pageRef);
+                if (pageRef != null) {
+                    indexPageRef(pageRef, from + i);
+                }
             }
         }
     }
@@ -402,18 +491,117 @@ class PdfPagesTree implements Serializable {
             }
             if (parents.size() == 0) {
                 root = null;
-                parents.add(new PdfPages(0, document));
+                parents.add(new PdfPages(releasedPagesCount, document));
             } else {
                 correctPdfPagesFromProperty(parentIndex + 1, -1);
             }
-            pageRefs.remove(pageNum);
-            pages.remove(pageNum);
+            PdfDictionary removedPageRef = pageRefs.remove(pageNum - releasedPagesCount);
+            Integer indexedPageNum = pageRefsIndex.get(removedPageRef);
+            if (indexedPageNum != null && indexedPageNum == pageNum) {
+                pageRefsIndex.remove(removedPageRef);
+            }
+            pages.remove(pageNum - releasedPagesCount);
+            invalidatePageRefsIndex(pageNum);
             return true;
         } else {
             return false;
         }
     }
 
+    /**
+     * Finds the position of the loaded page dictionary using {@link #pageRefsIndex}.
+     *
+     * @param pageDictionary the page dictionary
+     * @return zero-based index of the page, or -1 if the page dictionary is not among the loaded page references
+     */
+    private int findIndexedPageRef(PdfDictionary pageDictionary) {
+        Integer pageNum = pageRefsIndex.get(pageDictionary);
+        if (pageNum != null && isRetainedPage(pageNum) && getPageRef(pageNum) == pageDictionary) {
+            return (int) pageNum;
+        }
+        if (indexedPageRefsCount < getNumberOfPages()) {
+            // the positions were shifted by page insertion or removal, reindex the tail of the list
+            for (int i = Math.max(indexedPageRefsCount, releasedPagesCount); i < getNumberOfPages(); i++) {
+                PdfDictionary pageRef = getPageRef(i);
+                if (pageRef != null) {
+                    indexPageRef(pageRef, i);
+                }
+            }
+            indexedPageRefsCount = getNumberOfPages();
+            pageNum = pageRefsIndex.get(pageDictionary);
+            if (pageNum != null && isRetainedPage(pageNum) && getPageRef(pageNum) == pageDictionary) {
+                return (int) pageNum;
+            }
+        }
+        return -1;
+    }
+
+    // zero-based index. The index keeps the first occurrence of the page dictionary, like List#indexOf.
+    private void indexPageRef(PdfDictionary pageRef, int pageNum) {
+        Integer indexedPageNum = pageRefsIndex.get(pageRef);
+        if (indexedPageNum == null || indexedPageNum >= pageNum || !isRetainedPage(indexedPageNum)
+                || getPageRef(indexedPageNum) != pageRef) {
+            pageRefsIndex.put(pageRef, pageNum);
+        }
+    }
+
+    // zero-based index
+    private PdfDictionary getPageRef(int pageNum) {
+        return pageRefs.get(pageNum - releasedPagesCount);
+    }
+
+    // zero-based index
+    private boolean isRetainedPage(int pageNum) {
+        return pageNum >= releasedPagesCount && pageNum < getNumberOfPages();
+    }
+
+    // zero-based index
+    private void invalidatePageRefsIndex(int pageNum) {
+        indexedPageRefsCount = Math.min(indexedPageRefsCount, pageNum);
+    }
+
+    private boolean isStreamingMode() {
+        return root == null && document.isStreamingMode();
+    }
+
+    /**
+     * Adds the complete node of the given level to the rightmost node of the next level of the tree
+     * which is built in streaming mode. If that node is already complete, it is added to its own parent
+     * and written first.
+     *
+     * @param level level of the node, 0 for leaves
+     * @param node  the node which will not get any new kids
+     */
+    private void appendToStreamingParent(int level, PdfPages node) {
+        if (streamingAncestors.size() == level) {
+            streamingAncestors.add(new PdfPages(-1, document));
+        }
+        PdfPages parent = streamingAncestors.get(level);
+        if (parent.getKids().size() == leafSize) {
+            appendToStreamingParent(level + 1, parent);
+            parent.getPdfObject().flush();
+            parent = new PdfPages(-1, document);
+            streamingAncestors.set(level, parent);
+        }
+        parent.addPages(node);
+    }
+
+    /**
+     * Adds the remaining leaves to the tree which is built in streaming mode and links its incomplete nodes together.
+     *
+     * @return the root of the tree
+     */
+    private PdfPages completeStreamingTree() {
+        for (PdfPages leaf : parents) {
+            appendToStreamingParent(0, leaf);
+        }
+        // the list may grow while the nodes are linked
+        for (int level = 0; level < streamingAncestors.size() - 1; level++) {
+            appendToStreamingParent(level + 1, streamingAncestors.get(level));
+        }
+        return streamingAncestors.get(streamingAncestors.size() - 1);
+    }
+
     // zero-based index
     private int findPageParent(int pageNum) {
         int low = 0;
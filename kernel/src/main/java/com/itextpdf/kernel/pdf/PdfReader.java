@@ -48,22 +48,33 @@ import com.itextpdf.io.source.ByteBuffer;
 import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.source.IRandomAccessSource;
 import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.io.source.RASInputStream;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
 import com.itextpdf.io.source.RandomAccessSourceFactory;
 import com.itextpdf.io.source.WindowRandomAccessSource;
 import com.itextpdf.io.util.MessageFormatUtil;
+import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.kernel.crypto.securityhandler.UnsupportedSecurityHandlerException;
 import com.itextpdf.kernel.pdf.filters.FilterHandlers;
+import com.itextpdf.kernel.pdf.filters.FlateDecodeFilter;
 import com.itextpdf.kernel.pdf.filters.IFilterHandler;
+import com.itextpdf.kernel.pdf.filters.IStreamingFilterHandler;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -84,11 +95,31 @@ public class PdfReader implements Closeable, Serializable {
 
     protected static boolean correctStreamLength = true;
 
+    /**
+     * Maximum number of decoded object streams which are kept in memory in lazy reading mode.
+     */
+    private static final int OBJECT_STREAM_CACHE_SIZE = 16;
+
     private boolean unethicalReading;
 
+    private boolean lazyReading;
+
+    private boolean directBufferReading;
+
+    // Decoded object streams, most recently used last. Is used only in lazy reading mode.
+    private transient Map<Integer, ObjectStreamContent> objectStreamCache;
+
     //indicate nearest first Indirect reference object which includes current reading the object, using for PdfString decrypt
     private PdfIndirectReference currentIndirectReference;
 
+    // Shared instances of the direct names of the document.
+    private transient PdfNameInterner nameInterner;
+    private transient Map<PdfName, IFilterHandler> filterHandlers;
+
+    // Streams of other documents whose encoded content is copied from the source of this document on writing,
+    // see PdfStream#copyContent. The content of these streams is read into memory when the reader is closed.
+    private transient Set<PdfStream> rawContentCopies;
+
     // For internal usage only
     private String sourcePath;
 
@@ -191,6 +222,13 @@ public class PdfReader implements Closeable, Serializable {
      * @throws IOException on error.
      */
     public void close() throws IOException {
+        objectStreamCache = null;
+        if (rawContentCopies != null) {
+            for (PdfStream copy : new ArrayList<>(rawContentCopies)) {
+                copy.loadRawContent();
+            }
+            rawContentCopies = null;
+        }
         tokens.close();
     }
 
@@ -203,6 +241,56 @@ public class PdfReader implements Closeable, Serializable {
         return this;
     }
 
+    /**
+     * Enables or disables lazy reading mode. Shall be set before the reader is passed to {@link PdfDocument}.
+     * <br>
+     * By default, as soon as any object stored in an object stream is requested, the whole object stream is decoded
+     * and all the objects it contains are parsed and kept in memory. In lazy reading mode only the requested object
+     * is parsed, while decoded object streams are kept in a small least-recently-used cache, so the cost of opening
+     * and reading a large document is proportional to the part of it which is actually accessed.
+     *
+     * @param lazyReading true to enable lazy reading mode, false to disable it
+     * @return this {@link PdfReader} instance
+     */
+    public PdfReader setLazyReading(boolean lazyReading) {
+        this.lazyReading = lazyReading;
+        return this;
+    }
+
+    /**
+     * Checks if lazy reading mode is enabled, see {@link #setLazyReading(boolean)}.
+     *
+     * @return true if lazy reading mode is enabled, false otherwise
+     */
+    public boolean isLazyReading() {
+        return lazyReading;
+    }
+
+    /**
+     * Enables or disables scanning of the document bytes directly over a memory mapped buffer or a byte array,
+     * see {@link PdfTokenizer#setDirectBufferReading(boolean)}. The mode also applies to the decoded object streams.
+     * It takes effect if the document is read from a byte array or from a memory mapped file, the files which are
+     * too large to be mapped at once are scanned through a re-mapped window. For other sources a warning is logged
+     * and the document is read byte by byte.
+     *
+     * @param directBufferReading true to enable direct buffer reading mode, false to disable it
+     * @return this {@link PdfReader} instance
+     */
+    public PdfReader setDirectBufferReading(boolean directBufferReading) {
+        this.directBufferReading = directBufferReading;
+        tokens.setDirectBufferReading(directBufferReading);
+        return this;
+    }
+
+    /**
+     * Checks if direct buffer reading mode is enabled, see {@link #setDirectBufferReading(boolean)}.
+     *
+     * @return true if direct buffer reading mode is enabled, false otherwise
+     */
+    public boolean isDirectBufferReading() {
+        return directBufferReading;
+    }
+
     /**
      * Gets whether {@link #close()} method shall close input stream.
      *
@@ -280,7 +368,7 @@ public class PdfReader implements Closeable, Serializable {
     public byte[] readStreamBytes(PdfStream stream, boolean decode) throws IOException {
         byte[] b = readStreamBytesRaw(stream);
         if (decode && b != null) {
-            return decodeBytes(b, stream);
+            return decodeBytes(b, stream, getFilterHandlers());
         } else {
             return b;
         }
@@ -309,27 +397,9 @@ public class PdfReader implements Closeable, Serializable {
             file.seek(stream.getOffset());
             bytes = new byte[length];
             file.readFully(bytes);
-            if (decrypt != null && !decrypt.isEmbeddedFilesOnly()) {
-                PdfObject filter = stream.get(PdfName.Filter, true);
-                boolean skip = false;
-                if (filter != null) {
-                    if (PdfName.Crypt.equals(filter)) {
-                        skip = true;
-                    } else if (filter.getType() == PdfObject.ARRAY) {
-                        PdfArray filters = (PdfArray) filter;
-                        for (int k = 0; k < filters.size(); k++) {
-                            if (!filters.isEmpty() && PdfName.Crypt.equals(filters.get(k, true))) {
-                                skip = true;
-                                break;
-                            }
-                        }
-                    }
-                    filter.release();
-                }
-                if (!skip) {
-                    decrypt.setHashKeyForNextObject(stream.getIndirectReference().getObjNumber(), stream.getIndirectReference().getGenNumber());
-                    bytes = decrypt.decryptByteArray(bytes);
-                }
+            if (isDecryptionNeeded(stream)) {
+                decrypt.setHashKeyForNextObject(stream.getIndirectReference().getObjNumber(), stream.getIndirectReference().getGenNumber());
+                bytes = decrypt.decryptByteArray(bytes);
             }
         } finally {
             try {
@@ -341,7 +411,103 @@ public class PdfReader implements Closeable, Serializable {
     }
 
     /**
-     * Reads, decrypt and optionally decode stream bytes into {@link ByteArrayInputStream}.
+     * Checks whether the stream bytes can be copied exactly as they are stored in the source of the document,
+     * that is, without decryption.
+     *
+     * @param stream the stream read by this reader
+     * @return true if the raw bytes of the stream can be copied, false otherwise
+     * @throws IOException on error.
+     */
+    boolean isRawContentCopyable(PdfStream stream) throws IOException {
+        if (stream.getOffset() <= 0 || isDecryptionNeeded(stream)) {
+            return false;
+        }
+        PdfName type = stream.getAsName(PdfName.Type);
+        if (!PdfName.XRefStm.equals(type) && !PdfName.ObjStm.equals(type))
+            checkPdfStreamLength(stream);
+        return stream.getLength() > 0;
+    }
+
+    /**
+     * Reads the bytes stored in the specified range of the source of the document.
+     *
+     * @param offset the offset of the first byte
+     * @param length the number of bytes to read
+     * @return byte[] array.
+     * @throws IOException on error.
+     */
+    byte[] readRawBytes(long offset, int length) throws IOException {
+        RandomAccessFileOrArray file = tokens.getSafeFile();
+        try {
+            file.seek(offset);
+            byte[] bytes = new byte[length];
+            file.readFully(bytes);
+            return bytes;
+        } finally {
+            try {
+                file.close();
+            } catch (Exception ignored) {
+            }
+        }
+    }
+
+    /**
+     * Writes the bytes stored in the specified range of the source of the document to the output, see
+     * {@link com.itextpdf.io.source.OutputStream#transferFrom(RandomAccessFileOrArray, long, long)}.
+     *
+     * @param offset the offset of the first byte
+     * @param length the number of bytes to write
+     * @param output the output to write to
+     * @throws IOException on error.
+     */
+    void transferRawBytes(long offset, int length, PdfOutputStream output) throws IOException {
+        RandomAccessFileOrArray file = tokens.getSafeFile();
+        try {
+            output.transferFrom(file, offset, length);
+        } finally {
+            try {
+                file.close();
+            } catch (Exception ignored) {
+            }
+        }
+    }
+
+    /**
+     * Writes the streams of the specified document which were copied from this document and which content is still
+     * stored only in the source of this document. Flushed streams can no longer be modified, but the reader can be
+     * closed afterwards without the content of the copied streams being read into memory.
+     *
+     * @param document the document to which the streams were copied
+     */
+    public void flushRawContentCopies(PdfDocument document) {
+        if (rawContentCopies == null) {
+            return;
+        }
+        for (PdfStream copy : new ArrayList<>(rawContentCopies)) {
+            PdfIndirectReference reference = copy.getIndirectReference();
+            if (reference != null && reference.getDocument() == document && !copy.isFlushed()) {
+                copy.flush();
+            }
+        }
+    }
+
+    void registerRawContentCopy(PdfStream copy) {
+        if (rawContentCopies == null) {
+            rawContentCopies = Collections.newSetFromMap(new WeakHashMap<PdfStream, Boolean>());
+        }
+        rawContentCopies.add(copy);
+    }
+
+    void unregisterRawContentCopy(PdfStream copy) {
+        if (rawContentCopies != null) {
+            rawContentCopies.remove(copy);
+        }
+    }
+
+    /**
+     * Reads, decrypt and optionally decode stream bytes on the fly, see
+     * {@link #decodeInputStream(InputStream, PdfDictionary, Map)}. In contrast to {@link #readStreamBytes(PdfStream, boolean)},
+     * neither the encoded data nor the intermediate results of the filters are read into memory as a whole.
      * User is responsible for closing returned stream.
      *
      * @param decode true if to get decoded stream, false if to leave it originally encoded.
@@ -349,8 +515,49 @@ public class PdfReader implements Closeable, Serializable {
      * @throws IOException on error.
      */
     public InputStream readStream(PdfStream stream, boolean decode) throws IOException {
-        byte[] bytes = readStreamBytes(stream, decode);
-        return bytes != null ? new ByteArrayInputStream(bytes) : null;
+        InputStream is = readStreamRaw(stream);
+        if (decode && is != null) {
+            return decodeInputStream(is, stream, getFilterHandlers());
+        } else {
+            return is;
+        }
+    }
+
+    /**
+     * Decode the data of the stream applying the filters specified in the provided dictionary using the provided
+     * filter handlers. The handlers which implement {@link IStreamingFilterHandler} decode the data on the fly,
+     * the data is read into memory only for the other ones.
+     *
+     * @param is               the stream with the data to decode
+     * @param streamDictionary the dictionary that contains filter information
+     * @param filterHandlers   the map used to look up a handler for each type of filter
+     * @return the stream with decoded data, closing it closes the passed stream
+     * @throws IOException  if the data can not be read for the filters which do not support streaming
+     * @throws PdfException if there are any problems decoding the data
+     */
+    public static InputStream decodeInputStream(InputStream is, PdfDictionary streamDictionary, Map<PdfName, IFilterHandler> filterHandlers) throws IOException {
+        PdfArray filters = getFilters(streamDictionary);
+        PdfArray dp = getDecodeParams(streamDictionary);
+        for (int j = 0; j < filters.size(); ++j) {
+            PdfName filterName = (PdfName) filters.get(j);
+            IFilterHandler filterHandler = filterHandlers.get(filterName);
+            if (filterHandler == null)
+                throw new PdfException(PdfException.Filter1IsNotSupported).setMessageParams(filterName);
+
+            PdfDictionary decodeParams = getDecodeParams(dp, j);
+            if (filterHandler instanceof IStreamingFilterHandler) {
+                is = ((IStreamingFilterHandler) filterHandler).decode(is, filterName, decodeParams, streamDictionary);
+            } else {
+                byte[] b;
+                try {
+                    b = StreamUtil.inputStreamToArray(is);
+                } finally {
+                    is.close();
+                }
+                is = new ByteArrayInputStream(filterHandler.decode(b, filterName, decodeParams, streamDictionary));
+            }
+        }
+        return is;
     }
 
     /**
@@ -378,48 +585,15 @@ public class PdfReader implements Closeable, Serializable {
         if (b == null) {
             return null;
         }
-        PdfObject filter = streamDictionary.get(PdfName.Filter);
-        PdfArray filters = new PdfArray();
-        if (filter != null) {
-            if (filter.getType() == PdfObject.NAME) {
-                filters.add(filter);
-            } else if (filter.getType() == PdfObject.ARRAY) {
-                filters = ((PdfArray) filter);
-            }
-        }
-        PdfArray dp = new PdfArray();
-        PdfObject dpo = streamDictionary.get(PdfName.DecodeParms);
-        if (dpo == null || (dpo.getType() != PdfObject.DICTIONARY && dpo.getType() != PdfObject.ARRAY)) {
-            if (dpo != null) dpo.release();
-            dpo = streamDictionary.get(PdfName.DP);
-        }
-        if (dpo != null) {
-            if (dpo.getType() == PdfObject.DICTIONARY) {
-                dp.add(dpo);
-            } else if (dpo.getType() == PdfObject.ARRAY) {
-                dp = ((PdfArray) dpo);
-            }
-            dpo.release();
-        }
+        PdfArray filters = getFilters(streamDictionary);
+        PdfArray dp = getDecodeParams(streamDictionary);
         for (int j = 0; j < filters.size(); ++j) {
             PdfName filterName = (PdfName) filters.get(j);
             IFilterHandler filterHandler = filterHandlers.get(filterName);
             if (filterHandler == null)
                 throw new PdfException(PdfException.Filter1IsNotSupported).setMessageParams(filterName);
 
-            PdfDictionary decodeParams;
-            if (j < dp.size()) {
-                PdfObject dpEntry = dp.get(j, true);
-                if (dpEntry == null || dpEntry.getType() == PdfObject.NULL) {
-                    decodeParams = null;
-                } else if (dpEntry.getType() == PdfObject.DICTIONARY) {
-                    decodeParams = (PdfDictionary) dpEntry;
-                } else {
-                    throw new PdfException(PdfException.DecodeParameterType1IsNotSupported).setMessageParams(dpEntry.getClass().toString());
-                }
-            } else {
-                decodeParams = null;
-            }
+            PdfDictionary decodeParams = getDecodeParams(dp, j);
             b = filterHandler.decode(b, filterName, decodeParams, streamDictionary);
         }
         return b;
@@ -553,6 +727,7 @@ public class PdfReader implements Closeable, Serializable {
         PdfTokenizer saveTokens = tokens;
         try {
             tokens = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(bytes)));
+            tokens.setDirectBufferReading(directBufferReading);
             int[] address = new int[n];
             int[] objNumber = new int[n];
             boolean ok = true;
@@ -703,11 +878,126 @@ public class PdfReader implements Closeable, Serializable {
         }
     }
 
+    /**
+     * Creates the stream which reads and decrypts the stream bytes directly from the source of the document.
+     *
+     * @param stream the stream which data shall be read
+     * @return the stream with raw data or null if the stream has no data in the source
+     * @throws IOException on error.
+     */
+    private InputStream readStreamRaw(PdfStream stream) throws IOException {
+        PdfName type = stream.getAsName(PdfName.Type);
+        if (!PdfName.XRefStm.equals(type) && !PdfName.ObjStm.equals(type))
+            checkPdfStreamLength(stream);
+        long offset = stream.getOffset();
+        if (offset <= 0)
+            return null;
+        int length = stream.getLength();
+        if (length <= 0)
+            return new ByteArrayInputStream(new byte[0]);
+        InputStream is = new BufferedInputStream(new RASInputStream(
+                new WindowRandomAccessSource(tokens.getSafeFile().createSourceView(), offset, length)), 0x2000);
+        if (isDecryptionNeeded(stream)) {
+            decrypt.setHashKeyForNextObject(stream.getIndirectReference().getObjNumber(), stream.getIndirectReference().getGenNumber());
+            is = decrypt.getDecryptionStream(is);
+        }
+        return is;
+    }
+
+    private boolean isDecryptionNeeded(PdfStream stream) {
+        if (decrypt == null || decrypt.isEmbeddedFilesOnly()) {
+            return false;
+        }
+        PdfObject filter = stream.get(PdfName.Filter, true);
+        boolean skip = false;
+        if (filter != null) {
+            if (PdfName.Crypt.equals(filter)) {
+                skip = true;
+            } else if (filter.getType() == PdfObject.ARRAY) {
+                PdfArray filters = (PdfArray) filter;
+                for (int k = 0; k < filters.size(); k++) {
+                    if (!filters.isEmpty() && PdfName.Crypt.equals(filters.get(k, true))) {
+                        skip = true;
+                        break;
+                    }
+                }
+            }
+            filter.release();
+        }
+        return !skip;
+    }
+
+    private static PdfArray getFilters(PdfDictionary streamDictionary) {
+        PdfObject filter = streamDictionary.get(PdfName.Filter);
+        PdfArray filters = new PdfArray();
+        if (filter != null) {
+            if (filter.getType() == PdfObject.NAME) {
+                filters.add(filter);
+            } else if (filter.getType() == PdfObject.ARRAY) {
+                filters = ((PdfArray) filter);
+            }
+        }
+        return filters;
+    }
+
+    private static PdfArray getDecodeParams(PdfDictionary streamDictionary) {
+        PdfArray dp = new PdfArray();
+        PdfObject dpo = streamDictionary.get(PdfName.DecodeParms);
+        if (dpo == null || (dpo.getType() != PdfObject.DICTIONARY && dpo.getType() != PdfObject.ARRAY)) {
+            if (dpo != null) dpo.release();
+            dpo = streamDictionary.get(PdfName.DP);
+        }
+        if (dpo != null) {
+            if (dpo.getType() == PdfObject.DICTIONARY) {
+                dp.add(dpo);
+            } else if (dpo.getType() == PdfObject.ARRAY) {
+                dp = ((PdfArray) dpo);
+            }
+            dpo.release();
+        }
+        return dp;
+    }
+
+    private static PdfDictionary getDecodeParams(PdfArray dp, int filterIndex) {
+        if (filterIndex < dp.size()) {
+            PdfObject dpEntry = dp.get(filterIndex, true);
+            if (dpEntry == null || dpEntry.getType() == PdfObject.NULL) {
+                return null;
+            } else if (dpEntry.getType() == PdfObject.DICTIONARY) {
+                return (PdfDictionary) dpEntry;
+            } else {
+                throw new PdfException(PdfException.DecodeParameterType1IsNotSupported).setMessageParams(dpEntry.getClass().toString());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the filter handlers which decode the streams of this document, taking into account
+     * {@link ReaderProperties#setFlateCodecProvider(com.itextpdf.kernel.pdf.filters.IFlateCodecProvider)}.
+     *
+     * @return the filter handlers
+     */
+    private Map<PdfName, IFilterHandler> getFilterHandlers() {
+        if (properties.flateCodecProvider == null) {
+            return FilterHandlers.getDefaultFilterHandlers();
+        }
+        if (filterHandlers == null) {
+            Map<PdfName, IFilterHandler> handlers = new HashMap<>(FilterHandlers.getDefaultFilterHandlers());
+            FlateDecodeFilter flateDecodeFilter = new FlateDecodeFilter(false, properties.flateCodecProvider);
+            handlers.put(PdfName.FlateDecode, flateDecodeFilter);
+            handlers.put(PdfName.Fl, flateDecodeFilter);
+            filterHandlers = handlers;
+        }
+        return filterHandlers;
+    }
+
     protected PdfName readPdfName(boolean readAsDirect) {
         if (readAsDirect) {
-            PdfName cachedName = PdfName.staticNames.get(tokens.getStringValue());
-            if (cachedName != null)
-                return cachedName;
+            if (nameInterner == null) {
+                nameInterner = new PdfNameInterner();
+            }
+            return nameInterner.intern(tokens);
         }
         // an indirect name (how odd...), or a non-standard one
         return new PdfName(tokens.getByteContent());
@@ -836,13 +1126,19 @@ public class PdfReader implements Closeable, Serializable {
                     end--;
                     continue;
                 }
+                if (xref.hasNotLoadedEntry(num)) {
+                    // the entry was already read from a more recent section
+                    continue;
+                }
                 PdfIndirectReference reference = xref.get(num);
                 boolean refReadingState = reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == gen;
                 boolean refFirstEncountered = reference == null
                         || !refReadingState && reference.getDocument() == null; // for references that are added by xref table itself (like 0 entry)
 
                 if (refFirstEncountered) {
-                    reference = new PdfIndirectReference(pdfDocument, num, gen, pos);
+                    if (reference != null) {
+                        reference = new PdfIndirectReference(pdfDocument, num, gen, pos);
+                    }
                 } else if (reference.checkState(PdfObject.READING) && reference.getGenNumber() == gen) {
                     reference.setOffset(pos);
                     reference.clearState(PdfObject.READING);
@@ -850,20 +1146,26 @@ public class PdfReader implements Closeable, Serializable {
                     continue;
                 }
 
+                boolean free = false;
                 if (tokens.tokenValueEqualsTo(PdfTokenizer.N)) {
                     if (pos == 0) {
                         tokens.throwError(PdfException.FilePosition1CrossReferenceEntryInThisXrefSubsection);
                     }
                 } else if (tokens.tokenValueEqualsTo(PdfTokenizer.F)) {
-                    if (refFirstEncountered) {
-                        reference.setState(PdfObject.FREE);
-                    }
+                    free = refFirstEncountered;
                 } else {
                     tokens.throwError(PdfException.InvalidCrossReferenceEntryInThisXrefSubsection);
                 }
 
                 if (refFirstEncountered) {
-                    xref.add(reference);
+                    if (reference == null) {
+                        xref.addReadEntry(pdfDocument, num, gen, pos, 0, free);
+                    } else {
+                        if (free) {
+                            reference.setState(PdfObject.FREE);
+                        }
+                        xref.add(reference);
+                    }
                 }
             }
         }
@@ -959,36 +1261,52 @@ public class PdfReader implements Closeable, Serializable {
                 for (int k = 0; k < wc[2]; ++k) {
                     field3 = (field3 << 8) + (b[bptr++] & 0xff);
                 }
-                int base = start;
-                PdfIndirectReference newReference;
+                int base = start++;
+                int genNr;
+                long offsetOrIndex;
+                int objStreamNumber;
                 switch (type) {
                     case 0:
-                        newReference = (PdfIndirectReference) new PdfIndirectReference(pdfDocument, base, field3, field2).setState(PdfObject.FREE);
-                        break;
                     case 1:
-                        newReference = new PdfIndirectReference(pdfDocument, base, field3, field2);
+                        genNr = field3;
+                        offsetOrIndex = field2;
+                        objStreamNumber = 0;
                         break;
                     case 2:
-                        newReference = new PdfIndirectReference(pdfDocument, base, 0, field3);
-                        newReference.setObjStreamNumber((int) field2);
+                        genNr = 0;
+                        offsetOrIndex = field3;
+                        objStreamNumber = (int) field2;
                         break;
                     default:
                         throw new PdfException(PdfException.InvalidXrefStream);
                 }
 
+                if (xref.hasNotLoadedEntry(base)) {
+                    // the entry was already read from a more recent section
+                    continue;
+                }
                 PdfIndirectReference reference = xref.get(base);
-                boolean refReadingState = reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == newReference.getGenNumber();
+                boolean refReadingState = reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == genNr;
                 boolean refFirstEncountered = reference == null
                         || !refReadingState && reference.getDocument() == null; // for references that are added by xref table itself (like 0 entry)
 
                 if (refFirstEncountered) {
-                    xref.add(newReference);
+                    if (reference == null) {
+                        xref.addReadEntry(pdfDocument, base, genNr, offsetOrIndex, objStreamNumber, type == 0);
+                    } else {
+                        PdfIndirectReference newReference = new PdfIndirectReference(pdfDocument, base, genNr, offsetOrIndex);
+                        if (type == 0) {
+                            newReference.setState(PdfObject.FREE);
+                        } else if (type == 2) {
+                            newReference.setObjStreamNumber(objStreamNumber);
+                        }
+                        xref.add(newReference);
+                    }
                 } else if (refReadingState) {
-                    reference.setOffset(newReference.getOffset());
-                    reference.setObjStreamNumber(newReference.getObjStreamNumber());
+                    reference.setOffset(offsetOrIndex);
+                    reference.setObjStreamNumber(objStreamNumber);
                     reference.clearState(PdfObject.READING);
                 }
-                ++start;
             }
         }
         return prev == -1 || readXrefStream(prev);
@@ -1114,6 +1432,9 @@ public class PdfReader implements Closeable, Serializable {
             if (reference.getObjStreamNumber() > 0) {
                 PdfStream objectStream = (PdfStream) pdfDocument.getXref().
                         get(reference.getObjStreamNumber()).getRefersTo(false);
+                if (lazyReading) {
+                    return readObjectFromObjectStream(objectStream, reference);
+                }
                 readObjectStream(objectStream);
                 return reference.refersTo;
             } else if (reference.getOffset() > 0) {
@@ -1144,6 +1465,55 @@ public class PdfReader implements Closeable, Serializable {
         }
     }
 
+    /**
+     * Parses the single object from the object stream, decoding the object stream only if it is not cached yet.
+     */
+    private PdfObject readObjectFromObjectStream(PdfStream objectStream, PdfIndirectReference reference) throws IOException {
+        ObjectStreamContent content = getObjectStreamContent(objectStream);
+        int address = content.getAddress(reference.getObjNumber(), reference.getIndex());
+        if (address < 0) {
+            return null;
+        }
+        PdfTokenizer saveTokens = tokens;
+        try {
+            tokens = content.tokens;
+            tokens.seek(address);
+            tokens.nextToken();
+            PdfObject obj;
+            if (tokens.getTokenType() == PdfTokenizer.TokenType.Number) {
+                obj = new PdfNumber(tokens.getByteContent());
+            } else {
+                tokens.seek(address);
+                obj = readObject(false, true);
+            }
+            return obj != null ? obj.setIndirectReference(reference) : null;
+        } finally {
+            tokens = saveTokens;
+        }
+    }
+
+    private ObjectStreamContent getObjectStreamContent(PdfStream objectStream) throws IOException {
+        if (objectStreamCache == null) {
+            objectStreamCache = new LinkedHashMap<Integer, ObjectStreamContent>(OBJECT_STREAM_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, ObjectStreamContent> eldest) {
+                    return size() > OBJECT_STREAM_CACHE_SIZE;
+                }
+            };
+        }
+        int objectStreamNumber = objectStream.getIndirectReference().getObjNumber();
+        ObjectStreamContent content = objectStreamCache.get(objectStreamNumber);
+        if (content == null) {
+            int first = objectStream.getAsNumber(PdfName.First).intValue();
+            int n = objectStream.getAsNumber(PdfName.N).intValue();
+            byte[] bytes = readStreamBytes(objectStream, true);
+            content = new ObjectStreamContent(bytes, first, n, directBufferReading);
+            objectStreamCache.put(objectStreamNumber, content);
+            objectStream.getIndirectReference().setState(PdfObject.ORIGINAL_OBJECT_STREAM);
+        }
+        return content;
+    }
+
     private void checkPdfStreamLength(PdfStream pdfStream) throws IOException {
         if (!correctStreamLength)
             return;
@@ -1219,6 +1589,7 @@ public class PdfReader implements Closeable, Serializable {
         in.defaultReadObject();
         if (sourcePath != null && tokens == null) {
             tokens = getOffsetTokeniser(new RandomAccessSourceFactory().setForceRead(false).createBestSource(sourcePath));
+            tokens.setDirectBufferReading(directBufferReading);
         }
     }
 
@@ -1236,6 +1607,58 @@ public class PdfReader implements Closeable, Serializable {
         }
     }
 
+    /**
+     * Decoded content of an object stream together with its parsed header.
+     */
+    private static class ObjectStreamContent {
+        final PdfTokenizer tokens;
+        final int[] objNumbers;
+        final int[] addresses;
+
+        ObjectStreamContent(byte[] bytes, int first, int n, boolean directBufferReading) throws IOException {
+            tokens = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(bytes)));
+            tokens.setDirectBufferReading(directBufferReading);
+            objNumbers = new int[n];
+            addresses = new int[n];
+            boolean ok = true;
+            for (int k = 0; k < n; ++k) {
+                ok = tokens.nextToken();
+                if (!ok || tokens.getTokenType() != PdfTokenizer.TokenType.Number) {
+                    ok = false;
+                    break;
+                }
+                objNumbers[k] = tokens.getIntValue();
+                ok = tokens.nextToken();
+                if (!ok || tokens.getTokenType() != PdfTokenizer.TokenType.Number) {
+                    ok = false;
+                    break;
+                }
+                addresses[k] = tokens.getIntValue() + first;
+            }
+            if (!ok)
+                throw new PdfException(PdfException.ErrorWhileReadingObjectStream);
+        }
+
+        /**
+         * Gets the address of the object in the decoded stream.
+         *
+         * @param objNumber the number of the object
+         * @param index     the expected index of the object in the stream as stated in xref
+         * @return the address of the object or -1 if the stream doesn't contain it
+         */
+        int getAddress(int objNumber, int index) {
+            if (index >= 0 && index < objNumbers.length && objNumbers[index] == objNumber) {
+                return addresses[index];
+            }
+            for (int k = 0; k < objNumbers.length; ++k) {
+                if (objNumbers[k] == objNumber) {
+                    return addresses[k];
+                }
+            }
+            return -1;
+        }
+    }
+
     protected static class ReusableRandomAccessSource implements IRandomAccessSource {
         private ByteBuffer buffer;
 
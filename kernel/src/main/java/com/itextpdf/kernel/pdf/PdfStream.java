@@ -66,6 +66,11 @@ public class PdfStream extends PdfDictionary {
     private InputStream inputStream;
     private long offset;
     private int length = -1;
+    // Location of the encoded content of the copied stream in the source of the document it was copied from.
+    // The content is written to the output without being read into memory, see copyContent.
+    private transient PdfReader rawContentReader;
+    private long rawContentOffset;
+    private int rawContentLength;
 
     /**
      * Constructs a {@code PdfStream}-object.
@@ -184,6 +189,7 @@ public class PdfStream extends PdfDictionary {
      * @return output stream
      */
     public PdfOutputStream getOutputStream() {
+        loadRawContent();
         return outputStream;
     }
 
@@ -241,6 +247,7 @@ public class PdfStream extends PdfDictionary {
                     "getBytes() always returns null in this case");
             return null;
         }
+        loadRawContent();
         byte[] bytes = null;
         if (outputStream != null && outputStream.getOutputStream() != null) {
             assert outputStream.getOutputStream() instanceof ByteArrayOutputStream
@@ -298,6 +305,11 @@ public class PdfStream extends PdfDictionary {
         if (inputStream != null) {
             throw new PdfException(PdfException.CannotSetDataToPdfStreamWhichWasCreatedByInputStream);
         }
+        if (append) {
+            loadRawContent();
+        } else {
+            releaseRawContent();
+        }
 
         boolean outputStreamIsUninitialized = outputStream == null;
         if (outputStreamIsUninitialized) {
@@ -337,6 +349,15 @@ public class PdfStream extends PdfDictionary {
         remove(PdfName.DecodeParms);
     }
 
+    @Override
+    public PdfObject makeIndirect(PdfDocument document, PdfIndirectReference reference) {
+        super.makeIndirect(document, reference);
+        if (document != null && document.getWriter() != null) {
+            enableSpilling(document.getWriter());
+        }
+        return this;
+    }
+
     @Override
     protected PdfObject newInstance() {
         return new PdfStream();
@@ -359,6 +380,9 @@ public class PdfStream extends PdfDictionary {
         super.copyContent(from, document);
         PdfStream stream = (PdfStream) from;
         assert inputStream == null : "Try to copy the PdfStream that has been just created.";
+        if (copyRawContent(stream)) {
+            return;
+        }
         byte[] bytes = stream.getBytes(false);
         try {
             outputStream.write(bytes);
@@ -367,6 +391,94 @@ public class PdfStream extends PdfDictionary {
         }
     }
 
+    /**
+     * Checks whether the content of the stream is going to be copied from the source of another document
+     * on writing.
+     *
+     * @return true if the stream refers to the encoded content stored in the source of another document
+     */
+    boolean hasRawContent() {
+        return rawContentReader != null;
+    }
+
+    int getRawContentLength() {
+        return rawContentLength;
+    }
+
+    /**
+     * Writes the encoded content of the stream copied from another document directly from the source
+     * of that document.
+     *
+     * @param output the output to write to
+     * @return the number of written bytes
+     * @throws IOException on error
+     */
+    int writeRawContent(PdfOutputStream output) throws IOException {
+        int contentLength = rawContentLength;
+        rawContentReader.transferRawBytes(rawContentOffset, contentLength, output);
+        releaseRawContent();
+        return contentLength;
+    }
+
+    /**
+     * Reads the encoded content which is referred by the copied stream into memory, so that the stream no longer
+     * depends on the source of the document it was copied from.
+     */
+    void loadRawContent() {
+        if (rawContentReader == null) {
+            return;
+        }
+        try {
+            byte[] bytes = rawContentReader.readRawBytes(rawContentOffset, rawContentLength);
+            releaseRawContent();
+            outputStream.assignBytes(bytes, bytes.length);
+        } catch (IOException ioe) {
+            throw new PdfException(PdfException.CannotCopyObjectContent, ioe, this);
+        }
+    }
+
+    /**
+     * Makes the copy refer to the encoded content of the stream as it is stored in the source of the document,
+     * instead of reading the content into memory. It is possible only if the stream was read by a reader,
+     * was not modified and does not need to be decrypted. Unfiltered streams are copied into memory as usual,
+     * because they are compressed on writing.
+     */
+    private boolean copyRawContent(PdfStream stream) {
+        if (stream.rawContentReader != null) {
+            setRawContent(stream.rawContentReader, stream.rawContentOffset, stream.rawContentLength);
+            return true;
+        }
+        PdfReader reader = stream.getIndirectReference() != null ? stream.getIndirectReference().getReader() : null;
+        if (reader == null || stream.outputStream != null || stream.inputStream != null
+                || !stream.containsKey(PdfName.Filter) || outputStream == null
+                || outputStream.getOutputStream() == null || outputStream.getCurrentPos() != 0) {
+            return false;
+        }
+        try {
+            if (!reader.isRawContentCopyable(stream)) {
+                return false;
+            }
+        } catch (IOException ioe) {
+            throw new PdfException(PdfException.CannotCopyObjectContent, ioe, stream);
+        }
+        setRawContent(reader, stream.getOffset(), stream.getLength());
+        return true;
+    }
+
+    private void setRawContent(PdfReader reader, long offset, int length) {
+        rawContentReader = reader;
+        rawContentOffset = offset;
+        rawContentLength = length;
+        reader.registerRawContentCopy(this);
+    }
+
+    private void releaseRawContent() {
+        if (rawContentReader != null) {
+            rawContentReader.unregisterRawContentCopy(this);
+            rawContentReader = null;
+        }
+    }
+
     protected void initOutputStream(java.io.OutputStream stream) {
         if (getOutputStream() == null && inputStream == null)
             outputStream = new PdfOutputStream(stream != null ? stream : new ByteArrayOutputStream());
@@ -377,6 +489,7 @@ public class PdfStream extends PdfDictionary {
      */
     protected void releaseContent() {
         super.releaseContent();
+        releaseRawContent();
         try {
             if (outputStream != null) {
                 outputStream.close();
@@ -387,11 +500,29 @@ public class PdfStream extends PdfDictionary {
         }
     }
 
+    /**
+     * Replaces the in-memory content buffer with the one which moves the content to a temporary file
+     * when it becomes longer than the threshold, see {@link WriterProperties#useStreamSpilling(int)}.
+     */
+    private void enableSpilling(PdfWriter writer) {
+        int threshold = writer.getStreamSpillThreshold();
+        if (threshold <= 0 || outputStream == null || this instanceof PdfObjectStream
+                || outputStream.getOutputStream() == null
+                || outputStream.getOutputStream().getClass() != ByteArrayOutputStream.class) {
+            return;
+        }
+        ByteArrayOutputStream content = (ByteArrayOutputStream) outputStream.getOutputStream();
+        SpillingByteArrayOutputStream spillingContent = new SpillingByteArrayOutputStream(threshold, writer.getSpilledStreams());
+        spillingContent.assignBytes(content.toByteArray());
+        outputStream = new PdfOutputStream(spillingContent);
+    }
+
     protected InputStream getInputStream() {
         return inputStream;
     }
 
     private void writeObject(ObjectOutputStream out) throws IOException {
+        loadRawContent();
         if (inputStream == null || inputStream instanceof Serializable) {
             out.defaultWriteObject();
         } else {
@@ -45,7 +45,9 @@ package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.io.LogMessageConstant;
 import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.RandomAccessFileOrArray;
 import com.itextpdf.io.util.FileUtil;
+import com.itextpdf.kernel.pdf.filters.IFlateCodecProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -55,10 +57,13 @@ import java.io.NotSerializableException;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.itextpdf.io.source.ByteUtils.getIsoBytes;
 
@@ -92,6 +97,16 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
      */
     private SmartModePdfObjectsSerializer smartModeSerializer = new SmartModePdfObjectsSerializer();
 
+    /**
+     * Is used to compress stream content on worker threads if parallel compression is enabled.
+     */
+    private transient ParallelStreamCompressor streamCompressor;
+
+    /**
+     * Is used to delete the temporary files of the stream content, which has never been flushed.
+     */
+    private transient Set<SpillingByteArrayOutputStream> spilledStreams;
+
     //forewarned is forearmed
     protected boolean isUserWarnedAboutAcroFormCopying;
 
@@ -116,6 +131,9 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
     public PdfWriter(java.io.OutputStream os, WriterProperties properties) {
         super(FileUtil.wrapWithBufferedOutputStream(os));
         this.properties = properties;
+        if (properties.smartModeCacheSize > 0) {
+            smartModeSerializer = new HashBasedSmartModePdfObjectsSerializer(properties.smartModeCacheSize);
+        }
         if (properties.debugMode) {
             setDebugMode();
         }
@@ -232,6 +250,29 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * In debug mode the bytes are always copied through the heap, so that they are written to the duplicate
+     * stream as well.
+     */
+    @Override
+    public long transferFrom(RandomAccessFileOrArray source, long position, long length) throws java.io.IOException {
+        if (duplicateStream == null) {
+            return super.transferFrom(source, position, length);
+        }
+        byte[] buffer = new byte[8192];
+        source.seek(position);
+        long remaining = length;
+        while (remaining > 0) {
+            int n = source.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (n <= 0) {
+                throw new java.io.EOFException();
+            }
+            write(buffer, 0, n);
+            remaining -= n;
+        }
+        return length;
+    }
 
     /**
      * Close the writer and underlying streams.
@@ -241,6 +282,10 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
     @Override
     public void close() throws IOException {
         try {
+            if (streamCompressor != null) {
+                streamCompressor.shutdown();
+                streamCompressor = null;
+            }
             super.close();
         } finally {
             try {
@@ -272,6 +317,184 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         return objectStream;
     }
 
+    /**
+     * Indicates if the flushed pages and objects shall be released as soon as they are written,
+     * see {@link WriterProperties#useStreamingMode()}. Whether the mode applies to the document
+     * is checked by {@link PdfDocument#isStreamingMode()}.
+     *
+     * @return true if streaming mode is requested, false otherwise.
+     */
+    boolean isStreamingMode() {
+        return properties.streamingMode;
+    }
+
+    /**
+     * Gets the size above which stream content is moved to a temporary file, see {@link WriterProperties#useStreamSpilling(int)}.
+     *
+     * @return the threshold in bytes, or a non-positive value if stream content is always kept in memory.
+     */
+    int getStreamSpillThreshold() {
+        return properties.streamSpillThreshold;
+    }
+
+    /**
+     * Gets the set of the stream content buffers, which content is currently kept in temporary files.
+     *
+     * @return the set which the spilled buffers of this writer are registered in.
+     */
+    synchronized Set<SpillingByteArrayOutputStream> getSpilledStreams() {
+        if (spilledStreams == null) {
+            spilledStreams = Collections.newSetFromMap(new ConcurrentHashMap<SpillingByteArrayOutputStream, Boolean>());
+        }
+        return spilledStreams;
+    }
+
+    /**
+     * Deletes the temporary files of the stream content buffers, which are still spilled,
+     * see {@link WriterProperties#useStreamSpilling(int)}. The content of such streams is lost.
+     */
+    void releaseSpilledStreams() {
+        Set<SpillingByteArrayOutputStream> streams;
+        synchronized (this) {
+            streams = spilledStreams;
+        }
+        if (streams != null) {
+            for (SpillingByteArrayOutputStream stream : streams) {
+                stream.release();
+            }
+        }
+    }
+
+    @Override
+    IFlateCodecProvider getFlateCodecProvider() {
+        return properties.flateCodecProvider;
+    }
+
+    /**
+     * Indicates if stream content is compressed on worker threads, see {@link WriterProperties#useParallelCompression(int)}.
+     *
+     * @return true if parallel compression is enabled, false otherwise.
+     */
+    boolean isParallelCompression() {
+        return properties.compressionWorkerCount > 1;
+    }
+
+    /**
+     * Schedules compression of the stream content on the worker threads, if parallel compression is enabled
+     * and the stream will be compressed on writing.
+     *
+     * @param pdfStream the stream which is going to be flushed soon.
+     */
+    void precompress(PdfStream pdfStream) {
+        ParallelStreamCompressor compressor = getStreamCompressor();
+        if (compressor == null || !compressor.hasFreeSlot() || pdfStream.isFlushed()
+                || pdfStream.getInputStream() != null || pdfStream instanceof PdfObjectStream
+                || pdfStream.containsKey(PdfName.Filter)) {
+            return;
+        }
+        PdfOutputStream content = pdfStream.getOutputStream();
+        if (content == null || !(content.getOutputStream() instanceof java.io.ByteArrayOutputStream)
+                || content.getOutputStream() instanceof SpillingByteArrayOutputStream
+                && ((SpillingByteArrayOutputStream) content.getOutputStream()).isSpilled()
+                || ((java.io.ByteArrayOutputStream) content.getOutputStream()).size() < ParallelStreamCompressor.MIN_CONTENT_LENGTH) {
+            return;
+        }
+        boolean userDefinedCompression = pdfStream.getCompressionLevel() != CompressionConstants.UNDEFINED_COMPRESSION;
+        int compressionLevel = userDefinedCompression ? pdfStream.getCompressionLevel() : getCompressionLevel();
+        if (compressionLevel == CompressionConstants.NO_COMPRESSION
+                || !userDefinedCompression && !isNotMetadataPdfStream(pdfStream)) {
+            return;
+        }
+        compressor.submit(pdfStream, compressionLevel);
+    }
+
+    /**
+     * Schedules compression of the content streams of the page and, if they are going to be flushed
+     * together with the page, of its form XObjects.
+     *
+     * @param page             the page which is going to be flushed soon.
+     * @param includeResources true if the resource streams of the page are flushed together with the page.
+     */
+    void precompressPageStreams(PdfPage page, boolean includeResources) {
+        if (!isParallelCompression() || page.isFlushed()) {
+            return;
+        }
+        for (int i = 0; i < page.getContentStreamCount(); i++) {
+            PdfStream contentStream = page.getContentStream(i);
+            if (contentStream != null) {
+                precompress(contentStream);
+            }
+        }
+        PdfDictionary xObjects = includeResources ? getPageXObjects(page) : null;
+        if (xObjects != null) {
+            for (PdfObject xObject : xObjects.values()) {
+                if (xObject.isStream()) {
+                    precompress((PdfStream) xObject);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the scheduled compression of the page streams which were not written together with the page,
+     * so that they neither occupy the compression window nor keep the compressed copy in memory.
+     *
+     * @param page the page which has just been flushed, except for the page dictionary itself.
+     */
+    void discardUnflushedPageStreams(PdfPage page) {
+        if (streamCompressor == null) {
+            return;
+        }
+        for (int i = 0; i < page.getContentStreamCount(); i++) {
+            PdfStream contentStream = page.getContentStream(i);
+            if (contentStream != null && !contentStream.isFlushed()) {
+                streamCompressor.discard(contentStream);
+            }
+        }
+        PdfDictionary xObjects = getPageXObjects(page);
+        if (xObjects != null) {
+            for (PdfObject xObject : xObjects.values()) {
+                if (xObject.isStream() && !xObject.isFlushed()) {
+                    streamCompressor.discard((PdfStream) xObject);
+                }
+            }
+        }
+    }
+
+    int getPendingCompressionCount() {
+        return streamCompressor != null ? streamCompressor.getPendingCount() : 0;
+    }
+
+    /**
+     * Schedules compression of the streams of not yet flushed pages, starting from the given page,
+     * while there are free slots in the compression window.
+     *
+     * @param startPageNum the number of the first page to look at.
+     * @return the number of the first page which streams were not scheduled.
+     */
+    int precompressPages(int startPageNum) {
+        ParallelStreamCompressor compressor = getStreamCompressor();
+        int pageNum = startPageNum;
+        if (compressor != null) {
+            int numberOfPages = document.getNumberOfPages();
+            for (; pageNum <= numberOfPages && compressor.hasFreeSlot(); pageNum++) {
+                // pages are flushed without their resources on closing, those are written later with the rest of the objects
+                precompressPageStreams(document.getPage(pageNum), false);
+            }
+        }
+        return pageNum;
+    }
+
+    private static PdfDictionary getPageXObjects(PdfPage page) {
+        PdfDictionary resources = page.getPdfObject().getAsDictionary(PdfName.Resources);
+        return resources != null ? resources.getAsDictionary(PdfName.XObject) : null;
+    }
+
+    @Override
+    ByteArrayOutputStream takePrecompressedContent(PdfStream pdfStream) {
+        return streamCompressor != null ? streamCompressor.take(pdfStream, pdfStream.getCompressionLevel()) : null;
+    }
+
     protected void initCryptoIfSpecified(PdfVersion version) {
         EncryptionProperties encryptProps = properties.encryptionProperties;
         if (properties.isStandardEncryptionUsed()) {
@@ -322,6 +545,9 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
             case PdfObject.INDIRECT_REFERENCE:
                 markObjectToFlush(((PdfIndirectReference) pdfObject).getRefersTo(false));
         }
+        if (document.isStreamingMode()) {
+            document.getXref().releaseFlushedReference(indirectReference);
+        }
     }
 
 
@@ -411,7 +637,11 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         boolean needFlush = true;
         while (needFlush) {
             needFlush = false;
+            int precompressedIndex = 1;
             for (int i = 1; i < xref.size(); i++) {
+                if (isParallelCompression()) {
+                    precompressedIndex = precompressWaitingStreams(Math.max(i, precompressedIndex), forbiddenToFlush, false);
+                }
                 PdfIndirectReference indirectReference = xref.get(i);
                 if (indirectReference != null && !indirectReference.isFree()
                         && indirectReference.checkState(PdfObject.MUST_BE_FLUSHED)
@@ -428,6 +658,9 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
             objectStream.flush();
             objectStream = null;
         }
+        if (streamCompressor != null) {
+            streamCompressor.clear();
+        }
     }
 
     /**
@@ -436,24 +669,65 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
      */
     protected void flushModifiedWaitingObjects(Set<PdfIndirectReference> forbiddenToFlush) {
         PdfXrefTable xref = document.getXref();
-        for (int i = 1; i < xref.size(); i++) {
-            PdfIndirectReference indirectReference = xref.get(i);
-            if (null != indirectReference && !indirectReference.isFree() && !forbiddenToFlush.contains(indirectReference)) {
-                boolean isModified = indirectReference.checkState(PdfObject.MODIFIED);
-                if (isModified) {
-                    PdfObject obj = indirectReference.getRefersTo(false);
-                    if (obj != null) {
-                        if (!obj.equals(objectStream)) {
-                            obj.flush();
-                        }
-                    }
+        if (xref.isTrackingModifiedReferences()) {
+            flushTrackedModifiedObjects(xref, forbiddenToFlush);
+        } else {
+            int precompressedIndex = 1;
+            for (int i = 1; i < xref.size(); i++) {
+                if (isParallelCompression()) {
+                    precompressedIndex = precompressWaitingStreams(Math.max(i, precompressedIndex), forbiddenToFlush, true);
                 }
+                flushModifiedWaitingObject(xref.get(i), forbiddenToFlush);
             }
         }
         if (objectStream != null && objectStream.getSize() > 0) {
             objectStream.flush();
             objectStream = null;
         }
+        if (streamCompressor != null) {
+            streamCompressor.clear();
+        }
+    }
+
+    /**
+     * Flushes the modified objects known to the xref table without walking the whole table.
+     * Flushing may modify further objects, e.g. create the new ones, so the modified references are
+     * collected again until no new ones appear.
+     */
+    private void flushTrackedModifiedObjects(PdfXrefTable xref, Set<PdfIndirectReference> forbiddenToFlush) {
+        Set<PdfIndirectReference> processed = Collections.newSetFromMap(new IdentityHashMap<PdfIndirectReference, Boolean>());
+        while (true) {
+            List<PdfIndirectReference> references = new ArrayList<>();
+            for (PdfIndirectReference reference : xref.getModifiedReferences()) {
+                if (reference.getObjNumber() != 0 && processed.add(reference)) {
+                    references.add(reference);
+                }
+            }
+            if (references.isEmpty()) {
+                break;
+            }
+            int precompressedIndex = 0;
+            for (int i = 0; i < references.size(); i++) {
+                if (isParallelCompression()) {
+                    precompressedIndex = precompressWaitingStreams(references, Math.max(i, precompressedIndex), forbiddenToFlush);
+                }
+                flushModifiedWaitingObject(references.get(i), forbiddenToFlush);
+            }
+        }
+    }
+
+    private void flushModifiedWaitingObject(PdfIndirectReference indirectReference, Set<PdfIndirectReference> forbiddenToFlush) {
+        if (null != indirectReference && !indirectReference.isFree() && !forbiddenToFlush.contains(indirectReference)) {
+            boolean isModified = indirectReference.checkState(PdfObject.MODIFIED);
+            if (isModified) {
+                PdfObject obj = indirectReference.getRefersTo(false);
+                if (obj != null) {
+                    if (!obj.equals(objectStream)) {
+                        obj.flush();
+                    }
+                }
+            }
+        }
     }
 
     /**
@@ -476,6 +750,56 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         }
     }
 
+    /**
+     * Schedules compression of the loaded streams which are waiting to be flushed, starting from the given xref index,
+     * while there are free slots in the compression window.
+     *
+     * @return the xref index of the first object which was not looked at.
+     */
+    private int precompressWaitingStreams(int startIndex, Set<PdfIndirectReference> forbiddenToFlush, boolean modifiedOnly) {
+        PdfXrefTable xref = document.getXref();
+        ParallelStreamCompressor compressor = getStreamCompressor();
+        int i = startIndex;
+        for (; i < xref.size() && compressor.hasFreeSlot(); i++) {
+            precompressWaitingStream(xref.get(i), forbiddenToFlush, modifiedOnly);
+        }
+        return i;
+    }
+
+    /**
+     * Schedules compression of the modified streams from the given list, starting from the given index,
+     * while there are free slots in the compression window.
+     *
+     * @return the index of the first reference which was not looked at.
+     */
+    private int precompressWaitingStreams(List<PdfIndirectReference> references, int startIndex, Set<PdfIndirectReference> forbiddenToFlush) {
+        ParallelStreamCompressor compressor = getStreamCompressor();
+        int i = startIndex;
+        for (; i < references.size() && compressor.hasFreeSlot(); i++) {
+            precompressWaitingStream(references.get(i), forbiddenToFlush, true);
+        }
+        return i;
+    }
+
+    private void precompressWaitingStream(PdfIndirectReference indirectReference, Set<PdfIndirectReference> forbiddenToFlush, boolean modifiedOnly) {
+        if (indirectReference != null && !indirectReference.isFree()
+                && !indirectReference.checkState(PdfObject.FLUSHED)
+                && indirectReference.checkState(modifiedOnly ? PdfObject.MODIFIED : PdfObject.MUST_BE_FLUSHED)
+                && !forbiddenToFlush.contains(indirectReference)) {
+            PdfObject obj = indirectReference.getRefersTo(false);
+            if (obj != null && obj.isStream()) {
+                precompress((PdfStream) obj);
+            }
+        }
+    }
+
+    private ParallelStreamCompressor getStreamCompressor() {
+        if (streamCompressor == null && isParallelCompression()) {
+            streamCompressor = new ParallelStreamCompressor(properties.compressionWorkerCount, properties.flateCodecProvider);
+        }
+        return streamCompressor;
+    }
+
     private void markArrayContentToFlush(PdfArray array) {
         for (int i = 0; i < array.size(); i++) {
             markObjectToFlush(array.get(i, false));
@@ -55,10 +55,11 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
-import java.util.TreeSet;
+import java.util.Set;
 
 class PdfXrefTable implements Serializable {
 
@@ -70,15 +71,45 @@ class PdfXrefTable implements Serializable {
     private static final byte[] freeXRefEntry = ByteUtils.getIsoBytes("f \n");
     private static final byte[] inUseXRefEntry = ByteUtils.getIsoBytes("n \n");
 
+    private static final byte NO_ENTRY = 0;
+    private static final byte IN_USE_ENTRY = 1;
+    private static final byte FREE_ENTRY = 2;
+    private static final byte RELEASED_ENTRY = 3;
+
     private PdfIndirectReference[] xref;
     private int count = 0;
 
     /**
-     * Free references linked list is stored in a form of a map, where:
-     * key - free reference obj number;
-     * value - previous item in the linked list of free references for the object denoted by the key.
+     * Entries read from the cross-reference sections of an existing document are stored in the following
+     * parallel arrays, {@link PdfIndirectReference} instances for them are created only on the first request.
+     * The arrays also keep the entries of the flushed objects released in streaming mode, see
+     * {@link #releaseFlushedReference(PdfIndirectReference)}.
+     * The arrays are indexed by object number and are not allocated at all for newly created documents.
+     */
+    private long[] entryOffsets;
+    private int[] entryGenNumbers;
+    private int[] entryObjStreamNumbers;
+    private byte[] entryStates;
+
+    /**
+     * The document references to not yet requested entries belong to.
+     */
+    private PdfDocument entriesDocument;
+
+    /**
+     * Free references linked list is stored in a form of an array, where:
+     * index - free reference obj number;
+     * value - obj number of the previous item in the linked list of free references for the object denoted by the index.
+     * Only the items which are set in {@link #freeReferencesListItems} are meaningful.
+     */
+    private int[] freeReferencesLinkedList;
+    private final BitSet freeReferencesListItems;
+
+    /**
+     * The references which got {@link PdfObject#MODIFIED} state since the tracking was enabled,
+     * {@code null} if the modifications are not tracked. See {@link #trackModifiedReferences()}.
      */
-    private final TreeMap<Integer, PdfIndirectReference> freeReferencesLinkedList;
+    private Set<PdfIndirectReference> modifiedReferences;
 
     public PdfXrefTable() {
         this(INITIAL_CAPACITY);
@@ -89,7 +120,8 @@ class PdfXrefTable implements Serializable {
             capacity = INITIAL_CAPACITY;
         }
         xref = new PdfIndirectReference[capacity];
-        freeReferencesLinkedList = new TreeMap<>();
+        freeReferencesLinkedList = new int[capacity];
+        freeReferencesListItems = new BitSet();
         add((PdfIndirectReference) new PdfIndirectReference(null, 0, MAX_GENERATION, 0).setState(PdfObject.FREE));
     }
 
@@ -106,6 +138,9 @@ class PdfXrefTable implements Serializable {
         this.count = Math.max(this.count, objNr);
         ensureCount(objNr);
         xref[objNr] = reference;
+        if (hasNotLoadedEntry(objNr)) {
+            entryStates[objNr] = NO_ENTRY;
+        }
         return reference;
     }
 
@@ -117,57 +152,150 @@ class PdfXrefTable implements Serializable {
         if (index > count) {
             return null;
         }
-        return xref[index];
+        PdfIndirectReference reference = xref[index];
+        if (reference == null && hasNotLoadedEntry(index)) {
+            reference = loadEntry(index);
+        }
+        return reference;
+    }
+
+    /**
+     * Adds an entry read from a cross-reference section of an existing document. The corresponding
+     * {@link PdfIndirectReference} is created only when it is requested for the first time.
+     *
+     * @param document        the document the entry belongs to.
+     * @param objNr           object number.
+     * @param genNr           generation number.
+     * @param offsetOrIndex   offset of the object in the document or its index in the object stream.
+     * @param objStreamNumber number of the object stream containing the object, 0 if none.
+     * @param free            whether the entry is free.
+     */
+    void addReadEntry(PdfDocument document, int objNr, int genNr, long offsetOrIndex, int objStreamNumber, boolean free) {
+        assert objNr >= xref.length || xref[objNr] == null;
+        entriesDocument = document;
+        this.count = Math.max(this.count, objNr);
+        ensureCount(objNr);
+        ensureEntriesCapacity(xref.length);
+        entryOffsets[objNr] = offsetOrIndex;
+        entryGenNumbers[objNr] = genNr;
+        entryObjStreamNumbers[objNr] = objStreamNumber;
+        entryStates[objNr] = free ? FREE_ENTRY : IN_USE_ENTRY;
+    }
+
+    /**
+     * Drops the reference to the flushed object from the table, keeping only the data needed for writing
+     * the cross-reference section. The reference is not held by the document any longer, so the object it refers to
+     * may be garbage collected as soon as nothing else refers to it. {@link #get(int)} for such entry returns
+     * a new flushed reference, which does not refer to any object, each time it is called.
+     *
+     * @param reference the reference to the flushed object.
+     */
+    void releaseFlushedReference(PdfIndirectReference reference) {
+        int objNr = reference.getObjNumber();
+        if (objNr > count || xref[objNr] != reference || !reference.checkState(PdfObject.FLUSHED)) {
+            return;
+        }
+        entriesDocument = reference.getDocument();
+        ensureEntriesCapacity(xref.length);
+        entryOffsets[objNr] = reference.offsetOrIndex;
+        entryGenNumbers[objNr] = reference.getGenNumber();
+        entryObjStreamNumbers[objNr] = reference.getObjStreamNumber();
+        entryStates[objNr] = RELEASED_ENTRY;
+        xref[objNr] = null;
+    }
+
+    /**
+     * Starts tracking of the references which get {@link PdfObject#MODIFIED} state, so that they can be
+     * enumerated without walking the whole table, see {@link #getModifiedReferences()}.
+     */
+    void trackModifiedReferences() {
+        if (modifiedReferences == null) {
+            // identity based, the generation number of a reference which is hashed otherwise changes on freeing it
+            modifiedReferences = Collections.newSetFromMap(new IdentityHashMap<PdfIndirectReference, Boolean>());
+        }
+    }
+
+    boolean isTrackingModifiedReferences() {
+        return modifiedReferences != null;
+    }
+
+    void markModified(PdfIndirectReference reference) {
+        if (modifiedReferences != null) {
+            modifiedReferences.add(reference);
+        }
+    }
+
+    /**
+     * Gets the references which got {@link PdfObject#MODIFIED} state since the tracking was enabled,
+     * in the order of their object numbers.
+     *
+     * @return the sorted list of modified references.
+     */
+    List<PdfIndirectReference> getModifiedReferences() {
+        List<PdfIndirectReference> references = new ArrayList<>(modifiedReferences);
+        Collections.sort(references);
+        return references;
+    }
+
+    /**
+     * Checks if there is an entry for the given object number which was read from a cross-reference section,
+     * but the {@link PdfIndirectReference} for which was not requested yet.
+     *
+     * @param index object number.
+     * @return true if there is such entry, false otherwise.
+     */
+    boolean hasNotLoadedEntry(int index) {
+        return entryStates != null && index < entryStates.length && entryStates[index] != NO_ENTRY;
     }
 
     void initFreeReferencesList(PdfDocument pdfDocument) {
-        freeReferencesLinkedList.clear();
+        clearFreeReferencesList();
 
         xref[0].setState(PdfObject.FREE); // ensure zero object is free
-        TreeSet<Integer> freeReferences = new TreeSet<>();
+        BitSet freeReferences = new BitSet(size());
         for (int i = 1; i < size(); ++i) {
-            PdfIndirectReference ref = xref[i];
-            if (ref == null || ref.isFree()) {
-                freeReferences.add(i);
+            if (isFreeOrMissing(i)) {
+                freeReferences.set(i);
             }
         }
 
         PdfIndirectReference prevFreeRef = xref[0];
-        while (!freeReferences.<Integer>isEmpty()) {
+        while (!freeReferences.isEmpty()) {
             int currFreeRefObjNr = -1;
             if (prevFreeRef.getOffset() <= Integer.MAX_VALUE) {
                 currFreeRefObjNr = (int) prevFreeRef.getOffset();
             }
-            if (!freeReferences.contains(currFreeRefObjNr) || xref[currFreeRefObjNr] == null) {
+            if (currFreeRefObjNr < 0 || !freeReferences.get(currFreeRefObjNr) || get(currFreeRefObjNr) == null) {
                 break;
             }
 
-            freeReferencesLinkedList.put(currFreeRefObjNr, prevFreeRef);
-            prevFreeRef = xref[currFreeRefObjNr];
-            freeReferences.remove(currFreeRefObjNr);
+            putToFreeReferencesList(currFreeRefObjNr, prevFreeRef);
+            prevFreeRef = get(currFreeRefObjNr);
+            freeReferences.clear(currFreeRefObjNr);
         }
 
-        while (!freeReferences.<Integer>isEmpty()) {
-            int next = freeReferences.pollFirst();
-            if (xref[next] == null) {
+        for (int next = freeReferences.nextSetBit(0); next >= 0; next = freeReferences.nextSetBit(next + 1)) {
+            PdfIndirectReference nextFreeRef = get(next);
+            if (nextFreeRef == null) {
                 if (pdfDocument.properties.appendMode) {
                     continue;
                 }
-                xref[next] = (PdfIndirectReference) new PdfIndirectReference(pdfDocument, next, 0).setState(PdfObject.FREE).setState(PdfObject.MODIFIED);
-            } else if (xref[next].getGenNumber() == MAX_GENERATION && xref[next].getOffset() == 0) {
+                nextFreeRef = (PdfIndirectReference) new PdfIndirectReference(pdfDocument, next, 0).setState(PdfObject.FREE).setState(PdfObject.MODIFIED);
+                xref[next] = nextFreeRef;
+            } else if (nextFreeRef.getGenNumber() == MAX_GENERATION && nextFreeRef.getOffset() == 0) {
                 continue;
             }
             if (prevFreeRef.getOffset() != (long)next) {
                 ((PdfIndirectReference) prevFreeRef.setState(PdfObject.MODIFIED)).setOffset(next);
             }
-            freeReferencesLinkedList.put(next, prevFreeRef);
-            prevFreeRef = xref[next];
+            putToFreeReferencesList(next, prevFreeRef);
+            prevFreeRef = nextFreeRef;
         }
 
         if (prevFreeRef.getOffset() != 0) {
             ((PdfIndirectReference) prevFreeRef.setState(PdfObject.MODIFIED)).setOffset(0);
         }
-        freeReferencesLinkedList.put(0, prevFreeRef);
+        putToFreeReferencesList(0, prevFreeRef);
     }
 
     //For Object streams
@@ -229,7 +357,7 @@ class PdfXrefTable implements Serializable {
 
         if (!document.properties.appendMode) {
             for (int i = count; i > 0; --i) {
-                PdfIndirectReference lastRef = xref[i];
+                PdfIndirectReference lastRef = get(i);
                 if (lastRef == null || lastRef.isFree()) {
                     removeFreeRefFromList(i);
                     --count;
@@ -353,7 +481,11 @@ class PdfXrefTable implements Serializable {
                 writeLong(startxref).
                 writeString("\n%%EOF\n");
         xref = null;
-        freeReferencesLinkedList.clear();
+        entryOffsets = null;
+        entryGenNumbers = null;
+        entryObjStreamNumbers = null;
+        entryStates = null;
+        clearFreeReferencesList();
     }
 
     void clear() {
@@ -362,6 +494,9 @@ class PdfXrefTable implements Serializable {
                 continue;
             }
             xref[i] = null;
+            if (hasNotLoadedEntry(i) && entryStates[i] != FREE_ENTRY) {
+                entryStates[i] = NO_ENTRY;
+            }
         }
         count = 1;
     }
@@ -371,7 +506,8 @@ class PdfXrefTable implements Serializable {
         int first = 0;
         int len = 0;
         for (int i = 0; i < size(); i++) {
-            PdfIndirectReference reference = xref[i];
+            // In append mode not loaded entries are not modified by definition, so there is no need to load them
+            PdfIndirectReference reference = document.properties.appendMode ? xref[i] : get(i);
             if (document.properties.appendMode && reference != null &&
                     (!reference.checkState(PdfObject.MODIFIED) || dropObjectsFromObjectStream && reference.getObjStreamNumber() != 0)) {
                 reference = null;
@@ -443,15 +579,15 @@ class PdfXrefTable implements Serializable {
 
     private void appendNewRefToFreeList(PdfIndirectReference reference) {
         reference.setOffset(0);
-        if (freeReferencesLinkedList.<Integer, PdfIndirectReference>isEmpty()) {
+        if (freeReferencesListItems.isEmpty()) {
             assert false;
             // free references list is not initialized yet
             return;
         }
-        PdfIndirectReference lastFreeRef = freeReferencesLinkedList.get(0);
+        PdfIndirectReference lastFreeRef = getFromFreeReferencesList(0);
         ((PdfIndirectReference) lastFreeRef.setState(PdfObject.MODIFIED)).setOffset(reference.getObjNumber());
-        freeReferencesLinkedList.put(reference.getObjNumber(), lastFreeRef);
-        freeReferencesLinkedList.put(0, reference);
+        putToFreeReferencesList(reference.getObjNumber(), lastFreeRef);
+        putToFreeReferencesList(0, reference);
     }
 
     /**
@@ -464,7 +600,7 @@ class PdfXrefTable implements Serializable {
      * passed as parameter. {@code null} - if given object number doesn't correspond to free reference or equals to zero.
      */
     private PdfIndirectReference removeFreeRefFromList(int freeRefObjNr) {
-        if (freeReferencesLinkedList.<Integer, PdfIndirectReference>isEmpty()) {
+        if (freeReferencesListItems.isEmpty()) {
             assert false;
             // free references list is not initialized yet
             return null;
@@ -473,43 +609,105 @@ class PdfXrefTable implements Serializable {
             return null;
         }
         if (freeRefObjNr < 0) {
-            Integer leastFreeRefObjNum = null;
-            for (Map.Entry<Integer, PdfIndirectReference> entry : freeReferencesLinkedList.entrySet()) {
-                if (entry.getKey() <= 0 || xref[entry.getKey()].getGenNumber() >= MAX_GENERATION) {
-                    continue;
+            int leastFreeRefObjNum = -1;
+            for (int objNr = freeReferencesListItems.nextSetBit(1); objNr >= 0; objNr = freeReferencesListItems.nextSetBit(objNr + 1)) {
+                if (get(objNr).getGenNumber() < MAX_GENERATION) {
+                    leastFreeRefObjNum = objNr;
+                    break;
                 }
-                leastFreeRefObjNum = entry.getKey();
-                break;
             }
-            if (leastFreeRefObjNum == null) {
+            if (leastFreeRefObjNum == -1) {
                 return null;
             }
-            freeRefObjNr = (int)leastFreeRefObjNum;
+            freeRefObjNr = leastFreeRefObjNum;
         }
 
-        PdfIndirectReference freeRef = xref[freeRefObjNr];
+        PdfIndirectReference freeRef = get(freeRefObjNr);
         if (!freeRef.isFree()) {
             return null;
         }
 
-        PdfIndirectReference prevFreeRef = freeReferencesLinkedList.remove(freeRef.getObjNumber());
+        PdfIndirectReference prevFreeRef = removeFromFreeReferencesList(freeRef.getObjNumber());
         if (prevFreeRef != null) {
-            freeReferencesLinkedList.put((int) freeRef.getOffset(), prevFreeRef);
+            putToFreeReferencesList((int) freeRef.getOffset(), prevFreeRef);
             ((PdfIndirectReference) prevFreeRef.setState(PdfObject.MODIFIED)).setOffset(freeRef.getOffset());
         }
 
         return freeRef;
     }
 
+    private void putToFreeReferencesList(int freeRefObjNr, PdfIndirectReference prevFreeRef) {
+        if (freeRefObjNr >= freeReferencesLinkedList.length) {
+            freeReferencesLinkedList = Arrays.copyOf(freeReferencesLinkedList, Math.max(freeRefObjNr + 1, xref.length));
+        }
+        freeReferencesLinkedList[freeRefObjNr] = prevFreeRef.getObjNumber();
+        freeReferencesListItems.set(freeRefObjNr);
+    }
+
+    private PdfIndirectReference getFromFreeReferencesList(int freeRefObjNr) {
+        return freeReferencesListItems.get(freeRefObjNr) ? get(freeReferencesLinkedList[freeRefObjNr]) : null;
+    }
+
+    private PdfIndirectReference removeFromFreeReferencesList(int freeRefObjNr) {
+        PdfIndirectReference prevFreeRef = getFromFreeReferencesList(freeRefObjNr);
+        freeReferencesListItems.clear(freeRefObjNr);
+        return prevFreeRef;
+    }
+
+    private void clearFreeReferencesList() {
+        freeReferencesListItems.clear();
+    }
+
+    private boolean isFreeOrMissing(int index) {
+        PdfIndirectReference reference = xref[index];
+        if (reference != null) {
+            return reference.isFree();
+        }
+        return !hasNotLoadedEntry(index) || entryStates[index] == FREE_ENTRY;
+    }
+
+    private PdfIndirectReference loadEntry(int index) {
+        PdfIndirectReference reference = new PdfIndirectReference(entriesDocument, index, entryGenNumbers[index], entryOffsets[index]);
+        if (entryObjStreamNumbers[index] != 0) {
+            reference.setObjStreamNumber(entryObjStreamNumbers[index]);
+        }
+        if (entryStates[index] == FREE_ENTRY) {
+            reference.setState(PdfObject.FREE);
+        } else if (entryStates[index] == RELEASED_ENTRY) {
+            // not cached, otherwise the table would grow back
+            return (PdfIndirectReference) reference.setState(PdfObject.FLUSHED);
+        }
+        entryStates[index] = NO_ENTRY;
+        xref[index] = reference;
+        return reference;
+    }
+
     private void ensureCount(int count) {
         if (count >= xref.length) {
             extendXref(count << 1);
         }
     }
 
+    private void ensureEntriesCapacity(int capacity) {
+        if (entryStates == null) {
+            entryOffsets = new long[capacity];
+            entryGenNumbers = new int[capacity];
+            entryObjStreamNumbers = new int[capacity];
+            entryStates = new byte[capacity];
+        } else if (capacity > entryStates.length) {
+            entryOffsets = Arrays.copyOf(entryOffsets, capacity);
+            entryGenNumbers = Arrays.copyOf(entryGenNumbers, capacity);
+            entryObjStreamNumbers = Arrays.copyOf(entryObjStreamNumbers, capacity);
+            entryStates = Arrays.copyOf(entryStates, capacity);
+        }
+    }
+
     private void extendXref(int capacity) {
         PdfIndirectReference[] newXref = new PdfIndirectReference[capacity];
         System.arraycopy(xref, 0, newXref, 0, xref.length);
         xref = newXref;
+        if (entryStates != null) {
+            ensureEntriesCapacity(capacity);
+        }
     }
 }
@@ -43,6 +43,7 @@
  */
 package com.itextpdf.kernel.pdf;
 
+import com.itextpdf.kernel.pdf.filters.IFlateCodecProvider;
 import com.itextpdf.kernel.security.IExternalDecryptionProcess;
 import java.io.Serializable;
 import java.security.Key;
@@ -58,6 +59,7 @@ public class ReaderProperties implements Serializable {
     protected Certificate certificate; //added by Aiken Sam for certificate decryption
     protected String certificateKeyProvider; //added by Aiken Sam for certificate decryption
     protected IExternalDecryptionProcess externalDecryptionProcess;
+    protected IFlateCodecProvider flateCodecProvider;
 
     /**
      * Defines the password which will be used if the document is encrypted with standard encryption.
@@ -94,6 +96,18 @@ public class ReaderProperties implements Serializable {
         return this;
     }
 
+    /**
+     * Defines the provider of the inflaters which decompress FlateDecode streams on reading.
+     * If not set, the default {@link com.itextpdf.kernel.pdf.filters.FilterHandlers} are used.
+     *
+     * @param flateCodecProvider the {@link IFlateCodecProvider} to use
+     * @return this {@code ReaderProperties} instance
+     */
+    public ReaderProperties setFlateCodecProvider(IFlateCodecProvider flateCodecProvider) {
+        this.flateCodecProvider = flateCodecProvider;
+        return this;
+    }
+
     private void clearEncryptionParams() {
         this.password = null;
         this.certificate = null;
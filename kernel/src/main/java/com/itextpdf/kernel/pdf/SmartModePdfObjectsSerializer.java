@@ -55,9 +55,14 @@ class SmartModePdfObjectsSerializer implements Serializable {
     private static final long serialVersionUID = 2502203520776244051L;
 
     private transient MessageDigest md5;
-    private HashMap<SerializedObjectContent, PdfIndirectReference> serializedContentToObj = new HashMap<>();
+    private HashMap<SerializedObjectContent, PdfIndirectReference> serializedContentToObj;
 
     SmartModePdfObjectsSerializer() {
+        this(new HashMap<SerializedObjectContent, PdfIndirectReference>());
+    }
+
+    SmartModePdfObjectsSerializer(HashMap<SerializedObjectContent, PdfIndirectReference> serializedContentToObj) {
+        this.serializedContentToObj = serializedContentToObj;
         try {
             md5 = MessageDigest.getInstance("MD5");
         } catch (Exception e) {
@@ -98,7 +103,7 @@ class SmartModePdfObjectsSerializer implements Serializable {
         return new SerializedObjectContent(content);
     }
 
-    private static class SelfReferenceException extends Exception{}
+    static class SelfReferenceException extends Exception{}
 
     private void serObject(PdfObject obj, ByteBuffer bb, int level, Map<PdfIndirectReference, byte[]> serializedCache) throws SelfReferenceException {
         if (level <= 0) {
@@ -182,7 +187,7 @@ class SmartModePdfObjectsSerializer implements Serializable {
         bb.append("$\\A");
     }
 
-    private boolean isKeyRefersBack(PdfDictionary dic, PdfName key) {
+    static boolean isKeyRefersBack(PdfDictionary dic, PdfName key) {
         // TODO review this method?
         // ignore recursive call
         return key.equals(PdfName.P) && (dic.get(key).isIndirectReference() || dic.get(key).isDictionary())
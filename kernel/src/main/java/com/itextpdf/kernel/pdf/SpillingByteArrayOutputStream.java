@@ -0,0 +1,296 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.PdfException;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Set;
+
+/**
+ * Content buffer of a {@link PdfStream} which keeps the bytes in memory while they fit into the threshold and
+ * moves them to a temporary file as soon as the threshold is exceeded, see {@link WriterProperties#useStreamSpilling(int)}.
+ * <br>
+ * The buffer still is a {@link ByteArrayOutputStream}, so all the code which deals with stream content keeps working,
+ * however {@link #toByteArray()} of a spilled buffer reads the whole file back into memory, while
+ * {@link #writeTo(OutputStream)} copies it in small chunks. The temporary file is deleted on {@link #reset()},
+ * on assigning new bytes and on {@link #close()}. Spilled buffers are also registered in the set passed on creation,
+ * so that the files of the buffers, which have never been flushed, are deleted when the document is closed.
+ */
+class SpillingByteArrayOutputStream extends ByteArrayOutputStream {
+
+    private static final int COPY_BUFFER_SIZE = 0x8000;
+
+    private final int threshold;
+    private final transient Set<SpillingByteArrayOutputStream> spilledStreams;
+    private transient File spillFile;
+    private transient OutputStream spillStream;
+    private long spilledCount;
+
+    /**
+     * Creates a buffer which spills its content to a temporary file when it becomes longer than the threshold.
+     *
+     * @param threshold      the maximum number of bytes kept in memory
+     * @param spilledStreams the set, which the buffer is kept in while its content is in a temporary file
+     */
+    SpillingByteArrayOutputStream(int threshold, Set<SpillingByteArrayOutputStream> spilledStreams) {
+        super();
+        this.threshold = threshold;
+        this.spilledStreams = spilledStreams;
+    }
+
+    /**
+     * Creates an empty buffer with the same threshold, which is registered in the same set once spilled.
+     *
+     * @return a new buffer
+     */
+    SpillingByteArrayOutputStream createBuffer() {
+        return new SpillingByteArrayOutputStream(threshold, spilledStreams);
+    }
+
+    /**
+     * Checks whether the content has been moved to a temporary file.
+     *
+     * @return true if the content is kept in a temporary file, false otherwise
+     */
+    boolean isSpilled() {
+        return spillFile != null;
+    }
+
+    /**
+     * Gets the temporary file with the content.
+     *
+     * @return the file or {@code null} if the content is kept in memory
+     */
+    synchronized File getSpillFile() {
+        return spillFile;
+    }
+
+    /**
+     * Gets the length of the content, which unlike {@link #size()} is not limited by the {@code int} range.
+     *
+     * @return number of bytes written to the buffer
+     */
+    long length() {
+        return spillFile != null ? spilledCount : count;
+    }
+
+    @Override
+    public synchronized void write(int b) {
+        if (spillFile == null && count + 1 > threshold) {
+            spill();
+        }
+        if (spillFile != null) {
+            try {
+                spillStream.write(b);
+            } catch (IOException e) {
+                throw new PdfException(PdfException.IoException, e);
+            }
+            spilledCount++;
+        } else {
+            super.write(b);
+        }
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+        if (spillFile == null && (long) count + len > threshold) {
+            spill();
+        }
+        if (spillFile != null) {
+            try {
+                spillStream.write(b, off, len);
+            } catch (IOException e) {
+                throw new PdfException(PdfException.IoException, e);
+            }
+            spilledCount += len;
+        } else {
+            super.write(b, off, len);
+        }
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        if (spillStream != null) {
+            spillStream.flush();
+        }
+    }
+
+    @Override
+    public synchronized int size() {
+        return (int) Math.min(length(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public synchronized byte[] toByteArray() {
+        if (spillFile == null) {
+            return super.toByteArray();
+        }
+        if (spilledCount > Integer.MAX_VALUE) {
+            throw new PdfException(PdfException.IoException);
+        }
+        byte[] bytes = new byte[(int) spilledCount];
+        InputStream in = null;
+        try {
+            spillStream.flush();
+            in = new FileInputStream(spillFile);
+            int pos = 0;
+            while (pos < bytes.length) {
+                int n = in.read(bytes, pos, bytes.length - pos);
+                if (n < 0) {
+                    throw new java.io.EOFException();
+                }
+                pos += n;
+            }
+        } catch (IOException e) {
+            throw new PdfException(PdfException.IoException, e);
+        } finally {
+            closeQuietly(in);
+        }
+        return bytes;
+    }
+
+    @Override
+    public synchronized void writeTo(OutputStream out) throws IOException {
+        if (spillFile == null) {
+            super.writeTo(out);
+            return;
+        }
+        spillStream.flush();
+        InputStream in = new FileInputStream(spillFile);
+        try {
+            byte[] buf = new byte[COPY_BUFFER_SIZE];
+            int n;
+            while ((n = in.read(buf)) > 0) {
+                out.write(buf, 0, n);
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    @Override
+    public synchronized void reset() {
+        deleteSpillFile();
+        super.reset();
+    }
+
+    @Override
+    public ByteArrayOutputStream assignBytes(byte[] bytes, int count) {
+        synchronized (this) {
+            deleteSpillFile();
+        }
+        if (count > threshold) {
+            super.reset();
+            write(bytes, 0, count);
+            return this;
+        }
+        return super.assignBytes(bytes, count);
+    }
+
+    @Override
+    public ByteArrayOutputStream assignBytes(byte[] bytes) {
+        return assignBytes(bytes, bytes.length);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        deleteSpillFile();
+        super.close();
+    }
+
+    /**
+     * Deletes the temporary file, the content of a spilled buffer is lost.
+     */
+    synchronized void release() {
+        deleteSpillFile();
+    }
+
+    private void spill() {
+        try {
+            spillFile = File.createTempFile("itext-stream", ".tmp");
+            if (spilledStreams != null) {
+                spilledStreams.add(this);
+            }
+            spillStream = new BufferedOutputStream(new FileOutputStream(spillFile), COPY_BUFFER_SIZE);
+            spillStream.write(buf, 0, count);
+        } catch (IOException e) {
+            deleteSpillFile();
+            throw new PdfException(PdfException.IoException, e);
+        }
+        spilledCount = count;
+        // the in-memory content is not needed any more
+        buf = new byte[32];
+        count = 0;
+    }
+
+    private void deleteSpillFile() {
+        if (spillFile != null) {
+            closeQuietly(spillStream);
+            spillFile.delete();
+            if (spilledStreams != null) {
+                spilledStreams.remove(this);
+            }
+            spillFile = null;
+            spillStream = null;
+            spilledCount = 0;
+        }
+    }
+
+    private static void closeQuietly(java.io.Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
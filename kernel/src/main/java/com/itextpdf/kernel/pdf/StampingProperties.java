@@ -51,6 +51,7 @@ public class StampingProperties extends DocumentProperties implements Serializab
 
     protected boolean appendMode = false;
     protected boolean preserveEncryption = false;
+    protected boolean changeTracking = false;
 
     public StampingProperties() {
     }
@@ -59,6 +60,7 @@ public class StampingProperties extends DocumentProperties implements Serializab
         super(other);
         this.appendMode = other.appendMode;
         this.preserveEncryption = other.preserveEncryption;
+        this.changeTracking = other.changeTracking;
     }
 
     /**
@@ -70,6 +72,18 @@ public class StampingProperties extends DocumentProperties implements Serializab
         return this;
     }
 
+    /**
+     * Defines if the modified objects shall be tracked as they change in append mode. The tracked objects
+     * are the only ones looked at on closing the document, so the cost of closing depends on the number of
+     * changed objects rather than on the size of the original document.
+     * Has no effect unless {@link #useAppendMode()} is used.
+     * @return this {@link StampingProperties} instance
+     */
+    public StampingProperties useChangeTracking() {
+        this.changeTracking = true;
+        return this;
+    }
+
     /**
      * Defines if the encryption of the original document (if it was encrypted) will be preserved.
      * By default, the resultant document doesn't preserve the original encryption.
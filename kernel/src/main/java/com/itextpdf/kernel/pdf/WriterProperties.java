@@ -43,6 +43,9 @@
  */
 package com.itextpdf.kernel.pdf;
 
+import com.itextpdf.kernel.pdf.filters.IFlateCodecProvider;
+import com.itextpdf.kernel.pdf.filters.JdkFlateCodecProvider;
+
 import java.io.Serializable;
 import java.security.cert.Certificate;
 
@@ -62,7 +65,30 @@ public class WriterProperties implements Serializable {
      * and reused if there's an object with the same content later.
      */
     protected boolean smartMode;
+    /**
+     * Maximum number of objects remembered in hash-based smart mode. If not positive, smart mode keeps
+     * the complete serialized content of all the copied objects.
+     */
+    protected int smartModeCacheSize;
     protected boolean debugMode;
+    /**
+     * Number of worker threads which compress stream content in parallel. Values less than 2 mean that
+     * streams are compressed on the thread which writes the document.
+     */
+    protected int compressionWorkerCount;
+    /**
+     * Size in bytes above which the content of the stream is moved from memory to a temporary file.
+     * If not positive, stream content is always kept in memory.
+     */
+    protected int streamSpillThreshold;
+    /**
+     * Indicates if the flushed pages and objects are released as soon as they are written.
+     */
+    protected boolean streamingMode;
+    /**
+     * Creates the deflaters which compress stream content.
+     */
+    protected IFlateCodecProvider flateCodecProvider;
     protected boolean addXmpMetadata;
     protected boolean addUAXmpMetadata;
     protected PdfVersion pdfVersion;
@@ -79,9 +105,14 @@ public class WriterProperties implements Serializable {
 
     public WriterProperties() {
         smartMode = false;
+        smartModeCacheSize = 0;
         debugMode = false;
         addUAXmpMetadata = false;
         compressionLevel = CompressionConstants.DEFAULT_COMPRESSION;
+        compressionWorkerCount = 0;
+        streamSpillThreshold = 0;
+        streamingMode = false;
+        flateCodecProvider = JdkFlateCodecProvider.getInstance();
         isFullCompression = null;
         encryptionProperties = new EncryptionProperties();
     }
@@ -113,6 +144,23 @@ public class WriterProperties implements Serializable {
         return this;
     }
 
+    /**
+     * Enables smart mode with bounded memory usage.
+     * <br>
+     * Unlike {@link #useSmartMode()}, copied objects are compared by 128-bit digests of their structure.
+     * The digests are computed incrementally while traversing the object graph, and only the digests, not the
+     * complete serialized content, are kept in memory. At most {@code maxCachedObjects} objects are remembered,
+     * the least recently used ones are forgotten, so a duplicate may be written if the cache is too small.
+     *
+     * @param maxCachedObjects the maximum number of remembered objects, shall be positive
+     * @return this {@code WriterProperties} instance
+     */
+    public WriterProperties useHashBasedSmartMode(int maxCachedObjects) {
+        this.smartMode = true;
+        this.smartModeCacheSize = maxCachedObjects;
+        return this;
+    }
+
     /**
      * If true, default XMPMetadata based on {@link PdfDocumentInfo} will be added.
      * For PDF 2.0 documents, metadata will be added in any case.
@@ -136,6 +184,77 @@ public class WriterProperties implements Serializable {
         return this;
     }
 
+    /**
+     * Enables compression of stream content on a bounded pool of worker threads.
+     * <br>
+     * Streams which are about to be written (e.g. page content streams on page flushing and all the waiting
+     * streams on document closing) are deflated in parallel, but are still written to the document in the original
+     * order, so the resulting document is identical to the one created with serial compression. This only pays off
+     * for documents with many large streams and on machines with several cores. Encryption is still performed
+     * on the writing thread.
+     *
+     * @param workerCount number of worker threads, values less than 2 disable parallel compression
+     * @return this {@code WriterProperties} instance
+     */
+    public WriterProperties useParallelCompression(int workerCount) {
+        this.compressionWorkerCount = workerCount;
+        return this;
+    }
+
+    /**
+     * Enables moving of large stream content from memory to temporary files.
+     * <br>
+     * Content of the streams created for the document (e.g. page content streams, form XObjects or embedded files
+     * filled via {@link PdfStream#setData(byte[])} or {@link PdfStream#getOutputStream()}) is kept in memory until
+     * the stream is flushed. As soon as the content of a stream becomes longer than the threshold, it is moved to
+     * a temporary file and is compressed from that file when the stream is written, so the memory consumed by
+     * a document stays bounded. The temporary files are deleted once the streams are flushed or their content
+     * is replaced, the files of the streams which are left unwritten are deleted by {@link PdfDocument#close()},
+     * even if closing fails. Hence the document shall always be closed. Note that {@link PdfStream#getBytes()} of such a stream still reads the whole content into memory.
+     *
+     * @param threshold maximum size of stream content in bytes that is kept in memory, values less than 1
+     *                  disable spilling
+     * @return this {@code WriterProperties} instance
+     */
+    public WriterProperties useStreamSpilling(int threshold) {
+        this.streamSpillThreshold = threshold;
+        return this;
+    }
+
+    /**
+     * Enables streaming mode, which keeps the memory consumed by a newly created document independent of the number
+     * of pages written so far.
+     * <br>
+     * In this mode the pages which have been flushed are released from the document as soon as they and all
+     * the preceding pages are flushed, and the pages tree nodes are written as soon as they are complete.
+     * The flushed objects are released from the cross-reference table too, only their positions in the output
+     * are kept until the document is closed. As a result, the released pages can no longer be accessed
+     * via {@link PdfDocument#getPage(int)}, new pages can not be inserted before them, and the flushed objects
+     * can not be accessed by their object numbers.
+     * <br>
+     * Pages should be flushed in the order they are added. The mode takes effect only for the documents which
+     * are created from scratch and are not tagged.
+     *
+     * @return this {@code WriterProperties} instance
+     */
+    public WriterProperties useStreamingMode() {
+        this.streamingMode = true;
+        return this;
+    }
+
+    /**
+     * Defines the provider of the deflaters which compress stream content. By default {@link JdkFlateCodecProvider}
+     * is used, {@link com.itextpdf.kernel.pdf.filters.FastFlateCodecProvider} compresses faster at the cost
+     * of larger output.
+     *
+     * @param flateCodecProvider the {@link IFlateCodecProvider} to use, not null
+     * @return this {@code WriterProperties} instance
+     */
+    public WriterProperties setFlateCodecProvider(IFlateCodecProvider flateCodecProvider) {
+        this.flateCodecProvider = flateCodecProvider;
+        return this;
+    }
+
     /**
      * Defines if full compression mode is enabled. If enabled, not only the content of the pdf document will be
      * compressed, but also the pdf document inner structure.
@@ -138,9 +138,15 @@ public class PdfCanvasProcessor {
     protected int clippingRule;
 
     /**
-     * A map with all supported operators (PDF syntax).
+     * A map with all supported operators (PDF syntax). The operators are looked up by the literal bytes,
+     * so that the parsed operator doesn't have to be converted to a string.
      */
-    private Map<String, IContentOperator> operators;
+    private Map<PdfLiteral, IContentOperator> operators;
+
+    /**
+     * The operator which is invoked for the operators which don't have a registered handler.
+     */
+    private IContentOperator defaultOperator;
 
     /**
      * Resources for the content stream.
@@ -230,7 +236,12 @@ public class PdfCanvasProcessor {
      * @return the existing registered operator, if any
      */
     public IContentOperator registerContentOperator(String operatorString, IContentOperator operator) {
-        return operators.put(operatorString, operator);
+        if (DEFAULT_OPERATOR.equals(operatorString)) {
+            IContentOperator previous = defaultOperator;
+            defaultOperator = operator;
+            return previous;
+        }
+        return operators.put(new PdfLiteral(operatorString), operator);
     }
 
     /**
@@ -239,7 +250,14 @@ public class PdfCanvasProcessor {
      * @return {@link java.util.Collection} containing all the registered operators strings.
      */
     public Collection<String> getRegisteredOperatorStrings() {
-        return new ArrayList<String>(operators.keySet());
+        List<String> operatorStrings = new ArrayList<>(operators.size() + 1);
+        for (PdfLiteral operator : operators.keySet()) {
+            operatorStrings.add(operator.toString());
+        }
+        if (defaultOperator != null) {
+            operatorStrings.add(DEFAULT_OPERATOR);
+        }
+        return operatorStrings;
     }
 
     /**
@@ -277,6 +295,8 @@ public class PdfCanvasProcessor {
         }
         this.resourcesStack.push(resources);
         PdfTokenizer tokeniser = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(contentBytes)));
+        // content bytes are kept in memory, so they can be scanned directly
+        tokeniser.setDirectBufferReading(true);
         PdfCanvasParser ps = new PdfCanvasParser(tokeniser, resources);
         List<PdfObject> operands = new ArrayList<>();
         try {
@@ -450,9 +470,9 @@ public class PdfCanvasProcessor {
      * @param operands a list with operands
      */
     protected void invokeOperator(PdfLiteral operator, List<PdfObject> operands) {
-        IContentOperator op = operators.get(operator.toString());
+        IContentOperator op = operators.get(operator);
         if (op == null)
-            op = operators.get(DEFAULT_OPERATOR);
+            op = defaultOperator;
         op.invoke(this, operator, operands);
     }
 
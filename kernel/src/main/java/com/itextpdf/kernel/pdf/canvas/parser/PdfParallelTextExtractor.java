@@ -0,0 +1,295 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.source.IRandomAccessSource;
+import com.itextpdf.io.source.IndependentRandomAccessSource;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.io.source.ThreadSafeRandomAccessSource;
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Extracts text from all pages of a document using several threads.
+ * <p>
+ * A {@link PdfDocument} can not be shared between threads, so the pages are split into ranges which are processed
+ * by the tasks of a {@link ForkJoinPool}. Every thread which runs the tasks opens its own read-only {@link PdfDocument}
+ * over an {@link IndependentRandomAccessSource} view of the shared byte source once and reuses it to extract the text
+ * of the ranges of pages it processes. The extracted text is returned in the page order.
+ */
+public class PdfParallelTextExtractor implements Closeable {
+
+    /**
+     * Creates a new text extraction strategy for every processed page.
+     * The factory is called concurrently from the worker threads.
+     */
+    public interface IStrategyFactory {
+        /**
+         * Creates a new strategy which will be used to extract text from the given page.
+         *
+         * @param pageNumber the number of the page, starting with 1
+         * @return the new text extraction strategy
+         */
+        ITextExtractionStrategy createStrategy(int pageNumber);
+    }
+
+    private static final int TASKS_PER_THREAD = 4;
+
+    private final IRandomAccessSource source;
+    private ReaderProperties readerProperties = new ReaderProperties();
+    private ForkJoinPool pool;
+
+    /**
+     * Creates a new extractor over the given byte source. The source is closed by {@link #close()}.
+     *
+     * @param source the byte source of the document
+     */
+    public PdfParallelTextExtractor(IRandomAccessSource source) {
+        this.source = new ThreadSafeRandomAccessSource(source);
+    }
+
+    /**
+     * Creates a new extractor over the document contents.
+     *
+     * @param pdf the document bytes
+     */
+    public PdfParallelTextExtractor(byte[] pdf) {
+        this(new RandomAccessSourceFactory().createSource(pdf));
+    }
+
+    /**
+     * Creates a new extractor over the document file.
+     *
+     * @param filename the path to the document
+     * @throws IOException if the file can not be opened
+     */
+    public PdfParallelTextExtractor(String filename) throws IOException {
+        this(new RandomAccessSourceFactory().setForceRead(false).createBestSource(filename));
+    }
+
+    /**
+     * Sets the properties which are used to open the document, e.g. the password.
+     *
+     * @param readerProperties the reader properties
+     * @return this {@link PdfParallelTextExtractor} instance
+     */
+    public PdfParallelTextExtractor setReaderProperties(ReaderProperties readerProperties) {
+        this.readerProperties = readerProperties;
+        return this;
+    }
+
+    /**
+     * Sets the pool which runs the extraction tasks. If the pool is not set, a new pool with
+     * the parallelism equal to the number of available processors is created for every extraction.
+     *
+     * @param pool the fork-join pool
+     * @return this {@link PdfParallelTextExtractor} instance
+     */
+    public PdfParallelTextExtractor setForkJoinPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * Extracts text from all pages of the document using the default strategy,
+     * see {@link PdfTextExtractor#getTextFromPage(com.itextpdf.kernel.pdf.PdfPage)}.
+     *
+     * @return the list of extracted texts, one element per page in the page order
+     */
+    public List<String> getTextFromPages() {
+        return getTextFromPages(new IStrategyFactory() {
+            @Override
+            public ITextExtractionStrategy createStrategy(int pageNumber) {
+                return new LocationTextExtractionStrategy();
+            }
+        });
+    }
+
+    /**
+     * Extracts text from all pages of the document.
+     *
+     * @param strategyFactory the factory of the strategies used to extract text, a new strategy is created for every page
+     * @return the list of extracted texts, one element per page in the page order
+     */
+    public List<String> getTextFromPages(IStrategyFactory strategyFactory) {
+        Extraction extraction = new Extraction(source, readerProperties, strategyFactory);
+        try {
+            int numberOfPages = extraction.getNumberOfPages();
+            String[] result = new String[numberOfPages];
+            ForkJoinPool extractionPool = pool != null ? pool : new ForkJoinPool();
+            try {
+                int pagesPerTask = Math.max(1, numberOfPages / (extractionPool.getParallelism() * TASKS_PER_THREAD));
+                extractionPool.invoke(new ExtractionTask(extraction, result, 1, numberOfPages, pagesPerTask));
+            } finally {
+                if (extractionPool != pool) {
+                    extractionPool.shutdown();
+                }
+            }
+            return Arrays.asList(result);
+        } finally {
+            extraction.close();
+        }
+    }
+
+    /**
+     * Closes the underlying byte source.
+     *
+     * @throws IOException on error
+     */
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    /**
+     * The state of a single extraction shared by its tasks: the documents opened by the worker threads
+     * and the strategy factory.
+     */
+    private static final class Extraction {
+        private final IRandomAccessSource source;
+        private final ReaderProperties readerProperties;
+        private final IStrategyFactory strategyFactory;
+        private final Map<Thread, PdfDocument> documents = new ConcurrentHashMap<>();
+
+        Extraction(IRandomAccessSource source, ReaderProperties readerProperties, IStrategyFactory strategyFactory) {
+            this.source = source;
+            this.readerProperties = readerProperties;
+            this.strategyFactory = strategyFactory;
+        }
+
+        /**
+         * Gets the document of the current thread, the document is opened on the first call in the thread.
+         *
+         * @return the document which can be used by the current thread only
+         */
+        PdfDocument getDocument() {
+            PdfDocument pdfDocument = documents.get(Thread.currentThread());
+            if (pdfDocument == null) {
+                pdfDocument = openDocument();
+                documents.put(Thread.currentThread(), pdfDocument);
+            }
+            return pdfDocument;
+        }
+
+        /**
+         * Gets the number of pages from a document which is closed right away, as the calling thread
+         * is usually not one of the threads which run the tasks.
+         *
+         * @return the number of pages of the document
+         */
+        int getNumberOfPages() {
+            PdfDocument pdfDocument = openDocument();
+            try {
+                return pdfDocument.getNumberOfPages();
+            } finally {
+                pdfDocument.close();
+            }
+        }
+
+        void close() {
+            for (PdfDocument pdfDocument : documents.values()) {
+                pdfDocument.close();
+            }
+            documents.clear();
+        }
+
+        private PdfDocument openDocument() {
+            try {
+                PdfReader reader = new PdfReader(new IndependentRandomAccessSource(source), readerProperties);
+                // Parse the tokens from the buffer views of the source instead of the shared synchronized source,
+                // and only read the object streams the processed pages refer to.
+                reader.setDirectBufferReading(true).setLazyReading(true);
+                return new PdfDocument(reader);
+            } catch (IOException e) {
+                throw new PdfException(PdfException.IoException, e);
+            }
+        }
+    }
+
+    private static final class ExtractionTask extends RecursiveAction {
+        private static final long serialVersionUID = -2458123640436795817L;
+
+        private final transient Extraction extraction;
+        private final String[] result;
+        private final int startPage;
+        private final int endPage;
+        private final int pagesPerTask;
+
+        ExtractionTask(Extraction extraction, String[] result, int startPage, int endPage, int pagesPerTask) {
+            this.extraction = extraction;
+            this.result = result;
+            this.startPage = startPage;
+            this.endPage = endPage;
+            this.pagesPerTask = pagesPerTask;
+        }
+
+        @Override
+        protected void compute() {
+            if (endPage - startPage + 1 > pagesPerTask) {
+                int middlePage = (startPage + endPage) / 2;
+                invokeAll(new ExtractionTask(extraction, result, startPage, middlePage, pagesPerTask),
+                        new ExtractionTask(extraction, result, middlePage + 1, endPage, pagesPerTask));
+                return;
+            }
+            PdfDocument pdfDocument = extraction.getDocument();
+            for (int pageNumber = startPage; pageNumber <= endPage; pageNumber++) {
+                result[pageNumber - 1] = PdfTextExtractor.getTextFromPage(pdfDocument.getPage(pageNumber),
+                        extraction.strategyFactory.createStrategy(pageNumber));
+            }
+        }
+    }
+}
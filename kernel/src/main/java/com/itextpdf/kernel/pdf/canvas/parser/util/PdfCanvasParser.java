@@ -44,11 +44,13 @@
 package com.itextpdf.kernel.pdf.canvas.parser.util;
 
 import com.itextpdf.kernel.PdfException;
+import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.source.PdfTokenizer;
 import com.itextpdf.kernel.pdf.PdfArray;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfLiteral;
 import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNameInterner;
 import com.itextpdf.kernel.pdf.PdfNumber;
 import com.itextpdf.kernel.pdf.PdfObject;
 import com.itextpdf.kernel.pdf.PdfResources;
@@ -65,6 +67,8 @@ import java.util.List;
  */
 public class PdfCanvasParser {
 
+    private static final byte[] BI = ByteUtils.getIsoBytes("BI");
+
     /**
      * Holds value of property tokeniser.
      */
@@ -72,6 +76,8 @@ public class PdfCanvasParser {
 
     private PdfResources currentResources;
 
+    private final PdfNameInterner nameInterner = new PdfNameInterner();
+
     /**
      * Creates a new instance of PdfContentParser
      * @param tokeniser the tokeniser with the content
@@ -115,7 +121,7 @@ public class PdfCanvasParser {
         while ((ob = readObject()) != null) {
             ls.add(ob);
             if (tokeniser.getTokenType() == PdfTokenizer.TokenType.Other) {
-                if (ob.toString().equals("BI")) {
+                if (tokeniser.tokenValueEqualsTo(BI)) {
                     PdfStream inlineImageAsStream = InlineImageParsingUtils.parse(this, currentResources.getResource(PdfName.ColorSpace));
                     ls.clear();
                     ls.add(inlineImageAsStream);
@@ -157,7 +163,7 @@ public class PdfCanvasParser {
                 break;
             if (tokeniser.getTokenType() != PdfTokenizer.TokenType.Name)
                 tokeniser.throwError(PdfException.DictionaryKey1IsNotAName, tokeniser.getStringValue());
-            PdfName name = new PdfName(tokeniser.getStringValue());
+            PdfName name = nameInterner.intern(tokeniser);
             PdfObject obj = readObject();
             dic.put(name, obj);
         }
@@ -202,7 +208,7 @@ public class PdfCanvasParser {
                 PdfString str = new PdfString(tokeniser.getDecodedStringContent()).setHexWriting(tokeniser.isHexString());
                 return str;
             case Name:
-                return new PdfName(tokeniser.getByteContent());
+                return nameInterner.intern(tokeniser);
             case Number:
                 //use PdfNumber(byte[]) here, as in this case number parsing won't happen until it's needed.
                 return new PdfNumber(tokeniser.getByteContent());
@@ -49,12 +49,14 @@ import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.ByteArrayOutputStream;
 
 /**
  * Handles ASCII85Decode filter
  */
-public class ASCII85DecodeFilter implements IFilterHandler {
+public class ASCII85DecodeFilter implements IFilterHandler, IStreamingFilterHandler {
 
     @Override
     public byte[] decode(byte[] b, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
@@ -62,6 +64,11 @@ public class ASCII85DecodeFilter implements IFilterHandler {
         return b;
     }
 
+    @Override
+    public InputStream decode(InputStream in, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
+        return new ASCII85DecodeInputStream(in);
+    }
+
     /**
      * Decodes the input bytes according to ASCII85.
      *
@@ -117,4 +124,66 @@ public class ASCII85DecodeFilter implements IFilterHandler {
         }
         return out.toByteArray();
     }
+
+    private static class ASCII85DecodeInputStream extends DecodingInputStream {
+        private final int[] chn = new int[5];
+        private int state = 0;
+
+        ASCII85DecodeInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        void decode() throws IOException {
+            while (getWrittenCount() < CHUNK_SIZE) {
+                int ch = readInput();
+                if (ch == '~' || ch < 0) {
+                    writeTail();
+                    finish();
+                    return;
+                }
+                if (PdfTokenizer.isWhitespace(ch))
+                    continue;
+                if (ch == 'z' && state == 0) {
+                    write(0);
+                    write(0);
+                    write(0);
+                    write(0);
+                    continue;
+                }
+                if (ch < '!' || ch > 'u')
+                    throw new PdfException(PdfException.IllegalCharacterInAscii85decode);
+                chn[state] = ch - '!';
+                ++state;
+                if (state == 5) {
+                    state = 0;
+                    int r = 0;
+                    for (int j = 0; j < 5; ++j)
+                        r = r * 85 + chn[j];
+                    write((byte)(r >> 24));
+                    write((byte)(r >> 16));
+                    write((byte)(r >> 8));
+                    write((byte)r);
+                }
+            }
+        }
+
+        private void writeTail() {
+            if (state == 2) {
+                int r = chn[0] * 85 * 85 * 85 * 85 + chn[1] * 85 * 85 * 85 + 85 * 85 * 85  + 85 * 85 + 85;
+                write((byte)(r >> 24));
+            }
+            else if (state == 3) {
+                int r = chn[0] * 85 * 85 * 85 * 85 + chn[1] * 85 * 85 * 85  + chn[2] * 85 * 85 + 85 * 85 + 85;
+                write((byte)(r >> 24));
+                write((byte)(r >> 16));
+            }
+            else if (state == 4) {
+                int r = chn[0] * 85 * 85 * 85 * 85 + chn[1] * 85 * 85 * 85  + chn[2] * 85 * 85  + chn[3] * 85 + 85;
+                write((byte)(r >> 24));
+                write((byte)(r >> 16));
+                write((byte)(r >> 8));
+            }
+        }
+    }
 }
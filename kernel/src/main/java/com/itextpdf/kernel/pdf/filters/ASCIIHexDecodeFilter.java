@@ -50,12 +50,14 @@ import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.ByteArrayOutputStream;
 
 /**
  * Handles ASCIIHexDecode filter
  */
-public class ASCIIHexDecodeFilter implements IFilterHandler {
+public class ASCIIHexDecodeFilter implements IFilterHandler, IStreamingFilterHandler {
 
     @Override
     public byte[] decode(byte[] b, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
@@ -63,6 +65,11 @@ public class ASCIIHexDecodeFilter implements IFilterHandler {
         return b;
     }
 
+    @Override
+    public InputStream decode(InputStream in, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
+        return new ASCIIHexDecodeInputStream(in);
+    }
+
     /**
      * Decodes a byte[] according to ASCII Hex encoding.
      *
@@ -92,4 +99,36 @@ public class ASCIIHexDecodeFilter implements IFilterHandler {
             out.write((byte)(n1 << 4));
         return out.toByteArray();
     }
+
+    private static class ASCIIHexDecodeInputStream extends DecodingInputStream {
+        private boolean first = true;
+        private int n1 = 0;
+
+        ASCIIHexDecodeInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        void decode() throws IOException {
+            while (getWrittenCount() < CHUNK_SIZE) {
+                int ch = readInput();
+                if (ch == '>' || ch < 0) {
+                    if (!first)
+                        write((byte)(n1 << 4));
+                    finish();
+                    return;
+                }
+                if (PdfTokenizer.isWhitespace(ch))
+                    continue;
+                int n = ByteBuffer.getHex(ch);
+                if (n == -1)
+                    throw new PdfException(PdfException.IllegalCharacterInAsciihexdecode);
+                if (first)
+                    n1 = n;
+                else
+                    write((byte)((n1 << 4) + n));
+                first = !first;
+            }
+        }
+    }
 }
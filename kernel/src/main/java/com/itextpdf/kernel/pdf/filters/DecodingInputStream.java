@@ -0,0 +1,212 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.filters;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The base class for the streams which decode the data of another stream portion by portion.
+ * Both the encoded input and the decoded output are buffered, so implementations deal with single bytes.
+ */
+abstract class DecodingInputStream extends InputStream {
+
+    /**
+     * The size of the input buffer and the approximate size of the portion of data decoded at once.
+     */
+    static final int CHUNK_SIZE = 0x2000;
+
+    private final InputStream in;
+    private final byte[] input = new byte[CHUNK_SIZE];
+    private int inputPos;
+    private int inputCount;
+    private boolean inputEnded;
+
+    private byte[] output = new byte[CHUNK_SIZE];
+    private int outputPos;
+    private int outputCount;
+    private boolean finished;
+
+    DecodingInputStream(InputStream in) {
+        this.in = in;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureOutput()) {
+            return -1;
+        }
+        return output[outputPos++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureOutput()) {
+            return -1;
+        }
+        int n = Math.min(len, outputCount - outputPos);
+        System.arraycopy(output, outputPos, b, off, n);
+        outputPos += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return outputCount - outputPos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        in.close();
+    }
+
+    /**
+     * Decodes the next portion of data, about {@link #CHUNK_SIZE} bytes, and writes it with {@link #write(int)}.
+     * Once all the data is decoded, {@link #finish()} shall be called.
+     *
+     * @throws IOException if the encoded data can not be read
+     */
+    abstract void decode() throws IOException;
+
+    /**
+     * Gets the number of decoded bytes written in the current portion.
+     *
+     * @return the number of written bytes
+     */
+    final int getWrittenCount() {
+        return outputCount;
+    }
+
+    final void write(int b) {
+        ensureCapacity(1);
+        output[outputCount++] = (byte) b;
+    }
+
+    final void write(byte[] b, int off, int len) {
+        ensureCapacity(len);
+        System.arraycopy(b, off, output, outputCount, len);
+        outputCount += len;
+    }
+
+    /**
+     * Marks the end of the decoded data.
+     */
+    final void finish() {
+        finished = true;
+    }
+
+    /**
+     * Reads the next byte of the encoded data.
+     *
+     * @return the next byte or -1 if the end of the data is reached
+     * @throws IOException if the encoded data can not be read
+     */
+    final int readInput() throws IOException {
+        if (inputPos == inputCount && !fillInput()) {
+            return -1;
+        }
+        return input[inputPos++] & 0xff;
+    }
+
+    /**
+     * Reads the encoded data.
+     *
+     * @param b   the buffer into which the data is read
+     * @param off the start offset in the buffer
+     * @param len the number of bytes to read
+     * @return the number of read bytes, less than {@code len} only if the end of the data is reached
+     * @throws IOException if the encoded data can not be read
+     */
+    final int readInput(byte[] b, int off, int len) throws IOException {
+        int read = 0;
+        while (read < len) {
+            if (inputPos == inputCount && !fillInput()) {
+                break;
+            }
+            int n = Math.min(len - read, inputCount - inputPos);
+            System.arraycopy(input, inputPos, b, off + read, n);
+            inputPos += n;
+            read += n;
+        }
+        return read;
+    }
+
+    private boolean fillInput() throws IOException {
+        if (inputEnded) {
+            return false;
+        }
+        int n = in.read(input, 0, input.length);
+        if (n <= 0) {
+            inputEnded = true;
+            return false;
+        }
+        inputPos = 0;
+        inputCount = n;
+        return true;
+    }
+
+    private boolean ensureOutput() throws IOException {
+        while (outputPos == outputCount) {
+            if (finished) {
+                return false;
+            }
+            outputPos = 0;
+            outputCount = 0;
+            decode();
+        }
+        return true;
+    }
+
+    private void ensureCapacity(int len) {
+        if (outputCount + len > output.length) {
+            byte[] newOutput = new byte[Math.max(output.length * 2, outputCount + len)];
+            System.arraycopy(output, 0, newOutput, 0, outputCount);
+            output = newOutput;
+        }
+    }
+}
@@ -43,6 +43,7 @@
  */
 package com.itextpdf.kernel.pdf.filters;
 
+import com.itextpdf.io.source.FlateCodecPool;
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfName;
@@ -52,19 +53,26 @@ import com.itextpdf.kernel.pdf.PdfObject;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.zip.InflaterInputStream;
 
 /**
  * Handles FlateDecode filter.
  */
-public class FlateDecodeFilter implements IFilterHandler {
+public class FlateDecodeFilter implements IFilterHandler, IStreamingFilterHandler {
 
     /**
      * Defines how the corrupted streams should be treated.
      */
     private boolean strictDecoding = false;
 
+    /**
+     * Creates the inflaters which decompress the data.
+     */
+    private final IFlateCodecProvider codecProvider;
+
     /**
      * Creates a FlateDecodeFilter.
      */
@@ -78,7 +86,18 @@ public class FlateDecodeFilter implements IFilterHandler {
      * @param strictDecoding defines whether the decoder will try to read a corrupted stream
      */
     public FlateDecodeFilter(boolean strictDecoding) {
+        this(strictDecoding, JdkFlateCodecProvider.getInstance());
+    }
+
+    /**
+     * Creates a FlateDecodeFilter.
+     *
+     * @param strictDecoding defines whether the decoder will try to read a corrupted stream
+     * @param codecProvider  the provider of the inflaters which decompress the data
+     */
+    public FlateDecodeFilter(boolean strictDecoding, IFlateCodecProvider codecProvider) {
         this.strictDecoding = strictDecoding;
+        this.codecProvider = codecProvider;
     }
 
     /**
@@ -103,14 +122,29 @@ public class FlateDecodeFilter implements IFilterHandler {
 
     @Override
     public byte[] decode(byte[] b, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
-        byte[] res = flateDecode(b, true);
+        byte[] res = flateDecode(b, true, codecProvider);
         if (res == null && !strictDecoding) {
-            res = flateDecode(b, false);
+            res = flateDecode(b, false, codecProvider);
         }
         b = decodePredictor(res, decodeParams);
         return b;
     }
 
+    /**
+     * {@inheritDoc}
+     * <br>
+     * In contrast to {@link #decode(byte[], PdfName, PdfObject, PdfDictionary)}, if not strict decoding
+     * reaches a corrupted part of the data, the data decoded in the last portion before that part may be lost.
+     */
+    @Override
+    public InputStream decode(InputStream in, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
+        InputStream zip = codecProvider.createInflaterStream(in);
+        if (!strictDecoding) {
+            zip = new LenientInputStream(zip);
+        }
+        return decodePredictor(zip, decodeParams);
+    }
+
     /**
      * A helper to flateDecode.
      *
@@ -119,25 +153,78 @@ public class FlateDecodeFilter implements IFilterHandler {
      * @return the decoded data
      */
     public static byte[] flateDecode(byte[] in, boolean strict) {
+        return flateDecode(in, strict, JdkFlateCodecProvider.getInstance());
+    }
+
+    /**
+     * A helper to flateDecode.
+     *
+     * @param in            the input data
+     * @param strict        {@code true} to read a correct stream. {@code false} to try to read a corrupted stream.
+     * @param codecProvider the provider of the inflater which decompresses the data
+     * @return the decoded data
+     */
+    public static byte[] flateDecode(byte[] in, boolean strict, IFlateCodecProvider codecProvider) {
         ByteArrayInputStream stream = new ByteArrayInputStream(in);
-        InflaterInputStream zip = new InflaterInputStream(stream);
+        InflaterInputStream zip = codecProvider.createInflaterStream(stream);
         ByteArrayOutputStream out = new ByteArrayOutputStream();
-        byte[] b = new byte[strict ? 4092 : 1];
+        byte[] b = strict ? FlateCodecPool.acquireScratchBuffer() : new byte[1];
         try {
             int n;
             while ((n = zip.read(b)) >= 0) {
                 out.write(b, 0, n);
             }
-            zip.close();
             out.close();
             return out.toByteArray();
         } catch (Exception e) {
             if (strict)
                 return null;
             return out.toByteArray();
+        } finally {
+            if (strict) {
+                FlateCodecPool.releaseScratchBuffer(b);
+            }
+            try {
+                zip.close();
+            } catch (IOException ignored) {
+            }
         }
     }
 
+    /**
+     * Wraps the stream into the stream which reverts the predictor specified in the decode parameters.
+     *
+     * @param in           the stream with predicted data
+     * @param decodeParams PdfDictionary of decodeParams.
+     * @return the stream with decoded data, or the passed stream if no predictor is used
+     */
+    public static InputStream decodePredictor(InputStream in, PdfObject decodeParams) {
+        if (decodeParams == null || decodeParams.getType() != PdfObject.DICTIONARY)
+            return in;
+        PdfDictionary dic = (PdfDictionary) decodeParams;
+        PdfObject obj = dic.get(PdfName.Predictor);
+        if (obj == null || obj.getType() != PdfObject.NUMBER)
+            return in;
+        int predictor = ((PdfNumber) obj).intValue();
+        if (predictor < 10 && predictor != 2)
+            return in;
+        int width = 1;
+        obj = dic.get(PdfName.Columns);
+        if (obj != null && obj.getType() == PdfObject.NUMBER)
+            width = ((PdfNumber) obj).intValue();
+        int colors = 1;
+        obj = dic.get(PdfName.Colors);
+        if (obj != null && obj.getType() == PdfObject.NUMBER)
+            colors = ((PdfNumber) obj).intValue();
+        int bpc = 8;
+        obj = dic.get(PdfName.BitsPerComponent);
+        if (obj != null && obj.getType() == PdfObject.NUMBER)
+            bpc = ((PdfNumber) obj).intValue();
+        if (predictor == 2 && (bpc != 8 || colors * width <= 0))
+            return in;
+        return new PredictorInputStream(in, predictor, colors, bpc, width);
+    }
+
     /**
      * @param in           Input byte array.
      * @param decodeParams PdfDictionary of decodeParams.
@@ -262,4 +349,41 @@ public class FlateDecodeFilter implements IFilterHandler {
             curr = tmp;
         }
     }
+
+    /**
+     * Treats the first error in the data as the end of the data.
+     */
+    private static class LenientInputStream extends FilterInputStream {
+        private boolean failed;
+
+        LenientInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (failed) {
+                return -1;
+            }
+            try {
+                return super.read();
+            } catch (IOException e) {
+                failed = true;
+                return -1;
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (failed) {
+                return -1;
+            }
+            try {
+                return super.read(b, off, len);
+            } catch (IOException e) {
+                failed = true;
+                return -1;
+            }
+        }
+    }
 }
@@ -43,16 +43,19 @@
  */
 package com.itextpdf.kernel.pdf.filters;
 
+import com.itextpdf.kernel.PdfException;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.ByteArrayOutputStream;
 
 /**
  * Handles LZWDECODE filter
  */
-public class LZWDecodeFilter implements IFilterHandler {
+public class LZWDecodeFilter implements IFilterHandler, IStreamingFilterHandler {
 
     @Override
     public byte[] decode(byte[] b, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
@@ -61,6 +64,11 @@ public class LZWDecodeFilter implements IFilterHandler {
         return b;
     }
 
+    @Override
+    public InputStream decode(InputStream in, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
+        return FlateDecodeFilter.decodePredictor(new LZWDecodeInputStream(in), decodeParams);
+    }
+
     /**
      * Decodes a byte[] according to the LZW encoding.
      *
@@ -73,4 +81,104 @@ public class LZWDecodeFilter implements IFilterHandler {
         lzw.decode(in, out);
         return out.toByteArray();
     }
+
+    /**
+     * Decodes the data code by code with the string table of {@link LZWDecoder}.
+     */
+    private static class LZWDecodeInputStream extends DecodingInputStream {
+        private final LZWDecoder lzw = new LZWDecoder();
+        // the first two bytes are read in advance to check the flavour
+        private final int[] pending = new int[2];
+        private int pendingBytes = 0;
+        private boolean started;
+        private int oldCode = 0;
+
+        LZWDecodeInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        void decode() throws IOException {
+            if (!started) {
+                started = true;
+                int first = readInput();
+                int second = readInput();
+                if (first == 0x00 && second == 0x01) {
+                    throw new PdfException(PdfException.LzwFlavourNotSupported);
+                }
+                lzw.initializeStringTable();
+                lzw.nextData = 0;
+                lzw.nextBits = 0;
+                pushCodeBits(first);
+                pushCodeBits(second);
+            }
+            int code;
+            while (getWrittenCount() < CHUNK_SIZE) {
+                code = getNextCode();
+                if (code == 257) {
+                    finish();
+                    return;
+                }
+                byte[] string;
+                if (code == 256) {
+                    lzw.initializeStringTable();
+                    code = getNextCode();
+                    if (code == 257) {
+                        finish();
+                        return;
+                    }
+                    string = lzw.stringTable[code];
+                    write(string, 0, string.length);
+                } else if (code < lzw.tableIndex) {
+                    string = lzw.stringTable[code];
+                    write(string, 0, string.length);
+                    lzw.addStringToTable(lzw.stringTable[oldCode], string[0]);
+                } else {
+                    string = lzw.stringTable[oldCode];
+                    string = lzw.composeString(string, string[0]);
+                    write(string, 0, string.length);
+                    lzw.addStringToTable(string);
+                }
+                oldCode = code;
+            }
+        }
+
+        private void pushCodeBits(int b) {
+            pending[pendingBytes++] = b;
+        }
+
+        private int nextByte() throws IOException {
+            if (pendingBytes > 0) {
+                int b = pending[0];
+                pending[0] = pending[1];
+                pendingBytes--;
+                return b;
+            }
+            return readInput();
+        }
+
+        // Returns the next 9, 10, 11 or 12 bits, the same way as LZWDecoder#getNextCode() does
+        private int getNextCode() throws IOException {
+            int b = nextByte();
+            if (b < 0) {
+                // Strip not terminated as expected: return EndOfInformation code.
+                return 257;
+            }
+            lzw.nextData = (lzw.nextData << 8) | b;
+            lzw.nextBits += 8;
+
+            if (lzw.nextBits < lzw.bitsToGet) {
+                b = nextByte();
+                if (b < 0) {
+                    return 257;
+                }
+                lzw.nextData = (lzw.nextData << 8) | b;
+                lzw.nextBits += 8;
+            }
+
+            int code = (lzw.nextData >> (lzw.nextBits - lzw.bitsToGet)) & lzw.andTable[lzw.bitsToGet - 9];
+            lzw.nextBits -= lzw.bitsToGet;
+            return code;
+        }
+    }
 }
@@ -0,0 +1,162 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.filters;
+
+import com.itextpdf.kernel.PdfException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reverts the TIFF or PNG predictor row by row, the streaming counterpart of
+ * {@link FlateDecodeFilter#decodePredictor(byte[], com.itextpdf.kernel.pdf.PdfObject)}.
+ */
+class PredictorInputStream extends DecodingInputStream {
+
+    private final boolean tiffPredictor;
+    private final int bytesPerPixel;
+    private final int bytesPerRow;
+    private byte[] curr;
+    private byte[] prior;
+
+    /**
+     * Creates the stream.
+     *
+     * @param in        the stream with predicted data
+     * @param predictor the predictor, 2 for TIFF predictor with 8 bits per component or 10 and greater for PNG predictors
+     * @param colors    the number of color components per sample
+     * @param bpc       the number of bits per color component
+     * @param columns   the number of samples per row
+     */
+    PredictorInputStream(InputStream in, int predictor, int colors, int bpc, int columns) {
+        super(in);
+        this.tiffPredictor = predictor == 2;
+        this.bytesPerPixel = colors * bpc / 8;
+        this.bytesPerRow = (colors * columns * bpc + 7) / 8;
+        this.curr = new byte[bytesPerRow];
+        this.prior = new byte[bytesPerRow];
+    }
+
+    @Override
+    void decode() throws IOException {
+        while (getWrittenCount() < CHUNK_SIZE) {
+            if (tiffPredictor) {
+                int n = readInput(curr, 0, bytesPerRow);
+                if (n < bytesPerRow) {
+                    // an incomplete row is left as is
+                    write(curr, 0, n);
+                    finish();
+                    return;
+                }
+                for (int col = bytesPerPixel; col < bytesPerRow; col++) {
+                    curr[col] = (byte) (curr[col] + curr[col - bytesPerPixel]);
+                }
+                write(curr, 0, bytesPerRow);
+                continue;
+            }
+            // Read the filter type byte and a row of data, an incomplete row is dropped
+            int filter = readInput();
+            if (filter < 0 || readInput(curr, 0, bytesPerRow) < bytesPerRow) {
+                finish();
+                return;
+            }
+            switch (filter) {
+                case 0: //PNG_FILTER_NONE
+                    break;
+                case 1: //PNG_FILTER_SUB
+                    for (int i = bytesPerPixel; i < bytesPerRow; i++) {
+                        curr[i] += curr[i - bytesPerPixel];
+                    }
+                    break;
+                case 2: //PNG_FILTER_UP
+                    for (int i = 0; i < bytesPerRow; i++) {
+                        curr[i] += prior[i];
+                    }
+                    break;
+                case 3: //PNG_FILTER_AVERAGE
+                    for (int i = 0; i < bytesPerPixel; i++) {
+                        curr[i] += (byte) (prior[i] / 2);
+                    }
+                    for (int i = bytesPerPixel; i < bytesPerRow; i++) {
+                        curr[i] += (byte) (((curr[i - bytesPerPixel] & 0xff) + (prior[i] & 0xff)) / 2);
+                    }
+                    break;
+                case 4: //PNG_FILTER_PAETH
+                    for (int i = 0; i < bytesPerPixel; i++) {
+                        curr[i] += prior[i];
+                    }
+                    for (int i = bytesPerPixel; i < bytesPerRow; i++) {
+                        int a = curr[i - bytesPerPixel] & 0xff;
+                        int b = prior[i] & 0xff;
+                        int c = prior[i - bytesPerPixel] & 0xff;
+
+                        int p = a + b - c;
+                        int pa = Math.abs(p - a);
+                        int pb = Math.abs(p - b);
+                        int pc = Math.abs(p - c);
+
+                        int ret;
+                        if (pa <= pb && pa <= pc) {
+                            ret = a;
+                        } else if (pb <= pc) {
+                            ret = b;
+                        } else {
+                            ret = c;
+                        }
+                        curr[i] += (byte) ret;
+                    }
+                    break;
+                default:
+                    // Error -- unknown filter type
+                    throw new PdfException(PdfException.PngFilterUnknown);
+            }
+            write(curr, 0, bytesPerRow);
+
+            // Swap curr and prior
+            byte[] tmp = prior;
+            prior = curr;
+            curr = tmp;
+        }
+    }
+}
@@ -47,12 +47,14 @@ import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.ByteArrayOutputStream;
 
 /**
  * Handles RunLengthDecode filter.
  */
-public class RunLengthDecodeFilter implements IFilterHandler {
+public class RunLengthDecodeFilter implements IFilterHandler, IStreamingFilterHandler {
 
     @Override
     public byte[] decode(byte[] b, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
@@ -76,4 +78,46 @@ public class RunLengthDecodeFilter implements IFilterHandler {
         }
         return baos.toByteArray();
     }
+
+    @Override
+    public InputStream decode(InputStream in, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
+        return new RunLengthDecodeInputStream(in);
+    }
+
+    private static class RunLengthDecodeInputStream extends DecodingInputStream {
+        private final byte[] run = new byte[128];
+
+        RunLengthDecodeInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        void decode() throws IOException {
+            while (getWrittenCount() < CHUNK_SIZE) {
+                int dupCount = readInput();
+                if (dupCount < 0 || dupCount == 0x80) { // this is implicit end of data
+                    finish();
+                    return;
+                }
+                if ((dupCount & 0x80) == 0) {
+                    int bytesToCopy = dupCount + 1;
+                    int n = readInput(run, 0, bytesToCopy);
+                    write(run, 0, n);
+                    if (n < bytesToCopy) {
+                        finish();
+                        return;
+                    }
+                } else {                // make dupcount copies of the next byte
+                    int b = readInput();
+                    if (b < 0) {
+                        finish();
+                        return;
+                    }
+                    for (int j = 0; j < 257 - dupCount; j++) {
+                        write(b);
+                    }
+                }
+            }
+        }
+    }
 }
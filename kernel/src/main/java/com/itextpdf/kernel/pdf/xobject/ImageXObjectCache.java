@@ -0,0 +1,364 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.xobject;
+
+import com.itextpdf.io.image.ImageData;
+import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.io.util.UrlUtil;
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.pdf.CompressionConstants;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.filters.IFlateCodecProvider;
+import com.itextpdf.kernel.pdf.filters.JdkFlateCodecProvider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A size-bounded cache of encoded image XObjects, keyed by the SHA-256 hash of the source image bytes.
+ * <p>
+ * On the first request for an image the source is decoded with {@link ImageDataFactory} and the samples are deflated
+ * once, the resulting stream is kept as a template which is not bound to any document. Every request returns a fresh
+ * {@link PdfImageXObject} copied from the template, so the same image can be added to any number of documents
+ * (including documents processed concurrently) without being decoded and compressed again.
+ * <p>
+ * The least recently used images are evicted when the total size of the cached stream bytes exceeds the limit.
+ * A process-wide instance is available via {@link #getInstance()}.
+ */
+public class ImageXObjectCache {
+
+    /**
+     * The default limit of the size of the cached stream bytes, 64 MB.
+     */
+    public static final long DEFAULT_MAX_SIZE = 64L * 1024 * 1024;
+
+    private static final ImageXObjectCache INSTANCE = new ImageXObjectCache(DEFAULT_MAX_SIZE);
+
+    private final long maxSize;
+    private final int compressionLevel;
+    private final IFlateCodecProvider codecProvider;
+    private final LinkedHashMap<ContentKey, CachedImage> images = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * Creates a cache with the default compression of the image samples.
+     *
+     * @param maxSize the limit of the size of the cached stream bytes
+     */
+    public ImageXObjectCache(long maxSize) {
+        this(maxSize, CompressionConstants.DEFAULT_COMPRESSION, JdkFlateCodecProvider.getInstance());
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxSize          the limit of the size of the cached stream bytes
+     * @param compressionLevel the compression level used for the image samples which are not compressed yet;
+     *                         {@link CompressionConstants#NO_COMPRESSION} leaves them for the writer
+     * @param codecProvider    the provider of the deflater streams
+     */
+    public ImageXObjectCache(long maxSize, int compressionLevel, IFlateCodecProvider codecProvider) {
+        this.maxSize = maxSize;
+        this.compressionLevel = compressionLevel;
+        this.codecProvider = codecProvider;
+    }
+
+    /**
+     * Gets the process-wide cache instance limited by {@link #DEFAULT_MAX_SIZE}.
+     *
+     * @return the process-wide cache
+     */
+    public static ImageXObjectCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets an image XObject for the image bytes, decoding them only if an image with the same content
+     * is not cached yet.
+     *
+     * @param imageBytes the bytes of the image in any format supported by {@link ImageDataFactory}
+     * @return a new image XObject which is not bound to any document
+     */
+    public PdfImageXObject getImageXObject(byte[] imageBytes) {
+        ContentKey key = new ContentKey(imageBytes);
+        CachedImage cached;
+        // only the bookkeeping is done under the lock, the templates are never modified once cached,
+        // so the stream bytes are copied outside of it
+        synchronized (images) {
+            cached = images.get(key);
+        }
+        if (cached != null) {
+            hitCount.incrementAndGet();
+            return cached.createImageXObject();
+        }
+        missCount.incrementAndGet();
+        CachedImage created = createCachedImage(ImageDataFactory.create(imageBytes));
+        synchronized (images) {
+            cached = images.get(key);
+            if (cached == null) {
+                cached = created;
+                if (cached.size <= maxSize) {
+                    images.put(key, cached);
+                    size += cached.size;
+                    evict();
+                }
+            }
+        }
+        return cached.createImageXObject();
+    }
+
+    /**
+     * Gets an image XObject for the image located by the URL, decoding it only if an image with the same content
+     * is not cached yet. Note that the content is read on every call, only decoding and compression are saved.
+     *
+     * @param url the URL of the image
+     * @return a new image XObject which is not bound to any document
+     * @throws IOException if the image cannot be read
+     */
+    public PdfImageXObject getImageXObject(URL url) throws IOException {
+        InputStream stream = UrlUtil.openStream(url);
+        try {
+            return getImageXObject(StreamUtil.inputStreamToArray(stream));
+        } finally {
+            stream.close();
+        }
+    }
+
+    /**
+     * Gets the number of requests served from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of requests which required decoding of the image.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Gets the number of images evicted from the cache because of the size limit.
+     *
+     * @return the number of evicted images
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * Gets the number of cached images.
+     *
+     * @return the number of cached images
+     */
+    public int getImageCount() {
+        synchronized (images) {
+            return images.size();
+        }
+    }
+
+    /**
+     * Gets the total size of the cached stream bytes.
+     *
+     * @return the size of the cached stream bytes
+     */
+    public long getSize() {
+        synchronized (images) {
+            return size;
+        }
+    }
+
+    /**
+     * Removes all the images from the cache. The statistics are kept.
+     */
+    public void clear() {
+        synchronized (images) {
+            images.clear();
+            size = 0;
+        }
+    }
+
+    private void evict() {
+        Iterator<CachedImage> iterator = images.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().size;
+            iterator.remove();
+            evictionCount.incrementAndGet();
+        }
+    }
+
+    private CachedImage createCachedImage(ImageData image) {
+        PdfImageXObject imageXObject = new PdfImageXObject(image);
+        if (compressionLevel != CompressionConstants.NO_COMPRESSION) {
+            try {
+                ImageXObjectPreparer.compress(imageXObject.getPdfObject(), compressionLevel, codecProvider);
+            } catch (IOException e) {
+                throw new PdfException(PdfException.IoException, e);
+            }
+        }
+        return new CachedImage(imageXObject.getPdfObject(), image.isMask(), image.isSoftMask());
+    }
+
+    private static long getStreamsSize(PdfDictionary dictionary) {
+        long streamsSize = 0;
+        if (dictionary.isStream()) {
+            streamsSize += ((PdfStream) dictionary).getBytes(false).length;
+        }
+        for (PdfObject value : dictionary.values()) {
+            if (value.isDictionary() || value.isStream()) {
+                streamsSize += getStreamsSize((PdfDictionary) value);
+            }
+        }
+        return streamsSize;
+    }
+
+    /**
+     * Copies the object with all the nested objects. Unlike {@link PdfObject#clone()} this also copies
+     * the nested streams, which otherwise would be shared between the documents.
+     */
+    private static PdfObject copy(PdfObject object) {
+        switch (object.getType()) {
+            case PdfObject.STREAM:
+                PdfStream stream = (PdfStream) object;
+                PdfStream streamCopy = new PdfStream(stream.getBytes(false));
+                streamCopy.setCompressionLevel(stream.getCompressionLevel());
+                copyEntries(stream, streamCopy);
+                return streamCopy;
+            case PdfObject.DICTIONARY:
+                PdfDictionary dictionaryCopy = new PdfDictionary();
+                copyEntries((PdfDictionary) object, dictionaryCopy);
+                return dictionaryCopy;
+            case PdfObject.ARRAY:
+                PdfArray array = (PdfArray) object;
+                PdfArray arrayCopy = new PdfArray();
+                for (int i = 0; i < array.size(); i++) {
+                    arrayCopy.add(copy(array.get(i, false)));
+                }
+                return arrayCopy;
+            default:
+                return object.clone();
+        }
+    }
+
+    private static void copyEntries(PdfDictionary from, PdfDictionary to) {
+        for (PdfName key : from.keySet()) {
+            to.put(key, copy(from.get(key, false)));
+        }
+    }
+
+    private static class CachedImage {
+        final PdfStream template;
+        final boolean mask;
+        final boolean softMask;
+        final long size;
+
+        CachedImage(PdfStream template, boolean mask, boolean softMask) {
+            this.template = template;
+            this.mask = mask;
+            this.softMask = softMask;
+            this.size = getStreamsSize(template);
+        }
+
+        PdfImageXObject createImageXObject() {
+            PdfImageXObject imageXObject = new PdfImageXObject((PdfStream) copy(template));
+            imageXObject.setMaskFlags(mask, softMask);
+            return imageXObject;
+        }
+    }
+
+    private static class ContentKey {
+        private final byte[] digest;
+        private final int length;
+        private final int hash;
+
+        ContentKey(byte[] content) {
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256").digest(content);
+            } catch (NoSuchAlgorithmException e) {
+                throw new PdfException(e);
+            }
+            this.length = content.length;
+            this.hash = Arrays.hashCode(digest);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ContentKey other = (ContentKey) o;
+            return length == other.length && Arrays.equals(digest, other.digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
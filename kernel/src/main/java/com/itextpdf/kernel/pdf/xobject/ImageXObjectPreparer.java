@@ -0,0 +1,210 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.xobject;
+
+import com.itextpdf.io.image.ImageData;
+import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.pdf.CompressionConstants;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.filters.IFlateCodecProvider;
+import com.itextpdf.kernel.pdf.filters.JdkFlateCodecProvider;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Prepares {@link PdfImageXObject} instances on a pool of worker threads ahead of the moment they are needed.
+ * Both decoding of the image (see {@link ImageDataFactory}) and deflating of the decoded samples are performed
+ * on the workers, so that adding a prepared image to a {@link com.itextpdf.kernel.pdf.canvas.PdfCanvas} or to
+ * a layout {@code Image} element only costs writing of the already compressed bytes.
+ * <p>
+ * The prepared image XObjects are not bound to any document, the returned futures can be consumed by the
+ * thread which builds the document, e.g. with {@link Future#get()} which doesn't block for the images
+ * which are already prepared. A prepared image XObject shall be added to a single document only, the same
+ * way as an image XObject created with {@link PdfImageXObject#PdfImageXObject(ImageData)}.
+ * <p>
+ * The preparer shall be closed when no more images are going to be submitted, the images which are
+ * already submitted are still prepared.
+ */
+public class ImageXObjectPreparer implements Closeable {
+
+    private static final AtomicInteger poolNumber = new AtomicInteger();
+
+    private final ExecutorService executor;
+    private final int compressionLevel;
+    private final IFlateCodecProvider codecProvider;
+
+    /**
+     * Creates a preparer with the specified number of worker threads which deflates the images
+     * with the default compression level.
+     *
+     * @param workerCount the number of worker threads
+     */
+    public ImageXObjectPreparer(int workerCount) {
+        this(workerCount, CompressionConstants.DEFAULT_COMPRESSION, JdkFlateCodecProvider.getInstance());
+    }
+
+    /**
+     * Creates a preparer with the specified number of worker threads.
+     *
+     * @param workerCount      the number of worker threads
+     * @param compressionLevel the compression level used for the image samples which are not compressed yet;
+     *                         {@link CompressionConstants#NO_COMPRESSION} leaves them for the writer
+     * @param codecProvider    the provider of the deflater streams
+     */
+    public ImageXObjectPreparer(int workerCount, int compressionLevel, IFlateCodecProvider codecProvider) {
+        this.executor = Executors.newFixedThreadPool(workerCount, new WorkerThreadFactory());
+        this.compressionLevel = compressionLevel;
+        this.codecProvider = codecProvider;
+    }
+
+    /**
+     * Schedules decoding and compression of the image from the specified URL.
+     *
+     * @param url the URL of the image
+     * @return the future of the prepared image XObject
+     */
+    public Future<PdfImageXObject> prepare(final URL url) {
+        return executor.submit(new Callable<PdfImageXObject>() {
+            @Override
+            public PdfImageXObject call() throws IOException {
+                return createImageXObject(ImageDataFactory.create(url));
+            }
+        });
+    }
+
+    /**
+     * Schedules decoding and compression of the image from the specified bytes.
+     *
+     * @param bytes the bytes of the image
+     * @return the future of the prepared image XObject
+     */
+    public Future<PdfImageXObject> prepare(final byte[] bytes) {
+        return executor.submit(new Callable<PdfImageXObject>() {
+            @Override
+            public PdfImageXObject call() throws IOException {
+                return createImageXObject(ImageDataFactory.create(bytes));
+            }
+        });
+    }
+
+    /**
+     * Schedules compression of the already decoded image.
+     *
+     * @param image {@link ImageData} with actual image data
+     * @return the future of the prepared image XObject
+     */
+    public Future<PdfImageXObject> prepare(final ImageData image) {
+        return executor.submit(new Callable<PdfImageXObject>() {
+            @Override
+            public PdfImageXObject call() throws IOException {
+                return createImageXObject(image);
+            }
+        });
+    }
+
+    /**
+     * Stops accepting new images. The images which are already submitted are still prepared.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    PdfImageXObject createImageXObject(ImageData image) throws IOException {
+        PdfImageXObject imageXObject = new PdfImageXObject(image);
+        if (compressionLevel != CompressionConstants.NO_COMPRESSION) {
+            compress(imageXObject.getPdfObject(), compressionLevel, codecProvider);
+        }
+        return imageXObject;
+    }
+
+    /**
+     * Deflates the samples of the image XObject stream and of its masks unless they are filtered already.
+     */
+    static void compress(PdfStream stream, int compressionLevel, IFlateCodecProvider codecProvider) throws IOException {
+        compressMask(stream.get(PdfName.SMask), compressionLevel, codecProvider);
+        compressMask(stream.get(PdfName.Mask), compressionLevel, codecProvider);
+        // streams with a filter or decode parameters are either compressed already or shall be left as is
+        if (stream.containsKey(PdfName.Filter) || stream.containsKey(PdfName.DecodeParms)) {
+            return;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        DeflaterOutputStream zip = codecProvider.createDeflaterStream(compressed, compressionLevel, 0x8000);
+        zip.write(stream.getBytes());
+        zip.finish();
+        stream.setData(compressed.toByteArray());
+        stream.put(PdfName.Filter, PdfName.FlateDecode);
+        stream.setCompressionLevel(compressionLevel);
+    }
+
+    private static void compressMask(PdfObject mask, int compressionLevel, IFlateCodecProvider codecProvider) throws IOException {
+        if (mask != null && mask.isStream()) {
+            compress((PdfStream) mask, compressionLevel, codecProvider);
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final String namePrefix = "itext-image-preparer-" + poolNumber.incrementAndGet() + "-";
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
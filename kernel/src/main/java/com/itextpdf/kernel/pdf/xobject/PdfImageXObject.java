@@ -320,6 +320,11 @@ public class PdfImageXObject extends PdfXObject {
         return this;
     }
 
+    void setMaskFlags(boolean mask, boolean softMask) {
+        this.mask = mask;
+        this.softMask = softMask;
+    }
+
     private static PdfStream createPdfStream(ImageData image, PdfImageXObject imageMask) {
         PdfStream stream;
         if (image.getOriginalType() == ImageType.RAW) {
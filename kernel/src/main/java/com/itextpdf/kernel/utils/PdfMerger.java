@@ -44,6 +44,7 @@
 package com.itextpdf.kernel.utils;
 
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -53,6 +54,7 @@ public class PdfMerger {
 
     private PdfDocument pdfDocument;
     private boolean closeSrcDocuments;
+    private boolean flushCopiedStreams;
     private boolean mergeTags;
     private boolean mergeOutlines;
 
@@ -85,6 +87,10 @@ public class PdfMerger {
      * If set to <i>true</i> then passed to the <i>{@code PdfMerger#merge}</i> method source documents will be closed
      * immediately after merging specified pages into current document. If <i>false</i> - PdfDocuments are left open.
      * Default value - <i>false</i>.
+     * <br>
+     * Encoded streams copied from a file are only read when they are written to the current document. Closing
+     * a source reads the copies, which have not been written yet, into memory, unless they are flushed before,
+     * see {@link #setFlushCopiedStreams(boolean)}.
      * @param closeSourceDocuments should be true to close pdf documents in merge method.
      * @return this {@code PdfMerger} instance.
      */
@@ -93,6 +99,21 @@ public class PdfMerger {
         return this;
     }
 
+    /**
+     * If set to <i>true</i> then, before a source document is closed in the <i>{@code PdfMerger#merge}</i> method
+     * (see {@link #setCloseSourceDocuments(boolean)}), the streams copied from it are written to the current document,
+     * see {@link PdfReader#flushRawContentCopies(PdfDocument)}. The content of the copied streams is then transferred
+     * from the source file to the output without being read into memory, however the content of the merged pages and
+     * their images can't be accessed or modified afterwards.
+     * Default value - <i>false</i>.
+     * @param flushCopiedStreams should be true to flush the copied streams before closing the source documents.
+     * @return this {@code PdfMerger} instance.
+     */
+    public PdfMerger setFlushCopiedStreams(boolean flushCopiedStreams) {
+        this.flushCopiedStreams = flushCopiedStreams;
+        return this;
+    }
+
     /**
      * This method merges pages from the source document to the current one.
      * <br><br>
@@ -130,6 +151,9 @@ public class PdfMerger {
 
         from.copyPagesTo(pages, pdfDocument);
         if (closeSrcDocuments) {
+            if (flushCopiedStreams && from.getReader() != null) {
+                from.getReader().flushRawContentCopies(pdfDocument);
+            }
             from.close();
         }
         return this;
@@ -0,0 +1,151 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+@Category(IntegrationTest.class)
+public class ChangeTrackingTest extends ExtendedITextTest {
+    public static final String destinationFolder = "./target/test/com/itextpdf/kernel/pdf/ChangeTrackingTest/";
+
+    private static final int PAGE_COUNT = 30;
+
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        createOrClearDestinationFolder(destinationFolder);
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(destinationFolder + "source.pdf"));
+        for (int i = 1; i <= PAGE_COUNT; i++) {
+            ParallelCompressionTest.drawText(new PdfCanvas(pdfDoc.addNewPage()), i);
+        }
+        pdfDoc.close();
+    }
+
+    @Test
+    public void appendWithChangeTrackingTest() throws IOException {
+        String tracked = destinationFolder + "appendWithChangeTracking.pdf";
+        String untracked = destinationFolder + "appendWithoutChangeTracking.pdf";
+        stampPage(new StampingProperties().useAppendMode().useChangeTracking(), tracked);
+        stampPage(new StampingProperties().useAppendMode(), untracked);
+
+        byte[] source = Files.readAllBytes(Paths.get(destinationFolder + "source.pdf"));
+        byte[] result = Files.readAllBytes(Paths.get(tracked));
+        Assert.assertArrayEquals(source, Arrays.copyOf(result, source.length));
+
+        PdfDocument trackedDoc = new PdfDocument(new PdfReader(tracked));
+        PdfDocument untrackedDoc = new PdfDocument(new PdfReader(untracked));
+        Assert.assertEquals(untrackedDoc.getNumberOfPdfObjects(), trackedDoc.getNumberOfPdfObjects());
+        Assert.assertEquals("Stamped", trackedDoc.getDocumentInfo().getTitle());
+        for (int i = 1; i <= PAGE_COUNT; i++) {
+            Assert.assertEquals(untrackedDoc.getPage(i).getContentStreamCount(), trackedDoc.getPage(i).getContentStreamCount());
+            Assert.assertArrayEquals(untrackedDoc.getPage(i).getContentBytes(), trackedDoc.getPage(i).getContentBytes());
+        }
+        Assert.assertEquals(2, trackedDoc.getPage(3).getContentStreamCount());
+        trackedDoc.close();
+        untrackedDoc.close();
+    }
+
+    @Test
+    public void onlyChangedObjectsTrackedTest() throws IOException {
+        PdfDocument pdfDoc = new PdfDocument(new PdfReader(destinationFolder + "source.pdf"),
+                new PdfWriter(new ByteArrayOutputStream()), new StampingProperties().useAppendMode().useChangeTracking());
+        Assert.assertTrue(pdfDoc.getXref().isTrackingModifiedReferences());
+        // the document info dictionary gets modified on opening
+        List<PdfIndirectReference> modifiedOnOpening = pdfDoc.getXref().getModifiedReferences();
+        PdfPage page = pdfDoc.getPage(5);
+        page.getPdfObject().put(PdfName.Rotate, new PdfNumber(90));
+        page.setModified();
+
+        List<PdfIndirectReference> modified = pdfDoc.getXref().getModifiedReferences();
+        modified.removeAll(modifiedOnOpening);
+        Assert.assertEquals(1, modified.size());
+        Assert.assertSame(page.getPdfObject().getIndirectReference(), modified.get(0));
+        pdfDoc.close();
+    }
+
+    @Test
+    public void appendToStreamWithChangeTrackingTest() throws IOException {
+        byte[] source = Files.readAllBytes(Paths.get(destinationFolder + "source.pdf"));
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(source)),
+                new PdfWriter(baos), new StampingProperties().useAppendMode().useChangeTracking());
+        pdfDoc.getDocumentInfo().setAuthor("Author");
+        pdfDoc.close();
+
+        byte[] result = baos.toByteArray();
+        Assert.assertArrayEquals(source, Arrays.copyOf(result, source.length));
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(result)));
+        Assert.assertEquals("Author", resultDoc.getDocumentInfo().getAuthor());
+        Assert.assertEquals(PAGE_COUNT, resultDoc.getNumberOfPages());
+        resultDoc.close();
+    }
+
+    @Test
+    public void changeTrackingIgnoredWithoutAppendModeTest() throws IOException {
+        PdfDocument pdfDoc = new PdfDocument(new PdfReader(destinationFolder + "source.pdf"),
+                new PdfWriter(new ByteArrayOutputStream()), new StampingProperties().useChangeTracking());
+        Assert.assertFalse(pdfDoc.getXref().isTrackingModifiedReferences());
+        pdfDoc.close();
+    }
+
+    private static void stampPage(StampingProperties properties, String outFileName) throws IOException {
+        PdfDocument pdfDoc = new PdfDocument(new PdfReader(destinationFolder + "source.pdf"), new PdfWriter(outFileName), properties);
+        pdfDoc.getDocumentInfo().setTitle("Stamped");
+        PdfPage page = pdfDoc.getPage(3);
+        ParallelCompressionTest.drawText(new PdfCanvas(page.newContentStreamAfter(), page.getResources(), pdfDoc), 42);
+        pdfDoc.close();
+    }
+}
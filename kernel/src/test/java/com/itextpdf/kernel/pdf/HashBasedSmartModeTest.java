@@ -0,0 +1,116 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+@Category(IntegrationTest.class)
+public class HashBasedSmartModeTest extends ExtendedITextTest {
+
+    @Test
+    public void sameObjectsAsSmartModeTest() throws IOException {
+        byte[] source = createSourceDocument();
+
+        int notSmartObjects = mergeCopies(source, 10, new WriterProperties());
+        int smartObjects = mergeCopies(source, 10, new WriterProperties().useSmartMode());
+        int hashBasedObjects = mergeCopies(source, 10, new WriterProperties().useHashBasedSmartMode(1000));
+
+        Assert.assertTrue(smartObjects < notSmartObjects);
+        Assert.assertEquals(smartObjects, hashBasedObjects);
+    }
+
+    @Test
+    public void smallCacheTest() throws IOException {
+        byte[] source = createSourceDocument();
+
+        int notSmartObjects = mergeCopies(source, 10, new WriterProperties());
+        int hashBasedObjects = mergeCopies(source, 10, new WriterProperties().useHashBasedSmartMode(1000));
+        int smallCacheObjects = mergeCopies(source, 10, new WriterProperties().useHashBasedSmartMode(1));
+
+        Assert.assertTrue(smallCacheObjects >= hashBasedObjects);
+        Assert.assertTrue(smallCacheObjects <= notSmartObjects);
+    }
+
+    private static byte[] createSourceDocument() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        PdfFormXObject xObject = new PdfFormXObject(new Rectangle(100, 100));
+        new PdfCanvas(xObject, pdfDocument).rectangle(10, 10, 80, 80).fill();
+        PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage());
+        canvas.addXObject(xObject, 100, 100);
+        canvas.beginText().setFontAndSize(PdfFontFactory.createFont(StandardFonts.HELVETICA), 12)
+                .moveText(100, 500).showText("Shared resources").endText();
+        pdfDocument.close();
+        return baos.toByteArray();
+    }
+
+    private static int mergeCopies(byte[] source, int copies, WriterProperties properties) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument destination = new PdfDocument(new PdfWriter(baos, properties));
+        for (int i = 0; i < copies; i++) {
+            PdfDocument sourceDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(source)));
+            sourceDocument.copyPagesTo(1, 1, destination);
+            sourceDocument.close();
+        }
+        int objectsCount = destination.getNumberOfPdfObjects();
+        destination.close();
+
+        PdfDocument result = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        Assert.assertEquals(copies, result.getNumberOfPages());
+        result.close();
+        return objectsCount;
+    }
+}
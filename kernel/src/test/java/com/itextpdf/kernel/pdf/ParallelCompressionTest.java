@@ -0,0 +1,213 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.kernel.events.Event;
+import com.itextpdf.kernel.events.IEventHandler;
+import com.itextpdf.kernel.events.PdfDocumentEvent;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.filters.IFlateCodecProvider;
+import com.itextpdf.kernel.pdf.filters.JdkFlateCodecProvider;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+@Category(IntegrationTest.class)
+public class ParallelCompressionTest extends ExtendedITextTest {
+
+    @Test
+    public void sameContentAsSerialCompressionTest() throws IOException {
+        byte[] serial = createDocument(new WriterProperties(), false, false);
+        byte[] parallel = createDocument(new WriterProperties().useParallelCompression(4), false, false);
+
+        Assert.assertEquals(serial.length, parallel.length);
+        assertSamePagesContent(serial, parallel);
+    }
+
+    @Test
+    public void pagesFlushedByUserTest() throws IOException {
+        byte[] serial = createDocument(new WriterProperties(), true, false);
+        byte[] parallel = createDocument(new WriterProperties().useParallelCompression(4), true, false);
+
+        Assert.assertEquals(serial.length, parallel.length);
+        assertSamePagesContent(serial, parallel);
+    }
+
+    @Test
+    public void contentChangedOnPageFlushingTest() throws IOException {
+        byte[] serial = createDocument(new WriterProperties(), false, true);
+        byte[] parallel = createDocument(new WriterProperties().useParallelCompression(4), false, true);
+
+        Assert.assertEquals(serial.length, parallel.length);
+        assertSamePagesContent(serial, parallel);
+    }
+
+    @Test
+    public void fullCompressionAndEncryptionTest() throws IOException {
+        byte[] password = "owner".getBytes();
+        byte[] parallel = createDocument(new WriterProperties().useParallelCompression(2).setFullCompressionMode(true)
+                .setStandardEncryption(null, password, EncryptionConstants.ALLOW_PRINTING, EncryptionConstants.ENCRYPTION_AES_128),
+                false, false);
+        byte[] serial = createDocument(new WriterProperties(), false, false);
+
+        assertSamePagesContent(serial, parallel);
+    }
+
+    @Test
+    public void appendModeTest() throws IOException {
+        byte[] source = createDocument(new WriterProperties(), false, false);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(source)),
+                new PdfWriter(baos, new WriterProperties().useParallelCompression(2)), new StampingProperties().useAppendMode());
+        for (int i = 1; i <= pdfDoc.getNumberOfPages(); i++) {
+            drawText(new PdfCanvas(pdfDoc.getPage(i).newContentStreamAfter(), pdfDoc.getPage(i).getResources(), pdfDoc), i);
+        }
+        pdfDoc.close();
+
+        PdfDocument result = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        PdfDocument sourceDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(source)));
+        for (int i = 1; i <= result.getNumberOfPages(); i++) {
+            Assert.assertEquals(2, result.getPage(i).getContentStreamCount());
+            Assert.assertArrayEquals(sourceDoc.getPage(i).getContentStream(0).getBytes(), result.getPage(i).getContentStream(0).getBytes());
+            Assert.assertArrayEquals(sourceDoc.getPage(i).getContentStream(0).getBytes(), result.getPage(i).getContentStream(1).getBytes());
+        }
+        result.close();
+        sourceDoc.close();
+    }
+
+    @Test
+    public void pagesFlushedWithoutResourcesTest() {
+        RecordingCodecProvider codecProvider = new RecordingCodecProvider();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream(),
+                new WriterProperties().useParallelCompression(2).setFlateCodecProvider(codecProvider)));
+        for (int i = 1; i <= 20; i++) {
+            PdfPage page = pdfDoc.addNewPage();
+            PdfFormXObject xObject = new PdfFormXObject(new Rectangle(595, 842));
+            drawText(new PdfCanvas(xObject, pdfDoc), i);
+            PdfCanvas canvas = new PdfCanvas(page);
+            drawText(canvas, i);
+            canvas.addXObject(xObject, 0, 0);
+
+            codecProvider.compressedOnWorkerThread = false;
+            page.flush(false);
+            // the form XObjects stay in memory until the document is closed and must not block the compression window
+            Assert.assertTrue("Page " + i + " was not compressed in parallel", codecProvider.compressedOnWorkerThread);
+            Assert.assertEquals(0, pdfDoc.getWriter().getPendingCompressionCount());
+        }
+        pdfDoc.close();
+    }
+
+    static byte[] createDocument(WriterProperties properties, boolean flushPages, boolean addEndPageHandler) {
+        if (!properties.isStandardEncryptionUsed()) {
+            properties.setInitialDocumentId(new PdfString("initial")).setModifiedDocumentId(new PdfString("modified"));
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos, properties));
+        if (addEndPageHandler) {
+            pdfDoc.addEventHandler(PdfDocumentEvent.END_PAGE, new IEventHandler() {
+                @Override
+                public void handleEvent(Event event) {
+                    PdfPage page = ((PdfDocumentEvent) event).getPage();
+                    new PdfCanvas(page).moveTo(0, 0).lineTo(100, 100).stroke();
+                }
+            });
+        }
+        for (int i = 1; i <= 40; i++) {
+            PdfPage page = pdfDoc.addNewPage();
+            drawText(new PdfCanvas(page), i);
+            if (flushPages) {
+                page.flush();
+            }
+        }
+        pdfDoc.close();
+        return baos.toByteArray();
+    }
+
+    static void drawText(PdfCanvas canvas, int pageNumber) {
+        for (int line = 0; line < 200; line++) {
+            canvas.moveTo(line, pageNumber).lineTo(pageNumber * line % 595, line * 3 % 842).stroke();
+        }
+    }
+
+    private static class RecordingCodecProvider implements IFlateCodecProvider {
+        volatile boolean compressedOnWorkerThread;
+
+        @Override
+        public DeflaterOutputStream createDeflaterStream(OutputStream out, int level, int bufferSize) {
+            if (Thread.currentThread().getName().startsWith("itext-stream-compressor-")) {
+                compressedOnWorkerThread = true;
+            }
+            return JdkFlateCodecProvider.getInstance().createDeflaterStream(out, level, bufferSize);
+        }
+
+        @Override
+        public InflaterInputStream createInflaterStream(InputStream in) {
+            return JdkFlateCodecProvider.getInstance().createInflaterStream(in);
+        }
+    }
+
+    private static void assertSamePagesContent(byte[] expected, byte[] actual) throws IOException {
+        PdfDocument expectedDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(expected),
+                new ReaderProperties().setPassword("owner".getBytes())));
+        PdfDocument actualDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(actual),
+                new ReaderProperties().setPassword("owner".getBytes())));
+        Assert.assertEquals(expectedDoc.getNumberOfPages(), actualDoc.getNumberOfPages());
+        for (int i = 1; i <= expectedDoc.getNumberOfPages(); i++) {
+            Assert.assertArrayEquals(expectedDoc.getPage(i).getContentBytes(), actualDoc.getPage(i).getContentBytes());
+        }
+        expectedDoc.close();
+        actualDoc.close();
+    }
+}
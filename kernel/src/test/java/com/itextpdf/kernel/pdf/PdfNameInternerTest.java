@@ -0,0 +1,163 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.LogMessageConstant;
+import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.kernel.pdf.canvas.parser.util.PdfCanvasParser;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.LogMessage;
+import com.itextpdf.test.annotations.LogMessages;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+@Category(IntegrationTest.class)
+public class PdfNameInternerTest extends ExtendedITextTest {
+
+    @Test
+    public void wellKnownNamesTest() throws IOException {
+        for (boolean directBufferReading : new boolean[] {false, true}) {
+            List<PdfName> names = readNames("/Type /Page /Font /FlateDecode", new PdfNameInterner(), directBufferReading);
+            Assert.assertSame(PdfName.Type, names.get(0));
+            Assert.assertSame(PdfName.Page, names.get(1));
+            Assert.assertSame(PdfName.Font, names.get(2));
+            Assert.assertSame(PdfName.FlateDecode, names.get(3));
+        }
+    }
+
+    @Test
+    public void documentNamesTest() throws IOException {
+        for (boolean directBufferReading : new boolean[] {false, true}) {
+            PdfNameInterner interner = new PdfNameInterner();
+            List<PdfName> names = readNames("/Custom /A#20B /Custom /A#20B /Other", interner, directBufferReading);
+            Assert.assertSame(names.get(0), names.get(2));
+            Assert.assertSame(names.get(1), names.get(3));
+            Assert.assertNotSame(names.get(0), names.get(4));
+            Assert.assertEquals(new PdfName("Custom"), names.get(0));
+            Assert.assertEquals("A B", names.get(1).getValue());
+            Assert.assertEquals(new PdfName("Other"), names.get(4));
+            Assert.assertEquals(3, interner.size());
+        }
+    }
+
+    @Test
+    public void maxSizeTest() throws IOException {
+        PdfNameInterner interner = new PdfNameInterner(1);
+        List<PdfName> names = readNames("/Custom1 /Custom2 /Custom1 /Custom2 /Type", interner, false);
+        Assert.assertSame(names.get(0), names.get(2));
+        Assert.assertNotSame(names.get(1), names.get(3));
+        Assert.assertEquals(names.get(1), names.get(3));
+        Assert.assertSame(PdfName.Type, names.get(4));
+        Assert.assertEquals(1, interner.size());
+
+        interner = new PdfNameInterner(0);
+        names = readNames("/Custom1 /Custom1 /Type", interner, false);
+        Assert.assertNotSame(names.get(0), names.get(1));
+        Assert.assertSame(PdfName.Type, names.get(2));
+        Assert.assertEquals(0, interner.size());
+    }
+
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate = LogMessageConstant.DIRECTONLY_OBJECT_CANNOT_BE_INDIRECT))
+    public void sharedNamesInReadDocumentTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        for (int i = 0; i < 3; i++) {
+            pdfDoc.addNewPage().getPdfObject().put(new PdfName("CustomKey"), new PdfName("CustomValue"));
+        }
+        pdfDoc.close();
+
+        PdfDocument result = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())),
+                new PdfWriter(new ByteArrayOutputStream()));
+        PdfName value1 = result.getPage(1).getPdfObject().getAsName(new PdfName("CustomKey"));
+        PdfName value3 = result.getPage(3).getPdfObject().getAsName(new PdfName("CustomKey"));
+        Assert.assertEquals(new PdfName("CustomValue"), value1);
+        Assert.assertSame(value1, value3);
+        // shared names shall stay direct
+        value1.makeIndirect(result);
+        Assert.assertNull(value1.getIndirectReference());
+        result.close();
+    }
+
+    @Test
+    public void contentStreamNamesTest() throws IOException {
+        byte[] content = "/F1 12 Tf /F1 10 Tf BI /W 1 /H 1 /BPC 8 /CS /G ID \u0000 EI".getBytes(StandardCharsets.ISO_8859_1);
+        PdfCanvasParser parser = new PdfCanvasParser(new PdfTokenizer(new RandomAccessFileOrArray(
+                new RandomAccessSourceFactory().createSource(content))), new PdfResources());
+        List<PdfObject> operands = new ArrayList<>();
+        parser.parse(operands);
+        PdfName font = (PdfName) operands.get(0);
+        parser.parse(operands);
+        Assert.assertSame(font, operands.get(0));
+        Assert.assertEquals(new PdfName("F1"), font);
+        parser.parse(operands);
+        PdfDictionary inlineImage = (PdfStream) operands.get(0);
+        Assert.assertEquals(new PdfNumber(1), inlineImage.get(PdfName.Width));
+        Assert.assertEquals(PdfName.DeviceGray, inlineImage.get(PdfName.ColorSpace));
+    }
+
+    private static List<PdfName> readNames(String source, PdfNameInterner interner, boolean directBufferReading)
+            throws IOException {
+        PdfTokenizer tokenizer = new PdfTokenizer(new RandomAccessFileOrArray(
+                new RandomAccessSourceFactory().createSource(source.getBytes(StandardCharsets.ISO_8859_1))));
+        tokenizer.setDirectBufferReading(directBufferReading);
+        List<PdfName> names = new ArrayList<>();
+        while (tokenizer.nextToken()) {
+            if (tokenizer.getTokenType() == PdfTokenizer.TokenType.Name) {
+                names.add(interner.intern(tokenizer));
+            }
+        }
+        return names;
+    }
+}
@@ -408,6 +408,40 @@ public class PdfPagesTest extends ExtendedITextTest {
         pdfDoc.close();
     }
 
+    @Test
+    public void pageNumbersAfterPagesModificationTest() throws IOException {
+        PdfDocument pdfDoc = new PdfDocument(new PdfReader(sourceFolder + "1000PagesDocument.pdf"),
+                new PdfWriter(new ByteArrayOutputStream()));
+        PdfPage lastPage = pdfDoc.getLastPage();
+        PdfDictionary middlePageDictionary = pdfDoc.getPage(500).getPdfObject();
+        Assert.assertEquals(1000, pdfDoc.getPageNumber(lastPage));
+
+        PdfPage insertedPage = pdfDoc.addNewPage(1);
+        Assert.assertEquals(1, pdfDoc.getPageNumber(insertedPage));
+        Assert.assertEquals(1001, pdfDoc.getPageNumber(lastPage));
+        Assert.assertEquals(501, pdfDoc.getPageNumber(middlePageDictionary));
+
+        pdfDoc.removePage(2);
+        pdfDoc.removePage(2);
+        Assert.assertEquals(999, pdfDoc.getPageNumber(lastPage));
+        Assert.assertEquals(499, pdfDoc.getPageNumber(middlePageDictionary));
+
+        pdfDoc.movePage(lastPage, 1);
+        Assert.assertEquals(1, pdfDoc.getPageNumber(lastPage));
+        Assert.assertEquals(2, pdfDoc.getPageNumber(insertedPage));
+        Assert.assertEquals(500, pdfDoc.getPageNumber(middlePageDictionary));
+
+        PdfPage appendedPage = pdfDoc.addNewPage();
+        Assert.assertEquals(1000, pdfDoc.getPageNumber(appendedPage));
+        Assert.assertEquals(0, pdfDoc.getPageNumber(new PdfPage(pdfDoc)));
+        Assert.assertEquals(0, pdfDoc.getPageNumber((PdfPage) null));
+        for (int i = 1; i <= pdfDoc.getNumberOfPages(); i++) {
+            Assert.assertEquals(i, pdfDoc.getPageNumber(pdfDoc.getPage(i)));
+            Assert.assertEquals(i, pdfDoc.getPageNumber(pdfDoc.getPage(i).getPdfObject()));
+        }
+        pdfDoc.close();
+    }
+
     @Test
     public void removePageWithFormFieldsTest() throws IOException {
         String filename = sourceFolder + "docWithFields.pdf";
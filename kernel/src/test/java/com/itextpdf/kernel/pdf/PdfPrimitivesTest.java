@@ -302,6 +302,30 @@ public class PdfPrimitivesTest extends ExtendedITextTest{
         Assert.assertTrue(a.equals(b));
     }
 
+    @Test
+    public void numbersParsedFromBytes() {
+        String[] numbers = {"0", "-0", "+17", "-.5", "3.", "0.1", "123456.789012345", "1234567890123456789",
+                "0.000000000000000001", "1e5", ".", "-", "1.2.3", "12a", ""};
+        for (String number : numbers) {
+            Assert.assertEquals(number, parseDouble(number),
+                    new PdfNumber(number.getBytes(StandardCharsets.US_ASCII)).getValue(), 0);
+        }
+        Random rnd = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            String number = (rnd.nextBoolean() ? "-" : "") + rnd.nextInt(100000) + "." + rnd.nextInt(100000000);
+            Assert.assertEquals(number, Double.doubleToLongBits(parseDouble(number)),
+                    Double.doubleToLongBits(new PdfNumber(number.getBytes(StandardCharsets.US_ASCII)).getValue()));
+        }
+    }
+
+    private static double parseDouble(String number) {
+        try {
+            return Double.parseDouble(number);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
     private PdfArray generatePdfArrayWithFloatNumbers(PdfDocument doc, boolean indirects) {
         PdfArray array = (PdfArray) new PdfArray().makeIndirect(doc);
         Random rnd = new Random();
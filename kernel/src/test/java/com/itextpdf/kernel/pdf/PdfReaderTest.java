@@ -1587,6 +1587,61 @@ public class PdfReaderTest extends ExtendedITextTest {
         pdfDoc.close();
     }
 
+    @Test
+    public void lazyReadingObjectStreamsTest() throws IOException {
+        String filename = destinationFolder + "lazyReadingObjectStreams.pdf";
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(filename, new WriterProperties().setFullCompressionMode(true)));
+        for (int i = 0; i < 50; i++) {
+            PdfPage page = pdfDoc.addNewPage();
+            page.getPdfObject().put(new PdfName("Index"), new PdfNumber(i));
+        }
+        pdfDoc.close();
+
+        PdfReader lazyReader = new PdfReader(filename).setLazyReading(true);
+        Assert.assertTrue(lazyReader.isLazyReading());
+        PdfDocument lazyDoc = new PdfDocument(lazyReader);
+        PdfDocument eagerDoc = new PdfDocument(new PdfReader(filename));
+
+        PdfDictionary lastPage = lazyDoc.getPage(50).getPdfObject();
+        int lastPageObjStm = lastPage.getIndirectReference().getObjStreamNumber();
+        Assert.assertTrue(lastPageObjStm > 0);
+        int notLoadedCount = 0;
+        PdfXrefTable xref = lazyDoc.getXref();
+        for (int i = 1; i < xref.size(); i++) {
+            PdfIndirectReference reference = xref.get(i);
+            if (reference != null && reference.getObjStreamNumber() == lastPageObjStm && reference.refersTo == null) {
+                ++notLoadedCount;
+            }
+        }
+        Assert.assertTrue("Objects of the object stream shall not be parsed until they are requested", notLoadedCount > 0);
+
+        Assert.assertEquals(eagerDoc.getNumberOfPages(), lazyDoc.getNumberOfPages());
+        for (int i = 1; i <= eagerDoc.getNumberOfPages(); i++) {
+            Assert.assertEquals(i - 1, lazyDoc.getPage(i).getPdfObject().getAsNumber(new PdfName("Index")).intValue());
+            Assert.assertEquals(eagerDoc.getPage(i).getPdfObject().toString(), lazyDoc.getPage(i).getPdfObject().toString());
+        }
+        Assert.assertEquals(eagerDoc.getDocumentInfo().getProducer(), lazyDoc.getDocumentInfo().getProducer());
+        lazyDoc.close();
+        eagerDoc.close();
+    }
+
+    @Test
+    public void lazyReadingStampingTest() throws IOException, InterruptedException {
+        String filename = destinationFolder + "lazyReadingStampingSource.pdf";
+        String dest = destinationFolder + "lazyReadingStamping.pdf";
+        String cmp = destinationFolder + "cmp_lazyReadingStamping.pdf";
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(filename, new WriterProperties().setFullCompressionMode(true)));
+        for (int i = 0; i < 20; i++) {
+            pdfDoc.addNewPage();
+        }
+        pdfDoc.close();
+
+        new PdfDocument(new PdfReader(filename), new PdfWriter(cmp)).close();
+        new PdfDocument(new PdfReader(filename).setLazyReading(true), new PdfWriter(dest)).close();
+
+        Assert.assertNull(new CompareTool().compareByContent(dest, cmp, destinationFolder, "diff_"));
+    }
+
     private boolean objectTypeEqualTo(PdfObject object, PdfName type) {
         PdfName objectType = ((PdfDictionary) object).getAsName(PdfName.Type);
         return type.equals(objectType);
@@ -334,4 +334,58 @@ public class PdfTokenizerTest {
         tok.nextToken();
         Assert.assertTrue(tok.tokenValueEqualsTo(data.getBytes(StandardCharsets.ISO_8859_1)));
     }
+
+    @Test
+    public void directBufferReadingTest() throws Exception {
+        String data = "%PDF-1.7\n<</Size 70./Value#20 .1/Root 46 0 R/Info 44 0 R" +
+                "/ID[<736f6d65 2068657820737472696e672>(some (nested) \\) string )<8C2547D58D4BD2C6F3D32B830BE3259D2>-70.1--0.2]" +
+                "/Name1 --15 % comment\r\n/Prev ---116.23 +5 .5 true/Empty()/Last>>\nstream\nBT /F1 12 Tf (Hi) Tj ET\nendstream /End";
+        byte[] bytes = data.getBytes(StandardCharsets.ISO_8859_1);
+        RandomAccessSourceFactory factory = new RandomAccessSourceFactory();
+        PdfTokenizer expected = new PdfTokenizer(new RandomAccessFileOrArray(factory.createSource(bytes)));
+        PdfTokenizer actual = new PdfTokenizer(new RandomAccessFileOrArray(factory.createSource(bytes)));
+        actual.setDirectBufferReading(true);
+        checkSameTokens(expected, actual);
+    }
+
+    @Test
+    public void directBufferReadingMappedFileTest() throws Exception {
+        String filename = sourceFolder + "writePdfString.pdf";
+        RandomAccessSourceFactory factory = new RandomAccessSourceFactory();
+        PdfTokenizer expected = new PdfTokenizer(new RandomAccessFileOrArray(factory.createBestSource(filename)));
+        PdfTokenizer actual = new PdfTokenizer(new RandomAccessFileOrArray(factory.createBestSource(filename)));
+        actual.setDirectBufferReading(true);
+        try {
+            checkSameTokens(expected, actual);
+        } finally {
+            expected.close();
+            actual.close();
+        }
+    }
+
+    @Test
+    public void directBufferReadingDocumentTest() throws IOException {
+        String filename = sourceFolder + "writePdfString.pdf";
+        PdfDocument d = new PdfDocument(new PdfReader(filename).setDirectBufferReading(true));
+        Assert.assertEquals("\u00DF\u00E3\u00EB\u00F0", d.getDocumentInfo().getTitle());
+        Assert.assertEquals("This string9078 contains \u00A5two octal characters\u00C7", d.getDocumentInfo().getAuthor());
+        Assert.assertEquals("iText\r 6\n", d.getDocumentInfo().getCreator());
+        d.close();
+    }
+
+    private static void checkSameTokens(PdfTokenizer expected, PdfTokenizer actual) throws IOException {
+        boolean hasNext;
+        do {
+            hasNext = expected.nextToken();
+            Assert.assertEquals(hasNext, actual.nextToken());
+            Assert.assertEquals(expected.getTokenType(), actual.getTokenType());
+            Assert.assertEquals(expected.getPosition(), actual.getPosition());
+            Assert.assertArrayEquals(expected.getByteContent(), actual.getByteContent());
+            Assert.assertTrue(actual.tokenValueEqualsTo(expected.getByteContent()));
+            if (expected.getTokenType() == PdfTokenizer.TokenType.String) {
+                Assert.assertEquals(expected.isHexString(), actual.isHexString());
+                Assert.assertArrayEquals(expected.getDecodedStringContent(), actual.getDecodedStringContent());
+            }
+        } while (hasNext);
+    }
 }
@@ -167,4 +167,30 @@ public class PdfXrefTableTest extends ExtendedITextTest {
         Assert.assertEquals(1, freeRef2.genNr);
         pdfDocument.close();
     }
+
+    @Test
+    public void readEntriesAreLoadedOnDemandTest() throws IOException {
+        String created = destinationFolder + "readEntriesAreLoadedOnDemandTest.pdf";
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(created, new WriterProperties().setFullCompressionMode(true)));
+        for (int i = 0; i < 10; i++) {
+            pdfDocument.addNewPage();
+        }
+        pdfDocument.close();
+
+        pdfDocument = new PdfDocument(new PdfReader(created).setLazyReading(true));
+        PdfXrefTable xref = pdfDocument.getXref();
+        int notLoadedEntries = 0;
+        for (int i = 1; i < xref.size(); i++) {
+            if (xref.hasNotLoadedEntry(i)) {
+                notLoadedEntries++;
+            }
+        }
+        Assert.assertTrue(notLoadedEntries > 0);
+
+        PdfIndirectReference lastPageRef = pdfDocument.getPage(10).getPdfObject().getIndirectReference();
+        Assert.assertFalse(xref.hasNotLoadedEntry(lastPageRef.getObjNumber()));
+        Assert.assertSame(lastPageRef, xref.get(lastPageRef.getObjNumber()));
+        Assert.assertTrue(lastPageRef.getObjStreamNumber() > 0);
+        pdfDocument.close();
+    }
 }
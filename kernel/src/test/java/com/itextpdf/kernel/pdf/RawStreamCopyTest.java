@@ -0,0 +1,197 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.utils.PdfMerger;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+@Category(IntegrationTest.class)
+public class RawStreamCopyTest extends ExtendedITextTest {
+    public static final String destinationFolder = "./target/test/com/itextpdf/kernel/pdf/RawStreamCopyTest/";
+
+    private static final int PAGE_COUNT = 20;
+
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        createOrClearDestinationFolder(destinationFolder);
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(destinationFolder + "source.pdf"));
+        for (int i = 1; i <= PAGE_COUNT; i++) {
+            drawText(new PdfCanvas(pdfDoc.addNewPage()), i);
+        }
+        pdfDoc.close();
+    }
+
+    @Test
+    public void copyPagesWithRawContentTest() throws IOException {
+        String dest = destinationFolder + "copyPagesWithRawContent.pdf";
+        PdfDocument srcDoc = new PdfDocument(new PdfReader(destinationFolder + "source.pdf"));
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(dest));
+        srcDoc.copyPagesTo(1, PAGE_COUNT, pdfDoc);
+        for (int i = 1; i <= PAGE_COUNT; i++) {
+            PdfStream contentStream = pdfDoc.getPage(i).getFirstContentStream();
+            Assert.assertTrue(contentStream.hasRawContent());
+            Assert.assertNotNull(contentStream.get(PdfName.Filter));
+        }
+        pdfDoc.close();
+        srcDoc.close();
+
+        assertSameContent(destinationFolder + "source.pdf", dest);
+    }
+
+    @Test
+    public void closeSourceBeforeDestinationTest() throws IOException {
+        String dest = destinationFolder + "closeSourceBeforeDestination.pdf";
+        PdfDocument srcDoc = new PdfDocument(new PdfReader(destinationFolder + "source.pdf"));
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(dest));
+        srcDoc.copyPagesTo(1, PAGE_COUNT, pdfDoc);
+        srcDoc.close();
+        for (int i = 1; i <= PAGE_COUNT; i++) {
+            Assert.assertFalse(pdfDoc.getPage(i).getFirstContentStream().hasRawContent());
+        }
+        pdfDoc.close();
+
+        assertSameContent(destinationFolder + "source.pdf", dest);
+    }
+
+    @Test
+    public void mergeWithClosingSourcesTest() throws IOException {
+        String dest = destinationFolder + "mergeWithClosingSources.pdf";
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(dest));
+        PdfMerger merger = new PdfMerger(pdfDoc).setCloseSourceDocuments(true);
+        PdfDocument srcDoc = new PdfDocument(new PdfReader(destinationFolder + "source.pdf"));
+        merger.merge(srcDoc, 1, PAGE_COUNT);
+        PdfDocument expectedDoc = new PdfDocument(new PdfReader(destinationFolder + "source.pdf"));
+        for (int i = 1; i <= PAGE_COUNT; i++) {
+            Assert.assertFalse(pdfDoc.getPage(i).getFirstContentStream().isFlushed());
+            Assert.assertArrayEquals(expectedDoc.getPage(i).getContentBytes(), pdfDoc.getPage(i).getContentBytes());
+        }
+        expectedDoc.close();
+        merger.close();
+
+        assertSameContent(destinationFolder + "source.pdf", dest);
+    }
+
+    @Test
+    public void mergeWithFlushingCopiedStreamsTest() throws IOException {
+        String dest = destinationFolder + "mergeWithFlushingCopiedStreams.pdf";
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(dest));
+        PdfMerger merger = new PdfMerger(pdfDoc).setCloseSourceDocuments(true).setFlushCopiedStreams(true);
+        PdfDocument srcDoc = new PdfDocument(new PdfReader(destinationFolder + "source.pdf"));
+        merger.merge(srcDoc, 1, PAGE_COUNT);
+        for (int i = 1; i <= PAGE_COUNT; i++) {
+            Assert.assertTrue(pdfDoc.getPage(i).getFirstContentStream().isFlushed());
+        }
+        merger.close();
+
+        assertSameContent(destinationFolder + "source.pdf", dest);
+    }
+
+    @Test
+    public void appendToCopiedStreamTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument srcDoc = new PdfDocument(new PdfReader(destinationFolder + "source.pdf"));
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        srcDoc.copyPagesTo(1, 1, pdfDoc);
+        byte[] appended = "\nq Q".getBytes();
+        PdfStream contentStream = pdfDoc.getPage(1).getFirstContentStream();
+        contentStream.setData(appended, true);
+        Assert.assertFalse(contentStream.hasRawContent());
+        pdfDoc.close();
+
+        byte[] original = srcDoc.getPage(1).getFirstContentStream().getBytes();
+        byte[] expected = new byte[original.length + appended.length];
+        System.arraycopy(original, 0, expected, 0, original.length);
+        System.arraycopy(appended, 0, expected, original.length, appended.length);
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        Assert.assertArrayEquals(expected, resultDoc.getPage(1).getFirstContentStream().getBytes());
+        resultDoc.close();
+        srcDoc.close();
+    }
+
+    @Test
+    public void copyPagesToEncryptedDocumentTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        byte[] password = "owner".getBytes();
+        PdfDocument srcDoc = new PdfDocument(new PdfReader(destinationFolder + "source.pdf"));
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos, new WriterProperties()
+                .setStandardEncryption(null, password, EncryptionConstants.ALLOW_PRINTING, EncryptionConstants.ENCRYPTION_AES_128)));
+        srcDoc.copyPagesTo(1, PAGE_COUNT, pdfDoc);
+        pdfDoc.close();
+
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray()),
+                new ReaderProperties().setPassword(password)));
+        for (int i = 1; i <= PAGE_COUNT; i++) {
+            Assert.assertArrayEquals(srcDoc.getPage(i).getContentBytes(), resultDoc.getPage(i).getContentBytes());
+        }
+        resultDoc.close();
+        srcDoc.close();
+    }
+
+    private static void drawText(PdfCanvas canvas, int pageNumber) {
+        for (int line = 0; line < 200; line++) {
+            canvas.moveTo(line, pageNumber).lineTo(pageNumber * line % 595, line * 3 % 842).stroke();
+        }
+    }
+
+    private static void assertSameContent(String source, String result) throws IOException {
+        PdfDocument srcDoc = new PdfDocument(new PdfReader(source));
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(result));
+        Assert.assertEquals(srcDoc.getNumberOfPages(), resultDoc.getNumberOfPages());
+        for (int i = 1; i <= srcDoc.getNumberOfPages(); i++) {
+            Assert.assertArrayEquals(srcDoc.getPage(i).getFirstContentStream().getBytes(false),
+                    resultDoc.getPage(i).getFirstContentStream().getBytes(false));
+        }
+        srcDoc.close();
+        resultDoc.close();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.font.FontCache;
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Category(IntegrationTest.class)
+public class SharedFontProgramTest extends ExtendedITextTest {
+
+    private static final String fontsFolder = "./src/test/resources/com/itextpdf/kernel/pdf/fonts/";
+
+    static byte[] fontBytes;
+
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        fontBytes = StreamUtil.inputStreamToArray(new FileInputStream(fontsFolder + "NotoSerif-Regular.ttf"));
+    }
+
+    @AfterClass
+    public static void afterClass() throws Exception {
+        // the font programs are cached for the whole process, don't let them affect the tests run afterwards
+        Method clearSavedFonts = FontCache.class.getDeclaredMethod("clearSavedFonts");
+        clearSavedFonts.setAccessible(true);
+        clearSavedFonts.invoke(null);
+    }
+
+    @Test
+    public void fontProgramIsParsedOnceTest() throws IOException {
+        FontProgram first = FontProgramFactory.createFont(fontBytes);
+        FontProgram second = FontProgramFactory.createFont(fontBytes.clone());
+        Assert.assertSame(first, second);
+    }
+
+    @Test
+    public void concurrentDocumentsShareFontProgramTest() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<byte[]>> results = new ArrayList<>();
+            for (int i = 0; i < threads * 4; i++) {
+                final String text = "Document " + i + (i % 2 == 0 ? " even" : " ODD");
+                results.add(executor.submit(new Callable<byte[]>() {
+                    @Override
+                    public byte[] call() throws IOException {
+                        return createDocument(text, 1);
+                    }
+                }));
+            }
+            FontProgram sharedProgram = FontProgramFactory.createFont(fontBytes);
+            for (int i = 0; i < results.size(); i++) {
+                PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(results.get(i).get())));
+                String expected = "Document " + i + (i % 2 == 0 ? " even" : " ODD");
+                Assert.assertEquals(expected, PdfTextExtractor.getTextFromPage(pdfDoc.getFirstPage()));
+                pdfDoc.close();
+            }
+            Assert.assertSame(sharedProgram, FontProgramFactory.createFont(fontBytes));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void subsetsAreKeptPerDocumentTest() throws IOException {
+        byte[] small = createDocument("a", 1);
+        byte[] large = createDocument("abcdefghijklmnopqrstuvwxyz", 1);
+        byte[] smallAgain = createDocument("a", 1);
+
+        Assert.assertTrue(getEmbeddedFontLength(small) < getEmbeddedFontLength(large));
+        Assert.assertEquals(getEmbeddedFontLength(small), getEmbeddedFontLength(smallAgain));
+    }
+
+    static byte[] createDocument(String text, int pages) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        PdfFont font = PdfFontFactory.createFont(fontBytes, PdfEncodings.IDENTITY_H, true);
+        for (int i = 0; i < pages; i++) {
+            new PdfCanvas(pdfDoc.addNewPage())
+                    .beginText()
+                    .setFontAndSize(font, 12)
+                    .moveText(36, 700)
+                    .showText(text)
+                    .endText();
+        }
+        pdfDoc.close();
+        return baos.toByteArray();
+    }
+
+    private static int getEmbeddedFontLength(byte[] pdf) throws IOException {
+        PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)));
+        PdfDictionary fonts = pdfDoc.getFirstPage().getResources().getResource(PdfName.Font);
+        PdfDictionary font = fonts.getAsDictionary(fonts.keySet().iterator().next());
+        PdfDictionary descriptor = font.getAsArray(PdfName.DescendantFonts).getAsDictionary(0)
+                .getAsDictionary(PdfName.FontDescriptor);
+        int length = descriptor.getAsStream(PdfName.FontFile2).getBytes().length;
+        pdfDoc.close();
+        return length;
+    }
+}
@@ -0,0 +1,260 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Category(IntegrationTest.class)
+public class StreamSpillingTest extends ExtendedITextTest {
+
+    @Test
+    public void sameContentAsInMemoryTest() throws IOException {
+        byte[] inMemory = createDocument(new WriterProperties(), false);
+        byte[] spilled = createDocument(new WriterProperties().useStreamSpilling(1024), false);
+
+        Assert.assertEquals(inMemory.length, spilled.length);
+        assertSamePagesContent(inMemory, spilled);
+    }
+
+    @Test
+    public void spillingWithParallelCompressionTest() throws IOException {
+        byte[] inMemory = createDocument(new WriterProperties(), true);
+        byte[] spilled = createDocument(new WriterProperties()
+                .useStreamSpilling(1024).useParallelCompression(2), true);
+
+        Assert.assertEquals(inMemory.length, spilled.length);
+        assertSamePagesContent(inMemory, spilled);
+    }
+
+    @Test
+    public void spillingWithEncryptionTest() throws IOException {
+        byte[] password = "owner".getBytes();
+        byte[] spilled = createDocument(new WriterProperties().useStreamSpilling(1024)
+                .setFullCompressionMode(true)
+                .setStandardEncryption(null, password, EncryptionConstants.ALLOW_PRINTING, EncryptionConstants.ENCRYPTION_AES_128),
+                false);
+        byte[] inMemory = createDocument(new WriterProperties(), false);
+
+        assertSamePagesContent(inMemory, spilled);
+    }
+
+    @Test
+    public void spilledStreamDataTest() throws IOException {
+        byte[] data = createData(100000);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos, new WriterProperties().useStreamSpilling(4096)));
+        PdfStream compressed = (PdfStream) new PdfStream().makeIndirect(pdfDoc);
+        compressed.setData(data);
+        PdfStream uncompressed = (PdfStream) new PdfStream(CompressionConstants.NO_COMPRESSION).makeIndirect(pdfDoc);
+        uncompressed.getOutputStream().write(data, 0, 1000);
+        uncompressed.getOutputStream().write(data, 1000, data.length - 1000);
+        PdfStream small = (PdfStream) new PdfStream().makeIndirect(pdfDoc);
+        small.setData(data);
+        small.setData(Arrays.copyOf(data, 10));
+
+        Assert.assertTrue(isSpilled(compressed));
+        Assert.assertTrue(isSpilled(uncompressed));
+        Assert.assertFalse(isSpilled(small));
+        Assert.assertArrayEquals(data, compressed.getBytes());
+        Assert.assertArrayEquals(data, uncompressed.getBytes());
+
+        compressed.setData(new byte[] {1, 2, 3}, true);
+        byte[] appended = Arrays.copyOf(data, data.length + 3);
+        appended[data.length] = 1;
+        appended[data.length + 1] = 2;
+        appended[data.length + 2] = 3;
+        Assert.assertArrayEquals(appended, compressed.getBytes());
+
+        pdfDoc.getCatalog().put(new PdfName("Compressed"), compressed);
+        pdfDoc.getCatalog().put(new PdfName("Uncompressed"), uncompressed);
+        pdfDoc.getCatalog().put(new PdfName("Small"), small);
+        pdfDoc.addNewPage();
+        pdfDoc.close();
+
+        PdfDocument result = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        PdfDictionary catalog = result.getCatalog().getPdfObject();
+        Assert.assertArrayEquals(appended, catalog.getAsStream(new PdfName("Compressed")).getBytes());
+        Assert.assertEquals(PdfName.FlateDecode, catalog.getAsStream(new PdfName("Compressed")).get(PdfName.Filter));
+        Assert.assertArrayEquals(data, catalog.getAsStream(new PdfName("Uncompressed")).getBytes());
+        Assert.assertNull(catalog.getAsStream(new PdfName("Uncompressed")).get(PdfName.Filter));
+        Assert.assertArrayEquals(Arrays.copyOf(data, 10), catalog.getAsStream(new PdfName("Small")).getBytes());
+        result.close();
+    }
+
+    @Test
+    public void temporaryFilesDeletedTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos, new WriterProperties().useStreamSpilling(1024)));
+        for (int i = 1; i <= 5; i++) {
+            PdfPage page = pdfDoc.addNewPage();
+            drawText(new PdfCanvas(page), i);
+            Assert.assertTrue(isSpilled(page.getLastContentStream()));
+        }
+        List<File> created = getSpillFiles(pdfDoc);
+        Assert.assertEquals(5, created.size());
+        pdfDoc.close();
+
+        assertDeleted(created);
+    }
+
+    @Test
+    public void temporaryFilesDeletedOnFailedCloseTest() throws IOException {
+        FailingOutputStream out = new FailingOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(out, new WriterProperties().useStreamSpilling(1024)));
+        for (int i = 1; i <= 5; i++) {
+            PdfPage page = pdfDoc.addNewPage();
+            drawText(new PdfCanvas(page), i);
+        }
+        List<File> created = getSpillFiles(pdfDoc);
+        Assert.assertEquals(5, created.size());
+
+        out.failing = true;
+        try {
+            pdfDoc.close();
+            Assert.fail("PdfException expected");
+        } catch (PdfException expected) {
+        }
+
+        assertDeleted(created);
+    }
+
+    private static boolean isSpilled(PdfStream stream) {
+        java.io.OutputStream content = stream.getOutputStream().getOutputStream();
+        return content instanceof SpillingByteArrayOutputStream && ((SpillingByteArrayOutputStream) content).isSpilled();
+    }
+
+    private static byte[] createData(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i * 31 % 253);
+        }
+        return data;
+    }
+
+    private static List<File> getSpillFiles(PdfDocument pdfDoc) {
+        List<File> files = new ArrayList<>();
+        for (SpillingByteArrayOutputStream stream : pdfDoc.getWriter().getSpilledStreams()) {
+            File file = stream.getSpillFile();
+            Assert.assertTrue(file.isFile());
+            files.add(file);
+        }
+        return files;
+    }
+
+    private static void assertDeleted(List<File> files) {
+        for (File file : files) {
+            Assert.assertFalse(file.getPath() + " is not deleted", file.exists());
+        }
+    }
+
+    private static byte[] createDocument(WriterProperties properties, boolean flushPages) {
+        if (!properties.isStandardEncryptionUsed()) {
+            properties.setInitialDocumentId(new PdfString("initial")).setModifiedDocumentId(new PdfString("modified"));
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos, properties));
+        for (int i = 1; i <= 40; i++) {
+            PdfPage page = pdfDoc.addNewPage();
+            drawText(new PdfCanvas(page), i);
+            if (flushPages) {
+                page.flush();
+            }
+        }
+        pdfDoc.close();
+        return baos.toByteArray();
+    }
+
+    private static void drawText(PdfCanvas canvas, int pageNumber) {
+        for (int line = 0; line < 200; line++) {
+            canvas.moveTo(line, pageNumber).lineTo(pageNumber * line % 595, line * 3 % 842).stroke();
+        }
+    }
+
+    private static class FailingOutputStream extends ByteArrayOutputStream {
+        private boolean failing;
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            checkFailing();
+            super.write(b, off, len);
+        }
+
+        @Override
+        public void write(int b) {
+            checkFailing();
+            super.write(b);
+        }
+
+        private void checkFailing() {
+            if (failing) {
+                throw new PdfException(PdfException.IoException);
+            }
+        }
+    }
+
+    private static void assertSamePagesContent(byte[] expected, byte[] actual) throws IOException {
+        PdfDocument expectedDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(expected)));
+        PdfDocument actualDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(actual),
+                new ReaderProperties().setPassword("owner".getBytes())));
+        Assert.assertEquals(expectedDoc.getNumberOfPages(), actualDoc.getNumberOfPages());
+        for (int i = 1; i <= expectedDoc.getNumberOfPages(); i++) {
+            Assert.assertArrayEquals(expectedDoc.getPage(i).getContentBytes(), actualDoc.getPage(i).getContentBytes());
+        }
+        expectedDoc.close();
+        actualDoc.close();
+    }
+}
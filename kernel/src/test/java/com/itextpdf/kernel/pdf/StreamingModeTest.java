@@ -0,0 +1,195 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+@Category(IntegrationTest.class)
+public class StreamingModeTest extends ExtendedITextTest {
+
+    @Test
+    public void sameContentAsRegularModeTest() throws IOException {
+        for (int pages : new int[] {1, 9, 10, 11, 100, 101, 1234}) {
+            byte[] regular = createDocument(new WriterProperties(), pages);
+            byte[] streaming = createDocument(new WriterProperties().useStreamingMode(), pages);
+            assertSamePages(regular, streaming);
+        }
+    }
+
+    @Test
+    public void fullCompressionAndEncryptionTest() throws IOException {
+        byte[] regular = createDocument(new WriterProperties(), 345);
+        byte[] streaming = createDocument(new WriterProperties().useStreamingMode().setFullCompressionMode(true)
+                .setStandardEncryption(null, "owner".getBytes(), EncryptionConstants.ALLOW_PRINTING,
+                        EncryptionConstants.ENCRYPTION_AES_128), 345);
+        assertSamePages(regular, streaming);
+    }
+
+    @Test
+    public void releasedPagesTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos, new WriterProperties().useStreamingMode()));
+        for (int i = 1; i <= 35; i++) {
+            drawPageNumber(pdfDoc.addNewPage(), i);
+        }
+        // flushing out of order releases pages only once all the preceding ones are flushed
+        for (int i = 25; i >= 1; i--) {
+            pdfDoc.getPage(i).flush();
+        }
+        Assert.assertEquals(35, pdfDoc.getNumberOfPages());
+        Assert.assertEquals(20, pdfDoc.getCatalog().getPageTree().getReleasedPagesCount());
+        Assert.assertTrue(pdfDoc.getPage(21).isFlushed());
+        Assert.assertEquals(35, pdfDoc.getPageNumber(pdfDoc.getPage(35)));
+        try {
+            pdfDoc.getPage(20);
+            Assert.fail();
+        } catch (PdfException e) {
+            Assert.assertEquals("Page 20 has been already flushed and released in streaming mode.", e.getMessage());
+        }
+        try {
+            pdfDoc.addNewPage(3);
+            Assert.fail();
+        } catch (PdfException e) {
+            Assert.assertEquals("Page 3 has been already flushed and released in streaming mode.", e.getMessage());
+        }
+
+        // not released pages can still be inserted and removed
+        drawPageNumber(pdfDoc.addNewPage(30, PageSize.A5), 1000);
+        pdfDoc.removePage(31);
+        Assert.assertEquals(35, pdfDoc.getNumberOfPages());
+        pdfDoc.close();
+
+        PdfDocument result = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        Assert.assertEquals(35, result.getNumberOfPages());
+        for (int i = 1; i <= 35; i++) {
+            int expectedNumber = i == 30 ? 1000 : i;
+            Assert.assertArrayEquals(pageContent(expectedNumber), result.getPage(i).getFirstContentStream().getBytes());
+        }
+        Assert.assertTrue(PageSize.A5.equalsWithEpsilon(result.getPage(30).getPageSize()));
+        result.close();
+    }
+
+    @Test
+    public void flushedObjectsReleasedTest() throws IOException {
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream(),
+                new WriterProperties().useStreamingMode()));
+        PdfPage page = pdfDoc.addNewPage();
+        drawPageNumber(page, 1);
+        PdfStream content = page.getFirstContentStream();
+        int contentObjNr = content.getIndirectReference().getObjNumber();
+        Assert.assertSame(content.getIndirectReference(), pdfDoc.getXref().get(contentObjNr));
+        page.flush();
+        PdfIndirectReference released = pdfDoc.getXref().get(contentObjNr);
+        Assert.assertNotSame(content.getIndirectReference(), released);
+        Assert.assertTrue(released.checkState(PdfObject.FLUSHED));
+        Assert.assertEquals(content.getIndirectReference().getOffset(), released.getOffset());
+        Assert.assertNull(released.getRefersTo());
+        pdfDoc.close();
+    }
+
+    @Test
+    public void taggedDocumentNotReleasedTest() throws IOException {
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream(),
+                new WriterProperties().useStreamingMode()));
+        pdfDoc.setTagged();
+        for (int i = 1; i <= 15; i++) {
+            PdfPage page = pdfDoc.addNewPage();
+            drawPageNumber(page, i);
+        }
+        PdfStream content = pdfDoc.getPage(1).getFirstContentStream();
+        int contentObjNr = content.getIndirectReference().getObjNumber();
+        for (int i = 1; i <= 15; i++) {
+            pdfDoc.getPage(i).flush();
+        }
+        Assert.assertEquals(0, pdfDoc.getCatalog().getPageTree().getReleasedPagesCount());
+        Assert.assertSame(content.getIndirectReference(), pdfDoc.getXref().get(contentObjNr));
+        Assert.assertTrue(pdfDoc.getPage(1).isFlushed());
+        pdfDoc.close();
+    }
+
+    static byte[] createDocument(WriterProperties properties, int pages) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos, properties));
+        for (int i = 1; i <= pages; i++) {
+            PdfPage page = pdfDoc.addNewPage();
+            drawPageNumber(page, i);
+            page.flush();
+        }
+        pdfDoc.close();
+        return baos.toByteArray();
+    }
+
+    private static void drawPageNumber(PdfPage page, int pageNumber) {
+        new PdfCanvas(page).getContentStream().setData(pageContent(pageNumber));
+    }
+
+    private static byte[] pageContent(int pageNumber) {
+        return ("0 0 m " + pageNumber + " " + pageNumber + " l S").getBytes();
+    }
+
+    private static void assertSamePages(byte[] expected, byte[] actual) throws IOException {
+        PdfDocument expectedDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(expected)));
+        PdfDocument actualDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(actual),
+                new ReaderProperties().setPassword("owner".getBytes())));
+        Assert.assertEquals(expectedDoc.getNumberOfPages(), actualDoc.getNumberOfPages());
+        Assert.assertEquals(expectedDoc.getNumberOfPages(),
+                actualDoc.getCatalog().getPdfObject().getAsDictionary(PdfName.Pages).getAsNumber(PdfName.Count).intValue());
+        for (int i = 1; i <= expectedDoc.getNumberOfPages(); i++) {
+            Assert.assertArrayEquals(expectedDoc.getPage(i).getContentBytes(), actualDoc.getPage(i).getContentBytes());
+            Assert.assertEquals(i, actualDoc.getPageNumber(actualDoc.getPage(i)));
+        }
+        expectedDoc.close();
+        actualDoc.close();
+    }
+}
@@ -44,9 +44,16 @@ package com.itextpdf.kernel.pdf.canvas.parser;
 
 import com.itextpdf.io.LogMessageConstant;
 import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfLiteral;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfObject;
 import com.itextpdf.kernel.pdf.PdfPage;
 import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfResources;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.kernel.pdf.canvas.parser.data.ClippingPathInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
@@ -54,14 +61,19 @@ import com.itextpdf.kernel.pdf.canvas.parser.data.ImageRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.PathRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
+import com.itextpdf.kernel.pdf.canvas.parser.util.PdfCanvasParser;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.LogMessage;
 import com.itextpdf.test.annotations.LogMessages;
 import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 
 @Category(IntegrationTest.class)
@@ -148,6 +160,43 @@ public class PdfCanvasProcessorTest extends ExtendedITextTest {
         processor.processPageContent(document.getPage(1));
     }
 
+    @Test
+    public void operatorsAreDispatchedByLiteralTest() {
+        final List<String> invoked = new ArrayList<>();
+        IContentOperator recordingOperator = new IContentOperator() {
+            @Override
+            public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+                invoked.add(operator.toString() + operands.size());
+            }
+        };
+        PdfCanvasProcessor processor = new PdfCanvasProcessor(new NoOpEventListener());
+        processor.registerContentOperator("xy", recordingOperator);
+        processor.registerContentOperator(PdfCanvasProcessor.DEFAULT_OPERATOR, recordingOperator);
+        Assert.assertTrue(processor.getRegisteredOperatorStrings().contains("xy"));
+        Assert.assertTrue(processor.getRegisteredOperatorStrings().contains(PdfCanvasProcessor.DEFAULT_OPERATOR));
+
+        processor.processContent("1 2 xy 3 unknown xy xyz".getBytes(), new PdfResources());
+        Assert.assertEquals(Arrays.asList("xy3", "unknown2", "xy1", "xyz1"), invoked);
+    }
+
+    @Test
+    public void operandsListIsReusedTest() throws IOException {
+        PdfCanvasParser parser = new PdfCanvasParser(new PdfTokenizer(new RandomAccessFileOrArray(
+                new RandomAccessSourceFactory().createSource("0 -.5 m 1.25 1 l S".getBytes()))));
+        List<PdfObject> operands = new ArrayList<>();
+        Assert.assertSame(operands, parser.parse(operands));
+        Assert.assertEquals(3, operands.size());
+        Assert.assertEquals(-0.5, ((PdfNumber) operands.get(1)).doubleValue(), 0);
+        Assert.assertEquals(new PdfLiteral("m"), operands.get(2));
+        parser.parse(operands);
+        Assert.assertEquals(3, operands.size());
+        Assert.assertEquals(1.25, ((PdfNumber) operands.get(0)).doubleValue(), 0);
+        Assert.assertEquals(new PdfLiteral("l"), operands.get(2));
+        parser.parse(operands);
+        Assert.assertEquals(Arrays.<PdfObject>asList(new PdfLiteral("S")), operands);
+        Assert.assertEquals(0, parser.parse(operands).size());
+    }
+
     private static class NoOpEventListener implements IEventListener {
         @Override
         public void eventOccurred(IEventData data, EventType type) {
@@ -0,0 +1,141 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.EncryptionConstants;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.SimpleTextExtractionStrategy;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+@Category(IntegrationTest.class)
+public class PdfParallelTextExtractorTest extends ExtendedITextTest {
+
+    private static final String sourceFolder = "./src/test/resources/com/itextpdf/kernel/parser/LocationExtractionTest/";
+
+    @Test
+    public void sameTextAsSerialExtractionTest() throws IOException {
+        String inFile = sourceFolder + "aliceInWonderland.pdf";
+        PdfParallelTextExtractor extractor = new PdfParallelTextExtractor(inFile).setForkJoinPool(new ForkJoinPool(4));
+        List<String> texts = extractor.getTextFromPages();
+        extractor.close();
+
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(inFile));
+        Assert.assertEquals(pdfDocument.getNumberOfPages(), texts.size());
+        for (int i = 1; i <= pdfDocument.getNumberOfPages(); i++) {
+            Assert.assertEquals(PdfTextExtractor.getTextFromPage(pdfDocument.getPage(i)), texts.get(i - 1));
+        }
+        pdfDocument.close();
+    }
+
+    @Test
+    public void pagesAreReturnedInOrderTest() throws IOException {
+        byte[] pdf = createDocument(100, new WriterProperties().setFullCompressionMode(true));
+        PdfParallelTextExtractor extractor = new PdfParallelTextExtractor(pdf).setForkJoinPool(new ForkJoinPool(8));
+        List<String> texts = extractor.getTextFromPages(new PdfParallelTextExtractor.IStrategyFactory() {
+            @Override
+            public ITextExtractionStrategy createStrategy(int pageNumber) {
+                return new SimpleTextExtractionStrategy();
+            }
+        });
+        extractor.close();
+
+        Assert.assertEquals(100, texts.size());
+        for (int i = 1; i <= 100; i++) {
+            Assert.assertEquals(getPageText(i), texts.get(i - 1));
+        }
+    }
+
+    @Test
+    public void encryptedDocumentTest() throws IOException {
+        byte[] password = "owner".getBytes();
+        byte[] pdf = createDocument(10, new WriterProperties().setStandardEncryption(password, password, 0,
+                EncryptionConstants.ENCRYPTION_AES_128));
+        PdfParallelTextExtractor extractor = new PdfParallelTextExtractor(pdf)
+                .setReaderProperties(new ReaderProperties().setPassword(password));
+        List<String> texts = extractor.getTextFromPages();
+        extractor.close();
+
+        for (int i = 1; i <= 10; i++) {
+            Assert.assertEquals(getPageText(i), texts.get(i - 1));
+        }
+    }
+
+    static byte[] createDocument(int numberOfPages, WriterProperties properties) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos, properties));
+        PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+        for (int i = 1; i <= numberOfPages; i++) {
+            new PdfCanvas(pdfDocument.addNewPage())
+                    .beginText()
+                    .setFontAndSize(font, 12)
+                    .moveText(36, 700)
+                    .showText(getPageText(i))
+                    .endText();
+        }
+        pdfDocument.close();
+        return baos.toByteArray();
+    }
+
+    private static String getPageText(int pageNumber) {
+        return "Text of page " + pageNumber;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.filters;
+
+import com.itextpdf.kernel.pdf.CompressionConstants;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+@Category(IntegrationTest.class)
+public class FlateCodecProviderTest extends ExtendedITextTest {
+
+    @Test
+    public void fastProviderRoundTripTest() throws IOException {
+        byte[] data = createData(200000);
+        byte[] defaultCompressed = deflate(JdkFlateCodecProvider.getInstance(), data, CompressionConstants.BEST_COMPRESSION);
+        byte[] fastCompressed = deflate(new FastFlateCodecProvider(), data, CompressionConstants.BEST_COMPRESSION);
+        Assert.assertTrue(fastCompressed.length < data.length);
+        Assert.assertTrue(defaultCompressed.length <= fastCompressed.length);
+
+        Assert.assertArrayEquals(data, FlateDecodeFilter.flateDecode(fastCompressed, true));
+        Assert.assertArrayEquals(data, FlateDecodeFilter.flateDecode(defaultCompressed, true, new FastFlateCodecProvider()));
+        Assert.assertArrayEquals(data, FlateDecodeFilter.flateDecode(fastCompressed, true, new FastFlateCodecProvider()));
+    }
+
+    @Test
+    public void documentProvidersTest() throws IOException {
+        CountingProvider writingProvider = new CountingProvider();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos, new WriterProperties().setFlateCodecProvider(writingProvider)));
+        for (int i = 0; i < 3; i++) {
+            pdfDoc.addNewPage().getFirstContentStream().setData(createData(5000));
+        }
+        pdfDoc.close();
+        Assert.assertEquals(3, writingProvider.deflaterCount.get());
+        Assert.assertEquals(0, writingProvider.inflaterCount.get());
+
+        CountingProvider readingProvider = new CountingProvider();
+        PdfDocument result = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray()),
+                new ReaderProperties().setFlateCodecProvider(readingProvider)));
+        for (int i = 1; i <= 3; i++) {
+            PdfPage page = result.getPage(i);
+            Assert.assertArrayEquals(createData(5000), page.getFirstContentStream().getBytes());
+        }
+        Assert.assertEquals(3, readingProvider.inflaterCount.get());
+        result.close();
+    }
+
+    private static byte[] deflate(IFlateCodecProvider provider, byte[] data, int level) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DeflaterOutputStream zip = provider.createDeflaterStream(baos, level, 512);
+        zip.write(data);
+        zip.finish();
+        return baos.toByteArray();
+    }
+
+    private static byte[] createData(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) ("0 0 m 100 100 l S ".charAt(i % 18) + i / 1000 % 3);
+        }
+        return data;
+    }
+
+    private static class CountingProvider implements IFlateCodecProvider {
+        final AtomicInteger deflaterCount = new AtomicInteger();
+        final AtomicInteger inflaterCount = new AtomicInteger();
+
+        @Override
+        public DeflaterOutputStream createDeflaterStream(OutputStream out, int level, int bufferSize) {
+            deflaterCount.incrementAndGet();
+            return JdkFlateCodecProvider.getInstance().createDeflaterStream(out, level, bufferSize);
+        }
+
+        @Override
+        public InflaterInputStream createInflaterStream(InputStream in) {
+            inflaterCount.incrementAndGet();
+            return JdkFlateCodecProvider.getInstance().createInflaterStream(in);
+        }
+    }
+}
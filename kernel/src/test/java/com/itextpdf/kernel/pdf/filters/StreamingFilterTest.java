@@ -0,0 +1,309 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.filters;
+
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.DeflaterOutputStream;
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+@Category(IntegrationTest.class)
+public class StreamingFilterTest extends ExtendedITextTest {
+
+    private static final String kernelResources = "./src/test/resources/com/itextpdf/kernel/";
+
+    @Test
+    public void flateDecodeTest() throws IOException {
+        byte[] data = createRandomData(100000, 1);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DeflaterOutputStream zip = new DeflaterOutputStream(baos);
+        zip.write(data);
+        zip.close();
+        byte[] compressed = baos.toByteArray();
+        assertSameDecoding(new FlateDecodeFilter(), compressed, null);
+
+        // not strict decoding of corrupted data stops at the corrupted part
+        byte[] corrupted = new byte[compressed.length / 2];
+        System.arraycopy(compressed, 0, corrupted, 0, corrupted.length);
+        byte[] decoded = StreamUtil.inputStreamToArray(new FlateDecodeFilter().decode(new ByteArrayInputStream(corrupted), PdfName.FlateDecode, null, null));
+        Assert.assertTrue(decoded.length > 0);
+        Assert.assertArrayEquals(java.util.Arrays.copyOf(data, decoded.length), decoded);
+        try {
+            StreamUtil.inputStreamToArray(new FlateDecodeFilter(true).decode(new ByteArrayInputStream(corrupted), PdfName.FlateDecode, null, null));
+            Assert.fail();
+        } catch (IOException expected) {
+        }
+    }
+
+    @Test
+    public void pngPredictorTest() throws IOException {
+        int columns = 333;
+        int colors = 3;
+        Random random = new Random(2);
+        ByteArrayOutputStream predicted = new ByteArrayOutputStream();
+        for (int row = 0; row < 100; row++) {
+            predicted.write(random.nextInt(5));
+            byte[] rowData = new byte[columns * colors];
+            random.nextBytes(rowData);
+            predicted.write(rowData);
+        }
+        // the incomplete row is dropped
+        predicted.write(1);
+        predicted.write(new byte[10]);
+        PdfDictionary decodeParams = createDecodeParams(12, colors, columns);
+        byte[] expected = FlateDecodeFilter.decodePredictor(predicted.toByteArray(), decodeParams);
+        Assert.assertEquals(100 * columns * colors, expected.length);
+        assertSameBytes(expected, FlateDecodeFilter.decodePredictor(new ByteArrayInputStream(predicted.toByteArray()), decodeParams));
+    }
+
+    @Test
+    public void tiffPredictorTest() throws IOException {
+        PdfDictionary decodeParams = createDecodeParams(2, 4, 101);
+        byte[] predicted = createRandomData(4 * 101 * 50 + 7, 3);
+        byte[] expected = FlateDecodeFilter.decodePredictor(predicted.clone(), decodeParams);
+        assertSameBytes(expected, FlateDecodeFilter.decodePredictor(new ByteArrayInputStream(predicted), decodeParams));
+    }
+
+    @Test
+    public void lzwDecodeTest() throws IOException {
+        byte[] data = createRandomData(50000, 4);
+        PdfDictionary decodeParams = createDecodeParams(12, 1, 100);
+        byte[] predicted = new byte[data.length / 101 * 101];
+        for (int i = 0; i < predicted.length; i++) {
+            predicted[i] = i % 101 == 0 ? (byte) (i / 101 % 5) : data[i];
+        }
+        byte[] encoded = lzwEncode(predicted);
+        Assert.assertArrayEquals(predicted, LZWDecodeFilter.LZWDecode(encoded));
+        assertSameDecoding(new LZWDecodeFilter(), encoded, null);
+        assertSameDecoding(new LZWDecodeFilter(), encoded, decodeParams);
+    }
+
+    @Test
+    public void asciiDecodeTest() throws IOException {
+        Random random = new Random(5);
+        StringBuilder hex = new StringBuilder();
+        StringBuilder a85 = new StringBuilder();
+        int a85GroupPosition = 0;
+        for (int i = 0; i < 30000; i++) {
+            hex.append("0123456789abcdefABCDEF \n".charAt(random.nextInt(24)));
+            if (random.nextInt(50) == 0) {
+                a85.append(a85GroupPosition == 0 ? 'z' : ' ');
+            } else {
+                // the highest character is not used to avoid overflow of the group
+                a85.append((char) ('!' + random.nextInt(a85GroupPosition == 0 ? 50 : 85)));
+                a85GroupPosition = (a85GroupPosition + 1) % 5;
+            }
+        }
+        for (int tail = 0; tail < 5; tail++) {
+            byte[] hexData = (hex.substring(0, hex.length() - tail) + ">garbage").getBytes();
+            byte[] a85Data = (a85.substring(0, a85.length() - tail) + "~>").getBytes();
+            assertSameDecoding(new ASCIIHexDecodeFilter(), hexData, null);
+            assertSameDecoding(new ASCII85DecodeFilter(), a85Data, null);
+        }
+    }
+
+    @Test
+    public void runLengthDecodeTest() throws IOException {
+        Random random = new Random(6);
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        for (int i = 0; i < 2000; i++) {
+            int length = random.nextInt(256);
+            if (length == 128) {
+                continue;
+            }
+            encoded.write(length);
+            byte[] run = new byte[length < 128 ? length + 1 : 1];
+            random.nextBytes(run);
+            encoded.write(run);
+        }
+        encoded.write(128);
+        encoded.write(new byte[] {1, 2, 3});
+        assertSameDecoding(new RunLengthDecodeFilter(), encoded.toByteArray(), null);
+    }
+
+    @Test
+    public void readStreamTest() throws IOException {
+        assertSameStreams(kernelResources + "parser/BidiTextExtractionTest/in05.pdf", null);
+        assertSameStreams(kernelResources + "parser/PdfImageXObjectTest/ASCII85_RunLengthDecode.pdf", null);
+        assertSameStreams(kernelResources + "parser/PdfImageXObjectTest/flatedecode_runlengthdecode.pdf", null);
+        assertSameStreams(kernelResources + "parser/FilteredEventListenerTest/test.pdf", null);
+    }
+
+    @Test
+    public void readEncryptedStreamTest() throws IOException {
+        byte[] password = "World".getBytes();
+        assertSameStreams(kernelResources + "crypto/PdfEncryptionTest/cmp_encryptWithPasswordAes128.pdf", password);
+        assertSameStreams(kernelResources + "crypto/PdfEncryptionTest/cmp_encryptWithPasswordStandard128NoCompression.pdf", password);
+    }
+
+    private static void assertSameStreams(String src, byte[] password) throws IOException {
+        PdfReader reader = new PdfReader(src, new ReaderProperties().setPassword(password));
+        PdfDocument pdfDoc = new PdfDocument(reader);
+        int streamsCount = 0;
+        for (int i = 1; i < pdfDoc.getNumberOfPdfObjects(); i++) {
+            PdfObject object = pdfDoc.getPdfObject(i);
+            if (object == null || !object.isStream()) {
+                continue;
+            }
+            PdfStream stream = (PdfStream) object;
+            Assert.assertArrayEquals(reader.readStreamBytes(stream, false), StreamUtil.inputStreamToArray(reader.readStream(stream, false)));
+            byte[] decoded;
+            try {
+                decoded = reader.readStreamBytes(stream, true);
+            } catch (RuntimeException e) {
+                // e.g. DCTDecode is not supported
+                continue;
+            }
+            Assert.assertArrayEquals(decoded, StreamUtil.inputStreamToArray(reader.readStream(stream, true)));
+            streamsCount++;
+        }
+        Assert.assertTrue(streamsCount > 0);
+        pdfDoc.close();
+    }
+
+    private static void assertSameDecoding(IFilterHandler filter, byte[] encoded, PdfDictionary decodeParams) throws IOException {
+        byte[] expected = filter.decode(encoded.clone(), PdfName.Filter, decodeParams, null);
+        assertSameBytes(expected, ((IStreamingFilterHandler) filter).decode(new ByteArrayInputStream(encoded), PdfName.Filter, decodeParams, null));
+    }
+
+    private static void assertSameBytes(byte[] expected, InputStream decoded) throws IOException {
+        // read with different portion sizes
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int portion = 1;
+        int n;
+        while ((n = portion == 1 ? oneByte(decoded, buffer) : decoded.read(buffer, 0, portion)) >= 0) {
+            baos.write(buffer, 0, n);
+            portion = portion % 997 + 13;
+        }
+        decoded.close();
+        Assert.assertArrayEquals(expected, baos.toByteArray());
+    }
+
+    private static int oneByte(InputStream in, byte[] buffer) throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            return -1;
+        }
+        buffer[0] = (byte) b;
+        return 1;
+    }
+
+    private static PdfDictionary createDecodeParams(int predictor, int colors, int columns) {
+        PdfDictionary decodeParams = new PdfDictionary();
+        decodeParams.put(PdfName.Predictor, new PdfNumber(predictor));
+        decodeParams.put(PdfName.Colors, new PdfNumber(colors));
+        decodeParams.put(PdfName.Columns, new PdfNumber(columns));
+        return decodeParams;
+    }
+
+    private static byte[] createRandomData(int length, long seed) {
+        Random random = new Random(seed);
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            // compressible data
+            data[i] = (byte) (random.nextInt(8) == 0 ? random.nextInt() : i / 100);
+        }
+        return data;
+    }
+
+    // encodes with 9-bit codes only, the string table is cleared before the code size would grow
+    private static byte[] lzwEncode(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        java.util.Map<String, Integer> table = new java.util.HashMap<>();
+        int[] bits = new int[2];
+        writeCode(out, bits, 256);
+        String current = "";
+        int nextCode = 258;
+        for (byte b : data) {
+            String next = current + (char) (b & 0xff);
+            if (current.length() == 0 || next.length() == 1 || table.containsKey(next)) {
+                current = next;
+                continue;
+            }
+            writeCode(out, bits, current.length() == 1 ? current.charAt(0) : table.get(current));
+            table.put(next, nextCode++);
+            if (nextCode == 510) {
+                writeCode(out, bits, 256);
+                table.clear();
+                nextCode = 258;
+            }
+            current = String.valueOf((char) (b & 0xff));
+        }
+        if (current.length() > 0) {
+            writeCode(out, bits, current.length() == 1 ? current.charAt(0) : table.get(current));
+        }
+        writeCode(out, bits, 257);
+        if (bits[1] > 0) {
+            out.write(bits[0] << (8 - bits[1]));
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeCode(ByteArrayOutputStream out, int[] bits, int code) {
+        bits[0] = (bits[0] << 9) | code;
+        bits[1] += 9;
+        while (bits[1] >= 8) {
+            out.write((bits[0] >> (bits[1] - 8)) & 0xff);
+            bits[1] -= 8;
+        }
+        bits[0] &= (1 << bits[1]) - 1;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.xobject;
+
+import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.File;
+import java.io.IOException;
+
+@Category(IntegrationTest.class)
+public class ImageXObjectCacheTest extends ExtendedITextTest {
+    public static final String destinationFolder = "./target/test/com/itextpdf/kernel/pdf/xobject/ImageXObjectCacheTest/";
+    public static final String sourceFolder = "./src/test/resources/com/itextpdf/kernel/pdf/ImageFormatsTest/";
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void hitAndMissStatisticsTest() throws IOException {
+        ImageXObjectCache cache = new ImageXObjectCache(ImageXObjectCache.DEFAULT_MAX_SIZE);
+        byte[] png = readFile(sourceFolder + "manualTransparency_32bit.png");
+        byte[] tif = readFile(sourceFolder + "manualTransparency_tif.tif");
+
+        PdfImageXObject first = cache.getImageXObject(png);
+        PdfImageXObject second = cache.getImageXObject(png.clone());
+        cache.getImageXObject(tif);
+
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(2, cache.getMissCount());
+        Assert.assertEquals(2, cache.getImageCount());
+        Assert.assertNotSame(first.getPdfObject(), second.getPdfObject());
+        Assert.assertNotSame(first.getPdfObject().getAsStream(PdfName.SMask), second.getPdfObject().getAsStream(PdfName.SMask));
+        Assert.assertArrayEquals(first.getPdfObject().getBytes(false), second.getPdfObject().getBytes(false));
+    }
+
+    @Test
+    public void cachedImageHasSameSamplesTest() throws IOException {
+        ImageXObjectCache cache = new ImageXObjectCache(ImageXObjectCache.DEFAULT_MAX_SIZE);
+        String path = sourceFolder + "manualTransparency_32bit.png";
+        cache.getImageXObject(new File(path).toURI().toURL());
+        PdfImageXObject cached = cache.getImageXObject(new File(path).toURI().toURL());
+        PdfImageXObject expected = new PdfImageXObject(ImageDataFactory.create(path));
+
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(PdfName.FlateDecode, cached.getPdfObject().get(PdfName.Filter));
+        Assert.assertArrayEquals(expected.getPdfObject().getBytes(), cached.getPdfObject().getBytes());
+        Assert.assertArrayEquals(expected.getPdfObject().getAsStream(PdfName.SMask).getBytes(),
+                cached.getPdfObject().getAsStream(PdfName.SMask).getBytes());
+    }
+
+    @Test
+    public void sameImageInSeveralDocumentsTest() throws IOException {
+        ImageXObjectCache cache = new ImageXObjectCache(ImageXObjectCache.DEFAULT_MAX_SIZE);
+        byte[] png = readFile(sourceFolder + "manualTransparency_8bit.png");
+        for (int i = 0; i < 3; i++) {
+            String outFileName = destinationFolder + "sameImageInSeveralDocuments" + i + ".pdf";
+            PdfDocument pdfDocument = new PdfDocument(new PdfWriter(outFileName));
+            new PdfCanvas(pdfDocument.addNewPage()).addXObject(cache.getImageXObject(png), 36, 500, 200);
+            pdfDocument.close();
+        }
+        Assert.assertEquals(2, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+
+        PdfImageXObject expected = new PdfImageXObject(ImageDataFactory.create(png));
+        for (int i = 0; i < 3; i++) {
+            PdfDocument resultDocument = new PdfDocument(new PdfReader(destinationFolder + "sameImageInSeveralDocuments" + i + ".pdf"));
+            PdfStream image = resultDocument.getPage(1).getResources().getResource(PdfName.XObject).getAsStream(new PdfName("Im1"));
+            Assert.assertArrayEquals(expected.getPdfObject().getBytes(), image.getBytes());
+            resultDocument.close();
+        }
+    }
+
+    @Test
+    public void leastRecentlyUsedImageEvictedTest() throws IOException {
+        byte[] png8 = readFile(sourceFolder + "manualTransparency_8bit.png");
+        byte[] png24 = readFile(sourceFolder + "manualTransparency_24bit.png");
+        byte[] png32 = readFile(sourceFolder + "manualTransparency_32bit.png");
+
+        ImageXObjectCache probe = new ImageXObjectCache(ImageXObjectCache.DEFAULT_MAX_SIZE);
+        probe.getImageXObject(png8);
+        probe.getImageXObject(png24);
+        long maxSize = probe.getSize();
+
+        ImageXObjectCache cache = new ImageXObjectCache(maxSize);
+        cache.getImageXObject(png8);
+        cache.getImageXObject(png24);
+        Assert.assertEquals(0, cache.getEvictionCount());
+        // touches the first image so that the second one becomes the least recently used
+        cache.getImageXObject(png8);
+        cache.getImageXObject(png32);
+
+        Assert.assertEquals(1, cache.getEvictionCount());
+        Assert.assertEquals(2, cache.getImageCount());
+        Assert.assertTrue(cache.getSize() <= maxSize);
+        long hitCount = cache.getHitCount();
+        cache.getImageXObject(png8);
+        Assert.assertEquals(hitCount + 1, cache.getHitCount());
+        cache.getImageXObject(png24);
+        Assert.assertEquals(hitCount + 1, cache.getHitCount());
+    }
+
+    @Test
+    public void imageLargerThanLimitNotCachedTest() throws IOException {
+        ImageXObjectCache cache = new ImageXObjectCache(1024);
+        byte[] tif = readFile(sourceFolder + "manualTransparency_tif.tif");
+        PdfImageXObject image = cache.getImageXObject(tif);
+        cache.getImageXObject(tif);
+
+        Assert.assertNotNull(image);
+        Assert.assertEquals(0, cache.getImageCount());
+        Assert.assertEquals(0, cache.getSize());
+        Assert.assertEquals(2, cache.getMissCount());
+    }
+}
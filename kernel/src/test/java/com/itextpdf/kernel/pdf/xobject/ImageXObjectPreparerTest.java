@@ -0,0 +1,141 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.xobject;
+
+import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.kernel.pdf.CompressionConstants;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+@Category(IntegrationTest.class)
+public class ImageXObjectPreparerTest extends ExtendedITextTest {
+    public static final String destinationFolder = "./target/test/com/itextpdf/kernel/pdf/xobject/ImageXObjectPreparerTest/";
+    public static final String sourceFolder = "./src/test/resources/com/itextpdf/kernel/pdf/ImageFormatsTest/";
+
+    private static final String[] IMAGES = {"manualTransparency_8bit.png", "manualTransparency_24bit.png",
+            "manualTransparency_32bit.png", "manualTransparency_gif.gif", "manualTransparency_tif.tif"};
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void preparedImagesHaveSameSamplesTest() throws IOException, ExecutionException, InterruptedException {
+        List<Future<PdfImageXObject>> futures = new ArrayList<>();
+        try (ImageXObjectPreparer preparer = new ImageXObjectPreparer(2)) {
+            for (String image : IMAGES) {
+                futures.add(preparer.prepare(readFile(sourceFolder + image)));
+            }
+        }
+        for (int i = 0; i < IMAGES.length; i++) {
+            PdfImageXObject prepared = futures.get(i).get();
+            PdfImageXObject serial = new PdfImageXObject(ImageDataFactory.create(sourceFolder + IMAGES[i]));
+            Assert.assertNotNull(prepared.getPdfObject().get(PdfName.Filter));
+            Assert.assertEquals(serial.getWidth(), prepared.getWidth(), 0);
+            Assert.assertEquals(serial.getHeight(), prepared.getHeight(), 0);
+            Assert.assertArrayEquals(serial.getPdfObject().getBytes(), prepared.getPdfObject().getBytes());
+            assertMaskSamplesEqual(serial.getPdfObject().getAsStream(PdfName.SMask), prepared.getPdfObject().getAsStream(PdfName.SMask));
+        }
+    }
+
+    @Test
+    public void preparedImagesAddedToCanvasTest() throws IOException, ExecutionException, InterruptedException {
+        String outFileName = destinationFolder + "preparedImagesAddedToCanvas.pdf";
+        List<Future<PdfImageXObject>> futures = new ArrayList<>();
+        try (ImageXObjectPreparer preparer = new ImageXObjectPreparer(3)) {
+            for (String image : IMAGES) {
+                futures.add(preparer.prepare(ImageDataFactory.create(sourceFolder + image)));
+            }
+        }
+
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(outFileName));
+        PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage());
+        for (int i = 0; i < futures.size(); i++) {
+            canvas.addXObject(futures.get(i).get(), 20 + 100 * i, 500, 80);
+        }
+        pdfDocument.close();
+
+        PdfDocument resultDocument = new PdfDocument(new PdfReader(outFileName));
+        PdfImageXObject image = new PdfImageXObject(resultDocument.getPage(1).getResources()
+                .getResource(PdfName.XObject).getAsStream(new PdfName("Im1")));
+        PdfImageXObject expected = new PdfImageXObject(ImageDataFactory.create(sourceFolder + IMAGES[0]));
+        Assert.assertArrayEquals(expected.getPdfObject().getBytes(), image.getPdfObject().getBytes());
+        resultDocument.close();
+    }
+
+    @Test
+    public void noCompressionLeavesSamplesToWriterTest() throws IOException, ExecutionException, InterruptedException {
+        Future<PdfImageXObject> future;
+        try (ImageXObjectPreparer preparer = new ImageXObjectPreparer(1, CompressionConstants.NO_COMPRESSION, null)) {
+            future = preparer.prepare(ImageDataFactory.create(sourceFolder + "manualTransparency_tif.tif"));
+        }
+        PdfImageXObject serial = new PdfImageXObject(ImageDataFactory.create(sourceFolder + "manualTransparency_tif.tif"));
+        Assert.assertEquals(serial.getPdfObject().get(PdfName.Filter), future.get().getPdfObject().get(PdfName.Filter));
+    }
+
+    private static void assertMaskSamplesEqual(PdfStream expected, PdfStream actual) {
+        if (expected == null) {
+            Assert.assertNull(actual);
+        } else {
+            Assert.assertNotNull(actual.get(PdfName.Filter));
+            Assert.assertArrayEquals(expected.getBytes(), actual.getBytes());
+        }
+    }
+}
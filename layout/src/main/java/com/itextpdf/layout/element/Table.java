@@ -779,17 +779,18 @@ public class Table extends BlockElement<Table> implements ILargeElement {
         int firstRow = lastAddedRowGroups.get(0).startRow;
         int lastRow = lastAddedRowGroups.get(lastAddedRowGroups.size() - 1).finishRow;
 
-        List<IElement> toRemove = new ArrayList<>();
+        // Keep the remaining cells rather than remove the flushed ones one by one,
+        // so that flushing is linear in the number of cells.
+        List<IElement> remaining = new ArrayList<>(childElements.size());
         for (IElement cell : childElements) {
-            if (((Cell) cell).getRow() >= firstRow && ((Cell) cell).getRow() <= lastRow) {
-                toRemove.add(cell);
+            if (((Cell) cell).getRow() < firstRow || ((Cell) cell).getRow() > lastRow) {
+                remaining.add(cell);
             }
         }
-        childElements.removeAll(toRemove);
+        childElements.clear();
+        childElements.addAll(remaining);
 
-        for (int i = 0; i < lastRow - firstRow; i++) {
-            rows.remove(firstRow - rowWindowStart);
-        }
+        rows.subList(firstRow - rowWindowStart, lastRow - rowWindowStart).clear();
         lastAddedRow = rows.remove(firstRow - rowWindowStart);
         rowWindowStart = lastAddedRowGroups.get(lastAddedRowGroups.size() - 1).getFinishRow() + 1;
 
@@ -58,6 +58,8 @@ public class ComplexFontSelectorStrategy extends FontSelectorStrategy {
 
     private PdfFont font;
     private FontSelector selector;
+    // Coverages of the selector fonts, resolved on first use.
+    private FontCoverage[] coverages;
 
 
     public ComplexFontSelectorStrategy(String text, FontSelector selector, FontProvider provider, FontSet tempFonts) {
@@ -82,12 +84,12 @@ public class ComplexFontSelectorStrategy extends FontSelectorStrategy {
         font = null;
         int nextUnignorable = nextSignificantIndex();
         if (nextUnignorable < text.length()) {
+            int codePoint = isSurrogatePair(text, nextUnignorable)
+                    ? TextUtil.convertToUtf32(text, nextUnignorable)
+                    : (int) text.charAt(nextUnignorable);
+            int fontIndex = 0;
             for (FontInfo f : selector.getFonts()) {
-                int codePoint = isSurrogatePair(text, nextUnignorable)
-                        ? TextUtil.convertToUtf32(text, nextUnignorable)
-                        : (int) text.charAt(nextUnignorable);
-
-                if (f.getFontUnicodeRange().contains(codePoint)) {
+                if (f.getFontUnicodeRange().contains(codePoint) && getFontCoverage(fontIndex, f).contains(codePoint)) {
                     PdfFont currentFont = getPdfFont(f);
                     Glyph glyph = currentFont.getGlyph(codePoint);
                     if (null != glyph && 0 != glyph.getCode()) {
@@ -95,6 +97,7 @@ public class ComplexFontSelectorStrategy extends FontSelectorStrategy {
                         break;
                     }
                 }
+                fontIndex++;
             }
         }
         List<Glyph> glyphs = new ArrayList<>();
@@ -129,6 +132,16 @@ public class ComplexFontSelectorStrategy extends FontSelectorStrategy {
         return glyphs;
     }
 
+    private FontCoverage getFontCoverage(int fontIndex, FontInfo fontInfo) {
+        if (coverages == null) {
+            coverages = new FontCoverage[selector.fonts.size()];
+        }
+        if (coverages[fontIndex] == null) {
+            coverages[fontIndex] = provider.getFontCoverage(fontInfo, tempFonts);
+        }
+        return coverages[fontIndex];
+    }
+
     private int nextSignificantIndex() {
         int nextValidChar = index;
         for (; nextValidChar < text.length(); nextValidChar++) {
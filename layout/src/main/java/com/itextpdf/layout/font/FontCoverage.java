@@ -0,0 +1,108 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.font;
+
+import java.util.Map;
+
+/**
+ * Set of code points a font has glyphs for, used by {@link ComplexFontSelectorStrategy}
+ * to skip fallback fonts without looking up their glyphs.
+ * <p>
+ * Code points are stored in a two-level bitmap: the code space is split into blocks of 4096 code points
+ * and only the blocks containing at least one code point are allocated.
+ * The coverage may be a superset of the actual glyphs, but never misses a glyph.
+ */
+final class FontCoverage {
+
+    /**
+     * Coverage of a font, which glyphs cannot be indexed and shall be checked one by one.
+     */
+    static final FontCoverage ANY = new FontCoverage();
+
+    private static final int BLOCK_SHIFT = 12;
+    private static final int BLOCK_MASK = (1 << BLOCK_SHIFT) - 1;
+
+    private final long[][] blocks;
+
+    private FontCoverage() {
+        this.blocks = null;
+    }
+
+    /**
+     * Creates coverage of a TrueType or OpenType cmap.
+     *
+     * @param cmap unicode to glyph index mapping, see {@link com.itextpdf.io.font.TrueTypeFont#getActiveCmap()}.
+     *             Code points mapped to glyph 0 (notdef) are not taken into account.
+     */
+    FontCoverage(Map<Integer, int[]> cmap) {
+        this.blocks = new long[(Character.MAX_CODE_POINT >> BLOCK_SHIFT) + 1][];
+        for (Map.Entry<Integer, int[]> entry : cmap.entrySet()) {
+            int codePoint = (int) entry.getKey();
+            if (entry.getValue()[0] != 0 && codePoint >= 0 && codePoint <= Character.MAX_CODE_POINT) {
+                long[] block = blocks[codePoint >> BLOCK_SHIFT];
+                if (block == null) {
+                    blocks[codePoint >> BLOCK_SHIFT] = block = new long[(BLOCK_MASK + 1) >> 6];
+                }
+                block[(codePoint & BLOCK_MASK) >> 6] |= 1L << codePoint;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the font may have a glyph for the code point.
+     *
+     * @param codePoint unicode code point.
+     * @return false if the font definitely has no glyph for the code point.
+     */
+    boolean contains(int codePoint) {
+        if (blocks == null) {
+            return true;
+        }
+        if (codePoint < 0 || codePoint > Character.MAX_CODE_POINT) {
+            return false;
+        }
+        long[] block = blocks[codePoint >> BLOCK_SHIFT];
+        return block != null && (block[(codePoint & BLOCK_MASK) >> 6] & (1L << codePoint)) != 0;
+    }
+}
@@ -46,12 +46,14 @@ import com.itextpdf.io.font.FontCache;
 import com.itextpdf.io.font.FontProgram;
 import com.itextpdf.io.font.FontProgramFactory;
 import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.TrueTypeFont;
 import com.itextpdf.io.font.Type1Font;
 import com.itextpdf.io.font.constants.StandardFonts;
 import com.itextpdf.io.util.FileUtil;
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.font.PdfType0Font;
 import com.itextpdf.kernel.pdf.PdfDocument;
 
 import java.io.IOException;
@@ -66,9 +68,20 @@ import java.util.Map;
  * Contains reusable {@link FontSet} and collection of {@link PdfFont}s.
  * FontProvider depends on {@link PdfDocument} due to {@link PdfFont}, so it cannot be reused for different documents
  * unless reset with {@link FontProvider#reset()} or recreated with {@link FontProvider#getFontSet()}.
- * In the former case the {@link FontSelectorCache} is reused and in the latter it's reinitialised.
+ * In both cases the {@link FontSelector}s computed for the {@link FontSet} are reused, as they belong to the {@link FontSet}
+ * rather than to the provider.
  * FontProvider the only end point for creating {@link PdfFont}.
  * <p>
+ * Concurrency: {@link FontSet} and font selection state may be shared by multiple threads,
+ * while {@link PdfFont}s belong to a single document. To process documents in parallel,
+ * fill a {@link FontSet} once and create a FontProvider on top of it per document.
+ * {@link FontSelector}s are computed once and shared by all such providers, as long as the provider
+ * does not override {@link #createFontSelector(Collection, List, FontCharacteristics)}:
+ * subclasses keep their own selectors, because their selection may depend on the provider state.
+ * Selectors computed for temporary fonts (see {@link com.itextpdf.layout.property.Property#FONT_SET}) are never shared:
+ * they are kept by the provider and released along with it, so that a long-living FontSet doesn't retain them.
+ * FontProvider itself, same as {@link PdfDocument}, is not thread safe.
+ * <p>
  * It is allowed to use only one {@link FontProvider} per document. If temporary fonts per element needed,
  * additional {@link FontSet} can be used. For more details see {@link com.itextpdf.layout.property.Property#FONT_SET},
  * {@link #getPdfFont(FontInfo, FontSet)}, {@link #getStrategy(String, List, FontCharacteristics, FontSet)}.
@@ -121,8 +134,12 @@ public class FontProvider {
     public FontProvider(FontSet fontSet, String defaultFontFamily) {
         this.fontSet = fontSet != null ? fontSet : new FontSet();
         pdfFonts = new HashMap<>();
-        fontSelectorCache = new FontSelectorCache(this.fontSet);
         this.defaultFontFamily = defaultFontFamily;
+        if (getClass() == FontProvider.class && defaultFontFamily != null) {
+            fontSelectorCache = new FontSelectorCache(this.fontSet.getSelectorCache(defaultFontFamily));
+        } else {
+            fontSelectorCache = new FontSelectorCache(this.fontSet);
+        }
     }
 
     public boolean addFont(FontProgram fontProgram, String encoding, Range unicodeRange) {
@@ -262,13 +279,7 @@ public class FontProvider {
      * @see #getFontSelector(List, FontCharacteristics, FontSet)
      */
     public final FontSelector getFontSelector(List<String> fontFamilies, FontCharacteristics fc) {
-        FontSelectorKey key = new FontSelectorKey(fontFamilies, fc);
-        FontSelector fontSelector = fontSelectorCache.get(key);
-        if (fontSelector == null) {
-            fontSelector = createFontSelector(fontSet.getFonts(), fontFamilies, fc);
-            fontSelectorCache.put(key, fontSelector);
-        }
-        return fontSelector;
+        return getFontSelector(fontFamilies, fc, null);
     }
 
     /**
@@ -283,10 +294,12 @@ public class FontProvider {
     public final FontSelector getFontSelector(List<String> fontFamilies, FontCharacteristics fc,
                                               FontSet tempFonts) {
         FontSelectorKey key = new FontSelectorKey(fontFamilies, fc);
-        FontSelector fontSelector = fontSelectorCache.get(key, tempFonts);
+        // Selectors are stored to the same snapshot they are looked up in,
+        // so that a selector computed for an outdated font set is never cached.
+        FontSelectorCache.FontSetSelectors selectors = fontSelectorCache.getSelectors(tempFonts);
+        FontSelector fontSelector = selectors.get(key);
         if (fontSelector == null) {
-            fontSelector = createFontSelector(fontSet.getFonts(tempFonts), fontFamilies, fc);
-            fontSelectorCache.put(key, fontSelector, tempFonts);
+            fontSelector = selectors.put(key, createFontSelector(fontSet.getFonts(tempFonts), fontFamilies, fc));
         }
         return fontSelector;
     }
@@ -361,6 +374,27 @@ public class FontProvider {
         }
     }
 
+    /**
+     * Gets the set of code points, which {@link PdfFont} for the given font info may have glyphs for.
+     * Only Type 0 fonts, created from TrueType or OpenType programs, are indexed,
+     * as the glyphs of the other fonts depend on their encoding.
+     *
+     * @param fontInfo  font info.
+     * @param tempFonts Set of temporary fonts.
+     * @return the coverage, or {@link FontCoverage#ANY} if the glyphs shall be checked one by one.
+     */
+    FontCoverage getFontCoverage(FontInfo fontInfo, FontSet tempFonts) {
+        PdfFont pdfFont = getPdfFont(fontInfo, tempFonts);
+        // Font programs, read from an existing document, have no cmap and are checked one by one.
+        if (pdfFont instanceof PdfType0Font && pdfFont.getFontProgram().getClass() == TrueTypeFont.class) {
+            // The coverage is kept by the font set which owns the font, so that temporary fonts don't stay in the default one.
+            FontSet owner = tempFonts != null && tempFonts.hasFont(fontInfo) ? tempFonts : fontSet;
+            return owner.getFontCoverage(fontInfo, (TrueTypeFont) pdfFont.getFontProgram());
+        } else {
+            return FontCoverage.ANY;
+        }
+    }
+
     /**
      * Resets {@link FontProvider#pdfFonts PdfFont cache}. After calling that method {@link FontProvider} can be reused with another {@link PdfDocument}
      */
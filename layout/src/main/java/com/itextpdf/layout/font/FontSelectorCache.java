@@ -42,90 +42,102 @@
  */
 package com.itextpdf.layout.font;
 
-import java.util.HashMap;
-import java.util.Map;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cache of {@link FontSelector}s computed for a {@link FontSet} and temporary font sets used along with it.
+ * <p>
+ * The cache is safe for concurrent use and does not lock. Selectors are kept in snapshots bound to
+ * the revisions of the font sets they were computed for. Once a font set is modified, its snapshot is
+ * atomically replaced with an empty one, and selectors computed against the outdated snapshot are dropped with it.
+ * <p>
+ * The snapshot of the default font set may be shared by several caches, see {@link #FontSelectorCache(FontSelectorCache)},
+ * while the snapshots of temporary font sets always belong to the cache they were requested from.
+ */
 class FontSelectorCache {
 
-    private final FontSetSelectors defaultSelectors;
     private final FontSet defaultFontSet;
-    private final Map<Long, FontSetSelectors> caches = new HashMap<>();
+    private final AtomicReference<FontSetSelectors> defaultSelectors;
+    private final ConcurrentMap<Long, FontSetSelectors> caches = new ConcurrentHashMap<>();
 
     FontSelectorCache(FontSet defaultFontSet) {
         assert defaultFontSet != null;
-        this.defaultSelectors = new FontSetSelectors();
-        this.defaultSelectors.update(defaultFontSet);
         this.defaultFontSet = defaultFontSet;
+        this.defaultSelectors = new AtomicReference<>(new FontSetSelectors(defaultFontSet.getRevision(), 0));
     }
 
-    FontSelector get(FontSelectorKey key) {
-        if (update(null, null)) {
-            return null;
-        } else {
-            return defaultSelectors.map.get(key);
-        }
+    /**
+     * Creates a cache, which shares the selectors of the default font set with the given cache,
+     * but keeps its own selectors for temporary font sets.
+     *
+     * @param sharedCache the cache to share the selectors of the default font set with.
+     */
+    FontSelectorCache(FontSelectorCache sharedCache) {
+        this.defaultFontSet = sharedCache.defaultFontSet;
+        this.defaultSelectors = sharedCache.defaultSelectors;
     }
 
-    FontSelector get(FontSelectorKey key, FontSet fontSet) {
-        if (fontSet == null) {
-            return get(key);
-        } else {
-            FontSetSelectors selectors = caches.get(fontSet.getId());
-            if (selectors == null) {
-                caches.put(fontSet.getId(), selectors = new FontSetSelectors());
+    /**
+     * Gets the selectors, which are up to date with the default font set and the given temporary fonts.
+     *
+     * @param tempFonts temporary fonts, could be null.
+     * @return the snapshot to look up and store selectors in.
+     */
+    FontSetSelectors getSelectors(FontSet tempFonts) {
+        long revision = defaultFontSet.getRevision();
+        if (tempFonts == null) {
+            FontSetSelectors selectors = defaultSelectors.get();
+            if (!selectors.isUpToDate(revision, 0)) {
+                FontSetSelectors updated = new FontSetSelectors(revision, 0);
+                // If another thread has already replaced the snapshot, the just created one stays detached.
+                defaultSelectors.compareAndSet(selectors, updated);
+                selectors = updated;
             }
-            if (update(selectors, fontSet)) {
-                return null;
-            } else {
-                return selectors.map.get(key);
+            return selectors;
+        } else {
+            long tempRevision = tempFonts.getRevision();
+            FontSetSelectors selectors = caches.get(tempFonts.getId());
+            if (selectors == null || !selectors.isUpToDate(revision, tempRevision)) {
+                FontSetSelectors updated = new FontSetSelectors(revision, tempRevision);
+                if (selectors == null) {
+                    caches.putIfAbsent(tempFonts.getId(), updated);
+                } else {
+                    caches.replace(tempFonts.getId(), selectors, updated);
+                }
+                selectors = updated;
             }
+            return selectors;
         }
     }
 
-    void put(FontSelectorKey key, FontSelector fontSelector) {
-        //update defaultSelectors to reset counter before pushing if needed.
-        update(null, null);
-        defaultSelectors.map.put(key, fontSelector);
-    }
+    static final class FontSetSelectors {
+        private final ConcurrentMap<FontSelectorKey, FontSelector> map = new ConcurrentHashMap<>();
+        private final long revision;
+        private final long tempRevision;
 
-    void put(FontSelectorKey key, FontSelector fontSelector, FontSet fontSet) {
-        if (fontSet == null) {
-            put(key, fontSelector);
-        } else {
-            FontSetSelectors selectors = caches.get(fontSet.getId());
-            if (selectors == null) {
-                caches.put(fontSet.getId(), selectors = new FontSetSelectors());
-            }
-            //update selectors and defaultSelectors to reset counter before pushing if needed.
-            update(selectors, fontSet);
-            selectors.map.put(key, fontSelector);
+        FontSetSelectors(long revision, long tempRevision) {
+            this.revision = revision;
+            this.tempRevision = tempRevision;
         }
-    }
 
-    private boolean update(FontSetSelectors selectors, FontSet fontSet) {
-        boolean updated = false;
-        if (defaultSelectors.update(defaultFontSet)) {
-            updated = true;
+        FontSelector get(FontSelectorKey key) {
+            return map.get(key);
         }
-        if (selectors != null && selectors.update(fontSet)) {
-            updated = true;
+
+        /**
+         * Stores the selector unless another thread has already stored one for the same key.
+         *
+         * @return the selector which is stored in the cache.
+         */
+        FontSelector put(FontSelectorKey key, FontSelector fontSelector) {
+            FontSelector existing = map.putIfAbsent(key, fontSelector);
+            return existing != null ? existing : fontSelector;
         }
-        return updated;
-    }
 
-    private static class FontSetSelectors {
-        final Map<FontSelectorKey, FontSelector> map = new HashMap<>();
-        private int fontSetSize = -1;
-
-        boolean update(FontSet fontSet) {
-            assert fontSet != null;
-            if (fontSetSize == fontSet.size()) {
-                return false;
-            } else {
-                map.clear();
-                fontSetSize = fontSet.size();
-                return true;
-            }
+        boolean isUpToDate(long revision, long tempRevision) {
+            return this.revision == revision && this.tempRevision == tempRevision;
         }
     }
 }
@@ -44,6 +44,7 @@ package com.itextpdf.layout.font;
 
 import com.itextpdf.io.LogMessageConstant;
 import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.TrueTypeFont;
 import com.itextpdf.io.util.FileUtil;
 import com.itextpdf.kernel.font.Type3Font;
 import org.slf4j.Logger;
@@ -57,6 +58,8 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -65,6 +68,11 @@ import java.util.concurrent.atomic.AtomicLong;
  * <p>
  * A FontSet instance could be shared for multiple threads.
  * However FontSet filling is not thread safe operation.
+ * <p>
+ * Once filled, a FontSet keeps the {@link FontSelector}s computed for it by {@link FontProvider}s, so that
+ * font selection is shared by all the providers, created for different documents on top of the same FontSet.
+ * The selectors are invalidated each time a font is added. Selectors computed for temporary font sets
+ * are kept by the {@link FontProvider}s rather than by the FontSet.
  *
  * @see FontProvider
  */
@@ -78,6 +86,9 @@ public final class FontSet {
     private final Set<FontInfo> fonts = new LinkedHashSet<>();
     private final Map<FontInfo, FontProgram> fontPrograms = new HashMap<>();
     private final long id;
+    private final ConcurrentMap<String, FontSelectorCache> selectorCaches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<FontInfo, FontCoverage> fontCoverages = new ConcurrentHashMap<>();
+    private volatile long revision;
 
     /**
      * Creates a new instance of {@link FontSet}.
@@ -353,10 +364,10 @@ public final class FontSet {
         // This method MUST be final, to avoid inconsistency with FontSelectorCache.
         // (Yes, FontSet is final. Double check.)
         if (fontInfo != null && !fonts.contains(fontInfo)) {
-            // NOTE! We SHALL NOT replace font, because it will influence on FontSelectorCache.
-            // FontSelectorCache reset cache ONLY if number of fonts has been changed,
-            // while replacing will modify list of fonts without size change.
+            // NOTE! We SHALL NOT replace font, because FontInfo with another alias is equal to the original one.
             fonts.add(fontInfo);
+            // FontSelectorCache resets cache ONLY if revision has been changed.
+            revision++;
             return true;
         }
         return false;
@@ -452,9 +463,51 @@ public final class FontSet {
         return id;
     }
 
+    long getRevision() {
+        return revision;
+    }
+
+    /**
+     * Gets the cache of font selectors for the given default font family, shared by all {@link FontProvider}s,
+     * which use this font set. Only the selectors of this font set are taken from the returned cache,
+     * see {@link FontSelectorCache#FontSelectorCache(FontSelectorCache)}.
+     */
+    FontSelectorCache getSelectorCache(String defaultFontFamily) {
+        FontSelectorCache cache = selectorCaches.get(defaultFontFamily);
+        if (cache == null) {
+            FontSelectorCache created = new FontSelectorCache(this);
+            cache = selectorCaches.putIfAbsent(defaultFontFamily, created);
+            if (cache == null) {
+                cache = created;
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Gets the coverage of the font program, created for the given font info. The coverage is built
+     * on first request and shared by all {@link FontProvider}s, which use this font set.
+     * Only the fonts of this font set shall be passed, so that the coverage is released along with the font.
+     */
+    FontCoverage getFontCoverage(FontInfo fontInfo, TrueTypeFont fontProgram) {
+        FontCoverage coverage = fontCoverages.get(fontInfo);
+        if (coverage == null) {
+            FontCoverage created = new FontCoverage(fontProgram.getActiveCmap());
+            coverage = fontCoverages.putIfAbsent(fontInfo, created);
+            if (coverage == null) {
+                coverage = created;
+            }
+        }
+        return coverage;
+    }
+
     FontProgram getFontProgram(FontInfo fontInfo) {
         return fontPrograms.get(fontInfo);
     }
 
+    boolean hasFont(FontInfo fontInfo) {
+        return fonts.contains(fontInfo);
+    }
+
     //endregion
 }
@@ -45,4 +45,9 @@ package com.itextpdf.layout.hyphenation;
 public class HyphenationConstants {
 
     public static final String HYPHENATION_DEFAULT_RESOURCE = "com/itextpdf/hyph/";
+
+    /**
+     * The extension of the files with the hyphenation patterns compiled by {@link PatternCompiler}.
+     */
+    public static final String BINARY_PATTERNS_EXTENSION = ".hyb";
 }
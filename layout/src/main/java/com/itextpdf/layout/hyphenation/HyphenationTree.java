@@ -17,11 +17,15 @@
 
 package com.itextpdf.layout.hyphenation;
 
+import java.io.DataOutputStream;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -61,6 +65,10 @@ public class HyphenationTree extends TernaryTree implements IPatternConsumer {
      */
     private transient TernaryTree ivalues;
 
+    // "IHYB", the signature of the binary format of the patterns
+    private static final int BINARY_FORMAT_MAGIC = 0x49485942;
+    private static final int BINARY_FORMAT_VERSION = 1;
+
     /** Default constructor. */
     public HyphenationTree() {
         stoplist = new HashMap<>(23);
@@ -155,6 +163,91 @@ public class HyphenationTree extends TernaryTree implements IPatternConsumer {
         ivalues = null;
     }
 
+    /**
+     * Writes the patterns in the binary format, which is read by {@link #loadBinary(ByteBuffer, String)}
+     * much faster than the XML file is parsed, see {@link PatternCompiler}.
+     * @param stream the stream to write to
+     * @throws IOException on error
+     */
+    public void storeBinary(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(BINARY_FORMAT_MAGIC);
+        out.writeInt(BINARY_FORMAT_VERSION);
+        writeBinary(out);
+        classmap.writeBinary(out);
+        out.writeInt(vspace.length());
+        out.write(vspace.getArray(), 0, vspace.length());
+        out.writeInt(stoplist.size());
+        for (String word : stoplist.keySet()) {
+            List<?> hyphenatedWord = stoplist.get(word);
+            writeString(out, word);
+            out.writeInt(hyphenatedWord.size());
+            for (Object item : hyphenatedWord) {
+                if (item instanceof Hyphen) {
+                    Hyphen hyphen = (Hyphen) item;
+                    out.writeByte(1);
+                    writeString(out, hyphen.preBreak);
+                    writeString(out, hyphen.noBreak);
+                    writeString(out, hyphen.postBreak);
+                } else {
+                    out.writeByte(0);
+                    writeString(out, (String) item);
+                }
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Read hyphenation patterns written by {@link #storeBinary(OutputStream)}.
+     * @param buffer the buffer with the patterns, e.g. a memory-mapped file
+     * @param name unique key representing country-language combination
+     * @throws HyphenationException In case the buffer doesn't contain the patterns in the supported format
+     */
+    public void loadBinary(ByteBuffer buffer, String name) throws HyphenationException {
+        try {
+            if (buffer.getInt() != BINARY_FORMAT_MAGIC || buffer.getInt() != BINARY_FORMAT_VERSION) {
+                throw new HyphenationException("Unsupported format of binary hyphenation patterns: " + name);
+            }
+            readBinary(buffer);
+            classmap.readBinary(buffer);
+            int valuesLength = buffer.getInt();
+            vspace = new ByteVector(valuesLength + 1);
+            buffer.get(vspace.getArray(), vspace.alloc(valuesLength), valuesLength);
+            int exceptionCount = buffer.getInt();
+            stoplist = new HashMap<>(exceptionCount * 4 / 3 + 1);
+            for (int i = 0; i < exceptionCount; i++) {
+                String word = readString(buffer);
+                int size = buffer.getInt();
+                ArrayList<Object> hyphenatedWord = new ArrayList<>(size);
+                for (int j = 0; j < size; j++) {
+                    if (buffer.get() == 1) {
+                        hyphenatedWord.add(new Hyphen(readString(buffer), readString(buffer), readString(buffer)));
+                    } else {
+                        hyphenatedWord.add(readString(buffer));
+                    }
+                }
+                stoplist.put(word, hyphenatedWord);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new HyphenationException("Unexpected end of binary hyphenation patterns: " + name);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String str) throws IOException {
+        if (str == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(str.length());
+            out.writeChars(str);
+        }
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        return length < 0 ? null : new String(TernaryTree.readChars(in, length));
+    }
+
     /**
      * Find pattern.
      * @param pat a pattern
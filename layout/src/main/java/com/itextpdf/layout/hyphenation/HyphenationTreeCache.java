@@ -18,20 +18,21 @@
 
 package com.itextpdf.layout.hyphenation;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <p>This is a cache for HyphenationTree instances.</p>
+ * <p>The cache may be used by several threads at once.</p>
  */
 public class HyphenationTreeCache {
 
     /** Contains the cached hyphenation trees */
-    private Map<String, HyphenationTree> hyphenTrees = new HashMap<>();
+    private Map<String, HyphenationTree> hyphenTrees = new ConcurrentHashMap<>();
     /** Used to avoid multiple error messages for the same language if a pattern file is missing. */
-    private Set<String> missingHyphenationTrees;
+    private Set<String> missingHyphenationTrees = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
 
     /**
      * Looks in the cache if a hyphenation tree is available and returns it if it is found.
@@ -47,13 +48,8 @@ public class HyphenationTreeCache {
         }
 
         // first try to find it in the cache
-        if (hyphenTrees.containsKey(key)) {
-            return hyphenTrees.get(key);
-        } else if (hyphenTrees.containsKey(lang)) {
-            return hyphenTrees.get(lang);
-        } else {
-            return null;
-        }
+        HyphenationTree hTree = hyphenTrees.get(key);
+        return hTree != null || lang == null ? hTree : hyphenTrees.get(lang);
     }
 
     /**
@@ -105,10 +101,9 @@ public class HyphenationTreeCache {
      * @param key the key (ex. "de_CH" or "en")
      */
     public void noteMissing(String key) {
-        if (missingHyphenationTrees == null) {
-            missingHyphenationTrees = new HashSet<>();
+        if (key != null) {
+            missingHyphenationTrees.add(key);
         }
-        missingHyphenationTrees.add(key);
     }
 
     /**
@@ -119,6 +114,6 @@ public class HyphenationTreeCache {
      * @return true if the hyphenation tree is unavailable
      */
     public boolean isMissing(String key) {
-        return (missingHyphenationTrees != null && missingHyphenationTrees.contains(key));
+        return key != null && missingHyphenationTrees.contains(key);
     }
 }
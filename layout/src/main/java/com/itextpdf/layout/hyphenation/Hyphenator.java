@@ -18,6 +18,7 @@
 package com.itextpdf.layout.hyphenation;
 
 import com.itextpdf.io.util.ResourceUtil;
+import com.itextpdf.io.util.StreamUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,9 +26,13 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * <p>This class is the main entry point to the hyphenation package.
@@ -39,16 +44,15 @@ public final class Hyphenator {
 
     private static final char SOFT_HYPHEN = '\u00ad';
 
-    private static final Object staticLock = new Object();
 
     /**
      * Logging instance.
      */
     private static Logger log = LoggerFactory.getLogger(Hyphenator.class);
 
-    private static HyphenationTreeCache hTreeCache;
+    private static volatile HyphenationTreeCache hTreeCache = new HyphenationTreeCache();
 
-    private static List<String> additionalHyphenationFileDirectories;
+    private static final List<String> additionalHyphenationFileDirectories = new CopyOnWriteArrayList<>();
 
     protected String lang;
     protected String country;
@@ -91,12 +95,7 @@ public final class Hyphenator {
      * @param directory directory to register
      */
     public static void registerAdditionalHyphenationFileDirectory(String directory) {
-        synchronized (staticLock) {
-            if (additionalHyphenationFileDirectories == null) {
-                additionalHyphenationFileDirectories = new ArrayList<>();
-            }
-            additionalHyphenationFileDirectories.add(directory);
-        }
+        additionalHyphenationFileDirectories.add(directory);
     }
 
     /**
@@ -105,11 +104,6 @@ public final class Hyphenator {
      * @return the default (static) hyphenation tree cache
      */
     public static HyphenationTreeCache getHyphenationTreeCache() {
-        synchronized (staticLock) {
-            if (hTreeCache == null) {
-                hTreeCache = new HyphenationTreeCache();
-            }
-        }
         return hTreeCache;
     }
 
@@ -117,9 +111,7 @@ public final class Hyphenator {
      * Clears the default hyphenation tree cache. This method can be used if the underlying data files are changed at runtime.
      */
     public static void clearHyphenationTreeCache() {
-        synchronized (staticLock) {
-            hTreeCache = new HyphenationTreeCache();
-        }
+        hTreeCache = new HyphenationTreeCache();
     }
 
     /**
@@ -202,17 +194,23 @@ public final class Hyphenator {
             key = llccKey;
         }
 
-        if (additionalHyphenationFileDirectories != null) {
-            for (String dir : additionalHyphenationFileDirectories) {
-                hTree = getHyphenationTree(dir, key);
-                if (hTree != null) {
-                    break;
-                }
+        for (String dir : additionalHyphenationFileDirectories) {
+            hTree = getHyphenationTree(dir, key);
+            if (hTree != null) {
+                break;
+            }
+        }
+
+        if (hTree == null) {
+            // get from the default directory, preferring the compiled patterns
+            InputStream compiledHyphenationResourceStream = ResourceUtil.getResourceStream(
+                    HyphenationConstants.HYPHENATION_DEFAULT_RESOURCE + key + HyphenationConstants.BINARY_PATTERNS_EXTENSION);
+            if (compiledHyphenationResourceStream != null) {
+                hTree = getHyphenationTreeFromBinary(compiledHyphenationResourceStream, key);
             }
         }
 
         if (hTree == null) {
-            // get from the default directory
             InputStream defaultHyphenationResourceStream = ResourceUtil.getResourceStream(HyphenationConstants.HYPHENATION_DEFAULT_RESOURCE + key + ".xml");
             if (defaultHyphenationResourceStream != null) {
                 hTree = getHyphenationTree(defaultHyphenationResourceStream, key);
@@ -235,6 +233,15 @@ public final class Hyphenator {
      * @return the requested HyphenationTree or null if it is not available
      */
     public static HyphenationTree getHyphenationTree(String searchDirectory, String key) {
+        // try the compiled patterns first, the file is memory-mapped
+        File compiledFile = new File(searchDirectory, key + HyphenationConstants.BINARY_PATTERNS_EXTENSION);
+        if (compiledFile.isFile()) {
+            HyphenationTree hTree = getHyphenationTreeFromBinary(compiledFile);
+            if (hTree != null) {
+                return hTree;
+            }
+        }
+
         // try the raw XML file
         String name = key + ".xml";
         try {
@@ -276,6 +283,57 @@ public final class Hyphenator {
         return hTree;
     }
 
+    /**
+     * Loads the hyphenation patterns compiled by {@link PatternCompiler}.
+     *
+     * @param in   the stream with the compiled patterns, is closed by this method
+     * @param name the name of the patterns
+     * @return the hyphenation tree or {@code null} if the patterns can't be loaded
+     */
+    public static HyphenationTree getHyphenationTreeFromBinary(InputStream in, String name) {
+        if (in == null) {
+            return null;
+        }
+        try {
+            return loadBinary(ByteBuffer.wrap(StreamUtil.inputStreamToArray(in)), name);
+        } catch (IOException ioe) {
+            log.error("Can't load compiled patterns " + name + ": " + ioe.getMessage());
+            return null;
+        } finally {
+            try {
+                in.close();
+            } catch (Exception ignored) {}
+        }
+    }
+
+    private static HyphenationTree getHyphenationTreeFromBinary(File file) {
+        try {
+            RandomAccessFile raf = new RandomAccessFile(file, "r");
+            try {
+                FileChannel channel = raf.getChannel();
+                return loadBinary(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), file.getName());
+            } finally {
+                raf.close();
+            }
+        } catch (IOException ioe) {
+            if (log.isDebugEnabled()) {
+                log.debug("I/O problem while trying to load " + file.getName() + ": " + ioe.getMessage());
+            }
+            return null;
+        }
+    }
+
+    private static HyphenationTree loadBinary(ByteBuffer buffer, String name) {
+        HyphenationTree hTree = new HyphenationTree();
+        try {
+            hTree.loadBinary(buffer, name);
+        } catch (HyphenationException ex) {
+            log.error("Can't load compiled patterns " + name + ": " + ex.getMessage());
+            return null;
+        }
+        return hTree;
+    }
+
     /**
      * Hyphenates a word.
      *
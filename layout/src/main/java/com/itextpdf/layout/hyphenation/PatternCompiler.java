@@ -0,0 +1,128 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.hyphenation;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Compiles the XML hyphenation pattern files into the binary format, see {@link HyphenationTree#storeBinary}.
+ * The {@link Hyphenator} prefers a compiled file to the XML file with the same name, as loading the compiled
+ * patterns doesn't require parsing XML and building the tree.
+ * <br>
+ * Usage: {@code PatternCompiler <source directory> <target directory>}. Every {@code .xml} file of the source
+ * directory is compiled into a {@code .hyb} file of the target directory.
+ */
+public final class PatternCompiler {
+
+    private PatternCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException, HyphenationException {
+        if (args.length != 2) {
+            System.err.println("Usage: PatternCompiler <source directory> <target directory>");
+            System.exit(1);
+        }
+        compileDirectory(new File(args[0]), new File(args[1]));
+    }
+
+    /**
+     * Compiles all the XML pattern files of the source directory into the target directory.
+     *
+     * @param sourceDirectory the directory with the XML files
+     * @param targetDirectory the directory for the compiled files, is created if it doesn't exist
+     * @return the number of compiled files
+     * @throws IOException on error
+     * @throws HyphenationException if an XML file can't be parsed
+     */
+    public static int compileDirectory(File sourceDirectory, File targetDirectory) throws IOException, HyphenationException {
+        File[] sources = sourceDirectory.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.endsWith(".xml");
+            }
+        });
+        if (sources == null) {
+            throw new IOException("Not a directory: " + sourceDirectory);
+        }
+        if (!targetDirectory.isDirectory() && !targetDirectory.mkdirs()) {
+            throw new IOException("Can't create directory: " + targetDirectory);
+        }
+        for (File source : sources) {
+            String name = source.getName().substring(0, source.getName().length() - ".xml".length());
+            compile(source, new File(targetDirectory, name + HyphenationConstants.BINARY_PATTERNS_EXTENSION));
+        }
+        return sources.length;
+    }
+
+    /**
+     * Compiles an XML pattern file.
+     *
+     * @param source the XML file
+     * @param target the compiled file
+     * @throws IOException on error
+     * @throws HyphenationException if the XML file can't be parsed
+     */
+    public static void compile(File source, File target) throws IOException, HyphenationException {
+        HyphenationTree hTree = new HyphenationTree();
+        InputStream in = new FileInputStream(source);
+        try {
+            hTree.loadPatterns(in, source.getName());
+        } finally {
+            in.close();
+        }
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(target));
+        try {
+            hTree.storeBinary(out);
+        } finally {
+            out.close();
+        }
+    }
+}
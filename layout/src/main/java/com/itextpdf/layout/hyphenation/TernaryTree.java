@@ -17,7 +17,10 @@
 
 package com.itextpdf.layout.hyphenation;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Enumeration;
 
 /**
@@ -514,5 +517,51 @@ public class TernaryTree implements Serializable {
     public Enumeration keys() {
         return new TernaryTreeIterator(this);
     }
-}
 
+    /**
+     * Writes the tree in the binary format, see {@link #readBinary(ByteBuffer)}.
+     * @param out the output
+     * @throws IOException on error
+     */
+    void writeBinary(DataOutputStream out) throws IOException {
+        out.writeChar(root);
+        out.writeChar(freenode);
+        out.writeInt(length);
+        out.writeInt(lo.length);
+        writeChars(out, lo, lo.length);
+        writeChars(out, hi, hi.length);
+        writeChars(out, eq, eq.length);
+        writeChars(out, sc, sc.length);
+        out.writeInt(kv.length());
+        writeChars(out, kv.getArray(), kv.length());
+    }
+
+    /**
+     * Reads the tree written by {@link #writeBinary(DataOutputStream)}.
+     * @param in the buffer positioned at the start of the tree
+     */
+    void readBinary(ByteBuffer in) {
+        root = in.getChar();
+        freenode = in.getChar();
+        length = in.getInt();
+        int nodes = in.getInt();
+        lo = readChars(in, nodes);
+        hi = readChars(in, nodes);
+        eq = readChars(in, nodes);
+        sc = readChars(in, nodes);
+        kv = new CharVector(readChars(in, in.getInt()));
+    }
+
+    static void writeChars(DataOutputStream out, char[] chars, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            out.writeChar(chars[i]);
+        }
+    }
+
+    static char[] readChars(ByteBuffer in, int count) {
+        char[] chars = new char[count];
+        in.asCharBuffer().get(chars);
+        in.position(in.position() + 2 * count);
+        return chars;
+    }
+}
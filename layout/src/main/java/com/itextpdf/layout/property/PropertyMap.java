@@ -0,0 +1,367 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.property;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A map which stores the properties of layout elements and renderers, keyed by the values of {@link Property}.
+ * <br>
+ * As the property keys are small positive numbers, the map keeps a bitset of the present keys and an array
+ * of the values ordered by key, so that a lookup takes a bit test and a few bit counts instead of hashing
+ * a boxed key. Keys which don't fit into the bitset are stored in a regular hash map.
+ * <br>
+ * A map created by {@link #PropertyMap(Map)} or filled by {@link #putAll(Map)} while being empty shares
+ * the storage with the source map until either of them is modified.
+ */
+public final class PropertyMap extends AbstractMap<Integer, Object> {
+
+    private static final int MAX_BITSET_KEY = 1023;
+    private static final long[] EMPTY_BITS = new long[0];
+    private static final Object[] EMPTY_VALUES = new Object[0];
+
+    // The keys in range [0, MAX_BITSET_KEY]: the bitset and the values ordered by key
+    private long[] bits = EMPTY_BITS;
+    private Object[] values = EMPTY_VALUES;
+    private int size;
+    // Whether the bits and the values are shared with another map and shall be copied before modification
+    private boolean shared;
+    // The keys outside of the bitset range
+    private Map<Integer, Object> overflow;
+    private Set<Map.Entry<Integer, Object>> entrySet;
+
+    /**
+     * Creates an empty map.
+     */
+    public PropertyMap() {
+    }
+
+    /**
+     * Creates a map with the same properties as the specified map.
+     *
+     * @param properties the properties to be placed into this map
+     */
+    public PropertyMap(Map<Integer, Object> properties) {
+        putAll(properties);
+    }
+
+    /**
+     * Gets the value of the property.
+     *
+     * @param key the property key
+     * @return the value or {@code null} if the map contains no value for the key
+     */
+    public Object get(int key) {
+        if (key < 0 || key > MAX_BITSET_KEY) {
+            return overflow != null ? overflow.get(key) : null;
+        }
+        return isSet(key) ? values[rank(key)] : null;
+    }
+
+    /**
+     * Checks whether the map contains the property, even if its value is {@code null}.
+     *
+     * @param key the property key
+     * @return {@code true} if the map contains the property
+     */
+    public boolean containsKey(int key) {
+        if (key < 0 || key > MAX_BITSET_KEY) {
+            return overflow != null && overflow.containsKey(key);
+        }
+        return isSet(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return key instanceof Integer ? get(((Integer) key).intValue()) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && containsKey(((Integer) key).intValue());
+    }
+
+    @Override
+    public Object put(Integer key, Object value) {
+        return putValue(key.intValue(), value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return key instanceof Integer ? removeValue(((Integer) key).intValue()) : null;
+    }
+
+    @Override
+    public int size() {
+        return size + (overflow != null ? overflow.size() : 0);
+    }
+
+    @Override
+    public void clear() {
+        bits = EMPTY_BITS;
+        values = EMPTY_VALUES;
+        size = 0;
+        shared = false;
+        overflow = null;
+    }
+
+    @Override
+    public void putAll(Map<? extends Integer, ?> properties) {
+        if (properties instanceof PropertyMap && isEmpty()) {
+            PropertyMap other = (PropertyMap) properties;
+            bits = other.bits;
+            values = other.values;
+            size = other.size;
+            shared = other.shared = true;
+            overflow = other.overflow != null ? new HashMap<>(other.overflow) : null;
+        } else {
+            super.putAll(properties);
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private Object putValue(int key, Object value) {
+        if (key < 0 || key > MAX_BITSET_KEY) {
+            if (overflow == null) {
+                overflow = new HashMap<>();
+            }
+            return overflow.put(key, value);
+        }
+        unshare();
+        int word = key >>> 6;
+        if (word >= bits.length) {
+            bits = Arrays.copyOf(bits, word + 1);
+        }
+        int index = rank(key);
+        if ((bits[word] & (1L << key)) != 0) {
+            Object previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(4, size + (size >> 1)));
+        }
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        bits[word] |= 1L << key;
+        size++;
+        return null;
+    }
+
+    private Object removeValue(int key) {
+        if (key < 0 || key > MAX_BITSET_KEY) {
+            return overflow != null ? overflow.remove(key) : null;
+        }
+        if (!isSet(key)) {
+            return null;
+        }
+        unshare();
+        int index = rank(key);
+        Object previous = values[index];
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        values[--size] = null;
+        bits[key >>> 6] &= ~(1L << key);
+        return previous;
+    }
+
+    private boolean isSet(int key) {
+        int word = key >>> 6;
+        return word < bits.length && (bits[word] & (1L << key)) != 0;
+    }
+
+    /**
+     * Gets the number of the keys in the bitset which are less than the specified one,
+     * i.e. the index of the value of the key.
+     */
+    private int rank(int key) {
+        int word = key >>> 6;
+        int rank = 0;
+        for (int i = 0; i < word; i++) {
+            rank += Long.bitCount(bits[i]);
+        }
+        return rank + Long.bitCount(bits[word] & ((1L << key) - 1));
+    }
+
+    private int nextKey(int fromKey) {
+        int word = fromKey >>> 6;
+        if (word >= bits.length) {
+            return -1;
+        }
+        long remaining = bits[word] & (-1L << fromKey);
+        while (remaining == 0) {
+            if (++word == bits.length) {
+                return -1;
+            }
+            remaining = bits[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(remaining);
+    }
+
+    private void unshare() {
+        if (shared) {
+            bits = bits.clone();
+            values = values.clone();
+            shared = false;
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Map.Entry<Integer, Object>> {
+        @Override
+        public Iterator<Map.Entry<Integer, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return PropertyMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            PropertyMap.this.clear();
+        }
+    }
+
+    private class EntryIterator implements Iterator<Map.Entry<Integer, Object>> {
+        private int followingKey = nextKey(0);
+        private int lastKey = -1;
+        private Iterator<Map.Entry<Integer, Object>> overflowIterator;
+        private boolean lastFromOverflow;
+
+        @Override
+        public boolean hasNext() {
+            if (followingKey >= 0) {
+                return true;
+            }
+            if (overflowIterator == null && overflow != null) {
+                overflowIterator = overflow.entrySet().iterator();
+            }
+            return overflowIterator != null && overflowIterator.hasNext();
+        }
+
+        @Override
+        public Map.Entry<Integer, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (followingKey >= 0) {
+                lastKey = followingKey;
+                followingKey = lastKey < MAX_BITSET_KEY ? nextKey(lastKey + 1) : -1;
+                return new Entry(lastKey);
+            }
+            lastFromOverflow = true;
+            return overflowIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            if (lastFromOverflow) {
+                overflowIterator.remove();
+            } else if (lastKey >= 0) {
+                removeValue(lastKey);
+                lastKey = -1;
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    private class Entry implements Map.Entry<Integer, Object> {
+        private final int key;
+
+        Entry(int key) {
+            this.key = key;
+        }
+
+        @Override
+        public Integer getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return get(key);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            return putValue(key, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            Object value = getValue();
+            return getKey().equals(e.getKey()) && (value == null ? e.getValue() == null : value.equals(e.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            Object value = getValue();
+            return key ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+}
@@ -88,9 +88,8 @@ class CollapsedTableBorders extends TableBorders {
             }
         }
         // process right border
-        borderList = getVerticalBorder(col + colspan);
         for (int i = startRow - largeTableIndexOffset + row - rowspan + 1; i < startRow - largeTableIndexOffset + row + 1; i++) {
-            border = borderList.get(i);
+            border = getVerticalBorder(col + colspan, i);
             if (null != border && border.getWidth() > indents[1]) {
                 indents[1] = border.getWidth();
             }
@@ -104,9 +103,8 @@ class CollapsedTableBorders extends TableBorders {
             }
         }
         // process left border
-        borderList = getVerticalBorder(col);
         for (int i = startRow - largeTableIndexOffset + row - rowspan + 1; i < startRow - largeTableIndexOffset + row + 1; i++) {
-            border = borderList.get(i);
+            border = getVerticalBorder(col, i);
             if (null != border && border.getWidth() > indents[3]) {
                 indents[3] = border.getWidth();
             }
@@ -126,6 +124,25 @@ class CollapsedTableBorders extends TableBorders {
         }
     }
 
+    /**
+     * Gets the same border as {@code getVerticalBorder(index).get(row)}, but does not collapse
+     * the whole list of the first or the last vertical border, which length is the number of rows.
+     */
+    private Border getVerticalBorder(int index, int row) {
+        if (index == 0) {
+            return getCollapsedBorder(verticalBorders.get(0).get(row), tableBoundingBorders[3]);
+        } else if (index == numberOfColumns) {
+            return getCollapsedBorder(verticalBorders.get(verticalBorders.size() - 1).get(row), tableBoundingBorders[1]);
+        } else {
+            return verticalBorders.get(index).get(row);
+        }
+    }
+
+    private int getVerticalBorderSize(int index) {
+        int size = verticalBorders.get(index).size();
+        return index == numberOfColumns ? Math.min(size, verticalBorders.get(0).size()) : size;
+    }
+
 
     public List<Border> getHorizontalBorder(int index) {
         if (index == startRow) {
@@ -367,12 +384,12 @@ class CollapsedTableBorders extends TableBorders {
         float x1 = startX;
         float x2 = x1 + countedColumnWidth[0];
         if (i == 0) {
-            Border firstBorder = getFirstVerticalBorder().get(startRow - largeTableIndexOffset);
+            Border firstBorder = getVerticalBorder(0, startRow - largeTableIndexOffset);
             if (firstBorder != null) {
                 x1 -= firstBorder.getWidth() / 2;
             }
         } else if (i == finishRow - startRow + 1) {
-            Border firstBorder = getFirstVerticalBorder().get(startRow - largeTableIndexOffset + finishRow - startRow + 1 - 1);
+            Border firstBorder = getVerticalBorder(0, startRow - largeTableIndexOffset + finishRow - startRow + 1 - 1);
             if (firstBorder != null) {
                 x1 -= firstBorder.getWidth() / 2;
             }
@@ -399,10 +416,10 @@ class CollapsedTableBorders extends TableBorders {
         Border lastBorder = borders.size() > j - 1 ? borders.get(j - 1) : null;
         if (lastBorder != null) {
             if (i == 0) {
-                if (getVerticalBorder(j).get(startRow - largeTableIndexOffset + i) != null)
-                    x2 += getVerticalBorder(j).get(startRow - largeTableIndexOffset + i).getWidth() / 2;
-            } else if (i == finishRow - startRow + 1 && getVerticalBorder(j).size() > startRow - largeTableIndexOffset + i - 1 && getVerticalBorder(j).get(startRow - largeTableIndexOffset + i - 1) != null) {
-                x2 += getVerticalBorder(j).get(startRow - largeTableIndexOffset + i - 1).getWidth() / 2;
+                if (getVerticalBorder(j, startRow - largeTableIndexOffset + i) != null)
+                    x2 += getVerticalBorder(j, startRow - largeTableIndexOffset + i).getWidth() / 2;
+            } else if (i == finishRow - startRow + 1 && getVerticalBorderSize(j) > startRow - largeTableIndexOffset + i - 1 && getVerticalBorder(j, startRow - largeTableIndexOffset + i - 1) != null) {
+                x2 += getVerticalBorder(j, startRow - largeTableIndexOffset + i - 1).getWidth() / 2;
             }
 
             lastBorder.drawCellBorder(canvas, x1, y1, x2, y1, Border.Side.NONE);
@@ -470,7 +487,7 @@ class CollapsedTableBorders extends TableBorders {
 
     public static List<Border> getCollapsedList(List<Border> innerList, List<Border> outerList) {
         int size = Math.min(null == innerList ? 0 : innerList.size(), null == outerList ? 0 : outerList.size());
-        List<Border> collapsedList = new ArrayList<Border>();
+        List<Border> collapsedList = new ArrayList<Border>(size);
         for (int i = 0; i < size; i++) {
             collapsedList.add(getCollapsedBorder(innerList.get(i), outerList.get(i)));
         }
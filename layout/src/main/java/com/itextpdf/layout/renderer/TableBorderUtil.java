@@ -89,7 +89,7 @@ final class TableBorderUtil {
     }
 
     public static List<Border> createAndFillBorderList(Border border, int size) {
-        List<Border> borderList = new ArrayList<Border>();
+        List<Border> borderList = new ArrayList<Border>(size);
         for (int i = 0; i < size; i++) {
             borderList.add(border);
         }
@@ -97,7 +97,7 @@ final class TableBorderUtil {
     }
 
     public static List<Border> createAndFillBorderList(List<Border> originalList, Border borderToCollapse, int size) {
-        List<Border> borderList = new ArrayList<Border>();
+        List<Border> borderList = new ArrayList<Border>(Math.max(size, null == originalList ? 0 : originalList.size()));
         if (null != originalList) {
             borderList.addAll(originalList);
         }
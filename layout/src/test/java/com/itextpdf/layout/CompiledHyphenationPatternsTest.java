@@ -0,0 +1,181 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout;
+
+import com.itextpdf.io.util.ResourceUtil;
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.layout.hyphenation.Hyphenation;
+import com.itextpdf.layout.hyphenation.HyphenationConstants;
+import com.itextpdf.layout.hyphenation.HyphenationException;
+import com.itextpdf.layout.hyphenation.HyphenationTree;
+import com.itextpdf.layout.hyphenation.HyphenationTreeCache;
+import com.itextpdf.layout.hyphenation.Hyphenator;
+import com.itextpdf.layout.hyphenation.PatternCompiler;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Category(IntegrationTest.class)
+public class CompiledHyphenationPatternsTest extends ExtendedITextTest {
+
+    public static final String destinationFolder = "./target/test/com/itextpdf/layout/CompiledHyphenationPatternsTest/";
+
+    private static final String[] WORDS = {"hyphenation", "international", "responsibility", "Silbentrennung",
+            "Donaudampfschifffahrt", "Geschwindigkeitsbegrenzung", "associates", "declination", "country", "x"};
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void binaryPatternsSameAsXmlTest() throws IOException, HyphenationException {
+        for (String key : new String[] {"en", "de", "nl"}) {
+            HyphenationTree xmlTree = Hyphenator.getHyphenationTree(getPatterns(key), key);
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            xmlTree.storeBinary(baos);
+            HyphenationTree binaryTree = new HyphenationTree();
+            binaryTree.loadBinary(ByteBuffer.wrap(baos.toByteArray()), key);
+            assertSameHyphenation(xmlTree, binaryTree);
+        }
+    }
+
+    @Test
+    public void shippedBinaryPatternsSameAsXmlTest() throws IOException, HyphenationException {
+        for (String key : new String[] {"en", "de", "nl"}) {
+            InputStream stream = ResourceUtil.getResourceStream(HyphenationConstants.HYPHENATION_DEFAULT_RESOURCE + key
+                    + HyphenationConstants.BINARY_PATTERNS_EXTENSION);
+            Assert.assertNotNull("Compiled patterns are not shipped for " + key, stream);
+            HyphenationTree shippedTree = new HyphenationTree();
+            try {
+                shippedTree.loadBinary(ByteBuffer.wrap(StreamUtil.inputStreamToArray(stream)), key);
+            } finally {
+                stream.close();
+            }
+            assertSameHyphenation(Hyphenator.getHyphenationTree(getPatterns(key), key), shippedTree);
+        }
+    }
+
+    @Test
+    public void compiledFilePreferredTest() throws IOException, HyphenationException {
+        File source = new File(destinationFolder, "source");
+        File target = new File(destinationFolder, "target");
+        source.mkdirs();
+        FileOutputStream fos = new FileOutputStream(new File(source, "en.xml"));
+        fos.write(StreamUtil.inputStreamToArray(getPatterns("en")));
+        fos.close();
+        Assert.assertEquals(1, PatternCompiler.compileDirectory(source, target));
+        Assert.assertTrue(new File(target, "en" + HyphenationConstants.BINARY_PATTERNS_EXTENSION).isFile());
+        Assert.assertFalse(new File(target, "en.xml").exists());
+
+        HyphenationTree compiledTree = Hyphenator.getHyphenationTree(target.getPath(), "en");
+        Assert.assertNotNull(compiledTree);
+        assertSameHyphenation(Hyphenator.getHyphenationTree(getPatterns("en"), "en"), compiledTree);
+    }
+
+    @Test(expected = HyphenationException.class)
+    public void truncatedBinaryPatternsTest() throws IOException, HyphenationException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Hyphenator.getHyphenationTree(getPatterns("en"), "en").storeBinary(baos);
+        byte[] truncated = new byte[baos.size() / 2];
+        System.arraycopy(baos.toByteArray(), 0, truncated, 0, truncated.length);
+        new HyphenationTree().loadBinary(ByteBuffer.wrap(truncated), "en");
+    }
+
+    @Test
+    public void concurrentHyphenationTest() throws Exception {
+        Hyphenator.clearHyphenationTreeCache();
+        final String[] languages = {"en", "de", "fr", "nl"};
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Hyphenation>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                final String lang = languages[i % languages.length];
+                results.add(executor.submit(new Callable<Hyphenation>() {
+                    @Override
+                    public Hyphenation call() {
+                        return Hyphenator.hyphenate(lang, null, "responsibility", 2, 2);
+                    }
+                }));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                Hyphenation expected = Hyphenator.hyphenate(languages[i % languages.length], null, "responsibility", 2, 2);
+                Assert.assertEquals(String.valueOf(expected), String.valueOf(results.get(i).get()));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        HyphenationTreeCache cache = Hyphenator.getHyphenationTreeCache();
+        for (String lang : languages) {
+            Assert.assertNotNull(cache.getHyphenationTree(lang, null));
+        }
+    }
+
+    private static InputStream getPatterns(String key) {
+        return ResourceUtil.getResourceStream(HyphenationConstants.HYPHENATION_DEFAULT_RESOURCE + key + ".xml");
+    }
+
+    private static void assertSameHyphenation(HyphenationTree expected, HyphenationTree actual) {
+        for (String word : WORDS) {
+            Hyphenation expectedHyphenation = expected.hyphenate(word, 2, 2);
+            Hyphenation actualHyphenation = actual.hyphenate(word, 2, 2);
+            Assert.assertEquals(String.valueOf(expectedHyphenation), String.valueOf(actualHyphenation));
+        }
+    }
+}
@@ -82,6 +82,10 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @Category(IntegrationTest.class)
 public class FontSelectorTest extends ExtendedITextTest {
@@ -587,6 +591,96 @@ public class FontSelectorTest extends ExtendedITextTest {
         checkSelector(set.getFonts(), "Open Sans ExtraBold", "Times-Bold", "Times-Bold", "Times-BoldItalic", "Times-BoldItalic");
     }
 
+    @Test
+    public void fontSelectorSharedByProvidersTest() {
+        FontSet set = getStandardFontSet();
+        List<String> fontFamilies = Collections.singletonList("Times");
+        FontCharacteristics fc = new FontCharacteristics().setBoldFlag(true);
+
+        FontSelector selector = new FontProvider(set).getFontSelector(fontFamilies, fc);
+        Assert.assertSame(selector, new FontProvider(set).getFontSelector(fontFamilies, fc));
+        Assert.assertEquals("Times-Bold", selector.bestMatch().getDescriptor().getFontName());
+
+        // Subclasses may select fonts depending on their own state, so they do not share selectors.
+        FontProvider subclassProvider = new FontProvider(set) {
+        };
+        Assert.assertNotSame(selector, subclassProvider.getFontSelector(fontFamilies, fc));
+
+        Assert.assertTrue(set.addFont(fontsFolder + "FreeSans.ttf"));
+        FontSelector updatedSelector = new FontProvider(set).getFontSelector(fontFamilies, fc);
+        Assert.assertNotSame(selector, updatedSelector);
+        Assert.assertSame(updatedSelector, new FontProvider(set).getFontSelector(fontFamilies, fc));
+    }
+
+    @Test
+    public void tempFontSelectorNotSharedByProvidersTest() {
+        FontSet set = getStandardFontSet();
+        FontSet tempFonts = new FontSet();
+        tempFonts.addFont(fontsFolder + "Puritan2.otf", PdfEncodings.IDENTITY_H, "Puritan42");
+        List<String> fontFamilies = Collections.singletonList("Puritan42");
+        FontCharacteristics fc = new FontCharacteristics();
+
+        // Selectors for temporary fonts are released along with the provider, the font set doesn't keep them.
+        FontProvider provider = new FontProvider(set);
+        FontSelector selector = provider.getFontSelector(fontFamilies, fc, tempFonts);
+        Assert.assertSame(selector, provider.getFontSelector(fontFamilies, fc, tempFonts));
+        Assert.assertNotSame(selector, new FontProvider(set).getFontSelector(fontFamilies, fc, tempFonts));
+        Assert.assertEquals("Puritan2", selector.bestMatch().getDescriptor().getFontName());
+
+        Assert.assertSame(provider.getFontSelector(fontFamilies, fc),
+                new FontProvider(set).getFontSelector(fontFamilies, fc));
+    }
+
+    @Test
+    public void concurrentFontSelectionTest() throws Exception {
+        final FontSet set = addTimesFonts(getOpenSansFontSet());
+        final List<List<String>> fontFamilies = Arrays.asList(Collections.singletonList("Times"),
+                Collections.singletonList("Open Sans"), Arrays.asList("Unknown", "Times-Roman"));
+        final List<FontCharacteristics> characteristics = Arrays.asList(new FontCharacteristics(),
+                new FontCharacteristics().setBoldFlag(true), new FontCharacteristics().setItalicFlag(true));
+        final FontSet tempFonts = new FontSet();
+        tempFonts.addFont(fontsFolder + "Puritan2.otf", PdfEncodings.IDENTITY_H, "Puritan42");
+
+        final List<String> expected = selectFonts(new FontProvider(addTimesFonts(getOpenSansFontSet())),
+                fontFamilies, characteristics, null);
+        final List<String> expectedWithTempFonts = selectFonts(new FontProvider(addTimesFonts(getOpenSansFontSet())),
+                fontFamilies, characteristics, tempFonts);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                final boolean withTempFonts = i % 2 == 1;
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        // A provider per document on top of the shared font set.
+                        FontProvider provider = new FontProvider(set);
+                        return withTempFonts
+                                ? expectedWithTempFonts.equals(selectFonts(provider, fontFamilies, characteristics, tempFonts))
+                                : expected.equals(selectFonts(provider, fontFamilies, characteristics, null));
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static List<String> selectFonts(FontProvider provider, List<List<String>> fontFamilies,
+                                            List<FontCharacteristics> characteristics, FontSet tempFonts) {
+        List<String> selected = new ArrayList<>();
+        for (List<String> families : fontFamilies) {
+            for (FontCharacteristics fc : characteristics) {
+                selected.add(provider.getFontSelector(families, fc, tempFonts).bestMatch().getDescriptor().getFontName());
+            }
+        }
+        return selected;
+    }
+
     private void checkSelector(Collection<FontInfo> fontInfoCollection, String fontFamily,
                                String expectedNormal, String expectedBold, String expectedItalic, String expectedBoldItalic) {
         List<String> fontFamilies = new ArrayList<>();
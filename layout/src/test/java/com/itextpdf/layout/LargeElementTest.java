@@ -1087,4 +1087,42 @@ public class LargeElementTest extends ExtendedITextTest {
 
         Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, testName + "_diff"));
     }
+
+    @Test
+    public void largeTableWithBordersFlushedInBigChunksTest() throws IOException, InterruptedException {
+        String testName = "largeTableWithBordersFlushedInBigChunksTest.pdf";
+        String outFileName = destinationFolder + testName;
+        String cmpFileName = sourceFolder + "cmp_" + testName;
+
+        createLargeTableWithBorders(outFileName, 200);
+
+        Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, testName + "_diff"));
+    }
+
+    private static void createLargeTableWithBorders(String outFileName, int chunk) throws IOException {
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(outFileName));
+        Document doc = new Document(pdfDoc);
+
+        Table table = new Table(UnitValue.createPercentArray(4), true);
+        table.setBorder(new SolidBorder(ColorConstants.BLUE, 3));
+        for (int j = 0; j < 4; j++) {
+            table.addHeaderCell(new Cell().add(new Paragraph("Header " + j)));
+            table.addFooterCell(new Cell().add(new Paragraph("Footer " + j)));
+        }
+        doc.add(table);
+        for (int i = 0; i < 600; i++) {
+            for (int j = 0; j < 4; j++) {
+                Cell cell = new Cell().add(new Paragraph(MessageFormatUtil.format("Cell {0}, {1}", i + 1, j + 1)));
+                if (j == 0 || j == 3) {
+                    cell.setBorder(new SolidBorder(ColorConstants.RED, i % 2 == 0 ? 1 : 5));
+                }
+                table.addCell(cell);
+            }
+            if ((i + 1) % chunk == 0) {
+                table.flush();
+            }
+        }
+        table.complete();
+        doc.close();
+    }
 }
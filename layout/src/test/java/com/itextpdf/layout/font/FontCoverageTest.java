@@ -0,0 +1,124 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.font;
+
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.TrueTypeFont;
+import com.itextpdf.io.font.otf.Glyph;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+@Category(UnitTest.class)
+public class FontCoverageTest {
+
+    private static final String fontsFolder = "./src/test/resources/com/itextpdf/layout/fonts/";
+
+    @Test
+    public void cmapCoverageTest() {
+        Map<Integer, int[]> cmap = new HashMap<>();
+        cmap.put(0x41, new int[] {5, 600});
+        cmap.put(0x1F600, new int[] {7, 1000});
+        cmap.put(0x42, new int[] {0, 600});
+
+        FontCoverage coverage = new FontCoverage(cmap);
+        Assert.assertTrue(coverage.contains(0x41));
+        Assert.assertTrue(coverage.contains(0x1F600));
+        // Mapped to notdef.
+        Assert.assertFalse(coverage.contains(0x42));
+        Assert.assertFalse(coverage.contains(0x43));
+        Assert.assertFalse(coverage.contains(0x41 + 0x1000));
+        Assert.assertFalse(coverage.contains(0x1F601));
+        Assert.assertFalse(coverage.contains(-1));
+        Assert.assertFalse(coverage.contains(Character.MAX_CODE_POINT + 1));
+    }
+
+    @Test
+    public void anyCoverageTest() {
+        Assert.assertTrue(FontCoverage.ANY.contains(0x41));
+        Assert.assertTrue(FontCoverage.ANY.contains(Character.MAX_CODE_POINT));
+    }
+
+    @Test
+    public void fontProgramCoverageTest() throws IOException {
+        TrueTypeFont fontProgram = (TrueTypeFont) FontProgramFactory.createFont(fontsFolder + "NotoSans-Regular.ttf");
+        FontCoverage coverage = new FontCoverage(fontProgram.getActiveCmap());
+        int covered = 0;
+        for (int codePoint = 0; codePoint <= Character.MAX_CODE_POINT; codePoint++) {
+            Glyph glyph = fontProgram.getGlyph(codePoint);
+            if (glyph != null && glyph.getCode() != 0) {
+                Assert.assertTrue(coverage.contains(codePoint));
+                covered++;
+            } else {
+                Assert.assertFalse(coverage.contains(codePoint));
+            }
+        }
+        Assert.assertTrue(covered > 0);
+    }
+
+    @Test
+    public void tempFontCoverageKeptByTempFontSetTest() throws IOException {
+        FontSet fontSet = new FontSet();
+        fontSet.addFont(fontsFolder + "NotoSans-Regular.ttf", PdfEncodings.IDENTITY_H);
+        FontSet tempFonts = new FontSet();
+        tempFonts.addFont(fontsFolder + "FreeSans.ttf", PdfEncodings.IDENTITY_H);
+        FontInfo fontInfo = fontSet.getFonts().iterator().next();
+        FontInfo tempFontInfo = tempFonts.getFonts().iterator().next();
+        TrueTypeFont tempFontProgram = (TrueTypeFont) FontProgramFactory.createFont(fontsFolder + "FreeSans.ttf");
+
+        FontProvider provider = new FontProvider(fontSet);
+        FontCoverage tempCoverage = provider.getFontCoverage(tempFontInfo, tempFonts);
+        Assert.assertSame(tempCoverage, tempFonts.getFontCoverage(tempFontInfo, tempFontProgram));
+        // The default font set doesn't keep the coverage of a temporary font, so a new one is built.
+        Assert.assertNotSame(tempCoverage, fontSet.getFontCoverage(tempFontInfo, tempFontProgram));
+
+        FontCoverage coverage = provider.getFontCoverage(fontInfo, tempFonts);
+        Assert.assertSame(coverage, new FontProvider(fontSet).getFontCoverage(fontInfo, null));
+    }
+}
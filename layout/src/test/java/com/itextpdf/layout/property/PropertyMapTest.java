@@ -0,0 +1,167 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2019 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.property;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class PropertyMapTest extends ExtendedITextTest {
+
+    @Test
+    public void putGetRemoveTest() {
+        PropertyMap map = new PropertyMap();
+        Assert.assertNull(map.put(Property.FONT_SIZE, 12f));
+        Assert.assertNull(map.put(Property.ACTION, "action"));
+        Assert.assertNull(map.put(Property.BORDER, null));
+        Assert.assertEquals(12f, map.put(Property.FONT_SIZE, 14f));
+
+        Assert.assertEquals(3, map.size());
+        Assert.assertEquals(14f, map.get(Property.FONT_SIZE));
+        Assert.assertEquals("action", map.get((Object) Property.ACTION));
+        Assert.assertNull(map.get(Property.BORDER));
+        Assert.assertTrue(map.containsKey(Property.BORDER));
+        Assert.assertFalse(map.containsKey(Property.MARGIN_TOP));
+        Assert.assertNull(map.get("not a key"));
+
+        Assert.assertEquals("action", map.remove(Property.ACTION));
+        Assert.assertNull(map.remove(Property.ACTION));
+        Assert.assertEquals(2, map.size());
+        Assert.assertEquals(14f, map.get(Property.FONT_SIZE));
+    }
+
+    @Test
+    public void keysOutsideOfBitsetTest() {
+        PropertyMap map = new PropertyMap();
+        map.put(-1, "negative");
+        map.put(100000, "large");
+        map.put(Property.FONT_SIZE, 12f);
+        Assert.assertEquals(3, map.size());
+        Assert.assertEquals("negative", map.get(-1));
+        Assert.assertEquals("large", map.get(100000));
+        Assert.assertEquals(Arrays.asList(Property.FONT_SIZE), new ArrayList<>(map.keySet()).subList(0, 1));
+        Assert.assertEquals("large", map.remove(100000));
+        Assert.assertEquals(2, map.size());
+    }
+
+    @Test
+    public void iterationInKeyOrderTest() {
+        PropertyMap map = new PropertyMap();
+        int[] keys = {Property.WIDTH, Property.ACTION, 64, 63, Property.FONT_SIZE, 200};
+        for (int key : keys) {
+            map.put(key, key);
+        }
+        List<Integer> iterated = new ArrayList<>(map.keySet());
+        int[] sortedKeys = keys.clone();
+        Arrays.sort(sortedKeys);
+        Assert.assertEquals(keys.length, iterated.size());
+        for (int i = 0; i < sortedKeys.length; i++) {
+            Assert.assertEquals(sortedKeys[i], (int) iterated.get(i));
+            Assert.assertEquals(sortedKeys[i], map.get(sortedKeys[i]));
+        }
+
+        Iterator<Integer> iterator = map.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+        for (int key : keys) {
+            Assert.assertEquals(key % 2 != 0, map.containsKey(key));
+        }
+    }
+
+    @Test
+    public void copyOnWriteTest() {
+        PropertyMap original = new PropertyMap();
+        original.put(Property.FONT_SIZE, 12f);
+        original.put(Property.ACTION, "action");
+
+        PropertyMap copy = new PropertyMap(original);
+        PropertyMap splitCopy = new PropertyMap();
+        splitCopy.putAll(original);
+        copy.put(Property.FONT_SIZE, 14f);
+        copy.remove(Property.ACTION);
+        original.put(Property.BORDER, "border");
+
+        Assert.assertEquals(12f, original.get(Property.FONT_SIZE));
+        Assert.assertEquals("action", original.get(Property.ACTION));
+        Assert.assertEquals(14f, copy.get(Property.FONT_SIZE));
+        Assert.assertFalse(copy.containsKey(Property.ACTION));
+        Assert.assertFalse(copy.containsKey(Property.BORDER));
+        Assert.assertEquals(2, splitCopy.size());
+        Assert.assertEquals(12f, splitCopy.get(Property.FONT_SIZE));
+        Assert.assertFalse(splitCopy.containsKey(Property.BORDER));
+    }
+
+    @Test
+    public void sameAsHashMapTest() {
+        Random random = new Random(42);
+        PropertyMap map = new PropertyMap();
+        Map<Integer, Object> expected = new HashMap<>();
+        for (int i = 0; i < 10000; i++) {
+            int key = random.nextInt(140);
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                Assert.assertEquals(expected.put(key, i), map.put(key, i));
+            }
+            Assert.assertEquals(expected.size(), map.size());
+        }
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(map, expected);
+        Assert.assertEquals(expected.hashCode(), map.hashCode());
+    }
+}